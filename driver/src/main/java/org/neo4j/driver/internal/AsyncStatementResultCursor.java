@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.v1.StatementResultCursor;
+
+/**
+ * Result cursor of an auto-commit statement as seen by the session that executed it.
+ */
+public interface AsyncStatementResultCursor extends StatementResultCursor
+{
+    /**
+     * Wait for the result to complete and retrieve its unconsumed failure, if any.
+     *
+     * @return stage completed with the failure or {@code null} when the result was successful.
+     */
+    CompletionStage<Throwable> failureAsync();
+
+    /**
+     * Check if the result has been fully received and has no unconsumed failure. Does not block.
+     *
+     * @return {@code true} when the result is completed, {@code false} otherwise.
+     */
+    boolean isDone();
+}
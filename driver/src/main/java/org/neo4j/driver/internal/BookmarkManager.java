@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Driver-level store of the latest bookmarks, shared by sessions to provide causal consistency without passing
+ * bookmarks between them. Bookmarks are kept per scope, so that unrelated workloads, e.g. different tenants, do not
+ * wait for each other's writes.
+ * <p>
+ * Sessions acquire a scope when they are created and release it when they are closed. Amount of scopes is bounded.
+ * When it is exceeded, a tenth of the scopes that were least recently used and are not held by any open session is
+ * evicted. New sessions with the name of an evicted scope start from empty bookmarks. Default scope is never evicted.
+ * <p>
+ * Reading and updating bookmarks is lock-free, reading bookmarks of a scope is a single volatile read. When bookmarks
+ * of unknown format are combined, at most {@link #MAX_UNKNOWN_FORMAT_BOOKMARKS} of them are kept.
+ */
+public class BookmarkManager
+{
+    public static final String DEFAULT_SCOPE = "";
+    public static final int DEFAULT_MAX_SCOPES = 10_000;
+    static final int MAX_UNKNOWN_FORMAT_BOOKMARKS = 16;
+
+    private static final String LOG_NAME = "BookmarkManager";
+
+    private final int maxScopes;
+    private final Logger log;
+    private final ConcurrentMap<String,Scope> scopes = new ConcurrentHashMap<>();
+    private final AtomicLong accessCounter = new AtomicLong();
+    private final Lock evictionLock = new ReentrantLock();
+    private volatile int evictionThreshold;
+
+    public BookmarkManager( Logging logging )
+    {
+        this( DEFAULT_MAX_SCOPES, logging );
+    }
+
+    public BookmarkManager( int maxScopes, Logging logging )
+    {
+        this.maxScopes = maxScopes;
+        this.log = logging.getLog( LOG_NAME );
+        this.evictionThreshold = maxScopes;
+    }
+
+    /**
+     * Acquire the scope with the given name, creating it when it does not exist. Every acquired scope must be
+     * released using {@link Scope#release()} when it is no longer used, otherwise it is never evicted.
+     *
+     * @param name the name of the scope.
+     * @return the acquired scope.
+     */
+    public Scope acquireScope( String name )
+    {
+        while ( true )
+        {
+            Scope scope = scopes.get( name );
+            if ( scope == null )
+            {
+                // new scope is created acquired, so that it can't be evicted before it is returned
+                Scope newScope = new Scope( accessCounter );
+                scope = scopes.putIfAbsent( name, newScope );
+                if ( scope == null )
+                {
+                    if ( scopes.size() > evictionThreshold )
+                    {
+                        evictLeastRecentlyUsedScopes();
+                    }
+                    return newScope;
+                }
+            }
+            if ( scope.tryAcquire() )
+            {
+                scope.touch();
+                return scope;
+            }
+            // scope has been evicted concurrently and is no longer in the map, try again
+        }
+    }
+
+    /**
+     * <b>Visible for testing</b>
+     */
+    int scopeCount()
+    {
+        return scopes.size();
+    }
+
+    private void evictLeastRecentlyUsedScopes()
+    {
+        executeWithLock( evictionLock, () ->
+        {
+            if ( scopes.size() <= evictionThreshold )
+            {
+                // other thread has already evicted
+                return;
+            }
+
+            List<Map.Entry<String,Scope>> candidates = new ArrayList<>( scopes.entrySet() );
+            candidates.removeIf( entry -> DEFAULT_SCOPE.equals( entry.getKey() ) );
+            candidates.sort( ( entry1, entry2 ) -> Long.compare( entry1.getValue().lastAccess, entry2.getValue().lastAccess ) );
+
+            // evict more than necessary, so that creation of every new scope does not need to scan all of them
+            int toEvict = Math.max( scopes.size() - maxScopes, maxScopes / 10 );
+            int evicted = 0;
+            for ( int i = 0; i < candidates.size() && evicted < toEvict; i++ )
+            {
+                Map.Entry<String,Scope> entry = candidates.get( i );
+                // scopes held by open sessions are never evicted
+                if ( entry.getValue().tryEvict() )
+                {
+                    scopes.remove( entry.getKey(), entry.getValue() );
+                    evicted++;
+                }
+            }
+
+            if ( evicted > 0 )
+            {
+                log.warn( "Evicted %d least recently used bookmark scopes that are not held by open sessions. " +
+                          "New sessions in these scopes will not wait for transactions committed before", evicted );
+            }
+            int remaining = scopes.size();
+            if ( remaining > maxScopes )
+            {
+                log.warn( "Open sessions hold %d bookmark scopes, which exceeds the limit of %d. Sessions might not " +
+                          "be closed after use", remaining, maxScopes );
+                // scan scopes again only after another tenth of them is created
+                evictionThreshold = remaining + maxScopes / 10;
+            }
+            else
+            {
+                evictionThreshold = maxScopes;
+            }
+        } );
+    }
+
+    /**
+     * Combine two bookmarks into the bookmarks that causally follow both of them. Bookmarks with a known format are
+     * compacted into the single latest bookmark, bookmarks of unknown format can't be compared and are kept. Only the
+     * last {@link #MAX_UNKNOWN_FORMAT_BOOKMARKS} of them are kept, preferring values of the second bookmarks, so that
+     * the combined bookmarks do not grow without limit.
+     *
+     * @param bookmarks1 the first bookmarks.
+     * @param bookmarks2 the second bookmarks.
+     * @return the combined bookmarks.
+     */
+    static Bookmarks latest( Bookmarks bookmarks1, Bookmarks bookmarks2 )
+    {
+        if ( bookmarks1 == null || bookmarks1.isEmpty() )
+        {
+            return bookmarks2 == null ? Bookmarks.empty() : compact( bookmarks2 );
+        }
+        if ( bookmarks2 == null || bookmarks2.isEmpty() || bookmarks1.equals( bookmarks2 ) )
+        {
+            return compact( bookmarks1 );
+        }
+
+        long value1 = bookmarks1.maxBookmarkValue();
+        long value2 = bookmarks2.maxBookmarkValue();
+        if ( value1 >= 0 && value2 >= 0 )
+        {
+            return value1 >= value2 ? compact( bookmarks1 ) : compact( bookmarks2 );
+        }
+
+        Set<String> values = new LinkedHashSet<>();
+        bookmarks1.values().forEach( values::add );
+        bookmarks2.values().forEach( values::add );
+        if ( values.size() > MAX_UNKNOWN_FORMAT_BOOKMARKS )
+        {
+            List<String> allValues = new ArrayList<>( values );
+            return Bookmarks.from( allValues.subList( allValues.size() - MAX_UNKNOWN_FORMAT_BOOKMARKS, allValues.size() ) );
+        }
+        return Bookmarks.from( values );
+    }
+
+    private static Bookmarks compact( Bookmarks bookmarks )
+    {
+        if ( bookmarks.maxBookmarkValue() < 0 || bookmarks.size() == 1 )
+        {
+            return bookmarks;
+        }
+        return Bookmarks.from( bookmarks.maxBookmarkAsString() );
+    }
+
+    public static class Scope
+    {
+        private static final int EVICTED = -1;
+
+        private final AtomicReference<Bookmarks> bookmarks = new AtomicReference<>( Bookmarks.empty() );
+        private final AtomicInteger users = new AtomicInteger( 1 );
+        private final AtomicLong accessCounter;
+        private volatile long lastAccess;
+
+        private Scope( AtomicLong accessCounter )
+        {
+            this.accessCounter = accessCounter;
+            touch();
+        }
+
+        public Bookmarks bookmarks()
+        {
+            return bookmarks.get();
+        }
+
+        public void update( Bookmarks newBookmarks )
+        {
+            if ( newBookmarks == null || newBookmarks.isEmpty() )
+            {
+                return;
+            }
+
+            Bookmarks current;
+            Bookmarks updated;
+            do
+            {
+                current = bookmarks.get();
+                updated = latest( current, newBookmarks );
+            }
+            while ( updated != current && !bookmarks.compareAndSet( current, updated ) );
+            touch();
+        }
+
+        /**
+         * Release the scope acquired using {@link BookmarkManager#acquireScope(String)}.
+         */
+        public void release()
+        {
+            users.decrementAndGet();
+        }
+
+        /**
+         * <b>Visible for testing</b>
+         */
+        int userCount()
+        {
+            return users.get();
+        }
+
+        private boolean tryAcquire()
+        {
+            int current;
+            do
+            {
+                current = users.get();
+                if ( current == EVICTED )
+                {
+                    return false;
+                }
+            }
+            while ( !users.compareAndSet( current, current + 1 ) );
+            return true;
+        }
+
+        private boolean tryEvict()
+        {
+            return users.compareAndSet( 0, EVICTED );
+        }
+
+        private void touch()
+        {
+            lastAccess = accessCounter.incrementAndGet();
+        }
+    }
+}
@@ -18,18 +18,29 @@
  */
 package org.neo4j.driver.internal;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 
+import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.v1.Value;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
-import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableMap;
 import static org.neo4j.driver.internal.util.Iterables.newHashMapWithSize;
+import static org.neo4j.driver.v1.Values.NULL;
 import static org.neo4j.driver.v1.Values.value;
 
+/**
+ * Immutable set of bookmarks. Bookmark values are deduplicated, parsed and converted to the forms used to start
+ * transactions once, when bookmarks are created. So a session starting many transactions with the same bookmarks
+ * only pays for them once and instances can be safely shared between threads.
+ */
 public final class Bookmarks
 {
     private static final String BOOKMARK_KEY = "bookmark";
@@ -38,15 +49,28 @@ public final class Bookmarks
 
     private static final long UNKNOWN_BOOKMARK_VALUE = -1;
 
-    private static final Bookmarks EMPTY = new Bookmarks( Collections.emptySet() );
+    private static final Bookmarks EMPTY = new Bookmarks( new String[0] );
 
-    private final Iterable<String> values;
+    private final String[] values;
+    private final List<String> valuesList;
     private final String maxValue;
+    private final long maxNumericValue;
+    private final Value valuesValue;
+    private final Map<String,Value> beginTransactionParameters;
+    private final byte[][] utf8Values;
 
-    private Bookmarks( Iterable<String> values )
+    private Bookmarks( String[] values )
     {
         this.values = values;
-        this.maxValue = maxBookmark( values );
+        this.valuesList = Collections.unmodifiableList( Arrays.asList( values ) );
+
+        int maxIndex = maxBookmarkIndex( values );
+        this.maxValue = maxIndex < 0 ? null : values[maxIndex];
+        this.maxNumericValue = bookmarkValue( maxValue );
+
+        this.valuesValue = value( valuesList );
+        this.beginTransactionParameters = beginTransactionParameters( maxValue, valuesValue );
+        this.utf8Values = encode( values );
     }
 
     public static Bookmarks empty()
@@ -60,7 +84,7 @@ public final class Bookmarks
         {
             return empty();
         }
-        return from( singleton( value ) );
+        return new Bookmarks( new String[]{value} );
     }
 
     public static Bookmarks from( Iterable<String> values )
@@ -69,7 +93,9 @@ public final class Bookmarks
         {
             return empty();
         }
-        return new Bookmarks( values );
+        Set<String> uniqueValues = new LinkedHashSet<>();
+        values.forEach( uniqueValues::add );
+        return uniqueValues.isEmpty() ? empty() : new Bookmarks( uniqueValues.toArray( new String[0] ) );
     }
 
     public boolean isEmpty()
@@ -84,24 +110,60 @@ public final class Bookmarks
 
     public Iterable<String> values()
     {
-        return values;
+        return valuesList;
+    }
+
+    /**
+     * @return the amount of distinct bookmark values.
+     */
+    public int size()
+    {
+        return values.length;
+    }
+
+    /**
+     * Get the numeric transaction id of the max bookmark.
+     *
+     * @return the transaction id or {@code -1} when bookmarks are empty or the max bookmark has an unknown format.
+     */
+    public long maxBookmarkValue()
+    {
+        return maxNumericValue;
     }
 
     public Map<String,Value> asBeginTransactionParameters()
     {
-        if ( isEmpty() )
+        return beginTransactionParameters;
+    }
+
+    /**
+     * @return all bookmark values as a list value.
+     */
+    public Value asValue()
+    {
+        return valuesValue;
+    }
+
+    /**
+     * Pack all bookmark values as a list. Values are encoded to UTF-8 only once.
+     *
+     * @param packer the packer to write to.
+     * @throws IOException when writing fails.
+     */
+    public void pack( ValuePacker packer ) throws IOException
+    {
+        packer.packListHeader( utf8Values.length );
+        for ( byte[] utf8 : utf8Values )
         {
-            return emptyMap();
+            if ( utf8 == null )
+            {
+                packer.pack( NULL );
+            }
+            else
+            {
+                packer.packUtf8( utf8 );
+            }
         }
-
-        // Driver sends {bookmark: "max", bookmarks: ["one", "two", "max"]} instead of simple
-        // {bookmarks: ["one", "two", "max"]} for backwards compatibility reasons. Old servers can only accept single
-        // bookmark that is why driver has to parse and compare given list of bookmarks. This functionality will
-        // eventually be removed.
-        Map<String,Value> parameters = newHashMapWithSize( 2 );
-        parameters.put( BOOKMARK_KEY, value( maxValue ) );
-        parameters.put( BOOKMARKS_KEY, value( values ) );
-        return parameters;
     }
 
     @Override
@@ -116,52 +178,69 @@ public final class Bookmarks
             return false;
         }
         Bookmarks bookmarks = (Bookmarks) o;
-        return Objects.equals( values, bookmarks.values ) &&
-               Objects.equals( maxValue, bookmarks.maxValue );
+        return Arrays.equals( values, bookmarks.values );
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash( values, maxValue );
+        return Arrays.hashCode( values );
     }
 
     @Override
     public String toString()
     {
-        return "Bookmarks{values=" + values + "}";
+        return "Bookmarks{values=" + valuesList + "}";
     }
 
-    private static String maxBookmark( Iterable<String> bookmarks )
+    private static Map<String,Value> beginTransactionParameters( String maxValue, Value valuesValue )
     {
-        if ( bookmarks == null )
+        if ( maxValue == null )
         {
-            return null;
+            return emptyMap();
         }
 
-        Iterator<String> iterator = bookmarks.iterator();
+        // Driver sends {bookmark: "max", bookmarks: ["one", "two", "max"]} instead of simple
+        // {bookmarks: ["one", "two", "max"]} for backwards compatibility reasons. Old servers can only accept single
+        // bookmark that is why driver has to parse and compare given list of bookmarks. This functionality will
+        // eventually be removed.
+        Map<String,Value> parameters = newHashMapWithSize( 2 );
+        parameters.put( BOOKMARK_KEY, value( maxValue ) );
+        parameters.put( BOOKMARKS_KEY, valuesValue );
+        return unmodifiableMap( parameters );
+    }
 
-        if ( !iterator.hasNext() )
+    private static byte[][] encode( String[] values )
+    {
+        byte[][] encoded = new byte[values.length][];
+        for ( int i = 0; i < values.length; i++ )
         {
-            return null;
+            encoded[i] = values[i] == null ? null : values[i].getBytes( UTF_8 );
         }
+        return encoded;
+    }
 
-        String maxBookmark = iterator.next();
-        long maxValue = bookmarkValue( maxBookmark );
-
-        while ( iterator.hasNext() )
+    private static int maxBookmarkIndex( String[] bookmarks )
+    {
+        if ( bookmarks.length == 0 )
         {
-            String bookmark = iterator.next();
-            long value = bookmarkValue( bookmark );
+            return -1;
+        }
 
+        int maxIndex = 0;
+        long maxValue = bookmarkValue( bookmarks[0] );
+
+        for ( int i = 1; i < bookmarks.length; i++ )
+        {
+            long value = bookmarkValue( bookmarks[i] );
             if ( value > maxValue )
             {
-                maxBookmark = bookmark;
+                maxIndex = i;
                 maxValue = value;
             }
         }
 
-        return maxBookmark;
+        return maxIndex;
     }
 
     private static long bookmarkValue( String value )
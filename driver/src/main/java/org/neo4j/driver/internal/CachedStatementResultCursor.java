@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.driver.internal.ResultCache.CachedResult;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.exceptions.NoSuchRecordException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.util.Consumer;
+import org.neo4j.driver.v1.util.Function;
+import org.neo4j.driver.v1.util.Functions;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.neo4j.driver.internal.util.Futures.completedWithNull;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Result cursor over records of a {@link CachedResult}. Does not use any network resources.
+ */
+public class CachedStatementResultCursor implements AsyncStatementResultCursor
+{
+    private final CachedResult result;
+    private int position;
+    private final Lock lock = new ReentrantLock();
+
+    public CachedStatementResultCursor( CachedResult result )
+    {
+        this.result = result;
+    }
+
+    @Override
+    public List<String> keys()
+    {
+        return result.keys();
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> summaryAsync()
+    {
+        return completedFuture( result.summary() );
+    }
+
+    @Override
+    public CompletionStage<Record> nextAsync()
+    {
+        return executeWithLock( lock, () ->
+        {
+            List<Record> records = result.records();
+            return completedFuture( position < records.size() ? records.get( position++ ) : null );
+        } );
+    }
+
+    @Override
+    public CompletionStage<Record> peekAsync()
+    {
+        return executeWithLock( lock, () ->
+        {
+            List<Record> records = result.records();
+            return completedFuture( position < records.size() ? records.get( position ) : null );
+        } );
+    }
+
+    @Override
+    public CompletionStage<Record> singleAsync()
+    {
+        return executeWithLock( lock, () ->
+        {
+            List<Record> records = result.records();
+            int remaining = records.size() - position;
+            if ( remaining == 0 )
+            {
+                return failedFuture( new NoSuchRecordException(
+                        "Cannot retrieve a single record, because this result is empty." ) );
+            }
+            if ( remaining > 1 )
+            {
+                position += 2;
+                return failedFuture( new NoSuchRecordException(
+                        "Expected a result with a single record, but this result " +
+                        "contains at least one more. Ensure your query returns only " +
+                        "one record." ) );
+            }
+            return completedFuture( records.get( position++ ) );
+        } );
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> consumeAsync()
+    {
+        return executeWithLock( lock, () ->
+        {
+            position = result.records().size();
+            return summaryAsync();
+        } );
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action )
+    {
+        return executeWithLock( lock, () ->
+        {
+            List<Record> records = result.records();
+            try
+            {
+                while ( position < records.size() )
+                {
+                    action.accept( records.get( position++ ) );
+                }
+            }
+            catch ( Throwable actionError )
+            {
+                return failedFuture( actionError );
+            }
+            return summaryAsync();
+        } );
+    }
+
+    @Override
+    public CompletionStage<List<Record>> listAsync()
+    {
+        return listAsync( Functions.identity() );
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> listAsync( Function<Record,T> mapFunction )
+    {
+        return executeWithLock( lock, () ->
+        {
+            List<Record> records = result.records();
+            List<T> list = new ArrayList<>( records.size() - position );
+            while ( position < records.size() )
+            {
+                list.add( mapFunction.apply( records.get( position++ ) ) );
+            }
+            return completedFuture( list );
+        } );
+    }
+
+    @Override
+    public CompletionStage<Throwable> failureAsync()
+    {
+        return completedWithNull();
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return true;
+    }
+}
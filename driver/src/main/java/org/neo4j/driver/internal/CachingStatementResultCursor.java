@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.ResultCache.ResultCollector;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.util.Consumer;
+import org.neo4j.driver.v1.util.Function;
+import org.neo4j.driver.v1.util.Functions;
+
+/**
+ * Result cursor that streams records of a network result and copies them into a {@link ResultCollector} on the way.
+ * Records, flow control and failures are delivered exactly like by the underlying cursor. Copy is cached when the
+ * result is fully consumed and abandoned when records are discarded or the result fails.
+ */
+public class CachingStatementResultCursor implements AsyncStatementResultCursor
+{
+    private final AsyncStatementResultCursor delegate;
+    private final ResultCollector collector;
+    private final Bookmarks bookmarks;
+
+    /**
+     * @param delegate the cursor of the network result.
+     * @param collector the collector to copy records into.
+     * @param bookmarks bookmarks of the session when the statement was issued, cached result is tagged with them.
+     */
+    public CachingStatementResultCursor( AsyncStatementResultCursor delegate, ResultCollector collector,
+            Bookmarks bookmarks )
+    {
+        this.delegate = delegate;
+        this.collector = collector;
+        this.bookmarks = bookmarks;
+    }
+
+    @Override
+    public List<String> keys()
+    {
+        return delegate.keys();
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> summaryAsync()
+    {
+        return delegate.summaryAsync();
+    }
+
+    @Override
+    public CompletionStage<Record> nextAsync()
+    {
+        return delegate.nextAsync().whenComplete( ( record, error ) ->
+        {
+            if ( record != null )
+            {
+                collector.add( record );
+            }
+            else
+            {
+                onResultCompleted( null, error );
+            }
+        } );
+    }
+
+    @Override
+    public CompletionStage<Record> peekAsync()
+    {
+        return delegate.peekAsync();
+    }
+
+    @Override
+    public CompletionStage<Record> singleAsync()
+    {
+        return delegate.singleAsync().whenComplete( ( record, error ) ->
+        {
+            if ( record != null )
+            {
+                collector.add( record );
+            }
+            onResultCompleted( null, error );
+        } );
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> consumeAsync()
+    {
+        collector.abandon();
+        return delegate.consumeAsync();
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action )
+    {
+        return delegate.forEachAsync( record ->
+        {
+            collector.add( record );
+            action.accept( record );
+        } ).whenComplete( this::onResultCompleted );
+    }
+
+    @Override
+    public CompletionStage<List<Record>> listAsync()
+    {
+        return listAsync( Functions.identity() );
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> listAsync( Function<Record,T> mapFunction )
+    {
+        return delegate.listAsync( record ->
+        {
+            collector.add( record );
+            return mapFunction.apply( record );
+        } ).whenComplete( this::onResultCompleted );
+    }
+
+    @Override
+    public CompletionStage<Throwable> failureAsync()
+    {
+        return delegate.failureAsync();
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return delegate.isDone();
+    }
+
+    private void onResultCompleted( Object ignore, Throwable error )
+    {
+        if ( error != null )
+        {
+            collector.abandon();
+        }
+        else
+        {
+            // all records have been received, so summary is available and this does not block
+            delegate.summaryAsync().whenComplete( ( summary, summaryError ) ->
+            {
+                if ( summaryError == null )
+                {
+                    collector.complete( delegate.keys(), summary, bookmarks );
+                }
+            } );
+        }
+    }
+}
@@ -48,6 +48,13 @@ public class DirectConnectionProvider implements ConnectionProvider
         return connectionPool.acquire( address );
     }
 
+    @Override
+    public CompletionStage<Connection> acquireConnection( AccessMode mode, BoltServerAddress excludedAddress )
+    {
+        // there is only a single server to choose from
+        return acquireConnection( mode );
+    }
+
     @Override
     public CompletionStage<Void> verifyConnectivity()
     {
@@ -29,6 +29,9 @@ import java.security.GeneralSecurityException;
 import org.neo4j.driver.internal.async.BootstrapFactory;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.async.ChannelConnectorImpl;
+import org.neo4j.driver.internal.async.ChannelPipelineBuilder;
+import org.neo4j.driver.internal.async.ChannelPipelineBuilderImpl;
+import org.neo4j.driver.internal.async.capture.CapturingChannelPipelineBuilder;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.async.pool.PoolSettings;
 import org.neo4j.driver.internal.cluster.DnsResolver;
@@ -39,6 +42,8 @@ import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancer;
 import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancingStrategy;
 import org.neo4j.driver.internal.cluster.loadbalancing.RoundRobinLoadBalancingStrategy;
 import org.neo4j.driver.internal.logging.NettyLogging;
+import org.neo4j.driver.internal.logging.RingBufferWireTracer;
+import org.neo4j.driver.internal.logging.WireTracer;
 import org.neo4j.driver.internal.metrics.InternalAbstractMetrics;
 import org.neo4j.driver.internal.metrics.InternalMetrics;
 import org.neo4j.driver.internal.metrics.MetricsListener;
@@ -62,6 +67,7 @@ import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.net.ServerAddressResolver;
 
 import static java.lang.String.format;
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
 import static org.neo4j.driver.internal.metrics.InternalAbstractMetrics.DEV_NULL_METRICS;
 import static org.neo4j.driver.internal.metrics.spi.Metrics.isMetricsEnabled;
 import static org.neo4j.driver.internal.security.SecurityPlan.insecure;
@@ -83,9 +89,10 @@ public class DriverFactory
         InternalLoggerFactory.setDefaultFactory( new NettyLogging( config.logging() ) );
         Bootstrap bootstrap = createBootstrap();
         EventExecutorGroup eventExecutorGroup = bootstrap.config().group();
-        RetryLogic retryLogic = createRetryLogic( retrySettings, eventExecutorGroup, config.logging() );
-
         InternalAbstractMetrics metrics = createDriverMetrics( config );
+        metrics.addEventLoopMetrics( eventExecutorGroup );
+        RetryLogic retryLogic = createRetryLogic( retrySettings, eventExecutorGroup, metrics, config.logging() );
+
         ConnectionPool connectionPool = createConnectionPool( authToken, securityPlan, bootstrap, metrics, config );
 
         InternalDriver driver = createDriver( uri, securityPlan, address, connectionPool, eventExecutorGroup, newRoutingSettings, retryLogic, metrics, config );
@@ -99,7 +106,7 @@ public class DriverFactory
     {
         Clock clock = createClock();
         ConnectionSettings settings = new ConnectionSettings( authToken, config.connectionTimeoutMillis() );
-        ChannelConnector connector = createConnector( settings, securityPlan, config, clock );
+        ChannelConnector connector = createConnector( settings, securityPlan, config, clock, metrics );
         PoolSettings poolSettings = new PoolSettings( config.maxConnectionPoolSize(),
                 config.connectionAcquisitionTimeoutMillis(), config.maxConnectionLifetimeMillis(),
                 config.idleTimeBeforeConnectionTest()
@@ -109,7 +116,7 @@ public class DriverFactory
 
     protected static InternalAbstractMetrics createDriverMetrics( Config config )
     {
-        if( isMetricsEnabled() )
+        if( config.isMetricsEnabled() || isMetricsEnabled() )
         {
             return new InternalMetrics( config );
         }
@@ -120,9 +127,28 @@ public class DriverFactory
     }
 
     protected ChannelConnector createConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            Config config, Clock clock, MetricsListener metrics )
+    {
+        return new ChannelConnectorImpl( settings, securityPlan, createPipelineBuilder( config ), config.logging(), clock, metrics );
+    }
+
+    private static WireTracer createWireTracer( Config config )
+    {
+        if ( config.wireTraceCapacity() > 0 )
+        {
+            return new RingBufferWireTracer( config.wireTraceCapacity(), config.wireTraceRecordSampling() );
+        }
+        return DEV_NULL_WIRE_TRACER;
+    }
+
+    private static ChannelPipelineBuilder createPipelineBuilder( Config config )
     {
-        return new ChannelConnectorImpl( settings, securityPlan, config.logging(), clock );
+        ChannelPipelineBuilder pipelineBuilder = new ChannelPipelineBuilderImpl( createWireTracer( config ), config.lazyDateTimeValues() );
+        if ( config.trafficCaptureDirectory() != null )
+        {
+            return new CapturingChannelPipelineBuilder( pipelineBuilder, config.trafficCaptureDirectory().toPath() );
+        }
+        return pipelineBuilder;
     }
 
     private InternalDriver createDriver( URI uri, SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool,
@@ -194,7 +220,7 @@ public class DriverFactory
      */
     protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Config config )
     {
-        return new InternalDriver( securityPlan, sessionFactory, metrics, config.logging() );
+        return new InternalDriver( securityPlan, sessionFactory, metrics, config );
     }
 
     /**
@@ -258,9 +284,11 @@ public class DriverFactory
      * <b>This method is protected only for testing</b>
      */
     protected RetryLogic createRetryLogic( RetrySettings settings, EventExecutorGroup eventExecutorGroup,
-            Logging logging )
+            MetricsListener metrics, Logging logging )
     {
-        return new ExponentialBackoffRetryLogic( settings, eventExecutorGroup, createClock(), logging );
+        ExponentialBackoffRetryLogic retryLogic = new ExponentialBackoffRetryLogic( settings, eventExecutorGroup, createClock(), logging );
+        metrics.addRetryMetrics( retryLogic );
+        return retryLogic;
     }
 
     /**
@@ -34,6 +34,7 @@ import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.TransactionConfig;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 import static org.neo4j.driver.internal.util.Futures.failedFuture;
 
@@ -69,17 +70,28 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
     private final ResultCursorsHolder resultCursors;
 
     private volatile State state = State.ACTIVE;
+    private volatile long maxRecordBufferSize;
 
     public ExplicitTransaction( Connection connection, NetworkSession session )
+    {
+        this( connection, session, DEFAULT_MAX_RECORD_BUFFER_SIZE );
+    }
+
+    public ExplicitTransaction( Connection connection, NetworkSession session, long maxRecordBufferSize )
     {
         this.connection = connection;
         this.protocol = connection.protocol();
         this.session = session;
         this.resultCursors = new ResultCursorsHolder();
+        this.maxRecordBufferSize = maxRecordBufferSize;
     }
 
     public CompletionStage<ExplicitTransaction> beginAsync( Bookmarks initialBookmarks, TransactionConfig config )
     {
+        if ( config != null && config.maxRecordBufferSize() > 0 )
+        {
+            maxRecordBufferSize = config.maxRecordBufferSize();
+        }
         return protocol.beginTransaction( connection, initialBookmarks, config )
                 .handle( ( ignore, beginError ) ->
                 {
@@ -223,6 +235,16 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
         return state != State.COMMITTED && state != State.ROLLED_BACK;
     }
 
+    /**
+     * Maximum size of the buffer of received but not yet consumed records for every result of this transaction.
+     *
+     * @return the maximum size in bytes.
+     */
+    public long maxRecordBufferSize()
+    {
+        return maxRecordBufferSize;
+    }
+
     public void markTerminated()
     {
         state = State.TERMINATED;
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.driver.internal.messaging.ValuePacker;
+import org.neo4j.driver.internal.messaging.v2.ValuePackerV2;
+import org.neo4j.driver.internal.packstream.ByteCountingPackOutput;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.internal.value.ListValue;
+import org.neo4j.driver.internal.value.MapValue;
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.BulkWriter;
+import org.neo4j.driver.v1.BulkWriterConfig;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Collections.singletonMap;
+import static org.neo4j.driver.internal.types.InternalTypeSystem.TYPE_SYSTEM;
+import static org.neo4j.driver.internal.util.Preconditions.checkArgument;
+
+public class InternalBulkWriter implements BulkWriter
+{
+    private final String statementTemplate;
+    private final BulkWriterConfig config;
+    private final SessionFactory sessionFactory;
+    private final long acquisitionTimeoutMs;
+    private final Semaphore permits;
+
+    private final Set<CompletableFuture<Void>> executingBatches = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong committedRows = new AtomicLong();
+
+    private final ByteCountingPackOutput sizeCounter = new ByteCountingPackOutput();
+    private final ValuePacker sizePacker = new ValuePackerV2( sizeCounter );
+
+    private List<Value> currentBatch = new ArrayList<>();
+    private long currentBatchBytes;
+    private boolean closed;
+
+    public InternalBulkWriter( String statementTemplate, BulkWriterConfig config, SessionFactory sessionFactory,
+            int maxConnectionPoolSize, long acquisitionTimeoutMs )
+    {
+        this.statementTemplate = statementTemplate;
+        this.config = config;
+        this.sessionFactory = sessionFactory;
+        this.acquisitionTimeoutMs = acquisitionTimeoutMs;
+        this.permits = new Semaphore( Math.min( config.maxConcurrentTransactions(), maxConnectionPoolSize ) );
+    }
+
+    @Override
+    public void add( Map<String,Object> row )
+    {
+        add( Values.value( row ) );
+    }
+
+    @Override
+    public void add( Value row )
+    {
+        checkArgument( row != null && row.hasType( TYPE_SYSTEM.MAP() ), "Row should be a map: " + row );
+        assertOpen();
+        assertNotFailed();
+
+        long rowBytes = encodedSize( row );
+        if ( !currentBatch.isEmpty() && currentBatchBytes + rowBytes > config.maxBatchBytes() )
+        {
+            executeCurrentBatch();
+        }
+
+        currentBatch.add( row );
+        currentBatchBytes += rowBytes;
+
+        if ( currentBatch.size() >= config.maxBatchRows() || currentBatchBytes >= config.maxBatchBytes() )
+        {
+            executeCurrentBatch();
+        }
+    }
+
+    @Override
+    public void flush()
+    {
+        assertOpen();
+        flushAndAwait();
+    }
+
+    @Override
+    public long committedRows()
+    {
+        return committedRows.get();
+    }
+
+    @Override
+    public void close()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            flushAndAwait();
+        }
+    }
+
+    private void flushAndAwait()
+    {
+        if ( !currentBatch.isEmpty() && failure.get() == null )
+        {
+            executeCurrentBatch();
+        }
+        Futures.blockingGet( CompletableFuture.allOf( executingBatches.toArray( new CompletableFuture[0] ) ) );
+        assertNotFailed();
+    }
+
+    private void executeCurrentBatch()
+    {
+        // rows stay in the current batch until a transaction can be started for them, so that they are not lost
+        // when waiting times out or some other batch fails
+        acquirePermit();
+        if ( failure.get() != null )
+        {
+            // some other batch failed while we were waiting, do not start new transactions
+            permits.release();
+            assertNotFailed();
+        }
+
+        List<Value> rows = currentBatch;
+        currentBatch = new ArrayList<>();
+        currentBatchBytes = 0;
+
+        CompletableFuture<Void> batchFuture = new CompletableFuture<>();
+        executingBatches.add( batchFuture );
+
+        Value parameters = new MapValue( singletonMap( config.parameterName(), new ListValue( rows.toArray( new Value[0] ) ) ) );
+        Session session = sessionFactory.newInstance( AccessMode.WRITE, Bookmarks.empty() );
+
+        session.writeTransactionAsync( tx -> tx.runAsync( statementTemplate, parameters )
+                .thenCompose( StatementResultCursor::consumeAsync ), config.transactionConfig() )
+                .whenComplete( ( summary, error ) -> session.closeAsync().whenComplete( ( ignore, closeError ) ->
+                        batchCompleted( batchFuture, rows.size(), Futures.combineErrors( error, closeError ) ) ) );
+    }
+
+    private void batchCompleted( CompletableFuture<Void> batchFuture, int rowCount, Throwable error )
+    {
+        if ( error == null )
+        {
+            committedRows.addAndGet( rowCount );
+        }
+        else
+        {
+            failure.compareAndSet( null, Futures.completionExceptionCause( error ) );
+        }
+        permits.release();
+        executingBatches.remove( batchFuture );
+        batchFuture.complete( null );
+    }
+
+    private void acquirePermit()
+    {
+        boolean acquired;
+        try
+        {
+            if ( acquisitionTimeoutMs < 0 )
+            {
+                permits.acquire();
+                acquired = true;
+            }
+            else
+            {
+                acquired = permits.tryAcquire( acquisitionTimeoutMs, TimeUnit.MILLISECONDS );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ClientException( "Interrupted while waiting for executing batches to complete", e );
+        }
+
+        if ( !acquired )
+        {
+            throw new ClientException( "Unable to execute batch of " + currentBatch.size() + " rows, executing batches " +
+                                       "did not complete within configured connection acquisition timeout of " +
+                                       acquisitionTimeoutMs + "ms. Rows remain buffered and are written by the next flush" );
+        }
+    }
+
+    private long encodedSize( Value row )
+    {
+        sizeCounter.reset();
+        try
+        {
+            sizePacker.pack( row );
+        }
+        catch ( IOException e )
+        {
+            // counting output never fails
+            throw new IllegalStateException( "Unable to compute encoded size of " + row, e );
+        }
+        return sizeCounter.count();
+    }
+
+    private void assertOpen()
+    {
+        if ( closed )
+        {
+            throw new ClientException( "Bulk writer has already been closed" );
+        }
+    }
+
+    private void assertNotFailed()
+    {
+        Throwable error = failure.get();
+        if ( error != null )
+        {
+            throw new ClientException( "Bulk writer failed to write a batch, " + committedRows.get() +
+                                       " rows were committed, " + currentBatch.size() + " buffered rows were not written", error );
+        }
+    }
+}
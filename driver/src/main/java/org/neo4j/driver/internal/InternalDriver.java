@@ -18,35 +18,46 @@
  */
 package org.neo4j.driver.internal;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.neo4j.driver.internal.metrics.spi.Metrics;
 import org.neo4j.driver.internal.security.SecurityPlan;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.BulkWriter;
+import org.neo4j.driver.v1.BulkWriterConfig;
+import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.ExperimentalDriver;
 import org.neo4j.driver.v1.Logger;
-import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
 
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 
-public class InternalDriver implements Driver
+public class InternalDriver implements ExperimentalDriver
 {
     private final SecurityPlan securityPlan;
     private final SessionFactory sessionFactory;
+    private final Config config;
     private final Logger log;
 
     private AtomicBoolean closed = new AtomicBoolean( false );
     private final Metrics metrics;
 
-    InternalDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Logging logging )
+    InternalDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Config config )
     {
         this.securityPlan = securityPlan;
         this.sessionFactory = sessionFactory;
         this.metrics = metrics;
-        this.log = logging.getLog( Driver.class.getSimpleName() );
+        this.config = config;
+        this.log = config.logging().getLog( Driver.class.getSimpleName() );
     }
 
     @Override
@@ -92,10 +103,50 @@ public class InternalDriver implements Driver
         return newSession( mode, Bookmarks.from( bookmarks ) );
     }
 
+    @Override
+    public Session scopedSession( AccessMode mode, String bookmarkScope )
+    {
+        Objects.requireNonNull( bookmarkScope, "bookmarkScope" );
+        assertOpen();
+        return assertOpenAfterSessionCreated( sessionFactory.newScopedInstance( mode, bookmarkScope ) );
+    }
+
+    @Override
+    public BulkWriter bulkWriter( String statementTemplate )
+    {
+        return bulkWriter( statementTemplate, BulkWriterConfig.defaultConfig() );
+    }
+
+    @Override
+    public BulkWriter bulkWriter( String statementTemplate, BulkWriterConfig config )
+    {
+        assertOpen();
+        return new InternalBulkWriter( statementTemplate, config, sessionFactory,
+                this.config.maxConnectionPoolSize(), this.config.connectionAcquisitionTimeoutMillis() );
+    }
+
+    @Override
+    public Stream<Record> parallelRead( List<Statement> partitions )
+    {
+        assertOpen();
+        return ParallelRead.arbitraryOrder( sessionFactory, partitions );
+    }
+
+    @Override
+    public Stream<Record> parallelRead( List<Statement> partitions, Comparator<Record> order )
+    {
+        assertOpen();
+        return ParallelRead.orderedMerge( sessionFactory, partitions, order );
+    }
+
     private Session newSession( AccessMode mode, Bookmarks bookmarks )
     {
         assertOpen();
-        Session session = sessionFactory.newInstance( mode, bookmarks );
+        return assertOpenAfterSessionCreated( sessionFactory.newInstance( mode, bookmarks ) );
+    }
+
+    private Session assertOpenAfterSessionCreated( Session session )
+    {
         if ( closed.get() )
         {
             // session does not immediately acquire connection, it is fine to just throw
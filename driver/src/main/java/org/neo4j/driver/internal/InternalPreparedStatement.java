@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.Map;
+
+import org.neo4j.driver.internal.messaging.request.StatementTemplate;
+import org.neo4j.driver.internal.value.MapValue;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+
+/**
+ * Statement with pre-encoded text and parameter names. Statements created by binding new parameters share the
+ * encoded template, so repeated executions only need to encode parameter values.
+ *
+ * @see Statement#prepare()
+ * @see PreparedStatements
+ */
+public class InternalPreparedStatement extends Statement
+{
+    private final StatementTemplate template;
+
+    InternalPreparedStatement( String text, Value parameters )
+    {
+        super( text, parameters );
+        this.template = new StatementTemplate( text(), ((MapValue) parameters()).asMapView().keySet() );
+    }
+
+    private InternalPreparedStatement( StatementTemplate template, Value parameters )
+    {
+        super( template.text(), parameters );
+        this.template = template;
+    }
+
+    public StatementTemplate template()
+    {
+        return template;
+    }
+
+    @Override
+    public Statement withParameters( Value newParameters )
+    {
+        return new InternalPreparedStatement( template, newParameters );
+    }
+
+    @Override
+    public Statement withParameters( Map<String,Object> newParameters )
+    {
+        return withParameters( Values.value( newParameters ) );
+    }
+
+    @Override
+    public Statement prepare()
+    {
+        return this;
+    }
+}
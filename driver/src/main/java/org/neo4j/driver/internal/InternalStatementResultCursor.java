@@ -26,14 +26,13 @@ import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
 import org.neo4j.driver.internal.handlers.RunResponseHandler;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.Record;
-import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.exceptions.NoSuchRecordException;
 import org.neo4j.driver.v1.summary.ResultSummary;
 import org.neo4j.driver.v1.util.Consumer;
 import org.neo4j.driver.v1.util.Function;
 import org.neo4j.driver.v1.util.Functions;
 
-public class InternalStatementResultCursor implements StatementResultCursor
+public class InternalStatementResultCursor implements AsyncStatementResultCursor
 {
     private final RunResponseHandler runResponseHandler;
     private final PullAllResponseHandler pullAllHandler;
@@ -118,11 +117,18 @@ public class InternalStatementResultCursor implements StatementResultCursor
         return pullAllHandler.listAsync( mapFunction );
     }
 
+    @Override
     public CompletionStage<Throwable> failureAsync()
     {
         return pullAllHandler.failureAsync();
     }
 
+    @Override
+    public boolean isDone()
+    {
+        return pullAllHandler.isDone();
+    }
+
     private void internalForEachAsync( Consumer<Record> action, CompletableFuture<Void> resultFuture )
     {
         CompletionStage<Record> recordFuture = nextAsync();
@@ -18,49 +18,51 @@
  */
 package org.neo4j.driver.internal;
 
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.SessionLeakDetector.LeakTracker;
 import org.neo4j.driver.internal.retry.RetryLogic;
+import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
-import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.Logging;
 
-import static java.lang.System.lineSeparator;
-
 class LeakLoggingNetworkSession extends NetworkSession
 {
-    private final String stackTrace;
+    private final LeakTracker leakTracker;
 
-    LeakLoggingNetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic, Logging logging )
+    LeakLoggingNetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
+            SessionLeakDetector leakDetector, Logging logging )
     {
-        super( connectionProvider, mode, retryLogic, logging );
-        this.stackTrace = captureStackTrace();
+        this( connectionProvider, mode, retryLogic, null, leakDetector, logging );
+    }
+
+    LeakLoggingNetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
+            ResultCache resultCache, SessionLeakDetector leakDetector, Logging logging )
+    {
+        super( connectionProvider, mode, retryLogic, resultCache, logging );
+        this.leakTracker = leakDetector.track( this );
     }
 
     @Override
-    protected void finalize() throws Throwable
+    public CompletionStage<Void> closeAsync()
     {
-        logLeakIfNeeded();
-        super.finalize();
+        // closed session is not a leak, even if closing fails
+        leakTracker.close();
+        return super.closeAsync();
     }
 
-    private void logLeakIfNeeded()
+    @Override
+    protected void connectionAcquired( Connection connection )
     {
-        Boolean isOpen = Futures.blockingGet( currentConnectionIsOpen() );
-        if ( isOpen )
-        {
-            logger.error( "Neo4j Session object leaked, please ensure that your application" +
-                          "calls the `close` method on Sessions before disposing of the objects.\n" +
-                          "Session was create at:\n" + stackTrace, null );
-        }
+        leakTracker.connectionAcquired( connection );
     }
-    private static String captureStackTrace()
+
+    /**
+     * <b>Visible for testing</b>
+     */
+    LeakTracker leakTracker()
     {
-        StringBuilder result = new StringBuilder();
-        StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-        for ( StackTraceElement element : elements )
-        {
-            result.append( "\t" ).append( element ).append( lineSeparator() );
-        }
-        return result.toString();
+        return leakTracker;
     }
 }
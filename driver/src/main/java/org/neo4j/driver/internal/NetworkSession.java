@@ -19,12 +19,15 @@
 package org.neo4j.driver.internal;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.driver.internal.logging.PrefixedLogger;
+import org.neo4j.driver.internal.retry.HedgedWork;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
@@ -43,6 +46,7 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 
 import static java.util.Collections.emptyMap;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 import static org.neo4j.driver.internal.util.Futures.failedFuture;
 
@@ -53,20 +57,33 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
     private final ConnectionProvider connectionProvider;
     private final AccessMode mode;
     private final RetryLogic retryLogic;
+    private final ResultCache resultCache;
+    private final Logging logging;
     protected final Logger logger;
 
     private volatile Bookmarks bookmarks = Bookmarks.empty();
+    private volatile BookmarkManager.Scope bookmarkScope;
+    private volatile long maxRecordBufferSize = DEFAULT_MAX_RECORD_BUFFER_SIZE;
     private volatile CompletionStage<ExplicitTransaction> transactionStage = completedWithNull();
     private volatile CompletionStage<Connection> connectionStage = completedWithNull();
-    private volatile CompletionStage<InternalStatementResultCursor> resultCursorStage = completedWithNull();
+    private volatile CompletionStage<? extends AsyncStatementResultCursor> resultCursorStage = completedWithNull();
 
     private final AtomicBoolean open = new AtomicBoolean( true );
+    private final Set<NetworkSession> hedgedSessions = ConcurrentHashMap.newKeySet();
 
     public NetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic, Logging logging )
+    {
+        this( connectionProvider, mode, retryLogic, null, logging );
+    }
+
+    public NetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
+            ResultCache resultCache, Logging logging )
     {
         this.connectionProvider = connectionProvider;
         this.mode = mode;
         this.retryLogic = retryLogic;
+        this.resultCache = resultCache;
+        this.logging = logging;
         this.logger = new PrefixedLogger( "[" + hashCode() + "]", logging.getLog( LOG_NAME ) );
     }
 
@@ -142,7 +159,7 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
     {
         if ( open.compareAndSet( true, false ) )
         {
-            return resultCursorStage.thenCompose( cursor ->
+            CompletionStage<Void> closeStage = closeHedgedSessions().thenCompose( ignore -> resultCursorStage ).thenCompose( cursor ->
             {
                 if ( cursor != null )
                 {
@@ -162,10 +179,30 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
                 }
                 return null;
             } ) );
+            return closeStage.whenComplete( ( ignore, error ) -> releaseBookmarkScope() );
         }
         return completedWithNull();
     }
 
+    private void releaseBookmarkScope()
+    {
+        // bookmark of the last transaction has been published to the scope, it can be evicted when no longer used
+        BookmarkManager.Scope scope = bookmarkScope;
+        if ( scope != null )
+        {
+            scope.release();
+        }
+    }
+
+    private CompletionStage<Void> closeHedgedSessions()
+    {
+        // hedged transaction functions run in their own sessions, which must not outlive this session
+        CompletableFuture<?>[] closeFutures = hedgedSessions.stream()
+                .map( hedgedSession -> hedgedSession.closeAsync().exceptionally( error -> null ).toCompletableFuture() )
+                .toArray( CompletableFuture[]::new );
+        return CompletableFuture.allOf( closeFutures );
+    }
+
     @Override
     public Transaction beginTransaction()
     {
@@ -220,6 +257,13 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
     @Override
     public <T> CompletionStage<T> readTransactionAsync( TransactionWork<CompletionStage<T>> work, TransactionConfig config )
     {
+        if ( retryLogic.isHedgingEnabled() )
+        {
+            ensureSessionIsOpen();
+            // hedged attempts do not use the transaction of this session, but must not overlap with it either
+            return ensureNoOpenTxBeforeStartingTx().thenCompose( ignore ->
+                    retryLogic.retryHedgedAsync( new HedgedTransactionWork<>( this, connectionProvider, work, config ) ) );
+        }
         return transactionAsync( AccessMode.READ, work, config );
     }
 
@@ -250,7 +294,8 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
     @Override
     public Bookmarks getBookmarks()
     {
-        return bookmarks;
+        BookmarkManager.Scope scope = bookmarkScope;
+        return scope == null ? bookmarks : BookmarkManager.latest( bookmarks, scope.bookmarks() );
     }
 
     @Override
@@ -259,9 +304,37 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
         if ( bookmarks != null && !bookmarks.isEmpty() )
         {
             this.bookmarks = bookmarks;
+            BookmarkManager.Scope scope = bookmarkScope;
+            if ( scope != null )
+            {
+                scope.update( bookmarks );
+            }
         }
     }
 
+    /**
+     * Share bookmarks of this session with other sessions in the given scope. Transactions of this session will
+     * causally follow the latest transaction committed in the scope and bookmarks received by this session will be
+     * published to the scope. The scope is released when this session is closed.
+     *
+     * @param bookmarkScope the acquired scope to share bookmarks with.
+     */
+    void setBookmarkScope( BookmarkManager.Scope bookmarkScope )
+    {
+        this.bookmarkScope = bookmarkScope;
+    }
+
+    /**
+     * Set the maximum size of the buffer of received but not yet consumed records used by results of this session
+     * when it is not configured for a transaction or an auto-commit query.
+     *
+     * @param maxRecordBufferSize the maximum size in bytes.
+     */
+    void setMaxRecordBufferSize( long maxRecordBufferSize )
+    {
+        this.maxRecordBufferSize = maxRecordBufferSize;
+    }
+
     @Override
     public String lastBookmark()
     {
@@ -308,9 +381,9 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
 
     private <T> T transaction( AccessMode mode, TransactionWork<T> work, TransactionConfig config )
     {
-        // use different code path compared to async so that work is executed in the caller thread
-        // caller thread will also be the one who sleeps between retries;
-        // it is unsafe to execute retries in the event loop threads because this can cause a deadlock
+        // use different code path compared to async so that work is executed in the caller thread or in the configured
+        // retry executor, but never in the event loop threads;
+        // it is unsafe to execute blocking work in the event loop threads because this can cause a deadlock
         // event loop thread will bock and wait for itself to read some data
         return retryLogic.retry( () ->
         {
@@ -335,26 +408,29 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
 
     private <T> CompletionStage<T> transactionAsync( AccessMode mode, TransactionWork<CompletionStage<T>> work, TransactionConfig config )
     {
-        return retryLogic.retryAsync( () ->
-        {
-            CompletableFuture<T> resultFuture = new CompletableFuture<>();
-            CompletionStage<ExplicitTransaction> txFuture = beginTransactionAsync( mode, config );
+        return retryLogic.retryAsync( () -> executeTransactionAsync( mode, work, config ) );
+    }
 
-            txFuture.whenComplete( ( tx, completionError ) ->
-            {
-                Throwable error = Futures.completionExceptionCause( completionError );
-                if ( error != null )
-                {
-                    resultFuture.completeExceptionally( error );
-                }
-                else
-                {
-                    executeWork( resultFuture, tx, work );
-                }
-            } );
+    private <T> CompletionStage<T> executeTransactionAsync( AccessMode mode, TransactionWork<CompletionStage<T>> work,
+            TransactionConfig config )
+    {
+        CompletableFuture<T> resultFuture = new CompletableFuture<>();
+        CompletionStage<ExplicitTransaction> txFuture = beginTransactionAsync( mode, config );
 
-            return resultFuture;
+        txFuture.whenComplete( ( tx, completionError ) ->
+        {
+            Throwable error = Futures.completionExceptionCause( completionError );
+            if ( error != null )
+            {
+                resultFuture.completeExceptionally( error );
+            }
+            else
+            {
+                executeWork( resultFuture, tx, work );
+            }
         } );
+
+        return resultFuture;
     }
 
     private <T> void executeWork( CompletableFuture<T> resultFuture, ExplicitTransaction tx,
@@ -439,20 +515,62 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
         }
     }
 
-    private CompletionStage<InternalStatementResultCursor> run( Statement statement, TransactionConfig config, boolean waitForRunResponse )
+    private CompletionStage<? extends AsyncStatementResultCursor> run( Statement statement, TransactionConfig config,
+            boolean waitForRunResponse )
     {
         ensureSessionIsOpen();
 
-        CompletionStage<InternalStatementResultCursor> newResultCursorStage = ensureNoOpenTxBeforeRunningQuery()
-                .thenCompose( ignore -> acquireConnection( mode ) )
-                .thenCompose( connection ->
-                        connection.protocol().runInAutoCommitTransaction( connection, statement, this, config, waitForRunResponse ) );
+        CompletionStage<? extends AsyncStatementResultCursor> newResultCursorStage;
+        if ( isCacheable( config ) )
+        {
+            newResultCursorStage = runWithResultCache( statement, waitForRunResponse );
+        }
+        else
+        {
+            newResultCursorStage = ensureNoOpenTxBeforeRunningQuery()
+                    .thenCompose( ignore -> acquireConnection( mode ) )
+                    .thenCompose( connection ->
+                            connection.protocol().runInAutoCommitTransaction( connection, statement, this, config,
+                                    maxRecordBufferSize( config ), waitForRunResponse ) );
+        }
 
         resultCursorStage = newResultCursorStage.exceptionally( error -> null );
 
         return newResultCursorStage;
     }
 
+    private long maxRecordBufferSize( TransactionConfig config )
+    {
+        return config.maxRecordBufferSize() > 0 ? config.maxRecordBufferSize() : maxRecordBufferSize;
+    }
+
+    private boolean isCacheable( TransactionConfig config )
+    {
+        return resultCache != null && mode == AccessMode.READ && config.isEmpty();
+    }
+
+    private CompletionStage<AsyncStatementResultCursor> runWithResultCache( Statement statement, boolean waitForRunResponse )
+    {
+        // result reflects at least the state the session has observed when the statement is issued, bookmarks
+        // received later, e.g. from other sessions in the same scope, might be newer than the result
+        Bookmarks bookmarks = getBookmarks();
+        ResultCache.CachedResult cachedResult = resultCache.get( statement, bookmarks );
+        if ( cachedResult != null )
+        {
+            return ensureNoOpenTxBeforeRunningQuery()
+                    .thenApply( ignore -> new CachedStatementResultCursor( cachedResult ) );
+        }
+
+        // stream the result as usual and copy records into the cache while they are consumed
+        return ensureNoOpenTxBeforeRunningQuery()
+                .thenCompose( ignore -> acquireConnection( mode ) )
+                .thenCompose( connection ->
+                        connection.protocol().runInAutoCommitTransaction( connection, statement, this, TransactionConfig.empty(),
+                                maxRecordBufferSize, waitForRunResponse ) )
+                .thenApply( cursor -> new CachingStatementResultCursor( cursor, resultCache.newCollector( statement ),
+                        bookmarks ) );
+    }
+
     private Transaction beginTransaction( AccessMode mode, TransactionConfig config )
     {
         return Futures.blockingGet( beginTransactionAsync( mode, config ),
@@ -468,8 +586,8 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
                 .thenCompose( ignore -> acquireConnection( mode ) )
                 .thenCompose( connection ->
                 {
-                    ExplicitTransaction tx = new ExplicitTransaction( connection, NetworkSession.this );
-                    return tx.beginAsync( bookmarks, config );
+                    ExplicitTransaction tx = new ExplicitTransaction( connection, NetworkSession.this, maxRecordBufferSize );
+                    return tx.beginAsync( getBookmarks(), config );
                 } );
 
         // update the reference to the only known transaction
@@ -528,6 +646,10 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
                 throw new IllegalStateException( "Existing open connection detected" );
             }
             return connectionProvider.acquireConnection( mode );
+        } ).thenApply( connection ->
+        {
+            connectionAcquired( connection );
+            return connection;
         } );
 
         connectionStage = newConnectionStage.exceptionally( error -> null );
@@ -535,6 +657,15 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
         return newConnectionStage;
     }
 
+    /**
+     * Called when this session acquires a new connection.
+     *
+     * @param connection the acquired connection.
+     */
+    protected void connectionAcquired( Connection connection )
+    {
+    }
+
     private CompletionStage<Throwable> closeTransactionAndReleaseConnection()
     {
         return existingTransactionOrNull().thenCompose( tx ->
@@ -624,4 +755,103 @@ public class NetworkSession extends AbstractStatementRunner implements Session,
                     "No more interaction with this session are allowed as the current session is already closed. " );
         }
     }
+
+    /**
+     * Read transaction function executed in its own session, so that a copy of it can run concurrently and either
+     * of them can be cancelled without affecting the session the function was submitted to. Bookmark of the copy
+     * that succeeds is propagated back to that session.
+     */
+    private static class HedgedTransactionWork<T> implements HedgedWork<T>
+    {
+        final NetworkSession parent;
+        final ConnectionProvider connectionProvider;
+        final TransactionWork<CompletionStage<T>> work;
+        final TransactionConfig config;
+        final NetworkSession session;
+
+        HedgedTransactionWork( NetworkSession parent, ConnectionProvider connectionProvider,
+                TransactionWork<CompletionStage<T>> work, TransactionConfig config )
+        {
+            this.parent = parent;
+            this.connectionProvider = connectionProvider;
+            this.work = work;
+            this.config = config;
+            this.session = new NetworkSession( connectionProvider, AccessMode.READ, parent.retryLogic, parent.logging );
+            this.session.setBookmarks( parent.getBookmarks() );
+            this.session.setMaxRecordBufferSize( parent.maxRecordBufferSize );
+            parent.hedgedSessions.add( session );
+        }
+
+        @Override
+        public CompletionStage<T> execute()
+        {
+            return session.executeTransactionAsync( AccessMode.READ, work, config );
+        }
+
+        @Override
+        public HedgedWork<T> hedge()
+        {
+            if ( !parent.isOpen() )
+            {
+                return null;
+            }
+            // prefer a different server than the one this work is executing on
+            Connection connection = session.connectionStage.toCompletableFuture().getNow( null );
+            BoltServerAddress excludedAddress = connection == null ? null : connection.serverAddress();
+            return new HedgedTransactionWork<>( parent, new ExcludingConnectionProvider( connectionProvider, excludedAddress ),
+                    work, config );
+        }
+
+        @Override
+        public CompletionStage<Void> cancel()
+        {
+            return session.resetAsync();
+        }
+
+        @Override
+        public CompletionStage<Void> close( boolean succeeded )
+        {
+            if ( succeeded )
+            {
+                parent.setBookmarks( session.getBookmarks() );
+            }
+            return session.closeAsync().exceptionally( error -> null ).thenRun( () -> parent.hedgedSessions.remove( session ) );
+        }
+    }
+
+    private static class ExcludingConnectionProvider implements ConnectionProvider
+    {
+        final ConnectionProvider delegate;
+        final BoltServerAddress excludedAddress;
+
+        ExcludingConnectionProvider( ConnectionProvider delegate, BoltServerAddress excludedAddress )
+        {
+            this.delegate = delegate;
+            this.excludedAddress = excludedAddress;
+        }
+
+        @Override
+        public CompletionStage<Connection> acquireConnection( AccessMode mode )
+        {
+            return delegate.acquireConnection( mode, excludedAddress );
+        }
+
+        @Override
+        public CompletionStage<Connection> acquireConnection( AccessMode mode, BoltServerAddress excludedAddress )
+        {
+            return delegate.acquireConnection( mode, excludedAddress );
+        }
+
+        @Override
+        public CompletionStage<Void> verifyConnectivity()
+        {
+            return delegate.verifyConnectivity();
+        }
+
+        @Override
+        public CompletionStage<Void> close()
+        {
+            return delegate.close();
+        }
+    }
 }
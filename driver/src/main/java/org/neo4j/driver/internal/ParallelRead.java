@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+
+import static org.neo4j.driver.internal.util.Futures.blockingGet;
+
+/**
+ * Executes multiple read statements concurrently, each in its own {@link AccessMode#READ read} session, and exposes
+ * their records as a single iterator. Sessions acquire connections through the connection provider, so for routing
+ * drivers partitions are spread across readers by the configured load balancing strategy.
+ * <p>
+ * At most one record is requested from every partition at a time. Records are otherwise buffered by the
+ * individual result cursors which apply their own flow control, so memory usage stays bounded regardless of result
+ * sizes.
+ */
+public abstract class ParallelRead implements Iterator<Record>, AutoCloseable
+{
+    final List<Partition> partitions;
+    private final List<Session> sessions;
+
+    private Record next;
+    private boolean closed;
+
+    private ParallelRead( SessionFactory sessionFactory, List<Statement> statements )
+    {
+        this.partitions = new ArrayList<>( statements.size() );
+        this.sessions = new ArrayList<>( statements.size() );
+        try
+        {
+            for ( Statement statement : statements )
+            {
+                Session session = sessionFactory.newInstance( AccessMode.READ, Bookmarks.empty() );
+                sessions.add( session );
+                partitions.add( new Partition( session.runAsync( statement ) ) );
+            }
+        }
+        catch ( Throwable error )
+        {
+            // sessions opened for previous partitions are not reachable by the caller, close them here
+            closeAndSuppressError( error );
+            throw error;
+        }
+    }
+
+    /**
+     * Create a stream of records that are returned in the order they arrive, regardless of the partition.
+     *
+     * @param sessionFactory the factory to create partition sessions.
+     * @param statements the partition statements.
+     * @return stream of records from all partitions, sessions are closed when stream is exhausted or closed.
+     */
+    public static Stream<Record> arbitraryOrder( SessionFactory sessionFactory, List<Statement> statements )
+    {
+        return asStream( new ArbitraryOrderRead( sessionFactory, statements ) );
+    }
+
+    /**
+     * Create a stream of records that merges records of all partitions in the given order. Every partition is
+     * expected to return records sorted in the same order.
+     *
+     * @param sessionFactory the factory to create partition sessions.
+     * @param statements the partition statements.
+     * @param order the order of records in all partitions.
+     * @return stream of records from all partitions, sessions are closed when stream is exhausted or closed.
+     */
+    public static Stream<Record> orderedMerge( SessionFactory sessionFactory, List<Statement> statements,
+            Comparator<Record> order )
+    {
+        return asStream( new OrderedMergeRead( sessionFactory, statements, order ) );
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if ( next == null && !closed )
+        {
+            try
+            {
+                next = fetchNext();
+            }
+            catch ( Throwable error )
+            {
+                closeAndSuppressError( error );
+                throw error;
+            }
+            if ( next == null )
+            {
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Record next()
+    {
+        if ( !hasNext() )
+        {
+            throw new NoSuchElementException();
+        }
+        Record result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            CompletableFuture<?>[] closeFutures = new CompletableFuture<?>[sessions.size()];
+            for ( int i = 0; i < sessions.size(); i++ )
+            {
+                closeFutures[i] = sessions.get( i ).closeAsync().toCompletableFuture();
+            }
+            blockingGet( CompletableFuture.allOf( closeFutures ) );
+        }
+    }
+
+    private void closeAndSuppressError( Throwable mainError )
+    {
+        try
+        {
+            close();
+        }
+        catch ( Throwable closeError )
+        {
+            if ( mainError != closeError )
+            {
+                mainError.addSuppressed( closeError );
+            }
+        }
+    }
+
+    /**
+     * Fetch the next record from active partitions.
+     *
+     * @return the next record or {@code null} when all partitions are exhausted.
+     */
+    abstract Record fetchNext();
+
+    private static Stream<Record> asStream( ParallelRead read )
+    {
+        Spliterator<Record> spliterator = Spliterators.spliteratorUnknownSize( read, Spliterator.IMMUTABLE | Spliterator.NONNULL );
+        return StreamSupport.stream( spliterator, false ).onClose( read::close );
+    }
+
+    private static class ArbitraryOrderRead extends ParallelRead
+    {
+        ArbitraryOrderRead( SessionFactory sessionFactory, List<Statement> statements )
+        {
+            super( sessionFactory, statements );
+        }
+
+        @Override
+        Record fetchNext()
+        {
+            while ( !partitions.isEmpty() )
+            {
+                Partition partition = firstCompleted();
+                Record record = blockingGet( partition.next );
+                if ( record == null )
+                {
+                    partitions.remove( partition );
+                }
+                else
+                {
+                    partition.requestNext();
+                    return record;
+                }
+            }
+            return null;
+        }
+
+        private Partition firstCompleted()
+        {
+            for ( Partition partition : partitions )
+            {
+                if ( partition.next.isDone() )
+                {
+                    return partition;
+                }
+            }
+
+            CompletableFuture<?>[] nextFutures = new CompletableFuture<?>[partitions.size()];
+            for ( int i = 0; i < partitions.size(); i++ )
+            {
+                nextFutures[i] = partitions.get( i ).next;
+            }
+            blockingGet( CompletableFuture.anyOf( nextFutures ) );
+
+            for ( Partition partition : partitions )
+            {
+                if ( partition.next.isDone() )
+                {
+                    return partition;
+                }
+            }
+            throw new IllegalStateException( "No completed partition found" );
+        }
+    }
+
+    private static class OrderedMergeRead extends ParallelRead
+    {
+        final Comparator<Record> order;
+
+        OrderedMergeRead( SessionFactory sessionFactory, List<Statement> statements, Comparator<Record> order )
+        {
+            super( sessionFactory, statements );
+            this.order = order;
+        }
+
+        @Override
+        Record fetchNext()
+        {
+            Partition smallest = null;
+            Record smallestRecord = null;
+
+            Iterator<Partition> iterator = partitions.iterator();
+            while ( iterator.hasNext() )
+            {
+                Partition partition = iterator.next();
+                Record record = blockingGet( partition.next );
+                if ( record == null )
+                {
+                    iterator.remove();
+                }
+                else if ( smallestRecord == null || order.compare( record, smallestRecord ) < 0 )
+                {
+                    smallest = partition;
+                    smallestRecord = record;
+                }
+            }
+
+            if ( smallest != null )
+            {
+                smallest.requestNext();
+            }
+            return smallestRecord;
+        }
+    }
+
+    static class Partition
+    {
+        final CompletionStage<StatementResultCursor> cursorStage;
+        CompletableFuture<Record> next;
+
+        Partition( CompletionStage<StatementResultCursor> cursorStage )
+        {
+            this.cursorStage = cursorStage;
+            requestNext();
+        }
+
+        void requestNext()
+        {
+            next = cursorStage.thenCompose( StatementResultCursor::nextAsync ).toCompletableFuture();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Value;
+
+/**
+ * Factory of prepared statements, keeps the public {@link Statement} API independent of the internal implementation.
+ *
+ * @see Statement#prepare()
+ */
+public final class PreparedStatements
+{
+    private PreparedStatements()
+    {
+    }
+
+    public static Statement prepare( String text, Value parameters )
+    {
+        return new InternalPreparedStatement( text, parameters );
+    }
+}
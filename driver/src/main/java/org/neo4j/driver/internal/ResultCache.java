@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.internal.value.InternalValue;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.summary.StatementType;
+import org.neo4j.driver.v1.types.MapAccessor;
+import org.neo4j.driver.v1.types.Node;
+import org.neo4j.driver.v1.types.Path;
+import org.neo4j.driver.v1.types.Relationship;
+
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Client-side cache of results of read-only auto-commit statements. Entries are keyed by {@link Statement}, which
+ * compares both text and parameters. Least recently used entries are evicted when the estimated size of all cached
+ * records exceeds the configured maximum. Entries expire after the configured time to live.
+ * <p>
+ * Every entry remembers the bookmark it was produced under. Entry is only returned for a session whose bookmark is
+ * not newer, so reads served from the cache never go back in time compared to what the session has already observed.
+ */
+public class ResultCache
+{
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final long VALUE_OVERHEAD_BYTES = 16;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Lock lock = new ReentrantLock();
+
+    private final Map<Statement,CachedResult> entries = new LinkedHashMap<>( 16, 0.75f, true );
+    private long currentBytes;
+
+    public ResultCache( long maxBytes, long ttlMillis, Clock clock )
+    {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Find cached result for the given statement that can be served to a session with the given bookmarks.
+     *
+     * @param statement the statement.
+     * @param bookmarks bookmarks of the session.
+     * @return cached result or {@code null} when there is no suitable result.
+     */
+    public CachedResult get( Statement statement, Bookmarks bookmarks )
+    {
+        return executeWithLock( lock, () ->
+        {
+            long sessionBookmarkValue = bookmarks.maxBookmarkValue();
+            if ( !bookmarks.isEmpty() && sessionBookmarkValue < 0 )
+            {
+                // bookmark has unknown format and can't be compared with bookmarks of cached entries
+                return null;
+            }
+
+            CachedResult result = entries.get( statement );
+            if ( result == null )
+            {
+                return null;
+            }
+            if ( isExpired( result ) )
+            {
+                remove( statement );
+                return null;
+            }
+            if ( result.bookmarkValue < sessionBookmarkValue )
+            {
+                // session has observed newer state than the cached result reflects
+                return null;
+            }
+            return result;
+        } );
+    }
+
+    /**
+     * Cache given result. Results bigger than the maximum cache size are ignored.
+     *
+     * @param statement the statement.
+     * @param result the result to cache.
+     */
+    public void put( Statement statement, CachedResult result )
+    {
+        executeWithLock( lock, () ->
+        {
+            if ( result.sizeBytes > maxBytes )
+            {
+                return;
+            }
+
+            CachedResult previous = entries.put( statement, result );
+            if ( previous != null )
+            {
+                currentBytes -= previous.sizeBytes;
+            }
+            currentBytes += result.sizeBytes;
+
+            evictIfNeeded();
+        } );
+    }
+
+    public int size()
+    {
+        return executeWithLock( lock, () ->
+        {
+            return entries.size();
+        } );
+    }
+
+    public long sizeBytes()
+    {
+        return executeWithLock( lock, () ->
+        {
+            return currentBytes;
+        } );
+    }
+
+    /**
+     * Create a collector for records of a result that is being streamed to the user. Collector drops all records as
+     * soon as their estimated size exceeds the maximum cache size, so it never holds more than that.
+     *
+     * @param statement the statement that produced the result.
+     * @return new collector.
+     */
+    public ResultCollector newCollector( Statement statement )
+    {
+        return new ResultCollector( statement );
+    }
+
+    /**
+     * Create a cacheable result.
+     *
+     * @param statement the statement that produced the result.
+     * @param keys the result keys.
+     * @param records all records of the result.
+     * @param summary the result summary.
+     * @param bookmarks bookmarks of the session when the statement was issued.
+     * @return new result that can be put into this cache.
+     */
+    public CachedResult newResult( Statement statement, List<String> keys, List<Record> records, ResultSummary summary,
+            Bookmarks bookmarks )
+    {
+        long sizeBytes = estimatedSize( statement ) + estimatedSizeOfKeys( keys );
+        for ( Record record : records )
+        {
+            sizeBytes += estimatedSize( record );
+        }
+        return new CachedResult( keys, records, summary, bookmarks.maxBookmarkValue(), clock.millis(), sizeBytes );
+    }
+
+    private boolean isExpired( CachedResult result )
+    {
+        return clock.millis() - result.createdAt >= ttlMillis;
+    }
+
+    private void remove( Statement statement )
+    {
+        CachedResult removed = entries.remove( statement );
+        if ( removed != null )
+        {
+            currentBytes -= removed.sizeBytes;
+        }
+    }
+
+    private void evictIfNeeded()
+    {
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while ( currentBytes > maxBytes && iterator.hasNext() )
+        {
+            CachedResult eldest = iterator.next();
+            iterator.remove();
+            currentBytes -= eldest.sizeBytes;
+        }
+    }
+
+    private static long estimatedSize( Statement statement )
+    {
+        return ENTRY_OVERHEAD_BYTES + estimatedSize( statement.text() ) + estimatedSize( statement.parameters() );
+    }
+
+    private static long estimatedSizeOfKeys( List<String> keys )
+    {
+        long size = 0;
+        for ( String key : keys )
+        {
+            size += estimatedSize( key );
+        }
+        return size;
+    }
+
+    private static long estimatedSize( Record record )
+    {
+        long size = VALUE_OVERHEAD_BYTES;
+        for ( Value value : record.values() )
+        {
+            size += estimatedSize( value );
+        }
+        return size;
+    }
+
+    private static long estimatedSize( String string )
+    {
+        return STRING_OVERHEAD_BYTES + 2L * string.length();
+    }
+
+    private static long estimatedSize( Value value )
+    {
+        switch ( ((InternalValue) value).typeConstructor() )
+        {
+        case STRING:
+            return estimatedSize( value.asString() );
+        case BYTES:
+            return VALUE_OVERHEAD_BYTES * 2 + value.size();
+        case LIST:
+            return estimatedSizeOfValues( value.values() );
+        case MAP:
+            return estimatedSizeOfMap( value );
+        case NODE:
+            return estimatedSize( value.asNode() );
+        case RELATIONSHIP:
+            return estimatedSize( value.asRelationship() );
+        case PATH:
+            Path path = value.asPath();
+            long pathSize = VALUE_OVERHEAD_BYTES;
+            for ( Node node : path.nodes() )
+            {
+                pathSize += estimatedSize( node );
+            }
+            for ( Relationship relationship : path.relationships() )
+            {
+                pathSize += estimatedSize( relationship );
+            }
+            return pathSize;
+        default:
+            return VALUE_OVERHEAD_BYTES * 2;
+        }
+    }
+
+    private static long estimatedSize( Node node )
+    {
+        long size = estimatedSizeOfMap( node );
+        for ( String label : node.labels() )
+        {
+            size += estimatedSize( label );
+        }
+        return size;
+    }
+
+    private static long estimatedSize( Relationship relationship )
+    {
+        return estimatedSize( relationship.type() ) + estimatedSizeOfMap( relationship );
+    }
+
+    private static long estimatedSizeOfMap( MapAccessor map )
+    {
+        long size = VALUE_OVERHEAD_BYTES;
+        for ( String key : map.keys() )
+        {
+            size += estimatedSize( key ) + estimatedSize( map.get( key ) );
+        }
+        return size;
+    }
+
+    private static long estimatedSizeOfValues( Iterable<Value> values )
+    {
+        long size = VALUE_OVERHEAD_BYTES;
+        for ( Value value : values )
+        {
+            size += estimatedSize( value );
+        }
+        return size;
+    }
+
+    /**
+     * Copies records of a single result while they are delivered to the user and caches them once the result
+     * completes. Collection is abandoned when the result turns out to be too big or when some records are not seen.
+     */
+    public class ResultCollector
+    {
+        private final Statement statement;
+        private final Lock collectorLock = new ReentrantLock();
+
+        private List<Record> records = new ArrayList<>();
+        private long sizeBytes;
+
+        private ResultCollector( Statement statement )
+        {
+            this.statement = statement;
+            this.sizeBytes = estimatedSize( statement );
+        }
+
+        public void add( Record record )
+        {
+            executeWithLock( collectorLock, () ->
+            {
+                if ( records != null )
+                {
+                    sizeBytes += estimatedSize( record );
+                    if ( sizeBytes > maxBytes )
+                    {
+                        records = null;
+                    }
+                    else
+                    {
+                        records.add( record );
+                    }
+                }
+            } );
+        }
+
+        public void abandon()
+        {
+            executeWithLock( collectorLock, () ->
+            {
+                records = null;
+            } );
+        }
+
+        /**
+         * Cache collected records if the result is read-only and was not abandoned.
+         *
+         * @param keys the result keys.
+         * @param summary the result summary.
+         * @param bookmarks bookmarks of the session when the statement was issued.
+         */
+        public void complete( List<String> keys, ResultSummary summary, Bookmarks bookmarks )
+        {
+            List<Record> collectedRecords = executeWithLock( collectorLock, () ->
+            {
+                List<Record> result = records;
+                records = null;
+                return result;
+            } );
+
+            if ( collectedRecords != null && summary.statementType() == StatementType.READ_ONLY )
+            {
+                put( statement, new CachedResult( keys, collectedRecords, summary, bookmarks.maxBookmarkValue(),
+                        clock.millis(), sizeBytes + estimatedSizeOfKeys( keys ) ) );
+            }
+        }
+
+        /** <b>Visible for testing</b> */
+        boolean isAbandoned()
+        {
+            return executeWithLock( collectorLock, () -> records == null );
+        }
+    }
+
+    public static class CachedResult
+    {
+        private final List<String> keys;
+        private final List<Record> records;
+        private final ResultSummary summary;
+        private final long bookmarkValue;
+        private final long createdAt;
+        private final long sizeBytes;
+
+        private CachedResult( List<String> keys, List<Record> records, ResultSummary summary, long bookmarkValue,
+                long createdAt, long sizeBytes )
+        {
+            this.keys = keys;
+            this.records = records;
+            this.summary = summary;
+            this.bookmarkValue = bookmarkValue;
+            this.createdAt = createdAt;
+            this.sizeBytes = sizeBytes;
+        }
+
+        public List<String> keys()
+        {
+            return keys;
+        }
+
+        public List<Record> records()
+        {
+            return records;
+        }
+
+        public ResultSummary summary()
+        {
+            return summary;
+        }
+
+        public long sizeBytes()
+        {
+            return sizeBytes;
+        }
+    }
+}
@@ -27,6 +27,15 @@ public interface SessionFactory
 {
     Session newInstance( AccessMode mode, Bookmarks bookmarks );
 
+    /**
+     * Create a new session that shares bookmarks with other sessions in the given scope.
+     *
+     * @param mode the access mode of the session.
+     * @param bookmarkScope the name of the bookmark scope.
+     * @return new session.
+     */
+    Session newScopedInstance( AccessMode mode, String bookmarkScope );
+
     CompletionStage<Void> verifyConnectivity();
 
     CompletionStage<Void> close();
@@ -22,6 +22,7 @@ import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
+import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.Logging;
@@ -32,14 +33,22 @@ public class SessionFactoryImpl implements SessionFactory
     private final ConnectionProvider connectionProvider;
     private final RetryLogic retryLogic;
     private final Logging logging;
-    private final boolean leakedSessionsLoggingEnabled;
+    private final SessionLeakDetector leakDetector;
+    private final ResultCache resultCache;
+    private final long maxRecordBufferSize;
+    private final BookmarkManager bookmarkManager;
+    private final boolean sharedBookmarks;
 
     SessionFactoryImpl( ConnectionProvider connectionProvider, RetryLogic retryLogic, Config config )
     {
         this.connectionProvider = connectionProvider;
-        this.leakedSessionsLoggingEnabled = config.logLeakedSessions();
         this.retryLogic = retryLogic;
         this.logging = config.logging();
+        this.leakDetector = config.logLeakedSessions() ? new SessionLeakDetector( config.leakedSessionsSamplingInterval(), logging ) : null;
+        this.resultCache = createResultCache( config );
+        this.maxRecordBufferSize = config.maxRecordBufferSize();
+        this.sharedBookmarks = config.sharedBookmarks();
+        this.bookmarkManager = new BookmarkManager( logging );
     }
 
     @Override
@@ -47,6 +56,20 @@ public class SessionFactoryImpl implements SessionFactory
     {
         NetworkSession session = createSession( connectionProvider, retryLogic, mode, logging );
         session.setBookmarks( bookmarks );
+        session.setMaxRecordBufferSize( maxRecordBufferSize );
+        if ( sharedBookmarks )
+        {
+            session.setBookmarkScope( bookmarkManager.acquireScope( BookmarkManager.DEFAULT_SCOPE ) );
+        }
+        return session;
+    }
+
+    @Override
+    public Session newScopedInstance( AccessMode mode, String bookmarkScope )
+    {
+        NetworkSession session = createSession( connectionProvider, retryLogic, mode, logging );
+        session.setMaxRecordBufferSize( maxRecordBufferSize );
+        session.setBookmarkScope( bookmarkManager.acquireScope( bookmarkScope ) );
         return session;
     }
 
@@ -59,6 +82,10 @@ public class SessionFactoryImpl implements SessionFactory
     @Override
     public CompletionStage<Void> close()
     {
+        if ( leakDetector != null )
+        {
+            leakDetector.reportLeaks();
+        }
         return connectionProvider.close();
     }
 
@@ -77,8 +104,17 @@ public class SessionFactoryImpl implements SessionFactory
     private NetworkSession createSession( ConnectionProvider connectionProvider, RetryLogic retryLogic,
             AccessMode mode, Logging logging )
     {
-        return leakedSessionsLoggingEnabled
-               ? new LeakLoggingNetworkSession( connectionProvider, mode, retryLogic, logging )
-               : new NetworkSession( connectionProvider, mode, retryLogic, logging );
+        return leakDetector != null && leakDetector.shouldTrack()
+               ? new LeakLoggingNetworkSession( connectionProvider, mode, retryLogic, resultCache, leakDetector, logging )
+               : new NetworkSession( connectionProvider, mode, retryLogic, resultCache, logging );
+    }
+
+    private static ResultCache createResultCache( Config config )
+    {
+        if ( config.readResultCacheMaxBytes() > 0 )
+        {
+            return new ResultCache( config.readResultCacheMaxBytes(), config.readResultCacheTtlMillis(), Clock.SYSTEM );
+        }
+        return null;
     }
 }
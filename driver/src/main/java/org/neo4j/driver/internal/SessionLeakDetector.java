@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Detects sessions that are garbage collected while holding an open connection. Only a sample of sessions is
+ * tracked, creation site is captured for tracked sessions only. Leaks are detected using phantom references and
+ * reported when new sessions are tracked, so no finalizer or background thread is involved.
+ */
+class SessionLeakDetector
+{
+    private static final String LOG_NAME = "SessionLeakDetector";
+
+    private final int samplingInterval;
+    private final Logger log;
+    private final ReferenceQueue<NetworkSession> referenceQueue = new ReferenceQueue<>();
+    // trackers have to be strongly reachable until their sessions are collected
+    private final Set<LeakTracker> trackers = ConcurrentHashMap.newKeySet();
+
+    SessionLeakDetector( int samplingInterval, Logging logging )
+    {
+        this.samplingInterval = samplingInterval;
+        this.log = logging.getLog( LOG_NAME );
+    }
+
+    /**
+     * Decide if the next session should be tracked.
+     *
+     * @return {@code true} if the next session should be tracked, {@code false} otherwise.
+     */
+    boolean shouldTrack()
+    {
+        return samplingInterval == 1 || ThreadLocalRandom.current().nextInt( samplingInterval ) == 0;
+    }
+
+    LeakTracker track( NetworkSession session )
+    {
+        reportLeaks();
+        LeakTracker tracker = new LeakTracker( session, referenceQueue, this );
+        trackers.add( tracker );
+        return tracker;
+    }
+
+    /**
+     * Log all tracked sessions that have been garbage collected while holding an open connection. Never blocks.
+     */
+    void reportLeaks()
+    {
+        LeakTracker tracker;
+        while ( (tracker = (LeakTracker) referenceQueue.poll()) != null )
+        {
+            if ( trackers.remove( tracker ) && tracker.isLeaked() )
+            {
+                log.error( "Neo4j Session object leaked, please ensure that your application " +
+                           "calls the `close` method on Sessions before disposing of the objects.\n" +
+                           "Session was create at:\n" + tracker.creationSite(), null );
+            }
+        }
+    }
+
+    int trackedSessions()
+    {
+        return trackers.size();
+    }
+
+    static class LeakTracker extends PhantomReference<NetworkSession>
+    {
+        private final SessionLeakDetector detector;
+        // throwable fills in the stack trace cheaply, frames are only formatted when a leak is reported
+        private final Throwable creationSite = new Throwable();
+        private volatile Connection connection;
+
+        LeakTracker( NetworkSession session, ReferenceQueue<NetworkSession> queue, SessionLeakDetector detector )
+        {
+            super( session, queue );
+            this.detector = detector;
+        }
+
+        void connectionAcquired( Connection connection )
+        {
+            this.connection = connection;
+        }
+
+        void close()
+        {
+            detector.trackers.remove( this );
+            clear();
+        }
+
+        boolean isLeaked()
+        {
+            Connection current = connection;
+            return current != null && current.isOpen();
+        }
+
+        String creationSite()
+        {
+            StringBuilder result = new StringBuilder();
+            for ( StackTraceElement element : creationSite.getStackTrace() )
+            {
+                result.append( "\t" ).append( element ).append( lineSeparator() );
+            }
+            return result.toString();
+        }
+    }
+}
@@ -22,6 +22,8 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 
+import org.neo4j.driver.internal.async.inbound.InboundBuffering;
+
 public final class BootstrapFactory
 {
     private BootstrapFactory()
@@ -45,6 +47,7 @@ public final class BootstrapFactory
         bootstrap.channel( EventLoopGroupFactory.channelClass() );
         bootstrap.option( ChannelOption.SO_KEEPALIVE, true );
         bootstrap.option( ChannelOption.SO_REUSEADDR, true );
+        InboundBuffering.fromSystemProperty().configure( bootstrap );
         return bootstrap;
     }
 }
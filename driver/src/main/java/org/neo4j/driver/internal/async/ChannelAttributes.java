@@ -23,6 +23,7 @@ import io.netty.util.AttributeKey;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.inbound.InboundMessageDispatcher;
+import org.neo4j.driver.internal.metrics.EventLoopMetricsListener;
 import org.neo4j.driver.internal.util.ServerVersion;
 
 import static io.netty.util.AttributeKey.newInstance;
@@ -37,6 +38,7 @@ public final class ChannelAttributes
     private static final AttributeKey<Long> LAST_USED_TIMESTAMP = newInstance( "lastUsedTimestamp" );
     private static final AttributeKey<InboundMessageDispatcher> MESSAGE_DISPATCHER = newInstance( "messageDispatcher" );
     private static final AttributeKey<String> TERMINATION_REASON = newInstance( "terminationReason" );
+    private static final AttributeKey<EventLoopMetricsListener> EVENT_LOOP_METRICS = newInstance( "eventLoopMetrics" );
 
     private ChannelAttributes()
     {
@@ -122,6 +124,16 @@ public final class ChannelAttributes
         setOnce( channel, TERMINATION_REASON, reason );
     }
 
+    public static EventLoopMetricsListener eventLoopMetrics( Channel channel )
+    {
+        return get( channel, EVENT_LOOP_METRICS );
+    }
+
+    public static void setEventLoopMetrics( Channel channel, EventLoopMetricsListener metrics )
+    {
+        setOnce( channel, EVENT_LOOP_METRICS, metrics );
+    }
+
     private static <T> T get( Channel channel, AttributeKey<T> key )
     {
         return channel.attr( key ).get();
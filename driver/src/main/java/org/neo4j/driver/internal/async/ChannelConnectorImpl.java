@@ -24,12 +24,15 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandler;
 
 import java.util.Map;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.ConnectionSettings;
 import org.neo4j.driver.internal.async.inbound.ConnectTimeoutHandler;
+import org.neo4j.driver.internal.metrics.ListenerEvent;
+import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.security.InternalAuthToken;
 import org.neo4j.driver.internal.security.SecurityPlan;
 import org.neo4j.driver.internal.util.Clock;
@@ -40,6 +43,7 @@ import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
 import static java.util.Objects.requireNonNull;
+import static org.neo4j.driver.internal.metrics.InternalAbstractMetrics.DEV_NULL_METRICS;
 
 public class ChannelConnectorImpl implements ChannelConnector
 {
@@ -50,15 +54,28 @@ public class ChannelConnectorImpl implements ChannelConnector
     private final int connectTimeoutMillis;
     private final Logging logging;
     private final Clock clock;
+    private final MetricsListener metricsListener;
 
     public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan, Logging logging,
             Clock clock )
     {
-        this( connectionSettings, securityPlan, new ChannelPipelineBuilderImpl(), logging, clock );
+        this( connectionSettings, securityPlan, logging, clock, DEV_NULL_METRICS );
+    }
+
+    public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan, Logging logging,
+            Clock clock, MetricsListener metricsListener )
+    {
+        this( connectionSettings, securityPlan, new ChannelPipelineBuilderImpl(), logging, clock, metricsListener );
     }
 
     public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan,
             ChannelPipelineBuilder pipelineBuilder, Logging logging, Clock clock )
+    {
+        this( connectionSettings, securityPlan, pipelineBuilder, logging, clock, DEV_NULL_METRICS );
+    }
+
+    public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan,
+            ChannelPipelineBuilder pipelineBuilder, Logging logging, Clock clock, MetricsListener metricsListener )
     {
         this.userAgent = connectionSettings.userAgent();
         this.authToken = tokenAsMap( connectionSettings.authToken() );
@@ -67,6 +84,7 @@ public class ChannelConnectorImpl implements ChannelConnector
         this.pipelineBuilder = pipelineBuilder;
         this.logging = requireNonNull( logging );
         this.clock = requireNonNull( clock );
+        this.metricsListener = requireNonNull( metricsListener );
     }
 
     @Override
@@ -97,11 +115,46 @@ public class ChannelConnectorImpl implements ChannelConnector
         channelConnected.addListener( future ->
                 pipeline.addFirst( new ConnectTimeoutHandler( connectTimeoutMillis ) ) );
 
+        // track number of channels served by every event loop
+        channelConnected.addListener( future ->
+        {
+            if ( future.isSuccess() )
+            {
+                metricsListener.afterChannelConnected( channelConnected.channel() );
+            }
+        } );
+
+        if ( securityPlan.requiresEncryption() )
+        {
+            // TLS handshake starts when channel becomes active, record how long it takes
+            channelConnected.addListener( future ->
+            {
+                SslHandler sslHandler = pipeline.get( SslHandler.class );
+                if ( future.isSuccess() && sslHandler != null )
+                {
+                    installTlsHandshakeListener( address, sslHandler );
+                }
+            } );
+        }
+
         // add listener that sends Bolt handshake bytes when channel is connected
         channelConnected.addListener(
                 new ChannelConnectedListener( address, pipelineBuilder, handshakeCompleted, logging ) );
     }
 
+    private void installTlsHandshakeListener( BoltServerAddress address, SslHandler sslHandler )
+    {
+        ListenerEvent handshakeEvent = metricsListener.createListenerEvent();
+        metricsListener.beforeTlsHandshake( address, handshakeEvent );
+        sslHandler.handshakeFuture().addListener( future ->
+        {
+            if ( future.isSuccess() )
+            {
+                metricsListener.afterTlsHandshake( address, handshakeEvent );
+            }
+        } );
+    }
+
     private void installHandshakeCompletedListeners( ChannelPromise handshakeCompleted,
             ChannelPromise connectionInitialized )
     {
@@ -25,23 +25,45 @@ import org.neo4j.driver.internal.async.inbound.ChunkDecoder;
 import org.neo4j.driver.internal.async.inbound.InboundMessageHandler;
 import org.neo4j.driver.internal.async.inbound.MessageDecoder;
 import org.neo4j.driver.internal.async.outbound.OutboundMessageHandler;
+import org.neo4j.driver.internal.logging.WireTracer;
 import org.neo4j.driver.internal.messaging.MessageFormat;
 import org.neo4j.driver.v1.Logging;
 
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
+
 public class ChannelPipelineBuilderImpl implements ChannelPipelineBuilder
 {
+    private final WireTracer wireTracer;
+    private final boolean lazyDateTimeValues;
+
+    public ChannelPipelineBuilderImpl()
+    {
+        this( DEV_NULL_WIRE_TRACER );
+    }
+
+    public ChannelPipelineBuilderImpl( WireTracer wireTracer )
+    {
+        this( wireTracer, false );
+    }
+
+    public ChannelPipelineBuilderImpl( WireTracer wireTracer, boolean lazyDateTimeValues )
+    {
+        this.wireTracer = wireTracer;
+        this.lazyDateTimeValues = lazyDateTimeValues;
+    }
+
     @Override
     public void build( MessageFormat messageFormat, ChannelPipeline pipeline, Logging logging )
     {
         // inbound handlers
         pipeline.addLast( new ChunkDecoder( logging ) );
         pipeline.addLast( new MessageDecoder() );
-        pipeline.addLast( new InboundMessageHandler( messageFormat, logging ) );
+        pipeline.addLast( new InboundMessageHandler( messageFormat, lazyDateTimeValues, logging, wireTracer ) );
 
         // outbound handlers
-        pipeline.addLast( OutboundMessageHandler.NAME, new OutboundMessageHandler( messageFormat, logging ) );
+        pipeline.addLast( OutboundMessageHandler.NAME, new OutboundMessageHandler( messageFormat, logging, wireTracer ) );
 
         // last one - error handler
-        pipeline.addLast( new ChannelErrorHandler( logging ) );
+        pipeline.addLast( new ChannelErrorHandler( logging, wireTracer ) );
     }
 }
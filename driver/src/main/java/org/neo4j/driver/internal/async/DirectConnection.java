@@ -31,9 +31,16 @@ import org.neo4j.driver.internal.handlers.ChannelReleasingResetResponseHandler;
 import org.neo4j.driver.internal.handlers.ResetResponseHandler;
 import org.neo4j.driver.internal.messaging.BoltProtocol;
 import org.neo4j.driver.internal.messaging.Message;
+import org.neo4j.driver.internal.messaging.request.BeginMessage;
+import org.neo4j.driver.internal.messaging.request.CommitMessage;
 import org.neo4j.driver.internal.messaging.request.ResetMessage;
+import org.neo4j.driver.internal.messaging.request.RollbackMessage;
+import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.request.RunWithMetadataMessage;
 import org.neo4j.driver.internal.metrics.ListenerEvent;
 import org.neo4j.driver.internal.metrics.MetricsListener;
+import org.neo4j.driver.internal.metrics.StatementMetricsHandler;
+import org.neo4j.driver.internal.metrics.StatementMetricsListener;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ResponseHandler;
 import org.neo4j.driver.internal.util.Clock;
@@ -57,6 +64,9 @@ public class DirectConnection implements Connection
     private final MetricsListener metricsListener;
     private final ListenerEvent inUseEvent;
 
+    // only accessed from the event loop thread
+    private boolean transactionOpen;
+
     public DirectConnection( Channel channel, ChannelPool channelPool, Clock clock, MetricsListener metricsListener )
     {
         this.channel = channel;
@@ -137,7 +147,7 @@ public class DirectConnection implements Connection
     {
         CompletableFuture<Void> result = new CompletableFuture<>();
         ResetResponseHandler handler = new ResetResponseHandler( messageDispatcher, result );
-        writeResetMessageIfNeeded( handler, true );
+        writeResetMessageIfNeeded( handler );
         return result;
     }
 
@@ -149,7 +159,7 @@ public class DirectConnection implements Connection
             ChannelReleasingResetResponseHandler handler = new ChannelReleasingResetResponseHandler( channel,
                     channelPool, messageDispatcher, clock, releaseFuture );
 
-            writeResetMessageIfNeeded( handler, false );
+            releaseInEventLoop( handler );
             metricsListener.afterConnectionReleased( this.serverAddress, this.inUseEvent );
         }
         return releaseFuture;
@@ -186,11 +196,11 @@ public class DirectConnection implements Connection
         return protocol;
     }
 
-    private void writeResetMessageIfNeeded( ResponseHandler resetHandler, boolean isSessionReset )
+    private void writeResetMessageIfNeeded( ResponseHandler resetHandler )
     {
         channel.eventLoop().execute( () ->
         {
-            if ( isSessionReset && !isOpen() )
+            if ( !isOpen() )
             {
                 resetHandler.onSuccess( emptyMap() );
             }
@@ -199,17 +209,73 @@ public class DirectConnection implements Connection
                 // auto-read could've been disabled, re-enable it to automatically receive response for RESET
                 setAutoRead( true );
 
+                // RESET rolls back an open transaction
+                transactionOpen = false;
                 messageDispatcher.enqueue( resetHandler );
                 channel.writeAndFlush( ResetMessage.RESET, channel.voidPromise() );
             }
         } );
     }
 
+    private void releaseInEventLoop( ChannelReleasingResetResponseHandler releaseHandler )
+    {
+        channel.eventLoop().execute( () ->
+        {
+            // auto-read could've been disabled, re-enable it before the channel goes back to the pool
+            setAutoRead( true );
+
+            if ( isClean() )
+            {
+                // server is known to be in the READY state, channel can be returned to the pool without a RESET
+                releaseHandler.onSuccess( emptyMap() );
+            }
+            else
+            {
+                transactionOpen = false;
+                messageDispatcher.enqueue( releaseHandler );
+                channel.writeAndFlush( ResetMessage.RESET, channel.voidPromise() );
+            }
+        } );
+    }
+
+    /**
+     * Check if the server side of this connection is idle and does not need a RESET. This is the case when all
+     * responses have arrived, no failure is waiting to be acknowledged and no explicit transaction is open.
+     * Must be called from the event loop thread.
+     */
+    private boolean isClean()
+    {
+        return !transactionOpen &&
+               messageDispatcher.queuedHandlersCount() == 0 &&
+               messageDispatcher.currentError() == null &&
+               !messageDispatcher.fatalErrorOccurred();
+    }
+
+    private void updateTransactionState( Message message )
+    {
+        if ( message instanceof BeginMessage || isRunMessage( message, "BEGIN" ) )
+        {
+            transactionOpen = true;
+        }
+        else if ( message instanceof CommitMessage || message instanceof RollbackMessage ||
+                  isRunMessage( message, "COMMIT" ) || isRunMessage( message, "ROLLBACK" ) )
+        {
+            transactionOpen = false;
+        }
+    }
+
+    private static boolean isRunMessage( Message message, String statement )
+    {
+        // Bolt V1 and V2 manage explicit transactions with RUN messages
+        return message instanceof RunMessage && statement.equals( ((RunMessage) message).statement() );
+    }
+
     private void writeMessageInEventLoop( Message message, ResponseHandler handler, boolean flush )
     {
         channel.eventLoop().execute( () ->
         {
             messageDispatcher.enqueue( handler );
+            updateTransactionState( message );
 
             if ( flush )
             {
@@ -224,10 +290,16 @@ public class DirectConnection implements Connection
 
     private void writeMessagesInEventLoop( Message message1, ResponseHandler handler1, Message message2, ResponseHandler handler2, boolean flush )
     {
+        StatementMetricsHandler metricsHandler = newStatementMetricsHandler( message1 );
+        ResponseHandler runHandler = metricsHandler == null ? handler1 : metricsHandler.runHandler( handler1 );
+        ResponseHandler pullAllHandler = metricsHandler == null ? handler2 : metricsHandler.pullAllHandler( handler2 );
+
         channel.eventLoop().execute( () ->
         {
-            messageDispatcher.enqueue( handler1 );
-            messageDispatcher.enqueue( handler2 );
+            messageDispatcher.enqueue( runHandler );
+            messageDispatcher.enqueue( pullAllHandler );
+            updateTransactionState( message1 );
+            updateTransactionState( message2 );
 
             channel.write( message1, channel.voidPromise() );
 
@@ -242,6 +314,31 @@ public class DirectConnection implements Connection
         } );
     }
 
+    private StatementMetricsHandler newStatementMetricsHandler( Message message )
+    {
+        String statement;
+        if ( isRunMessage( message, "BEGIN" ) || isRunMessage( message, "COMMIT" ) || isRunMessage( message, "ROLLBACK" ) )
+        {
+            // Bolt V1 and V2 transaction control messages are not user statements
+            return null;
+        }
+        else if ( message instanceof RunMessage )
+        {
+            statement = ((RunMessage) message).statement();
+        }
+        else if ( message instanceof RunWithMetadataMessage )
+        {
+            statement = ((RunWithMetadataMessage) message).statement();
+        }
+        else
+        {
+            return null;
+        }
+
+        StatementMetricsListener listener = metricsListener.beforeRunningStatement( statement );
+        return listener == null ? null : new StatementMetricsHandler( listener, messageDispatcher::currentMessageSize );
+    }
+
     private void setAutoRead( boolean value )
     {
         channel.config().setAutoRead( value );
@@ -30,14 +30,32 @@ import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 
 public class ResultCursorsHolder
 {
+    private static final int INITIAL_PRUNE_THRESHOLD = 16;
+
     private final List<CompletionStage<InternalStatementResultCursor>> cursorStages = new ArrayList<>();
+    private int pruneThreshold = INITIAL_PRUNE_THRESHOLD;
 
     public void add( CompletionStage<InternalStatementResultCursor> cursorStage )
     {
         Objects.requireNonNull( cursorStage );
+        if ( cursorStages.size() >= pruneThreshold )
+        {
+            // long transactions can run a lot of statements, do not hold on to results that can't fail anymore
+            // threshold grows with the number of remaining cursors to keep pruning cost amortized constant
+            cursorStages.removeIf( ResultCursorsHolder::isDone );
+            pruneThreshold = Math.max( INITIAL_PRUNE_THRESHOLD, cursorStages.size() * 2 );
+        }
         cursorStages.add( cursorStage );
     }
 
+    /**
+     * <b>Visible for testing</b>
+     */
+    int size()
+    {
+        return cursorStages.size();
+    }
+
     public CompletionStage<Throwable> retrieveNotConsumedError()
     {
         CompletableFuture<Throwable>[] failures = retrieveAllFailures();
@@ -70,6 +88,22 @@ public class ResultCursorsHolder
         return null;
     }
 
+    private static boolean isDone( CompletionStage<InternalStatementResultCursor> cursorStage )
+    {
+        CompletableFuture<InternalStatementResultCursor> cursorFuture = cursorStage.toCompletableFuture();
+        if ( !cursorFuture.isDone() )
+        {
+            return false;
+        }
+        if ( cursorFuture.isCompletedExceptionally() )
+        {
+            // stage errors are not reported by this holder
+            return true;
+        }
+        InternalStatementResultCursor cursor = cursorFuture.getNow( null ); // does not block
+        return cursor == null || cursor.isDone();
+    }
+
     private static CompletionStage<Throwable> retrieveFailure( CompletionStage<InternalStatementResultCursor> cursorStage )
     {
         return cursorStage
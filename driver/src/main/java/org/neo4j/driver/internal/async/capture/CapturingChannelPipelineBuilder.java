@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.driver.internal.async.ChannelPipelineBuilder;
+import org.neo4j.driver.internal.messaging.MessageFormat;
+import org.neo4j.driver.v1.Logging;
+
+import static java.lang.String.format;
+import static org.neo4j.driver.internal.async.ChannelAttributes.protocolVersion;
+
+/**
+ * Pipeline builder that records Bolt traffic of every connection into a separate file in the given directory.
+ * Files are named {@code bolt-<sequence number>-<channel id>.boltcap} and can be replayed without a database.
+ * Capture handler is installed after the Bolt handshake and redacts the INIT or HELLO message with credentials.
+ * All files are written by a single background thread, which stops when capture is idle.
+ */
+public class CapturingChannelPipelineBuilder implements ChannelPipelineBuilder
+{
+    public static final String CAPTURE_FILE_SUFFIX = ".boltcap";
+
+    private final ChannelPipelineBuilder delegate;
+    private final Path directory;
+    private final AtomicInteger captureCounter = new AtomicInteger();
+    private final Executor writerExecutor;
+
+    public CapturingChannelPipelineBuilder( ChannelPipelineBuilder delegate, Path directory )
+    {
+        // single thread preserves the order of writes, it is only alive while there is something to write
+        this( delegate, directory, new ThreadPoolExecutor( 0, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                new DefaultThreadFactory( "BoltTrafficCapture", true ) ) );
+    }
+
+    CapturingChannelPipelineBuilder( ChannelPipelineBuilder delegate, Path directory, Executor writerExecutor )
+    {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.writerExecutor = writerExecutor;
+    }
+
+    @Override
+    public void build( MessageFormat messageFormat, ChannelPipeline pipeline, Logging logging )
+    {
+        Channel channel = pipeline.channel();
+        Path file = directory.resolve( format( "bolt-%06d-%s%s", captureCounter.incrementAndGet(), channel.id().asShortText(),
+                CAPTURE_FILE_SUFFIX ) );
+        int protocolVersion = protocolVersion( channel );
+        pipeline.addLast( new TrafficCaptureHandler( () -> TrafficCaptureWriter.create( file, protocolVersion ),
+                writerExecutor, logging ) );
+
+        delegate.build( messageFormat, pipeline, logging );
+    }
+}
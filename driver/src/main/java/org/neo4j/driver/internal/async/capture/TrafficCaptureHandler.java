@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction;
+import org.neo4j.driver.internal.logging.ChannelActivityLogger;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records raw inbound and outbound bytes of a channel. Should be located in the pipeline before any Bolt decoders
+ * and encoders so that it observes exactly the bytes exchanged with the server.
+ * <p>
+ * The first outbound message is INIT or HELLO and carries credentials. It is recorded as an empty message, which
+ * keeps the message count intact for replay. Bytes are copied on the event loop, while files are opened, written and
+ * flushed by the given executor, which is expected to run tasks one at a time in submission order.
+ * <p>
+ * Capture is best effort: IO errors disable it and are logged, connection itself keeps working.
+ */
+public class TrafficCaptureHandler extends ChannelDuplexHandler
+{
+    // zero-sized chunk, which terminates a message with no content
+    static final byte[] REDACTED_MESSAGE = {0, 0};
+
+    private final Callable<TrafficCaptureWriter> writerFactory;
+    private final Executor writerExecutor;
+    private final Logging logging;
+    private final long startNanos;
+
+    // accessed only by the event loop
+    private boolean initMessageRedacted;
+    private boolean closed;
+    private Logger log;
+
+    // accessed only by the writer executor
+    private TrafficCaptureWriter writer;
+    private volatile boolean failed;
+
+    public TrafficCaptureHandler( Callable<TrafficCaptureWriter> writerFactory, Executor writerExecutor, Logging logging )
+    {
+        this.writerFactory = requireNonNull( writerFactory );
+        this.writerExecutor = requireNonNull( writerExecutor );
+        this.logging = logging;
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void handlerAdded( ChannelHandlerContext ctx )
+    {
+        log = new ChannelActivityLogger( ctx.channel(), logging, getClass() );
+        submit( () -> writer = writerFactory.call() );
+    }
+
+    @Override
+    public void handlerRemoved( ChannelHandlerContext ctx )
+    {
+        closeWriter();
+    }
+
+    @Override
+    public void channelRead( ChannelHandlerContext ctx, Object msg ) throws Exception
+    {
+        if ( msg instanceof ByteBuf )
+        {
+            record( Direction.INBOUND, (ByteBuf) msg );
+        }
+        super.channelRead( ctx, msg );
+    }
+
+    @Override
+    public void channelReadComplete( ChannelHandlerContext ctx ) throws Exception
+    {
+        flushWriter();
+        super.channelReadComplete( ctx );
+    }
+
+    @Override
+    public void write( ChannelHandlerContext ctx, Object msg, ChannelPromise promise ) throws Exception
+    {
+        if ( msg instanceof ByteBuf )
+        {
+            record( Direction.OUTBOUND, (ByteBuf) msg );
+        }
+        super.write( ctx, msg, promise );
+    }
+
+    @Override
+    public void flush( ChannelHandlerContext ctx ) throws Exception
+    {
+        flushWriter();
+        super.flush( ctx );
+    }
+
+    @Override
+    public void channelInactive( ChannelHandlerContext ctx ) throws Exception
+    {
+        closeWriter();
+        super.channelInactive( ctx );
+    }
+
+    private void record( Direction direction, ByteBuf buf )
+    {
+        if ( closed || failed || !buf.isReadable() )
+        {
+            return;
+        }
+
+        byte[] bytes;
+        if ( direction == Direction.OUTBOUND && !initMessageRedacted )
+        {
+            // outbound message handler writes every message as a single buffer
+            initMessageRedacted = true;
+            bytes = REDACTED_MESSAGE;
+        }
+        else
+        {
+            // buffer is released once it is read or written, copy it for the writer
+            bytes = new byte[buf.readableBytes()];
+            buf.getBytes( buf.readerIndex(), bytes );
+        }
+        long timestampNanos = System.nanoTime() - startNanos;
+        submit( () -> writer.write( direction, timestampNanos, bytes ) );
+    }
+
+    private void flushWriter()
+    {
+        if ( !closed && !failed )
+        {
+            submit( () -> writer.flush() );
+        }
+    }
+
+    private void closeWriter()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            submit( () ->
+            {
+                writer.close();
+                writer = null;
+            } );
+        }
+    }
+
+    private void submit( CaptureTask task )
+    {
+        Logger taskLog = log;
+        try
+        {
+            writerExecutor.execute( () ->
+            {
+                if ( failed )
+                {
+                    return;
+                }
+                try
+                {
+                    task.run();
+                }
+                catch ( Exception e )
+                {
+                    captureFailed( taskLog, e );
+                }
+            } );
+        }
+        catch ( RejectedExecutionException e )
+        {
+            failed = true;
+            taskLog.warn( "Unable to write traffic capture, capture is disabled for this connection", e );
+        }
+    }
+
+    private void captureFailed( Logger taskLog, Exception error )
+    {
+        failed = true;
+        taskLog.warn( "Failed to write traffic capture, capture is disabled for this connection", error );
+        if ( writer != null )
+        {
+            try
+            {
+                writer.close();
+            }
+            catch ( Exception e )
+            {
+                taskLog.warn( "Failed to close traffic capture", e );
+            }
+            writer = null;
+        }
+    }
+
+    private interface CaptureTask
+    {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction;
+
+import static java.lang.String.format;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureWriter.FORMAT_VERSION;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureWriter.MAGIC;
+
+/**
+ * Reads traffic captures produced by {@link TrafficCaptureWriter}.
+ */
+public class TrafficCaptureReader implements AutoCloseable
+{
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final DataInputStream in;
+    private final int protocolVersion;
+
+    public TrafficCaptureReader( InputStream in ) throws IOException
+    {
+        this.in = new DataInputStream( new BufferedInputStream( in ) );
+
+        int magic = this.in.readInt();
+        if ( magic != MAGIC )
+        {
+            throw new IOException( format( "Not a Bolt traffic capture, unexpected magic 0x%08X", magic ) );
+        }
+        byte formatVersion = this.in.readByte();
+        if ( formatVersion != FORMAT_VERSION )
+        {
+            throw new IOException( "Unsupported traffic capture format version " + formatVersion );
+        }
+        this.protocolVersion = this.in.readInt();
+    }
+
+    public static TrafficCaptureReader open( Path file ) throws IOException
+    {
+        return new TrafficCaptureReader( Files.newInputStream( file ) );
+    }
+
+    /**
+     * @return Bolt protocol version negotiated by the captured connection.
+     */
+    public int protocolVersion()
+    {
+        return protocolVersion;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the next record or {@code null} when the end of capture is reached.
+     * @throws IOException when the capture can't be read or is truncated.
+     */
+    public TrafficCaptureRecord next() throws IOException
+    {
+        int directionOrdinal = in.read();
+        if ( directionOrdinal == -1 )
+        {
+            return null;
+        }
+        if ( directionOrdinal >= DIRECTIONS.length )
+        {
+            throw new IOException( "Unknown traffic direction " + directionOrdinal );
+        }
+
+        long timestampNanos = in.readLong();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully( bytes );
+        return new TrafficCaptureRecord( DIRECTIONS[directionOrdinal], timestampNanos, bytes );
+    }
+
+    public List<TrafficCaptureRecord> readAll() throws IOException
+    {
+        List<TrafficCaptureRecord> records = new ArrayList<>();
+        TrafficCaptureRecord record;
+        while ( (record = next()) != null )
+        {
+            records.add( record );
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+}
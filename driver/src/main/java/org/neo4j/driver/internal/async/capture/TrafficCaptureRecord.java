@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import static java.lang.String.format;
+
+/**
+ * A single chunk of raw Bolt bytes observed on a captured connection.
+ */
+public class TrafficCaptureRecord
+{
+    public enum Direction
+    {
+        /**
+         * Bytes received by the driver from the server.
+         */
+        INBOUND,
+        /**
+         * Bytes sent by the driver to the server.
+         */
+        OUTBOUND
+    }
+
+    private final Direction direction;
+    private final long timestampNanos;
+    private final byte[] bytes;
+
+    public TrafficCaptureRecord( Direction direction, long timestampNanos, byte[] bytes )
+    {
+        this.direction = direction;
+        this.timestampNanos = timestampNanos;
+        this.bytes = bytes;
+    }
+
+    public Direction direction()
+    {
+        return direction;
+    }
+
+    /**
+     * @return time in nanoseconds since the start of the capture when these bytes were observed.
+     */
+    public long timestampNanos()
+    {
+        return timestampNanos;
+    }
+
+    public byte[] bytes()
+    {
+        return bytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "TrafficCaptureRecord{direction=%s, timestampNanos=%d, size=%d}", direction, timestampNanos, bytes.length );
+    }
+}
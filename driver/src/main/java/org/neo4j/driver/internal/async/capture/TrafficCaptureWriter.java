@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction;
+
+/**
+ * Writes raw Bolt traffic of a single connection in a compact binary format.
+ * <p>
+ * Format is a header followed by a sequence of records:
+ * <pre>
+ * header: int magic, byte formatVersion, int boltProtocolVersion
+ * record: byte direction, long timestampNanos, int size, byte[size] bytes
+ * </pre>
+ * All numbers are big-endian. Bolt handshake bytes are not part of the capture, the negotiated protocol version is
+ * stored in the header instead.
+ */
+public class TrafficCaptureWriter implements AutoCloseable
+{
+    static final int MAGIC = 0x424F4C54; // "BOLT"
+    static final byte FORMAT_VERSION = 1;
+
+    private final DataOutputStream out;
+
+    public TrafficCaptureWriter( OutputStream out, int protocolVersion ) throws IOException
+    {
+        this.out = new DataOutputStream( new BufferedOutputStream( out ) );
+        this.out.writeInt( MAGIC );
+        this.out.writeByte( FORMAT_VERSION );
+        this.out.writeInt( protocolVersion );
+    }
+
+    public static TrafficCaptureWriter create( Path file, int protocolVersion ) throws IOException
+    {
+        return new TrafficCaptureWriter( Files.newOutputStream( file ), protocolVersion );
+    }
+
+    /**
+     * Append readable bytes of the given buffer. Reader index of the buffer is not modified.
+     *
+     * @param direction direction of the traffic.
+     * @param timestampNanos time since the start of the capture.
+     * @param buf the bytes.
+     * @throws IOException when the underlying stream fails.
+     */
+    public void write( Direction direction, long timestampNanos, ByteBuf buf ) throws IOException
+    {
+        int size = buf.readableBytes();
+        writeRecordHeader( direction, timestampNanos, size );
+        buf.getBytes( buf.readerIndex(), out, size );
+    }
+
+    public void write( Direction direction, long timestampNanos, byte[] bytes ) throws IOException
+    {
+        writeRecordHeader( direction, timestampNanos, bytes.length );
+        out.write( bytes );
+    }
+
+    public void flush() throws IOException
+    {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        out.close();
+    }
+
+    private void writeRecordHeader( Direction direction, long timestampNanos, int size ) throws IOException
+    {
+        out.writeByte( direction.ordinal() );
+        out.writeLong( timestampNanos );
+        out.writeInt( size );
+    }
+}
@@ -25,6 +25,7 @@ import io.netty.handler.codec.CodecException;
 import java.io.IOException;
 
 import org.neo4j.driver.internal.logging.ChannelActivityLogger;
+import org.neo4j.driver.internal.logging.WireTracer;
 import org.neo4j.driver.internal.util.ErrorUtil;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
@@ -33,18 +34,26 @@ import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
 import static org.neo4j.driver.internal.async.ChannelAttributes.terminationReason;
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
 
 public class ChannelErrorHandler extends ChannelInboundHandlerAdapter
 {
     private final Logging logging;
+    private final WireTracer wireTracer;
 
     private InboundMessageDispatcher messageDispatcher;
     private Logger log;
     private boolean failed;
 
     public ChannelErrorHandler( Logging logging )
+    {
+        this( logging, DEV_NULL_WIRE_TRACER );
+    }
+
+    public ChannelErrorHandler( Logging logging, WireTracer wireTracer )
     {
         this.logging = logging;
+        this.wireTracer = wireTracer;
     }
 
     @Override
@@ -89,6 +98,10 @@ public class ChannelErrorHandler extends ChannelInboundHandlerAdapter
         {
             failed = true;
             log.error( "Fatal error occurred in the pipeline", error );
+            if ( wireTracer.isEnabled() )
+            {
+                log.warn( "Recent Bolt messages of the failed channel:%n%s", wireTracer.dump( ctx.channel().id() ) );
+            }
             fail( ctx, error );
         }
     }
@@ -24,9 +24,12 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
 import org.neo4j.driver.internal.logging.ChannelActivityLogger;
+import org.neo4j.driver.internal.metrics.EventLoopMetricsListener;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
 
+import static org.neo4j.driver.internal.async.ChannelAttributes.eventLoopMetrics;
+
 public class ChunkDecoder extends LengthFieldBasedFrameDecoder
 {
     private static final int MAX_FRAME_BODY_LENGTH = 0xFFFF;
@@ -38,6 +41,7 @@ public class ChunkDecoder extends LengthFieldBasedFrameDecoder
 
     private final Logging logging;
     private Logger log;
+    private EventLoopMetricsListener eventLoopMetrics;
 
     public ChunkDecoder( Logging logging )
     {
@@ -49,12 +53,25 @@ public class ChunkDecoder extends LengthFieldBasedFrameDecoder
     public void handlerAdded( ChannelHandlerContext ctx )
     {
         log = new ChannelActivityLogger( ctx.channel(), logging, getClass() );
+        eventLoopMetrics = eventLoopMetrics( ctx.channel() );
     }
 
     @Override
     protected void handlerRemoved0( ChannelHandlerContext ctx )
     {
         log = null;
+        eventLoopMetrics = null;
+    }
+
+    @Override
+    public void channelRead( ChannelHandlerContext ctx, Object msg ) throws Exception
+    {
+        if ( eventLoopMetrics != null && msg instanceof ByteBuf )
+        {
+            // size of every read tells how well receive buffers fit the traffic of the connection
+            eventLoopMetrics.afterBytesRead( ((ByteBuf) msg).readableBytes() );
+        }
+        super.channelRead( ctx, msg );
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.inbound;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.ChannelOption;
+
+/**
+ * Strategy used to accumulate inbound chunks into complete Bolt messages. Selected JVM-wide with the
+ * {@code messageDecoderCumulator} system property: {@code composite} (default), {@code merge} or {@code adaptive}.
+ */
+public enum InboundBuffering
+{
+    /**
+     * Always collect chunks in a composite buffer without copying them.
+     */
+    COMPOSITE,
+    /**
+     * Always copy chunks into a single contiguous buffer.
+     */
+    MERGE,
+    /**
+     * Copy chunks of small messages into a contiguous buffer and switch to a composite buffer once a message grows
+     * beyond {@link #MERGE_THRESHOLD} bytes. Receive buffers are sized from the traffic observed on each connection.
+     */
+    ADAPTIVE;
+
+    static final int MERGE_THRESHOLD = Integer.getInteger( "messageDecoderMergeThreshold", 16 * 1024 );
+    static final int MAX_RECEIVE_BUFFER_SIZE = Integer.getInteger( "maxReceiveBufferSize", 256 * 1024 );
+
+    private static final int MIN_RECEIVE_BUFFER_SIZE = 64;
+    private static final int INITIAL_RECEIVE_BUFFER_SIZE = 1024;
+
+    public static InboundBuffering fromSystemProperty()
+    {
+        String value = System.getProperty( "messageDecoderCumulator", "" );
+        if ( "merge".equals( value ) )
+        {
+            return MERGE;
+        }
+        if ( "adaptive".equals( value ) )
+        {
+            return ADAPTIVE;
+        }
+        return COMPOSITE;
+    }
+
+    MessageCumulator newCumulator()
+    {
+        switch ( this )
+        {
+        case MERGE:
+            return new MessageCumulator( Integer.MAX_VALUE );
+        case ADAPTIVE:
+            return new MessageCumulator( MERGE_THRESHOLD );
+        default:
+            return new MessageCumulator( -1 );
+        }
+    }
+
+    /**
+     * Configure receive buffer allocation of all channels created by the given bootstrap.
+     *
+     * @param bootstrap the bootstrap to configure.
+     */
+    public void configure( Bootstrap bootstrap )
+    {
+        if ( this == ADAPTIVE )
+        {
+            // allocator keeps a separate handle per channel that grows and shrinks the next receive buffer
+            // based on how many bytes the previous reads of the same channel returned
+            bootstrap.option( ChannelOption.RCVBUF_ALLOCATOR,
+                    new AdaptiveRecvByteBufAllocator( MIN_RECEIVE_BUFFER_SIZE, INITIAL_RECEIVE_BUFFER_SIZE, MAX_RECEIVE_BUFFER_SIZE ) );
+        }
+    }
+}
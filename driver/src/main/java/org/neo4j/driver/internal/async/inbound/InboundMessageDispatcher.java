@@ -49,6 +49,7 @@ public class InboundMessageDispatcher implements ResponseMessageHandler
     private boolean fatalErrorOccurred;
 
     private AutoReadManagingResponseHandler autoReadManagingHandler;
+    private int currentMessageSize;
 
     public InboundMessageDispatcher( Channel channel, Logging logging )
     {
@@ -69,6 +70,21 @@ public class InboundMessageDispatcher implements ResponseMessageHandler
         }
     }
 
+    /**
+     * Size of the message that is currently being dispatched, in bytes.
+     *
+     * @return the size of the current message.
+     */
+    public int currentMessageSize()
+    {
+        return currentMessageSize;
+    }
+
+    void currentMessageSize( int size )
+    {
+        currentMessageSize = size;
+    }
+
     public int queuedHandlersCount()
     {
         return handlers.size();
@@ -94,6 +110,10 @@ public class InboundMessageDispatcher implements ResponseMessageHandler
         {
             throw new IllegalStateException( "No handler exists to handle RECORD message with fields: " + Arrays.toString( fields ) );
         }
+        if ( handler instanceof AutoReadManagingResponseHandler )
+        {
+            ((AutoReadManagingResponseHandler) handler).beforeRecord( currentMessageSize );
+        }
         handler.onRecord( fields );
     }
 
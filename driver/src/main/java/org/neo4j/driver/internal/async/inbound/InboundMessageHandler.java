@@ -24,34 +24,52 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.DecoderException;
 
 import org.neo4j.driver.internal.logging.ChannelActivityLogger;
+import org.neo4j.driver.internal.logging.WireTracer;
 import org.neo4j.driver.internal.messaging.MessageFormat;
+import org.neo4j.driver.internal.metrics.EventLoopMetricsListener;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
 import static java.util.Objects.requireNonNull;
+import static org.neo4j.driver.internal.async.ChannelAttributes.eventLoopMetrics;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
 
 public class InboundMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
 {
     private final ByteBufInput input;
     private final MessageFormat.Reader reader;
     private final Logging logging;
+    private final WireTracer wireTracer;
 
     private InboundMessageDispatcher messageDispatcher;
+    private EventLoopMetricsListener eventLoopMetrics;
     private Logger log;
 
     public InboundMessageHandler( MessageFormat messageFormat, Logging logging )
+    {
+        this( messageFormat, logging, DEV_NULL_WIRE_TRACER );
+    }
+
+    public InboundMessageHandler( MessageFormat messageFormat, Logging logging, WireTracer wireTracer )
+    {
+        this( messageFormat, false, logging, wireTracer );
+    }
+
+    public InboundMessageHandler( MessageFormat messageFormat, boolean lazyDateTimeValues, Logging logging, WireTracer wireTracer )
     {
         this.input = new ByteBufInput();
-        this.reader = messageFormat.newReader( input );
+        this.reader = messageFormat.newReader( input, lazyDateTimeValues );
         this.logging = logging;
+        this.wireTracer = wireTracer;
     }
 
     @Override
     public void handlerAdded( ChannelHandlerContext ctx )
     {
         messageDispatcher = requireNonNull( messageDispatcher( ctx.channel() ) );
+        eventLoopMetrics = eventLoopMetrics( ctx.channel() );
         log = new ChannelActivityLogger( ctx.channel(), logging, getClass() );
     }
 
@@ -59,6 +77,7 @@ public class InboundMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
     public void handlerRemoved( ChannelHandlerContext ctx )
     {
         messageDispatcher = null;
+        eventLoopMetrics = null;
         log = null;
     }
 
@@ -77,7 +96,15 @@ public class InboundMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
             log.trace( "S: %s", hexDump( msg ) );
         }
 
+        if ( wireTracer.isEnabled() && msg.readableBytes() > 1 )
+        {
+            // message is a struct, its signature follows the struct marker
+            wireTracer.messageReceived( ctx.channel().id(), msg.getByte( msg.readerIndex() + 1 ), msg.readableBytes() );
+        }
+
+        messageDispatcher.currentMessageSize( msg.readableBytes() );
         input.start( msg );
+        long startNanos = eventLoopMetrics == null ? 0 : System.nanoTime();
         try
         {
             reader.read( messageDispatcher );
@@ -89,6 +116,11 @@ public class InboundMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
         finally
         {
             input.stop();
+            if ( eventLoopMetrics != null )
+            {
+                // includes time spent in response handlers and user callbacks completed on this IO thread
+                eventLoopMetrics.afterMessageHandled( System.nanoTime() - startNanos );
+            }
         }
     }
 }
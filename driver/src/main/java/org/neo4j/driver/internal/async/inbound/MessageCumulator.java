@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.inbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder.Cumulator;
+
+import org.neo4j.driver.internal.metrics.EventLoopMetricsListener;
+
+import static io.netty.handler.codec.ByteToMessageDecoder.COMPOSITE_CUMULATOR;
+import static io.netty.handler.codec.ByteToMessageDecoder.MERGE_CUMULATOR;
+
+/**
+ * Cumulator that merges chunks into a contiguous buffer while the accumulated message is not larger than the
+ * threshold and switches to a composite buffer for larger messages. Negative threshold means always composite.
+ */
+class MessageCumulator implements Cumulator
+{
+    private final int threshold;
+    private EventLoopMetricsListener metrics;
+
+    MessageCumulator( int threshold )
+    {
+        this.threshold = threshold;
+    }
+
+    void metrics( EventLoopMetricsListener metrics )
+    {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ByteBuf cumulate( ByteBufAllocator alloc, ByteBuf cumulation, ByteBuf in )
+    {
+        if ( !in.isReadable() )
+        {
+            // empty buffer marks the message boundary, there is nothing to accumulate
+            in.release();
+            return cumulation;
+        }
+
+        boolean composite = useComposite( cumulation, in );
+        if ( metrics != null )
+        {
+            metrics.afterCumulation( composite, composite ? compositeCopiedBytes( cumulation, in ) : mergeCopiedBytes( cumulation, in ) );
+        }
+        return composite ? COMPOSITE_CUMULATOR.cumulate( alloc, cumulation, in ) : MERGE_CUMULATOR.cumulate( alloc, cumulation, in );
+    }
+
+    private boolean useComposite( ByteBuf cumulation, ByteBuf in )
+    {
+        if ( threshold < 0 || cumulation instanceof CompositeByteBuf )
+        {
+            // message is already accumulated in a composite buffer, keep adding components to it
+            return threshold != Integer.MAX_VALUE;
+        }
+        return (long) cumulation.readableBytes() + in.readableBytes() > threshold;
+    }
+
+    /**
+     * Estimate bytes copied by {@link ByteToMessageDecoder#MERGE_CUMULATOR}. Input is always copied, existing
+     * content is copied as well when the cumulation buffer has to be replaced.
+     */
+    private static int mergeCopiedBytes( ByteBuf cumulation, ByteBuf in )
+    {
+        boolean replaced = cumulation.writerIndex() > cumulation.maxCapacity() - in.readableBytes() ||
+                           cumulation.refCnt() > 1 || cumulation.isReadOnly() ||
+                           cumulation.writableBytes() < in.readableBytes();
+        return replaced ? cumulation.readableBytes() + in.readableBytes() : in.readableBytes();
+    }
+
+    /**
+     * Estimate bytes copied by {@link ByteToMessageDecoder#COMPOSITE_CUMULATOR}. Chunks are added as components
+     * unless the cumulation buffer is shared, then both buffers are copied into a new one.
+     */
+    private static int compositeCopiedBytes( ByteBuf cumulation, ByteBuf in )
+    {
+        return cumulation.refCnt() > 1 ? cumulation.readableBytes() + in.readableBytes() : 0;
+    }
+}
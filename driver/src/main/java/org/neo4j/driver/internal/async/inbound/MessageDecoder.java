@@ -24,15 +24,36 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 
 import java.util.List;
 
+import static org.neo4j.driver.internal.async.ChannelAttributes.eventLoopMetrics;
+
 public class MessageDecoder extends ByteToMessageDecoder
 {
-    private static final Cumulator DEFAULT_CUMULATOR = determineDefaultCumulator();
+    private static final InboundBuffering DEFAULT_BUFFERING = InboundBuffering.fromSystemProperty();
 
+    private final MessageCumulator cumulator;
     private boolean readMessageBoundary;
 
     public MessageDecoder()
     {
-        setCumulator( DEFAULT_CUMULATOR );
+        this( DEFAULT_BUFFERING );
+    }
+
+    MessageDecoder( InboundBuffering buffering )
+    {
+        cumulator = buffering.newCumulator();
+        setCumulator( cumulator );
+    }
+
+    @Override
+    public void handlerAdded( ChannelHandlerContext ctx )
+    {
+        cumulator.metrics( eventLoopMetrics( ctx.channel() ) );
+    }
+
+    @Override
+    protected void handlerRemoved0( ChannelHandlerContext ctx )
+    {
+        cumulator.metrics( null );
     }
 
     @Override
@@ -67,14 +88,4 @@ public class MessageDecoder extends ByteToMessageDecoder
             readMessageBoundary = false;
         }
     }
-
-    private static Cumulator determineDefaultCumulator()
-    {
-        String value = System.getProperty( "messageDecoderCumulator", "" );
-        if ( "merge".equals( value ) )
-        {
-            return MERGE_CUMULATOR;
-        }
-        return COMPOSITE_CUMULATOR;
-    }
 }
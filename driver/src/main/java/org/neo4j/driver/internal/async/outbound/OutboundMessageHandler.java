@@ -27,12 +27,14 @@ import java.util.List;
 
 import org.neo4j.driver.internal.async.BoltProtocolUtil;
 import org.neo4j.driver.internal.logging.ChannelActivityLogger;
+import org.neo4j.driver.internal.logging.WireTracer;
 import org.neo4j.driver.internal.messaging.Message;
 import org.neo4j.driver.internal.messaging.MessageFormat;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
 
 public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
 {
@@ -42,20 +44,27 @@ public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
     private final ChunkAwareByteBufOutput output;
     private final MessageFormat.Writer writer;
     private final Logging logging;
+    private final WireTracer wireTracer;
 
     private Logger log;
 
     public OutboundMessageHandler( MessageFormat messageFormat, Logging logging )
     {
-        this( messageFormat, true, logging );
+        this( messageFormat, logging, DEV_NULL_WIRE_TRACER );
     }
 
-    private OutboundMessageHandler( MessageFormat messageFormat, boolean byteArraySupportEnabled, Logging logging )
+    public OutboundMessageHandler( MessageFormat messageFormat, Logging logging, WireTracer wireTracer )
+    {
+        this( messageFormat, true, logging, wireTracer );
+    }
+
+    private OutboundMessageHandler( MessageFormat messageFormat, boolean byteArraySupportEnabled, Logging logging, WireTracer wireTracer )
     {
         this.messageFormat = messageFormat;
         this.output = new ChunkAwareByteBufOutput();
         this.writer = messageFormat.newWriter( output, byteArraySupportEnabled );
         this.logging = logging;
+        this.wireTracer = wireTracer;
     }
 
     @Override
@@ -96,11 +105,12 @@ public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
         }
 
         BoltProtocolUtil.writeMessageBoundary( messageBuf );
+        wireTracer.messageSent( ctx.channel().id(), msg.signature(), messageBuf.readableBytes() );
         out.add( messageBuf );
     }
 
     public OutboundMessageHandler withoutByteArraySupport()
     {
-        return new OutboundMessageHandler( messageFormat, false, logging );
+        return new OutboundMessageHandler( messageFormat, false, logging, wireTracer );
     }
 }
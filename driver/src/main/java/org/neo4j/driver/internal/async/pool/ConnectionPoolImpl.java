@@ -32,6 +32,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.ChannelConnector;
@@ -46,6 +48,8 @@ import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
 public class ConnectionPoolImpl implements ConnectionPool
 {
     private final ChannelConnector connector;
@@ -58,6 +62,7 @@ public class ConnectionPoolImpl implements ConnectionPool
     private final MetricsListener metricsListener;
 
     private final ConcurrentMap<BoltServerAddress,ChannelPool> pools = new ConcurrentHashMap<>();
+    private final Lock poolsLock = new ReentrantLock();
     private final AtomicBoolean closed = new AtomicBoolean();
 
     public ConnectionPoolImpl( ChannelConnector connector, Bootstrap bootstrap, PoolSettings settings, MetricsListener metricsListener, Logging logging, Clock clock )
@@ -127,6 +132,7 @@ public class ConnectionPoolImpl implements ConnectionPool
                         log.info( "Closing connection pool towards %s, it has no active connections " +
                                   "and is not in the routing table", address );
                         pool.close();
+                        metricsListener.afterPoolClosed( address );
                     }
                 }
             }
@@ -165,6 +171,7 @@ public class ConnectionPoolImpl implements ConnectionPool
             }
             finally
             {
+                metricsListener.afterPoolClosed();
                 eventLoopGroup().shutdownGracefully();
             }
         }
@@ -186,19 +193,19 @@ public class ConnectionPoolImpl implements ConnectionPool
             return pool;
         }
 
-        synchronized ( this )
+        return executeWithLock( poolsLock, () ->
         {
-            pool = pools.get( address );
-            if ( pool != null )
+            ChannelPool existingPool = pools.get( address );
+            if ( existingPool != null )
             {
-                return pool;
+                return existingPool;
             }
 
             metricsListener.addMetrics( address, this );
-            pool = newPool( address );
-            pools.put( address, pool );
-        }
-        return pool;
+            ChannelPool newPool = newPool( address );
+            pools.put( address, newPool );
+            return newPool;
+        } );
     }
 
     ChannelPool newPool( BoltServerAddress address )
@@ -20,14 +20,19 @@ package org.neo4j.driver.internal.cluster;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
 public class AddressSet
 {
     private static final BoltServerAddress[] NONE = {};
 
     private volatile BoltServerAddress[] addresses = NONE;
+    private final Lock lock = new ReentrantLock();
 
     public BoltServerAddress[] toArray()
     {
@@ -39,33 +44,39 @@ public class AddressSet
         return addresses.length;
     }
 
-    public synchronized void update( Set<BoltServerAddress> addresses )
+    public void update( Set<BoltServerAddress> addresses )
     {
-        this.addresses = addresses.toArray( NONE );
+        executeWithLock( lock, () ->
+        {
+            this.addresses = addresses.toArray( NONE );
+        } );
     }
 
-    public synchronized void remove( BoltServerAddress address )
+    public void remove( BoltServerAddress address )
     {
-        BoltServerAddress[] addresses = this.addresses;
-        if ( addresses != null )
+        executeWithLock( lock, () ->
         {
-            for ( int i = 0; i < addresses.length; i++ )
+            BoltServerAddress[] addresses = this.addresses;
+            if ( addresses != null )
             {
-                if ( addresses[i].equals( address ) )
+                for ( int i = 0; i < addresses.length; i++ )
                 {
-                    if ( addresses.length == 1 )
+                    if ( addresses[i].equals( address ) )
                     {
-                        this.addresses = NONE;
+                        if ( addresses.length == 1 )
+                        {
+                            this.addresses = NONE;
+                            return;
+                        }
+                        BoltServerAddress[] copy = new BoltServerAddress[addresses.length - 1];
+                        System.arraycopy( addresses, 0, copy, 0, i );
+                        System.arraycopy( addresses, i + 1, copy, i, addresses.length - i - 1 );
+                        this.addresses = copy;
                         return;
                     }
-                    BoltServerAddress[] copy = new BoltServerAddress[addresses.length - 1];
-                    System.arraycopy( addresses, 0, copy, 0, i );
-                    System.arraycopy( addresses, i + 1, copy, i, addresses.length - i - 1 );
-                    this.addresses = copy;
-                    return;
                 }
             }
-        }
+        } );
     }
 
     @Override
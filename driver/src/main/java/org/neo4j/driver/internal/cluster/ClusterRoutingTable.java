@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.util.Clock;
@@ -29,6 +31,7 @@ import org.neo4j.driver.v1.AccessMode;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
 
 public class ClusterRoutingTable implements RoutingTable
 {
@@ -39,6 +42,7 @@ public class ClusterRoutingTable implements RoutingTable
     private final AddressSet readers;
     private final AddressSet writers;
     private final AddressSet routers;
+    private final Lock lock = new ReentrantLock();
 
     public ClusterRoutingTable( Clock clock, BoltServerAddress... routingAddresses )
     {
@@ -66,20 +70,26 @@ public class ClusterRoutingTable implements RoutingTable
     }
 
     @Override
-    public synchronized void update( ClusterComposition cluster )
+    public void update( ClusterComposition cluster )
     {
-        expirationTimeout = cluster.expirationTimestamp();
-        readers.update( cluster.readers() );
-        writers.update( cluster.writers() );
-        routers.update( cluster.routers() );
+        executeWithLock( lock, () ->
+        {
+            expirationTimeout = cluster.expirationTimestamp();
+            readers.update( cluster.readers() );
+            writers.update( cluster.writers() );
+            routers.update( cluster.routers() );
+        } );
     }
 
     @Override
-    public synchronized void forget( BoltServerAddress address )
+    public void forget( BoltServerAddress address )
     {
-        routers.remove( address );
-        readers.remove( address );
-        writers.remove( address );
+        executeWithLock( lock, () ->
+        {
+            routers.remove( address );
+            readers.remove( address );
+            writers.remove( address );
+        } );
     }
 
     @Override
@@ -118,9 +128,12 @@ public class ClusterRoutingTable implements RoutingTable
 
 
     @Override
-    public synchronized String toString()
+    public String toString()
     {
-        return format( "Ttl %s, currentTime %s, routers %s, writers %s, readers %s",
-                expirationTimeout, clock.millis(), routers, writers, readers );
+        return executeWithLock( lock, () ->
+        {
+            return format( "Ttl %s, currentTime %s, routers %s, writers %s, readers %s",
+                    expirationTimeout, clock.millis(), routers, writers, readers );
+        } );
     }
 }
@@ -32,6 +32,7 @@ import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.TransactionConfig;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.ServerVersion.v3_2_0;
 import static org.neo4j.driver.v1.Values.parameters;
 
@@ -62,7 +63,8 @@ public class RoutingProcedureRunner
     CompletionStage<List<Record>> runProcedure( Connection connection, Statement procedure )
     {
         return connection.protocol()
-                .runInAutoCommitTransaction( connection, procedure, BookmarksHolder.NO_OP, TransactionConfig.empty(), true )
+                .runInAutoCommitTransaction( connection, procedure, BookmarksHolder.NO_OP, TransactionConfig.empty(),
+                        DEFAULT_MAX_RECORD_BUFFER_SIZE, true )
                 .thenCompose( StatementResultCursor::listAsync );
     }
 
@@ -20,8 +20,11 @@ package org.neo4j.driver.internal.cluster.loadbalancing;
 
 import io.netty.util.concurrent.EventExecutorGroup;
 
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.RoutingErrorHandler;
@@ -47,6 +50,7 @@ import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 import org.neo4j.driver.v1.net.ServerAddressResolver;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
 
 public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
 {
@@ -58,6 +62,7 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
     private final LoadBalancingStrategy loadBalancingStrategy;
     private final EventExecutorGroup eventExecutorGroup;
     private final Logger log;
+    private final Lock lock = new ReentrantLock();
 
     private CompletableFuture<RoutingTable> refreshRoutingTableFuture;
 
@@ -92,9 +97,15 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
 
     @Override
     public CompletionStage<Connection> acquireConnection( AccessMode mode )
+    {
+        return acquireConnection( mode, null );
+    }
+
+    @Override
+    public CompletionStage<Connection> acquireConnection( AccessMode mode, BoltServerAddress excludedAddress )
     {
         return freshRoutingTable( mode )
-                .thenCompose( routingTable -> acquire( mode, routingTable ) )
+                .thenCompose( routingTable -> acquire( mode, routingTable, excludedAddress ) )
                 .thenApply( connection -> new RoutingConnection( connection, mode, this ) );
     }
 
@@ -122,87 +133,100 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
         return connectionPool.close();
     }
 
-    private synchronized void forget( BoltServerAddress address )
+    private void forget( BoltServerAddress address )
     {
-        // remove from the routing table, to prevent concurrent threads from making connections to this address
-        routingTable.forget( address );
+        executeWithLock( lock, () ->
+        {
+            // remove from the routing table, to prevent concurrent threads from making connections to this address
+            routingTable.forget( address );
+        } );
     }
 
-    private synchronized CompletionStage<RoutingTable> freshRoutingTable( AccessMode mode )
+    private CompletionStage<RoutingTable> freshRoutingTable( AccessMode mode )
     {
-        if ( refreshRoutingTableFuture != null )
-        {
-            // refresh is already happening concurrently, just use it's result
-            return refreshRoutingTableFuture;
-        }
-        else if ( routingTable.isStaleFor( mode ) )
+        return executeWithLock( lock, () ->
         {
-            // existing routing table is not fresh and should be updated
-            log.info( "Routing table is stale. %s", routingTable );
+            if ( refreshRoutingTableFuture != null )
+            {
+                // refresh is already happening concurrently, just use it's result
+                return refreshRoutingTableFuture;
+            }
+            else if ( routingTable.isStaleFor( mode ) )
+            {
+                // existing routing table is not fresh and should be updated
+                log.info( "Routing table is stale. %s", routingTable );
 
-            CompletableFuture<RoutingTable> resultFuture = new CompletableFuture<>();
-            refreshRoutingTableFuture = resultFuture;
+                CompletableFuture<RoutingTable> resultFuture = new CompletableFuture<>();
+                refreshRoutingTableFuture = resultFuture;
 
-            rediscovery.lookupClusterComposition( routingTable, connectionPool )
-                    .whenComplete( ( composition, completionError ) ->
-                    {
-                        Throwable error = Futures.completionExceptionCause( completionError );
-                        if ( error != null )
-                        {
-                            clusterCompositionLookupFailed( error );
-                        }
-                        else
+                rediscovery.lookupClusterComposition( routingTable, connectionPool )
+                        .whenComplete( ( composition, completionError ) ->
                         {
-                            freshClusterCompositionFetched( composition );
-                        }
-                    } );
-
-            return resultFuture;
-        }
-        else
-        {
-            // existing routing table is fresh, use it
-            return completedFuture( routingTable );
-        }
+                            Throwable error = Futures.completionExceptionCause( completionError );
+                            if ( error != null )
+                            {
+                                clusterCompositionLookupFailed( error );
+                            }
+                            else
+                            {
+                                freshClusterCompositionFetched( composition );
+                            }
+                        } );
+
+                return resultFuture;
+            }
+            else
+            {
+                // existing routing table is fresh, use it
+                return completedFuture( routingTable );
+            }
+        } );
     }
 
-    private synchronized void freshClusterCompositionFetched( ClusterComposition composition )
+    private void freshClusterCompositionFetched( ClusterComposition composition )
     {
-        try
+        executeWithLock( lock, () ->
         {
-            routingTable.update( composition );
-            connectionPool.retainAll( routingTable.servers() );
+            try
+            {
+                routingTable.update( composition );
+                connectionPool.retainAll( routingTable.servers() );
 
-            log.info( "Updated routing table. %s", routingTable );
+                log.info( "Updated routing table. %s", routingTable );
 
-            CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
-            refreshRoutingTableFuture = null;
-            routingTableFuture.complete( routingTable );
-        }
-        catch ( Throwable error )
-        {
-            clusterCompositionLookupFailed( error );
-        }
+                CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
+                refreshRoutingTableFuture = null;
+                routingTableFuture.complete( routingTable );
+            }
+            catch ( Throwable error )
+            {
+                clusterCompositionLookupFailed( error );
+            }
+        } );
     }
 
-    private synchronized void clusterCompositionLookupFailed( Throwable error )
+    private void clusterCompositionLookupFailed( Throwable error )
     {
-        CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
-        refreshRoutingTableFuture = null;
-        routingTableFuture.completeExceptionally( error );
+        executeWithLock( lock, () ->
+        {
+            CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
+            refreshRoutingTableFuture = null;
+            routingTableFuture.completeExceptionally( error );
+        } );
     }
 
-    private CompletionStage<Connection> acquire( AccessMode mode, RoutingTable routingTable )
+    private CompletionStage<Connection> acquire( AccessMode mode, RoutingTable routingTable, BoltServerAddress excludedAddress )
     {
         AddressSet addresses = addressSet( mode, routingTable );
         CompletableFuture<Connection> result = new CompletableFuture<>();
-        acquire( mode, addresses, result );
+        acquire( mode, addresses, excludedAddress, result );
         return result;
     }
 
-    private void acquire( AccessMode mode, AddressSet addresses, CompletableFuture<Connection> result )
+    private void acquire( AccessMode mode, AddressSet addresses, BoltServerAddress excludedAddress,
+            CompletableFuture<Connection> result )
     {
-        BoltServerAddress address = selectAddress( mode, addresses );
+        BoltServerAddress address = selectAddress( mode, addresses, excludedAddress );
 
         if ( address == null )
         {
@@ -221,7 +245,7 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
                 {
                     log.error( "Failed to obtain a connection towards address " + address, error );
                     forget( address );
-                    eventExecutorGroup.next().execute( () -> acquire( mode, addresses, result ) );
+                    eventExecutorGroup.next().execute( () -> acquire( mode, addresses, excludedAddress, result ) );
                 }
                 else
                 {
@@ -248,9 +272,9 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
         }
     }
 
-    private BoltServerAddress selectAddress( AccessMode mode, AddressSet servers )
+    private BoltServerAddress selectAddress( AccessMode mode, AddressSet servers, BoltServerAddress excludedAddress )
     {
-        BoltServerAddress[] addresses = servers.toArray();
+        BoltServerAddress[] addresses = withoutAddress( servers.toArray(), excludedAddress );
 
         switch ( mode )
         {
@@ -263,6 +287,19 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
         }
     }
 
+    private static BoltServerAddress[] withoutAddress( BoltServerAddress[] addresses, BoltServerAddress excludedAddress )
+    {
+        if ( excludedAddress == null )
+        {
+            return addresses;
+        }
+        BoltServerAddress[] remaining = Arrays.stream( addresses )
+                .filter( address -> !address.equals( excludedAddress ) )
+                .toArray( BoltServerAddress[]::new );
+        // fall back to all known servers when the excluded one is the only choice
+        return remaining.length == 0 ? addresses : remaining;
+    }
+
     private static Rediscovery createRediscovery( BoltServerAddress initialRouter, RoutingSettings settings,
             EventExecutorGroup eventExecutorGroup, ServerAddressResolver resolver, Clock clock, Logging logging )
     {
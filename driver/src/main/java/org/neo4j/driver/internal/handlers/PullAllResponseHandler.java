@@ -25,10 +25,13 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.InternalRecord;
 import org.neo4j.driver.internal.spi.AutoReadManagingResponseHandler;
 import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.internal.util.Iterables;
 import org.neo4j.driver.internal.util.MetadataExtractor;
@@ -41,20 +44,21 @@ import org.neo4j.driver.v1.util.Function;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
 
 public abstract class PullAllResponseHandler implements AutoReadManagingResponseHandler
 {
     private static final Queue<Record> UNINITIALIZED_RECORDS = Iterables.emptyQueue();
 
-    static final int RECORD_BUFFER_LOW_WATERMARK = Integer.getInteger( "recordBufferLowWatermark", 300 );
-    static final int RECORD_BUFFER_HIGH_WATERMARK = Integer.getInteger( "recordBufferHighWatermark", 1000 );
-
     private final Statement statement;
     private final RunResponseHandler runResponseHandler;
     protected final MetadataExtractor metadataExtractor;
     protected final Connection connection;
+    private final Lock lock = new ReentrantLock();
+    private final RecordBufferFlowControl flowControl;
 
     // initialized lazily when first record arrives
     private Queue<Record> records = UNINITIALIZED_RECORDS;
@@ -65,167 +69,227 @@ public abstract class PullAllResponseHandler implements AutoReadManagingResponse
     private ResultSummary summary;
 
     private boolean ignoreRecords;
+    private int nextRecordSize;
     private CompletableFuture<Record> recordFuture;
     private CompletableFuture<Throwable> failureFuture;
 
     public PullAllResponseHandler( Statement statement, RunResponseHandler runResponseHandler, Connection connection, MetadataExtractor metadataExtractor )
+    {
+        this( statement, runResponseHandler, connection, metadataExtractor, DEFAULT_MAX_RECORD_BUFFER_SIZE );
+    }
+
+    public PullAllResponseHandler( Statement statement, RunResponseHandler runResponseHandler, Connection connection, MetadataExtractor metadataExtractor,
+            long maxRecordBufferSize )
     {
         this.statement = requireNonNull( statement );
         this.runResponseHandler = requireNonNull( runResponseHandler );
         this.metadataExtractor = requireNonNull( metadataExtractor );
         this.connection = requireNonNull( connection );
+        this.flowControl = new RecordBufferFlowControl( maxRecordBufferSize, Clock.SYSTEM );
     }
 
     @Override
-    public synchronized void onSuccess( Map<String,Value> metadata )
+    public void onSuccess( Map<String,Value> metadata )
     {
-        finished = true;
-        summary = extractResultSummary( metadata );
+        executeWithLock( lock, () ->
+        {
+            finished = true;
+            summary = extractResultSummary( metadata );
 
-        afterSuccess( metadata );
+            afterSuccess( metadata );
 
-        completeRecordFuture( null );
-        completeFailureFuture( null );
+            completeRecordFuture( null );
+            completeFailureFuture( null );
+        } );
     }
 
     protected abstract void afterSuccess( Map<String,Value> metadata );
 
     @Override
-    public synchronized void onFailure( Throwable error )
+    public void onFailure( Throwable error )
     {
-        finished = true;
-        summary = extractResultSummary( emptyMap() );
+        executeWithLock( lock, () ->
+        {
+            finished = true;
+            summary = extractResultSummary( emptyMap() );
 
-        afterFailure( error );
+            afterFailure( error );
 
-        boolean failedRecordFuture = failRecordFuture( error );
-        if ( failedRecordFuture )
-        {
-            // error propagated through the record future
-            completeFailureFuture( null );
-        }
-        else
-        {
-            boolean completedFailureFuture = completeFailureFuture( error );
-            if ( !completedFailureFuture )
+            boolean failedRecordFuture = failRecordFuture( error );
+            if ( failedRecordFuture )
             {
-                // error has not been propagated to the user, remember it
-                failure = error;
+                // error propagated through the record future
+                completeFailureFuture( null );
             }
-        }
+            else
+            {
+                boolean completedFailureFuture = completeFailureFuture( error );
+                if ( !completedFailureFuture )
+                {
+                    // error has not been propagated to the user, remember it
+                    failure = error;
+                }
+            }
+        } );
     }
 
     protected abstract void afterFailure( Throwable error );
 
     @Override
-    public synchronized void onRecord( Value[] fields )
+    public void onRecord( Value[] fields )
     {
-        if ( ignoreRecords )
-        {
-            completeRecordFuture( null );
-        }
-        else
+        // size is reported by the event loop thread right before the record, so it can be read without the lock
+        int recordSize = nextRecordSize;
+        nextRecordSize = 0;
+
+        executeWithLock( lock, () ->
         {
-            Record record = new InternalRecord( runResponseHandler.statementKeys(), fields );
-            enqueueRecord( record );
-            completeRecordFuture( record );
-        }
+            if ( ignoreRecords )
+            {
+                completeRecordFuture( null );
+            }
+            else
+            {
+                Record record = new InternalRecord( runResponseHandler.statementKeys(), fields );
+                enqueueRecord( record, recordSize );
+                completeRecordFuture( record );
+            }
+        } );
     }
 
     @Override
-    public synchronized void disableAutoReadManagement()
+    public void beforeRecord( int messageSize )
     {
-        autoReadManagementEnabled = false;
+        nextRecordSize = messageSize;
     }
 
-    public synchronized CompletionStage<Record> peekAsync()
+    @Override
+    public void disableAutoReadManagement()
     {
-        Record record = records.peek();
-        if ( record == null )
+        executeWithLock( lock, () ->
         {
-            if ( failure != null )
-            {
-                return failedFuture( extractFailure() );
-            }
+            autoReadManagementEnabled = false;
+        } );
+    }
 
-            if ( ignoreRecords || finished )
+    public CompletionStage<Record> peekAsync()
+    {
+        return executeWithLock( lock, () ->
+        {
+            Record record = records.peek();
+            if ( record == null )
             {
-                return completedWithNull();
+                if ( failure != null )
+                {
+                    return failedFuture( extractFailure() );
+                }
+
+                if ( ignoreRecords || finished )
+                {
+                    return completedWithNull();
+                }
+
+                if ( recordFuture == null )
+                {
+                    recordFuture = new CompletableFuture<>();
+                }
+                return recordFuture;
             }
-
-            if ( recordFuture == null )
+            else
             {
-                recordFuture = new CompletableFuture<>();
+                return completedFuture( record );
             }
-            return recordFuture;
-        }
-        else
-        {
-            return completedFuture( record );
-        }
+        } );
     }
 
-    public synchronized CompletionStage<Record> nextAsync()
+    public CompletionStage<Record> nextAsync()
     {
-        return peekAsync().thenApply( ignore -> dequeueRecord() );
+        return executeWithLock( lock, () ->
+        {
+            return peekAsync().thenApply( ignore -> dequeueRecord() );
+        } );
     }
 
-    public synchronized CompletionStage<ResultSummary> summaryAsync()
+    public CompletionStage<ResultSummary> summaryAsync()
     {
-        return failureAsync().thenApply( error ->
+        return executeWithLock( lock, () ->
         {
-            if ( error != null )
+            return failureAsync().thenApply( error ->
             {
-                throw Futures.asCompletionException( error );
-            }
-            return summary;
+                if ( error != null )
+                {
+                    throw Futures.asCompletionException( error );
+                }
+                return summary;
+            } );
         } );
     }
 
-    public synchronized CompletionStage<ResultSummary> consumeAsync()
+    public CompletionStage<ResultSummary> consumeAsync()
     {
-        ignoreRecords = true;
-        records.clear();
-        return summaryAsync();
+        return executeWithLock( lock, () ->
+        {
+            ignoreRecords = true;
+            records.clear();
+            flowControl.cleared();
+            return summaryAsync();
+        } );
     }
 
-    public synchronized <T> CompletionStage<List<T>> listAsync( Function<Record,T> mapFunction )
+    public <T> CompletionStage<List<T>> listAsync( Function<Record,T> mapFunction )
     {
-        return failureAsync().thenApply( error ->
+        return executeWithLock( lock, () ->
         {
-            if ( error != null )
+            return failureAsync().thenApply( error ->
             {
-                throw Futures.asCompletionException( error );
-            }
-            return recordsAsList( mapFunction );
+                if ( error != null )
+                {
+                    throw Futures.asCompletionException( error );
+                }
+                return recordsAsList( mapFunction );
+            } );
         } );
     }
 
-    public synchronized CompletionStage<Throwable> failureAsync()
+    /**
+     * Check if SUCCESS or FAILURE has arrived and failure, if any, has already been propagated to the user.
+     * Such result has no error left to report. Unlike {@link #failureAsync()}, this method has no side effects.
+     *
+     * @return {@code true} if this result is done, {@code false} otherwise.
+     */
+    public boolean isDone()
     {
-        if ( failure != null )
-        {
-            return completedFuture( extractFailure() );
-        }
-        else if ( finished )
-        {
-            return completedWithNull();
-        }
-        else
+        return executeWithLock( lock, () -> finished && failure == null );
+    }
+
+    public CompletionStage<Throwable> failureAsync()
+    {
+        return executeWithLock( lock, () ->
         {
-            if ( failureFuture == null )
+            if ( failure != null )
             {
-                // neither SUCCESS nor FAILURE message has arrived, register future to be notified when it arrives
-                // future will be completed with null on SUCCESS and completed with Throwable on FAILURE
-                // enable auto-read, otherwise we might not read SUCCESS/FAILURE if records are not consumed
-                enableAutoRead();
-                failureFuture = new CompletableFuture<>();
+                return completedFuture( extractFailure() );
             }
-            return failureFuture;
-        }
+            else if ( finished )
+            {
+                return completedWithNull();
+            }
+            else
+            {
+                if ( failureFuture == null )
+                {
+                    // neither SUCCESS nor FAILURE message has arrived, register future to be notified when it arrives
+                    // future will be completed with null on SUCCESS and completed with Throwable on FAILURE
+                    // enable auto-read, otherwise we might not read SUCCESS/FAILURE if records are not consumed
+                    enableAutoRead();
+                    failureFuture = new CompletableFuture<>();
+                }
+                return failureFuture;
+            }
+        } );
     }
 
-    private void enqueueRecord( Record record )
+    private void enqueueRecord( Record record, int recordSize )
     {
         if ( records == UNINITIALIZED_RECORDS )
         {
@@ -233,14 +297,15 @@ public abstract class PullAllResponseHandler implements AutoReadManagingResponse
         }
 
         records.add( record );
+        flowControl.recordAdded( recordSize );
 
         boolean shouldBufferAllRecords = failureFuture != null;
         // when failure is requested we have to buffer all remaining records and then return the error
         // do not disable auto-read in this case, otherwise records will not be consumed and trailing
         // SUCCESS or FAILURE message will not arrive as well, so callers will get stuck waiting for the error
-        if ( !shouldBufferAllRecords && records.size() > RECORD_BUFFER_HIGH_WATERMARK )
+        if ( !shouldBufferAllRecords && flowControl.isAboveHighWatermark() )
         {
-            // more than high watermark records are already queued, tell connection to stop auto-reading from network
+            // more than high watermark bytes are already queued, tell connection to stop auto-reading from network
             // this is needed to deal with slow consumers, we do not want to buffer all records in memory if they are
             // fetched from network faster than consumed
             disableAutoRead();
@@ -250,10 +315,14 @@ public abstract class PullAllResponseHandler implements AutoReadManagingResponse
     private Record dequeueRecord()
     {
         Record record = records.poll();
+        if ( record != null )
+        {
+            flowControl.recordRemoved();
+        }
 
-        if ( records.size() < RECORD_BUFFER_LOW_WATERMARK )
+        if ( flowControl.isBelowLowWatermark() )
         {
-            // less than low watermark records are now available in the buffer, tell connection to pre-fetch more
+            // less than low watermark bytes are now available in the buffer, tell connection to pre-fetch more
             // and populate queue with new records from network
             enableAutoRead();
         }
@@ -272,6 +341,7 @@ public abstract class PullAllResponseHandler implements AutoReadManagingResponse
         while ( !records.isEmpty() )
         {
             Record record = records.poll();
+            flowControl.recordRemoved();
             result.add( mapFunction.apply( record ) );
         }
         return result;
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.handlers;
+
+import org.neo4j.driver.internal.util.Clock;
+
+/**
+ * Byte-based flow control for a buffer of records received from the network. Tracks the size of every buffered record
+ * and derives high and low watermarks from the rate at which the consumer drains the buffer.
+ * <p>
+ * High watermark is the amount of data the consumer is expected to drain during {@link #READ_AHEAD_MILLIS}. So fast
+ * consumers get a deep read-ahead while slow consumers only keep a small amount of records in memory. High watermark
+ * never exceeds the configured maximum buffer size. Low watermark is always a third of the high watermark.
+ * <p>
+ * This class is not thread-safe and should be guarded by the lock of the owning handler.
+ */
+public class RecordBufferFlowControl
+{
+    public static final long DEFAULT_MAX_RECORD_BUFFER_SIZE = 8 * 1024 * 1024;
+
+    static final long INITIAL_HIGH_WATERMARK = 64 * 1024;
+    static final long READ_AHEAD_MILLIS = 100;
+    static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private final long maxSize;
+    private final Clock clock;
+
+    // sizes of buffered records, in the same order as the records themselves
+    private int[] sizes = new int[16];
+    private int head;
+    private int count;
+    private long bufferedBytes;
+
+    private long highWatermark;
+    private double drainRate;
+    private long sampleStartMillis = -1;
+    private long sampleDrainedBytes;
+
+    public RecordBufferFlowControl( long maxSize, Clock clock )
+    {
+        if ( maxSize <= 0 )
+        {
+            throw new IllegalArgumentException( "Max record buffer size should be positive: " + maxSize );
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.highWatermark = Math.min( INITIAL_HIGH_WATERMARK, maxSize );
+    }
+
+    void recordAdded( int size )
+    {
+        if ( count == sizes.length )
+        {
+            grow();
+        }
+        sizes[(head + count) & (sizes.length - 1)] = size;
+        count++;
+        bufferedBytes += size;
+    }
+
+    void recordRemoved()
+    {
+        if ( count == 0 )
+        {
+            throw new IllegalStateException( "Record buffer is empty" );
+        }
+        int size = sizes[head];
+        head = (head + 1) & (sizes.length - 1);
+        count--;
+        bufferedBytes -= size;
+
+        updateDrainRate( size );
+    }
+
+    void cleared()
+    {
+        head = 0;
+        count = 0;
+        bufferedBytes = 0;
+    }
+
+    boolean isAboveHighWatermark()
+    {
+        return bufferedBytes > highWatermark;
+    }
+
+    boolean isBelowLowWatermark()
+    {
+        return bufferedBytes < lowWatermark();
+    }
+
+    long bufferedBytes()
+    {
+        return bufferedBytes;
+    }
+
+    long highWatermark()
+    {
+        return highWatermark;
+    }
+
+    long lowWatermark()
+    {
+        return highWatermark / 3;
+    }
+
+    private void updateDrainRate( int size )
+    {
+        long now = clock.millis();
+        if ( sampleStartMillis < 0 )
+        {
+            // consumer fetched its first record, start measuring from here
+            sampleStartMillis = now;
+            return;
+        }
+
+        sampleDrainedBytes += size;
+        long elapsedMillis = now - sampleStartMillis;
+        if ( elapsedMillis >= SAMPLE_INTERVAL_MILLIS )
+        {
+            double currentRate = (double) sampleDrainedBytes / elapsedMillis;
+            drainRate = drainRate == 0 ? currentRate : drainRate * (1 - SMOOTHING_FACTOR) + currentRate * SMOOTHING_FACTOR;
+
+            long desiredHighWatermark = (long) (drainRate * READ_AHEAD_MILLIS);
+            highWatermark = Math.max( Math.min( desiredHighWatermark, maxSize ), Math.min( INITIAL_HIGH_WATERMARK, maxSize ) );
+
+            sampleStartMillis = now;
+            sampleDrainedBytes = 0;
+        }
+    }
+
+    private void grow()
+    {
+        int[] newSizes = new int[sizes.length * 2];
+        for ( int i = 0; i < count; i++ )
+        {
+            newSizes[i] = sizes[(head + i) & (sizes.length - 1)];
+        }
+        sizes = newSizes;
+        head = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RecordBufferFlowControl{" +
+               "maxSize=" + maxSize +
+               ", bufferedBytes=" + bufferedBytes +
+               ", highWatermark=" + highWatermark +
+               '}';
+    }
+}
@@ -27,6 +27,7 @@ import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.Value;
 
 import static java.util.Objects.requireNonNull;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 
 public class SessionPullAllResponseHandler extends PullAllResponseHandler
 {
@@ -35,7 +36,13 @@ public class SessionPullAllResponseHandler extends PullAllResponseHandler
     public SessionPullAllResponseHandler( Statement statement, RunResponseHandler runResponseHandler,
             Connection connection, BookmarksHolder bookmarksHolder, MetadataExtractor metadataExtractor )
     {
-        super( statement, runResponseHandler, connection, metadataExtractor );
+        this( statement, runResponseHandler, connection, bookmarksHolder, metadataExtractor, DEFAULT_MAX_RECORD_BUFFER_SIZE );
+    }
+
+    public SessionPullAllResponseHandler( Statement statement, RunResponseHandler runResponseHandler,
+            Connection connection, BookmarksHolder bookmarksHolder, MetadataExtractor metadataExtractor, long maxRecordBufferSize )
+    {
+        super( statement, runResponseHandler, connection, metadataExtractor, maxRecordBufferSize );
         this.bookmarksHolder = requireNonNull( bookmarksHolder );
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.logging;
+
+import io.netty.channel.ChannelId;
+
+public class DevNullWireTracer implements WireTracer
+{
+    public static final WireTracer DEV_NULL_WIRE_TRACER = new DevNullWireTracer();
+
+    private DevNullWireTracer()
+    {
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public void messageSent( ChannelId channelId, byte signature, int size )
+    {
+    }
+
+    @Override
+    public void messageReceived( ChannelId channelId, byte signature, int size )
+    {
+    }
+
+    @Override
+    public String dump()
+    {
+        return "";
+    }
+
+    @Override
+    public String dump( ChannelId channelId )
+    {
+        return "";
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.logging;
+
+import io.netty.channel.ChannelId;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.neo4j.driver.internal.messaging.request.BeginMessage;
+import org.neo4j.driver.internal.messaging.request.CommitMessage;
+import org.neo4j.driver.internal.messaging.request.DiscardAllMessage;
+import org.neo4j.driver.internal.messaging.request.GoodbyeMessage;
+import org.neo4j.driver.internal.messaging.request.InitMessage;
+import org.neo4j.driver.internal.messaging.request.PullAllMessage;
+import org.neo4j.driver.internal.messaging.request.ResetMessage;
+import org.neo4j.driver.internal.messaging.request.RollbackMessage;
+import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.response.FailureMessage;
+import org.neo4j.driver.internal.messaging.response.IgnoredMessage;
+import org.neo4j.driver.internal.messaging.response.RecordMessage;
+import org.neo4j.driver.internal.messaging.response.SuccessMessage;
+
+import static java.lang.String.format;
+
+/**
+ * Lock-free {@link WireTracer} that keeps the most recent events in a fixed-size ring of preallocated arrays.
+ * Recording an event does not allocate, events are rendered only when dumped.
+ * <p>
+ * Writers claim slots with a single atomic increment and publish them using a per-slot sequence number. Dumps skip
+ * slots that are concurrently being overwritten, so they are consistent but can miss a few of the latest events.
+ * RECORD messages can be sampled to make the ring cover a longer period of time; all other messages are always
+ * recorded.
+ */
+public class RingBufferWireTracer implements WireTracer
+{
+    private static final long IN_PROGRESS = -1;
+    private static final int OUTBOUND_FLAG = 1 << 8;
+    private static final String[] REQUEST_NAMES = new String[256];
+    private static final String[] RESPONSE_NAMES = new String[256];
+
+    static
+    {
+        REQUEST_NAMES[InitMessage.SIGNATURE] = "INIT/HELLO";
+        REQUEST_NAMES[GoodbyeMessage.SIGNATURE] = "GOODBYE";
+        REQUEST_NAMES[ResetMessage.SIGNATURE] = "RESET";
+        REQUEST_NAMES[RunMessage.SIGNATURE] = "RUN";
+        REQUEST_NAMES[BeginMessage.SIGNATURE] = "BEGIN";
+        REQUEST_NAMES[CommitMessage.SIGNATURE] = "COMMIT";
+        REQUEST_NAMES[RollbackMessage.SIGNATURE] = "ROLLBACK";
+        REQUEST_NAMES[DiscardAllMessage.SIGNATURE] = "DISCARD_ALL";
+        REQUEST_NAMES[PullAllMessage.SIGNATURE] = "PULL_ALL";
+        RESPONSE_NAMES[SuccessMessage.SIGNATURE] = "SUCCESS";
+        RESPONSE_NAMES[RecordMessage.SIGNATURE] = "RECORD";
+        RESPONSE_NAMES[IgnoredMessage.SIGNATURE] = "IGNORED";
+        RESPONSE_NAMES[FailureMessage.SIGNATURE & 0xFF] = "FAILURE";
+    }
+
+    private final int mask;
+    private final int recordSampling;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLongArray slotSequences;
+    private final long[] timestamps;
+    private final ChannelId[] channelIds;
+    private final int[] kinds;
+    private final int[] sizes;
+
+    /**
+     * @param capacity number of events to keep, rounded up to the next power of two.
+     * @param recordSampling keep one of every {@code recordSampling} RECORD messages on average.
+     */
+    public RingBufferWireTracer( int capacity, int recordSampling )
+    {
+        if ( capacity <= 0 )
+        {
+            throw new IllegalArgumentException( "Capacity should be positive: " + capacity );
+        }
+        if ( recordSampling <= 0 )
+        {
+            throw new IllegalArgumentException( "Record sampling should be positive: " + recordSampling );
+        }
+        int size = Integer.highestOneBit( capacity - 1 ) << 1;
+        size = Math.max( size, 1 );
+        this.mask = size - 1;
+        this.recordSampling = recordSampling;
+        this.slotSequences = new AtomicLongArray( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            slotSequences.set( i, IN_PROGRESS );
+        }
+        this.timestamps = new long[size];
+        this.channelIds = new ChannelId[size];
+        this.kinds = new int[size];
+        this.sizes = new int[size];
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void messageSent( ChannelId channelId, byte signature, int size )
+    {
+        record( channelId, OUTBOUND_FLAG | (signature & 0xFF), size );
+    }
+
+    @Override
+    public void messageReceived( ChannelId channelId, byte signature, int size )
+    {
+        if ( signature == RecordMessage.SIGNATURE && recordSampling > 1 && ThreadLocalRandom.current().nextInt( recordSampling ) != 0 )
+        {
+            return;
+        }
+        record( channelId, signature & 0xFF, size );
+    }
+
+    @Override
+    public String dump()
+    {
+        return dump( null );
+    }
+
+    @Override
+    public String dump( ChannelId channelId )
+    {
+        long now = System.nanoTime();
+        long end = nextSequence.get();
+        long start = Math.max( 0, end - capacity() );
+
+        StringBuilder result = new StringBuilder();
+        for ( long sequence = start; sequence < end; sequence++ )
+        {
+            int slot = (int) (sequence & mask);
+            if ( slotSequences.get( slot ) != sequence )
+            {
+                continue;
+            }
+
+            long timestamp = timestamps[slot];
+            ChannelId eventChannelId = channelIds[slot];
+            int kind = kinds[slot];
+            int size = sizes[slot];
+
+            // a successful no-op CAS orders the reads above before it and proves the slot was not overwritten meanwhile
+            if ( slotSequences.compareAndSet( slot, sequence, sequence ) && (channelId == null || channelId.equals( eventChannelId )) )
+            {
+                appendEvent( result, now - timestamp, eventChannelId, kind, size );
+            }
+        }
+        return result.toString();
+    }
+
+    int capacity()
+    {
+        return mask + 1;
+    }
+
+    private void record( ChannelId channelId, int kind, int size )
+    {
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) (sequence & mask);
+
+        // mark slot as being written, atomic swap prevents the writes below from becoming visible before the mark
+        slotSequences.getAndSet( slot, IN_PROGRESS );
+        timestamps[slot] = System.nanoTime();
+        channelIds[slot] = channelId;
+        kinds[slot] = kind;
+        sizes[slot] = size;
+        slotSequences.lazySet( slot, sequence );
+    }
+
+    private static void appendEvent( StringBuilder result, long ageNanos, ChannelId channelId, int kind, int size )
+    {
+        boolean outbound = (kind & OUTBOUND_FLAG) != 0;
+        int signature = kind & 0xFF;
+        String name = outbound ? REQUEST_NAMES[signature] : RESPONSE_NAMES[signature];
+        if ( name == null )
+        {
+            name = format( "UNKNOWN(0x%02X)", signature );
+        }
+
+        result.append( format( "%12.3fms ago [0x%s] %s %s (%d bytes)%n", ageNanos / 1_000_000.0, channelId,
+                outbound ? "C:" : "S:", name, size ) );
+    }
+}
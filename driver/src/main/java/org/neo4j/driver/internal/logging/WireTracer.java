@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.logging;
+
+import io.netty.channel.ChannelId;
+
+/**
+ * Records compact events about Bolt messages sent and received by the driver. Unlike trace logging, implementations
+ * are expected to be cheap enough to stay enabled in production and render events only when they are dumped.
+ */
+public interface WireTracer
+{
+    boolean isEnabled();
+
+    void messageSent( ChannelId channelId, byte signature, int size );
+
+    void messageReceived( ChannelId channelId, byte signature, int size );
+
+    /**
+     * @return human readable description of the recent events of all channels, oldest first.
+     */
+    String dump();
+
+    /**
+     * @param channelId the channel to describe.
+     * @return human readable description of the recent events of the given channel, oldest first.
+     */
+    String dump( ChannelId channelId );
+}
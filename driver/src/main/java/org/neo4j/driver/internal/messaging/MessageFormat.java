@@ -38,4 +38,17 @@ public interface MessageFormat
     Writer newWriter( PackOutput output, boolean byteArraySupportEnabled );
 
     Reader newReader( PackInput input );
+
+    /**
+     * Create a reader that converts date-time values with a zone id lazily, when requested. Formats that do not
+     * support date-time values ignore the flag.
+     *
+     * @param input the input to read from.
+     * @param lazyDateTimeValues {@code true} to convert date-time values lazily, {@code false} otherwise.
+     * @return new reader.
+     */
+    default Reader newReader( PackInput input, boolean lazyDateTimeValues )
+    {
+        return newReader( input );
+    }
 }
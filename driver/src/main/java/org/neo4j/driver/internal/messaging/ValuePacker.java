@@ -29,6 +29,12 @@ public interface ValuePacker
 
     void pack( String string ) throws IOException;
 
+    void packUtf8( byte[] utf8 ) throws IOException;
+
+    void packListHeader( int size ) throws IOException;
+
+    void packMapHeader( int size ) throws IOException;
+
     void pack( Value value ) throws IOException;
 
     void pack( Map<String,Value> map ) throws IOException;
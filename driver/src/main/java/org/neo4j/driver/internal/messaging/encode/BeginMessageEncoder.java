@@ -35,6 +35,6 @@ public class BeginMessageEncoder implements MessageEncoder
         checkArgument( message, BeginMessage.class );
         BeginMessage beginMessage = (BeginMessage) message;
         packer.packStructHeader( 1, beginMessage.signature() );
-        packer.pack( beginMessage.metadata() );
+        beginMessage.packMetadata( packer );
     }
 }
@@ -24,6 +24,7 @@ import org.neo4j.driver.internal.messaging.Message;
 import org.neo4j.driver.internal.messaging.MessageEncoder;
 import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.request.StatementTemplate;
 
 import static org.neo4j.driver.internal.util.Preconditions.checkArgument;
 
@@ -35,7 +36,16 @@ public class RunMessageEncoder implements MessageEncoder
         checkArgument( message, RunMessage.class );
         RunMessage runMessage = (RunMessage) message;
         packer.packStructHeader( 2, runMessage.signature() );
-        packer.pack( runMessage.statement() );
-        packer.pack( runMessage.parameters() );
+        StatementTemplate template = runMessage.template();
+        if ( template != null )
+        {
+            template.packText( packer );
+            template.packParameters( runMessage.parameters(), packer );
+        }
+        else
+        {
+            packer.pack( runMessage.statement() );
+            packer.pack( runMessage.parameters() );
+        }
     }
 }
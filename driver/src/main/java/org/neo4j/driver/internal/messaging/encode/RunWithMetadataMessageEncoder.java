@@ -24,6 +24,7 @@ import org.neo4j.driver.internal.messaging.Message;
 import org.neo4j.driver.internal.messaging.MessageEncoder;
 import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.messaging.request.RunWithMetadataMessage;
+import org.neo4j.driver.internal.messaging.request.StatementTemplate;
 
 import static org.neo4j.driver.internal.util.Preconditions.checkArgument;
 
@@ -35,8 +36,17 @@ public class RunWithMetadataMessageEncoder implements MessageEncoder
         checkArgument( message, RunWithMetadataMessage.class );
         RunWithMetadataMessage runMessage = (RunWithMetadataMessage) message;
         packer.packStructHeader( 3, runMessage.signature() );
-        packer.pack( runMessage.statement() );
-        packer.pack( runMessage.parameters() );
-        packer.pack( runMessage.metadata() );
+        StatementTemplate template = runMessage.template();
+        if ( template != null )
+        {
+            template.packText( packer );
+            template.packParameters( runMessage.parameters(), packer );
+        }
+        else
+        {
+            packer.pack( runMessage.statement() );
+            packer.pack( runMessage.parameters() );
+        }
+        runMessage.packMetadata( packer );
     }
 }
@@ -38,6 +38,7 @@ public class RunMessage implements Message
 
     private final String statement;
     private final Map<String,Value> parameters;
+    private final StatementTemplate template;
 
     public RunMessage( String statement )
     {
@@ -45,9 +46,20 @@ public class RunMessage implements Message
     }
 
     public RunMessage( String statement, Map<String,Value> parameters )
+    {
+        this( statement, parameters, null );
+    }
+
+    public RunMessage( StatementTemplate template, Map<String,Value> parameters )
+    {
+        this( template.text(), parameters, template );
+    }
+
+    private RunMessage( String statement, Map<String,Value> parameters, StatementTemplate template )
     {
         this.statement = statement;
         this.parameters = parameters;
+        this.template = template;
     }
 
     public String statement()
@@ -60,6 +72,14 @@ public class RunMessage implements Message
         return parameters;
     }
 
+    /**
+     * @return pre-encoded statement template or {@code null} when statement is not prepared.
+     */
+    public StatementTemplate template()
+    {
+        return template;
+    }
+
     @Override
     public byte signature()
     {
@@ -32,17 +32,30 @@ public class RunWithMetadataMessage extends TransactionStartingMessage
 
     private final String statement;
     private final Map<String,Value> parameters;
+    private final StatementTemplate template;
 
     public RunWithMetadataMessage( String statement, Map<String,Value> parameters, Bookmarks bookmarks, TransactionConfig config )
     {
         this( statement, parameters, bookmarks, config.timeout(), config.metadata() );
     }
 
+    public RunWithMetadataMessage( StatementTemplate template, Map<String,Value> parameters, Bookmarks bookmarks, TransactionConfig config )
+    {
+        this( template.text(), parameters, template, bookmarks, config.timeout(), config.metadata() );
+    }
+
     public RunWithMetadataMessage( String statement, Map<String,Value> parameters, Bookmarks bookmarks, Duration txTimeout, Map<String,Value> txMetadata )
+    {
+        this( statement, parameters, null, bookmarks, txTimeout, txMetadata );
+    }
+
+    private RunWithMetadataMessage( String statement, Map<String,Value> parameters, StatementTemplate template, Bookmarks bookmarks,
+            Duration txTimeout, Map<String,Value> txMetadata )
     {
         super( bookmarks, txTimeout, txMetadata );
         this.statement = statement;
         this.parameters = parameters;
+        this.template = template;
     }
 
     public String statement()
@@ -55,6 +68,14 @@ public class RunWithMetadataMessage extends TransactionStartingMessage
         return parameters;
     }
 
+    /**
+     * @return pre-encoded statement template or {@code null} when statement is not prepared.
+     */
+    public StatementTemplate template()
+    {
+        return template;
+    }
+
     @Override
     public byte signature()
     {
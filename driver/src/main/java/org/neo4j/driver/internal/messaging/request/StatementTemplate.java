@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.messaging.request;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.neo4j.driver.internal.messaging.ValuePacker;
+import org.neo4j.driver.v1.Value;
+
+/**
+ * Pre-encoded parts of a statement that is executed many times with different parameter values.
+ * <p>
+ * Statement text and parameter names are converted to UTF-8 once, when the template is created. Encoding a RUN
+ * message then only needs to encode the parameter values, as long as parameter names match the ones of the template.
+ * Parameters with different names are encoded as a regular map.
+ * <p>
+ * Matching parameters are always encoded in the order of parameter names given to the template, while a regular map is
+ * encoded in its iteration order. So the bytes can differ, but the server receives the same parameter map.
+ */
+public class StatementTemplate
+{
+    private final String text;
+    private final byte[] encodedText;
+    private final String[] parameterKeys;
+    private final byte[][] encodedParameterKeys;
+
+    public StatementTemplate( String text, Collection<String> parameterKeys )
+    {
+        this.text = text;
+        this.encodedText = encode( text );
+        this.parameterKeys = parameterKeys.toArray( new String[0] );
+        this.encodedParameterKeys = new byte[this.parameterKeys.length][];
+        for ( int i = 0; i < this.parameterKeys.length; i++ )
+        {
+            this.encodedParameterKeys[i] = encode( this.parameterKeys[i] );
+        }
+    }
+
+    public String text()
+    {
+        return text;
+    }
+
+    public void packText( ValuePacker packer ) throws IOException
+    {
+        packer.packUtf8( encodedText );
+    }
+
+    public void packParameters( Map<String,Value> parameters, ValuePacker packer ) throws IOException
+    {
+        if ( !matches( parameters ) )
+        {
+            packer.pack( parameters );
+            return;
+        }
+
+        packer.packMapHeader( parameterKeys.length );
+        for ( int i = 0; i < parameterKeys.length; i++ )
+        {
+            packer.packUtf8( encodedParameterKeys[i] );
+            packer.pack( parameters.get( parameterKeys[i] ) );
+        }
+    }
+
+    /**
+     * Check if given parameters have exactly the same names as parameters of this template.
+     *
+     * @param parameters the parameters to check.
+     * @return {@code true} when pre-encoded parameter names can be used, {@code false} otherwise.
+     */
+    public boolean matches( Map<String,Value> parameters )
+    {
+        if ( parameters == null || parameters.size() != parameterKeys.length )
+        {
+            return false;
+        }
+        for ( String key : parameterKeys )
+        {
+            if ( !parameters.containsKey( key ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StatementTemplate{text='" + text + "', parameterKeys=" + Arrays.toString( parameterKeys ) + "}";
+    }
+
+    private static byte[] encode( String value )
+    {
+        return value.getBytes( StandardCharsets.UTF_8 );
+    }
+}
@@ -18,11 +18,13 @@
  */
 package org.neo4j.driver.internal.messaging.request;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Map;
 
 import org.neo4j.driver.internal.Bookmarks;
 import org.neo4j.driver.internal.messaging.Message;
+import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.util.Iterables;
 import org.neo4j.driver.v1.Value;
 
@@ -36,10 +38,12 @@ abstract class TransactionStartingMessage implements Message
     private static final String TX_METADATA_METADATA_KEY = "tx_metadata";
 
     final Map<String,Value> metadata;
+    private final Bookmarks bookmarks;
 
     TransactionStartingMessage( Bookmarks bookmarks, Duration txTimeout, Map<String,Value> txMetadata )
     {
         this.metadata = buildMetadata( bookmarks, txTimeout, txMetadata );
+        this.bookmarks = bookmarks;
     }
 
     public final Map<String,Value> metadata()
@@ -47,6 +51,35 @@ abstract class TransactionStartingMessage implements Message
         return metadata;
     }
 
+    /**
+     * Pack the metadata map of this message. Bookmarks are packed using their cached encoded form.
+     *
+     * @param packer the packer to write to.
+     * @throws IOException when writing fails.
+     */
+    public final void packMetadata( ValuePacker packer ) throws IOException
+    {
+        if ( !metadata.containsKey( BOOKMARKS_METADATA_KEY ) )
+        {
+            packer.pack( metadata );
+            return;
+        }
+
+        packer.packMapHeader( metadata.size() );
+        for ( Map.Entry<String,Value> entry : metadata.entrySet() )
+        {
+            packer.pack( entry.getKey() );
+            if ( BOOKMARKS_METADATA_KEY.equals( entry.getKey() ) )
+            {
+                bookmarks.pack( packer );
+            }
+            else
+            {
+                packer.pack( entry.getValue() );
+            }
+        }
+    }
+
     private static Map<String,Value> buildMetadata( Bookmarks bookmarks, Duration txTimeout, Map<String,Value> txMetadata )
     {
         boolean bookmarksPresent = bookmarks != null && !bookmarks.isEmpty();
@@ -62,7 +95,7 @@ abstract class TransactionStartingMessage implements Message
 
         if ( bookmarksPresent )
         {
-            result.put( BOOKMARKS_METADATA_KEY, value( bookmarks.values() ) );
+            result.put( BOOKMARKS_METADATA_KEY, bookmarks.asValue() );
         }
         if ( txTimeoutPresent )
         {
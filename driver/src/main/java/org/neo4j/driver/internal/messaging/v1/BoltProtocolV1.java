@@ -28,6 +28,7 @@ import java.util.concurrent.CompletionStage;
 import org.neo4j.driver.internal.Bookmarks;
 import org.neo4j.driver.internal.BookmarksHolder;
 import org.neo4j.driver.internal.ExplicitTransaction;
+import org.neo4j.driver.internal.InternalPreparedStatement;
 import org.neo4j.driver.internal.InternalStatementResultCursor;
 import org.neo4j.driver.internal.handlers.BeginTxResponseHandler;
 import org.neo4j.driver.internal.handlers.CommitTxResponseHandler;
@@ -48,6 +49,7 @@ import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ResponseHandler;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.internal.util.MetadataExtractor;
+import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.TransactionConfig;
 import org.neo4j.driver.v1.Value;
@@ -55,7 +57,6 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
-import static org.neo4j.driver.v1.Values.ofValue;
 
 public class BoltProtocolV1 implements BoltProtocol
 {
@@ -97,7 +98,7 @@ public class BoltProtocolV1 implements BoltProtocol
     @Override
     public CompletionStage<Void> beginTransaction( Connection connection, Bookmarks bookmarks, TransactionConfig config )
     {
-        if ( config != null && !config.isEmpty() )
+        if ( containsServerSideSettings( config ) )
         {
             return txConfigNotSupported();
         }
@@ -149,36 +150,41 @@ public class BoltProtocolV1 implements BoltProtocol
 
     @Override
     public CompletionStage<InternalStatementResultCursor> runInAutoCommitTransaction( Connection connection, Statement statement,
-            BookmarksHolder bookmarksHolder, TransactionConfig config, boolean waitForRunResponse )
+            BookmarksHolder bookmarksHolder, TransactionConfig config, long maxRecordBufferSize, boolean waitForRunResponse )
     {
         // bookmarks are ignored for auto-commit transactions in this version of the protocol
 
-        if ( config != null && !config.isEmpty() )
+        if ( containsServerSideSettings( config ) )
         {
             return txConfigNotSupported();
         }
-        return runStatement( connection, statement, null, waitForRunResponse );
+        return runStatement( connection, statement, null, maxRecordBufferSize, waitForRunResponse );
     }
 
     @Override
     public CompletionStage<InternalStatementResultCursor> runInExplicitTransaction( Connection connection, Statement statement, ExplicitTransaction tx,
             boolean waitForRunResponse )
     {
-        return runStatement( connection, statement, tx, waitForRunResponse );
+        return runStatement( connection, statement, tx, tx.maxRecordBufferSize(), waitForRunResponse );
     }
 
     private static CompletionStage<InternalStatementResultCursor> runStatement( Connection connection, Statement statement,
-            ExplicitTransaction tx, boolean waitForRunResponse )
+            ExplicitTransaction tx, long maxRecordBufferSize, boolean waitForRunResponse )
     {
         String query = statement.text();
-        Map<String,Value> params = statement.parameters().asMap( ofValue() );
+        // statement parameters are always a map, use them directly instead of copying into a new map
+        Map<String,Value> params = ((MapValue) statement.parameters()).asMapView();
 
         CompletableFuture<Void> runCompletedFuture = new CompletableFuture<>();
         RunResponseHandler runHandler = new RunResponseHandler( runCompletedFuture, METADATA_EXTRACTOR );
-        PullAllResponseHandler pullAllHandler = newPullAllHandler( statement, runHandler, connection, tx );
+        PullAllResponseHandler pullAllHandler = newPullAllHandler( statement, runHandler, connection, tx, maxRecordBufferSize );
+
+        RunMessage runMessage = statement instanceof InternalPreparedStatement
+                                ? new RunMessage( ((InternalPreparedStatement) statement).template(), params )
+                                : new RunMessage( query, params );
 
         connection.writeAndFlush(
-                new RunMessage( query, params ), runHandler,
+                runMessage, runHandler,
                 PullAllMessage.PULL_ALL, pullAllHandler );
 
         if ( waitForRunResponse )
@@ -194,13 +200,19 @@ public class BoltProtocolV1 implements BoltProtocol
     }
 
     private static PullAllResponseHandler newPullAllHandler( Statement statement, RunResponseHandler runHandler,
-            Connection connection, ExplicitTransaction tx )
+            Connection connection, ExplicitTransaction tx, long maxRecordBufferSize )
     {
         if ( tx != null )
         {
-            return new TransactionPullAllResponseHandler( statement, runHandler, connection, tx, METADATA_EXTRACTOR );
+            return new TransactionPullAllResponseHandler( statement, runHandler, connection, tx, METADATA_EXTRACTOR, maxRecordBufferSize );
         }
-        return new SessionPullAllResponseHandler( statement, runHandler, connection, BookmarksHolder.NO_OP, METADATA_EXTRACTOR );
+        return new SessionPullAllResponseHandler( statement, runHandler, connection, BookmarksHolder.NO_OP, METADATA_EXTRACTOR, maxRecordBufferSize );
+    }
+
+    private static boolean containsServerSideSettings( TransactionConfig config )
+    {
+        // record buffer size is applied by the driver and does not need database support
+        return config != null && (config.timeout() != null || !config.metadata().isEmpty());
     }
 
     private static <T> CompletionStage<T> txConfigNotSupported()
@@ -51,6 +51,24 @@ public class ValuePackerV1 implements ValuePacker
         packer.pack( string );
     }
 
+    @Override
+    public final void packUtf8( byte[] utf8 ) throws IOException
+    {
+        packer.packUtf8( utf8 );
+    }
+
+    @Override
+    public final void packListHeader( int size ) throws IOException
+    {
+        packer.packListHeader( size );
+    }
+
+    @Override
+    public final void packMapHeader( int size ) throws IOException
+    {
+        packer.packMapHeader( size );
+    }
+
     @Override
     public final void pack( Value value ) throws IOException
     {
@@ -64,4 +64,10 @@ public class MessageFormatV2 extends MessageFormatV1
     {
         return new MessageReaderV2( input );
     }
+
+    @Override
+    public Reader newReader( PackInput input, boolean lazyDateTimeValues )
+    {
+        return new MessageReaderV2( input, lazyDateTimeValues );
+    }
 }
@@ -25,6 +25,11 @@ public class MessageReaderV2 extends MessageReaderV1
 {
     public MessageReaderV2( PackInput input )
     {
-        super( new ValueUnpackerV2( input ) );
+        this( input, false );
+    }
+
+    public MessageReaderV2( PackInput input, boolean lazyDateTimeValues )
+    {
+        super( new ValueUnpackerV2( input, lazyDateTimeValues ) );
     }
 }
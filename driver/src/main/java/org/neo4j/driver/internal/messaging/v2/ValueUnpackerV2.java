@@ -31,6 +31,7 @@ import java.time.ZonedDateTime;
 import org.neo4j.driver.internal.messaging.v1.ValueUnpackerV1;
 import org.neo4j.driver.internal.packstream.PackInput;
 import org.neo4j.driver.internal.types.TypeConstructor;
+import org.neo4j.driver.internal.value.LazyDateTimeValue;
 import org.neo4j.driver.v1.Value;
 
 import static java.time.ZoneOffset.UTC;
@@ -57,9 +58,18 @@ import static org.neo4j.driver.v1.Values.value;
 
 public class ValueUnpackerV2 extends ValueUnpackerV1
 {
+    private final ZoneIdCache zoneIdCache = new ZoneIdCache();
+    private final boolean lazyDateTimeValues;
+
     public ValueUnpackerV2( PackInput input )
+    {
+        this( input, false );
+    }
+
+    public ValueUnpackerV2( PackInput input, boolean lazyDateTimeValues )
     {
         super( input );
+        this.lazyDateTimeValues = lazyDateTimeValues;
     }
 
     @Override
@@ -133,15 +143,15 @@ public class ValueUnpackerV2 extends ValueUnpackerV1
         long epochSecondLocal = unpacker.unpackLong();
         int nano = Math.toIntExact( unpacker.unpackLong() );
         int offsetSeconds = Math.toIntExact( unpacker.unpackLong() );
-        return value( newZonedDateTime( epochSecondLocal, nano, ZoneOffset.ofTotalSeconds( offsetSeconds ) ) );
+        return newDateTimeValue( epochSecondLocal, nano, ZoneOffset.ofTotalSeconds( offsetSeconds ) );
     }
 
     private Value unpackDateTimeWithZoneId() throws IOException
     {
         long epochSecondLocal = unpacker.unpackLong();
         int nano = Math.toIntExact( unpacker.unpackLong() );
-        String zoneIdString = unpacker.unpackString();
-        return value( newZonedDateTime( epochSecondLocal, nano, ZoneId.of( zoneIdString ) ) );
+        ZoneId zoneId = zoneIdCache.get( unpacker.unpackStringBytes() );
+        return newDateTimeValue( epochSecondLocal, nano, zoneId );
     }
 
     private Value unpackDuration() throws IOException
@@ -170,6 +180,15 @@ public class ValueUnpackerV2 extends ValueUnpackerV1
         return point( srid, x, y, z );
     }
 
+    private Value newDateTimeValue( long epochSecondLocal, int nano, ZoneId zoneId )
+    {
+        if ( lazyDateTimeValues )
+        {
+            return new LazyDateTimeValue( epochSecondLocal, nano, zoneId );
+        }
+        return value( newZonedDateTime( epochSecondLocal, nano, zoneId ) );
+    }
+
     private static ZonedDateTime newZonedDateTime( long epochSecondLocal, long nano, ZoneId zoneId )
     {
         Instant instant = Instant.ofEpochSecond( epochSecondLocal, nano );
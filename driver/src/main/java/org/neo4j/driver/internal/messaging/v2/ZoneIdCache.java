@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.messaging.v2;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bounded LRU cache of {@link ZoneId}s keyed by their raw UTF-8 encoded identifiers as received from the network.
+ * Avoids repeated string decoding and zone rules lookup when many values share the same zone.
+ * <p>
+ * <b>Note:</b> this class is not thread-safe. It is expected to be used by a single unpacker, which is always
+ * accessed from the event loop thread of its channel.
+ */
+class ZoneIdCache
+{
+    static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<ByteBuffer,ZoneId> cache;
+
+    ZoneIdCache()
+    {
+        this( DEFAULT_MAX_SIZE );
+    }
+
+    ZoneIdCache( int maxSize )
+    {
+        this.cache = new LinkedHashMap<ByteBuffer,ZoneId>( 16, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<ByteBuffer,ZoneId> eldest )
+            {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    ZoneId get( byte[] zoneIdBytes )
+    {
+        ByteBuffer key = ByteBuffer.wrap( zoneIdBytes );
+        ZoneId zoneId = cache.get( key );
+        if ( zoneId == null )
+        {
+            zoneId = ZoneId.of( new String( zoneIdBytes, UTF_8 ) );
+            cache.put( key, zoneId );
+        }
+        return zoneId;
+    }
+
+    int size()
+    {
+        return cache.size();
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.CompletionStage;
 import org.neo4j.driver.internal.Bookmarks;
 import org.neo4j.driver.internal.BookmarksHolder;
 import org.neo4j.driver.internal.ExplicitTransaction;
+import org.neo4j.driver.internal.InternalPreparedStatement;
 import org.neo4j.driver.internal.InternalStatementResultCursor;
 import org.neo4j.driver.internal.handlers.BeginTxResponseHandler;
 import org.neo4j.driver.internal.handlers.CommitTxResponseHandler;
@@ -48,6 +49,7 @@ import org.neo4j.driver.internal.messaging.request.RunWithMetadataMessage;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.internal.util.MetadataExtractor;
+import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.TransactionConfig;
 import org.neo4j.driver.v1.Value;
@@ -57,7 +59,6 @@ import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatche
 import static org.neo4j.driver.internal.messaging.request.CommitMessage.COMMIT;
 import static org.neo4j.driver.internal.messaging.request.PullAllMessage.PULL_ALL;
 import static org.neo4j.driver.internal.messaging.request.RollbackMessage.ROLLBACK;
-import static org.neo4j.driver.v1.Values.ofValue;
 
 public class BoltProtocolV3 implements BoltProtocol
 {
@@ -129,28 +130,31 @@ public class BoltProtocolV3 implements BoltProtocol
 
     @Override
     public CompletionStage<InternalStatementResultCursor> runInAutoCommitTransaction( Connection connection, Statement statement,
-            BookmarksHolder bookmarksHolder, TransactionConfig config, boolean waitForRunResponse )
+            BookmarksHolder bookmarksHolder, TransactionConfig config, long maxRecordBufferSize, boolean waitForRunResponse )
     {
-        return runStatement( connection, statement, bookmarksHolder, null, config, waitForRunResponse );
+        return runStatement( connection, statement, bookmarksHolder, null, config, maxRecordBufferSize, waitForRunResponse );
     }
 
     @Override
     public CompletionStage<InternalStatementResultCursor> runInExplicitTransaction( Connection connection, Statement statement, ExplicitTransaction tx,
             boolean waitForRunResponse )
     {
-        return runStatement( connection, statement, BookmarksHolder.NO_OP, tx, TransactionConfig.empty(), waitForRunResponse );
+        return runStatement( connection, statement, BookmarksHolder.NO_OP, tx, TransactionConfig.empty(), tx.maxRecordBufferSize(), waitForRunResponse );
     }
 
     private static CompletionStage<InternalStatementResultCursor> runStatement( Connection connection, Statement statement,
-            BookmarksHolder bookmarksHolder, ExplicitTransaction tx, TransactionConfig config, boolean waitForRunResponse )
+            BookmarksHolder bookmarksHolder, ExplicitTransaction tx, TransactionConfig config, long maxRecordBufferSize, boolean waitForRunResponse )
     {
         String query = statement.text();
-        Map<String,Value> params = statement.parameters().asMap( ofValue() );
+        // statement parameters are always a map, use them directly instead of copying into a new map
+        Map<String,Value> params = ((MapValue) statement.parameters()).asMapView();
 
         CompletableFuture<Void> runCompletedFuture = new CompletableFuture<>();
-        Message runMessage = new RunWithMetadataMessage( query, params, bookmarksHolder.getBookmarks(), config );
+        Message runMessage = statement instanceof InternalPreparedStatement
+                             ? new RunWithMetadataMessage( ((InternalPreparedStatement) statement).template(), params, bookmarksHolder.getBookmarks(), config )
+                             : new RunWithMetadataMessage( query, params, bookmarksHolder.getBookmarks(), config );
         RunResponseHandler runHandler = new RunResponseHandler( runCompletedFuture, METADATA_EXTRACTOR );
-        PullAllResponseHandler pullAllHandler = newPullAllHandler( statement, runHandler, connection, bookmarksHolder, tx );
+        PullAllResponseHandler pullAllHandler = newPullAllHandler( statement, runHandler, connection, bookmarksHolder, tx, maxRecordBufferSize );
 
         connection.writeAndFlush( runMessage, runHandler, PULL_ALL, pullAllHandler );
 
@@ -167,12 +171,12 @@ public class BoltProtocolV3 implements BoltProtocol
     }
 
     private static PullAllResponseHandler newPullAllHandler( Statement statement, RunResponseHandler runHandler,
-            Connection connection, BookmarksHolder bookmarksHolder, ExplicitTransaction tx )
+            Connection connection, BookmarksHolder bookmarksHolder, ExplicitTransaction tx, long maxRecordBufferSize )
     {
         if ( tx != null )
         {
-            return new TransactionPullAllResponseHandler( statement, runHandler, connection, tx, METADATA_EXTRACTOR );
+            return new TransactionPullAllResponseHandler( statement, runHandler, connection, tx, METADATA_EXTRACTOR, maxRecordBufferSize );
         }
-        return new SessionPullAllResponseHandler( statement, runHandler, connection, bookmarksHolder, METADATA_EXTRACTOR );
+        return new SessionPullAllResponseHandler( statement, runHandler, connection, bookmarksHolder, METADATA_EXTRACTOR, maxRecordBufferSize );
     }
 }
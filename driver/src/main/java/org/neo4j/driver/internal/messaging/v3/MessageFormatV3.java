@@ -36,4 +36,10 @@ public class MessageFormatV3 implements MessageFormat
     {
         return new MessageReaderV2( input );
     }
+
+    @Override
+    public Reader newReader( PackInput input, boolean lazyDateTimeValues )
+    {
+        return new MessageReaderV2( input, lazyDateTimeValues );
+    }
 }
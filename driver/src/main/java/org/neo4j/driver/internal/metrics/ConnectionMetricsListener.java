@@ -28,4 +28,8 @@ public interface ConnectionMetricsListener
     void acquiredOrCreated( ListenerEvent listenerEvent );
 
     void released(ListenerEvent listenerEvent);
+
+    void beforeTlsHandshake( ListenerEvent listenerEvent );
+
+    void afterTlsHandshake( ListenerEvent listenerEvent );
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+/**
+ * JMX view of the connection pool towards a single server. Attributes are read directly from the live pool counters
+ * every time they are requested, nothing is copied or cached.
+ */
+public interface ConnectionPoolMetricsMXBean
+{
+    String getAddress();
+
+    String getPoolStatus();
+
+    int getInUse();
+
+    int getIdle();
+
+    int getCreating();
+
+    long getCreated();
+
+    long getFailedToCreate();
+
+    long getClosed();
+
+    int getAcquiring();
+
+    long getAcquired();
+
+    long getTimedOutToAcquire();
+
+    double getAcquisitionTimeMeanNanos();
+
+    long getAcquisitionTimeMaxNanos();
+
+    long getAcquisitionTime99thPercentileNanos();
+}
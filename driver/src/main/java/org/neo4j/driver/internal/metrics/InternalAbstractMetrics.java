@@ -18,6 +18,9 @@
  */
 package org.neo4j.driver.internal.metrics;
 
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.EventExecutorGroup;
+
 import java.util.Collections;
 import java.util.Map;
 
@@ -25,7 +28,11 @@ import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.metrics.spi.ConnectionMetrics;
 import org.neo4j.driver.internal.metrics.spi.ConnectionPoolMetrics;
+import org.neo4j.driver.internal.metrics.spi.EventLoopMetrics;
 import org.neo4j.driver.internal.metrics.spi.Metrics;
+import org.neo4j.driver.internal.metrics.spi.RetryMetrics;
+import org.neo4j.driver.internal.metrics.spi.StatementMetrics;
+import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
 
 public abstract class InternalAbstractMetrics implements Metrics, MetricsListener
 {
@@ -92,6 +99,42 @@ public abstract class InternalAbstractMetrics implements Metrics, MetricsListene
 
         }
 
+        @Override
+        public void beforeTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent )
+        {
+
+        }
+
+        @Override
+        public void afterTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent )
+        {
+
+        }
+
+        @Override
+        public StatementMetricsListener beforeRunningStatement( String statement )
+        {
+            return null;
+        }
+
+        @Override
+        public void afterPoolClosed()
+        {
+
+        }
+
+        @Override
+        public void afterPoolClosed( BoltServerAddress serverAddress )
+        {
+
+        }
+
+        @Override
+        public void afterChannelConnected( Channel channel )
+        {
+
+        }
+
         @Override
         public ListenerEvent createListenerEvent()
         {
@@ -104,6 +147,18 @@ public abstract class InternalAbstractMetrics implements Metrics, MetricsListene
 
         }
 
+        @Override
+        public void addEventLoopMetrics( EventExecutorGroup eventLoopGroup )
+        {
+
+        }
+
+        @Override
+        public void addRetryMetrics( ExponentialBackoffRetryLogic retryLogic )
+        {
+
+        }
+
         @Override
         public Map<String,ConnectionPoolMetrics> connectionPoolMetrics()
         {
@@ -116,6 +171,24 @@ public abstract class InternalAbstractMetrics implements Metrics, MetricsListene
             return Collections.emptyMap();
         }
 
+        @Override
+        public Map<String,StatementMetrics> statementMetrics()
+        {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<String,EventLoopMetrics> eventLoopMetrics()
+        {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public RetryMetrics retryMetrics()
+        {
+            return null;
+        }
+
         @Override
         public String toString()
         {
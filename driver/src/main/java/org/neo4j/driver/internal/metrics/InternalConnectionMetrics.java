@@ -30,6 +30,7 @@ public class InternalConnectionMetrics implements ConnectionMetrics, ConnectionM
 {
     private final InternalHistogram connHistogram;
     private final InternalHistogram inUseHistogram;
+    private final InternalHistogram tlsHandshakeHistogram;
     private final BoltServerAddress serverAddress;
 
     public InternalConnectionMetrics( BoltServerAddress serverAddress, int connectionTimeoutMillis )
@@ -38,6 +39,7 @@ public class InternalConnectionMetrics implements ConnectionMetrics, ConnectionM
         this.serverAddress = serverAddress;
         connHistogram = new InternalHistogram( Duration.ofMillis( connectionTimeoutMillis ).toNanos() );
         inUseHistogram = new InternalHistogram();
+        tlsHandshakeHistogram = new InternalHistogram( Duration.ofMillis( connectionTimeoutMillis ).toNanos() );
     }
 
     @Override
@@ -58,6 +60,12 @@ public class InternalConnectionMetrics implements ConnectionMetrics, ConnectionM
         return inUseHistogram.snapshot();
     }
 
+    @Override
+    public Histogram tlsHandshakeTimeHistogram()
+    {
+        return tlsHandshakeHistogram.snapshot();
+    }
+
     @Override
     public void beforeCreating( ListenerEvent connEvent )
     {
@@ -88,10 +96,24 @@ public class InternalConnectionMetrics implements ConnectionMetrics, ConnectionM
         inUseHistogram.recordValue( elapsed );
     }
 
+    @Override
+    public void beforeTlsHandshake( ListenerEvent handshakeEvent )
+    {
+        handshakeEvent.start();
+    }
+
+    @Override
+    public void afterTlsHandshake( ListenerEvent handshakeEvent )
+    {
+        long elapsed = handshakeEvent.elapsed();
+        tlsHandshakeHistogram.recordValue( elapsed );
+    }
+
     @Override
     public String toString()
     {
-        return String.format( "connectionTimeHistogram=%s, inUseTimeHistogram=%s", connectionTimeHistogram(), inUseTimeHistogram() );
+        return String.format( "connectionTimeHistogram=%s, inUseTimeHistogram=%s, tlsHandshakeTimeHistogram=%s",
+                connectionTimeHistogram(), inUseTimeHistogram(), tlsHandshakeTimeHistogram() );
     }
 
 }
@@ -192,6 +192,14 @@ public class InternalConnectionPoolMetrics implements ConnectionPoolMetrics, Con
         return this.acquisitionTimeHistogram.snapshot();
     }
 
+    /**
+     * Live acquisition time histogram, readable without taking a copy.
+     */
+    InternalHistogram acquisitionTimes()
+    {
+        return acquisitionTimeHistogram;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.driver.internal.metrics.spi.EventLoopMetrics;
+import org.neo4j.driver.internal.metrics.spi.Histogram;
+
+import static java.lang.String.format;
+
+public class InternalEventLoopMetrics implements EventLoopMetrics, EventLoopMetricsListener
+{
+    static final long PROBE_INTERVAL_MILLIS = Long.getLong( "eventLoopProbeIntervalMillis", 1000 );
+
+    private final String name;
+    private final EventExecutor eventLoop;
+    private final long probeIntervalNanos;
+    private final AtomicInteger channels = new AtomicInteger();
+    private final InternalHistogram loopLatencyHistogram = new InternalHistogram();
+    private final InternalHistogram messageHandlingTimeHistogram = new InternalHistogram();
+    private final InternalHistogram readSizeHistogram = new InternalHistogram();
+    private final AtomicLong mergeCumulations = new AtomicLong();
+    private final AtomicLong compositeCumulations = new AtomicLong();
+    private final AtomicLong cumulationCopiedBytes = new AtomicLong();
+
+    public InternalEventLoopMetrics( String name, EventExecutor eventLoop )
+    {
+        this( name, eventLoop, TimeUnit.MILLISECONDS.toNanos( PROBE_INTERVAL_MILLIS ) );
+    }
+
+    InternalEventLoopMetrics( String name, EventExecutor eventLoop, long probeIntervalNanos )
+    {
+        this.name = name;
+        this.eventLoop = eventLoop;
+        this.probeIntervalNanos = probeIntervalNanos;
+    }
+
+    /**
+     * Start the periodic probe task that measures loop latency. Probe reschedules itself until the event loop shuts
+     * down.
+     */
+    public void startProbe()
+    {
+        scheduleProbe();
+    }
+
+    @Override
+    public String uniqueName()
+    {
+        return name;
+    }
+
+    @Override
+    public int pendingTasks()
+    {
+        if ( eventLoop instanceof SingleThreadEventExecutor )
+        {
+            return ((SingleThreadEventExecutor) eventLoop).pendingTasks();
+        }
+        return -1;
+    }
+
+    @Override
+    public int channels()
+    {
+        return channels.get();
+    }
+
+    @Override
+    public Histogram loopLatencyHistogram()
+    {
+        return loopLatencyHistogram.snapshot();
+    }
+
+    @Override
+    public Histogram messageHandlingTimeHistogram()
+    {
+        return messageHandlingTimeHistogram.snapshot();
+    }
+
+    @Override
+    public Histogram readSizeHistogram()
+    {
+        return readSizeHistogram.snapshot();
+    }
+
+    @Override
+    public long mergeCumulations()
+    {
+        return mergeCumulations.get();
+    }
+
+    @Override
+    public long compositeCumulations()
+    {
+        return compositeCumulations.get();
+    }
+
+    @Override
+    public long cumulationCopiedBytes()
+    {
+        return cumulationCopiedBytes.get();
+    }
+
+    @Override
+    public void afterChannelRegistered()
+    {
+        channels.incrementAndGet();
+    }
+
+    @Override
+    public void afterChannelClosed()
+    {
+        channels.decrementAndGet();
+    }
+
+    @Override
+    public void afterMessageHandled( long elapsedNanos )
+    {
+        messageHandlingTimeHistogram.recordValue( elapsedNanos );
+    }
+
+    @Override
+    public void afterBytesRead( int bytes )
+    {
+        readSizeHistogram.recordValue( bytes );
+    }
+
+    @Override
+    public void afterCumulation( boolean composite, int copiedBytes )
+    {
+        if ( composite )
+        {
+            compositeCumulations.incrementAndGet();
+        }
+        else
+        {
+            mergeCumulations.incrementAndGet();
+        }
+        cumulationCopiedBytes.addAndGet( copiedBytes );
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "[pendingTasks=%s, channels=%s, loopLatencyHistogram=%s, messageHandlingTimeHistogram=%s, " +
+                       "readSizeHistogram=%s, mergeCumulations=%s, compositeCumulations=%s, cumulationCopiedBytes=%s]",
+                pendingTasks(), channels(), loopLatencyHistogram(), messageHandlingTimeHistogram(),
+                readSizeHistogram(), mergeCumulations(), compositeCumulations(), cumulationCopiedBytes() );
+    }
+
+    private void scheduleProbe()
+    {
+        if ( eventLoop.isShuttingDown() )
+        {
+            return;
+        }
+
+        long expectedStart = System.nanoTime() + probeIntervalNanos;
+        try
+        {
+            eventLoop.schedule( () ->
+            {
+                loopLatencyHistogram.recordValue( Math.max( 0, System.nanoTime() - expectedStart ) );
+                scheduleProbe();
+            }, probeIntervalNanos, TimeUnit.NANOSECONDS );
+        }
+        catch ( RejectedExecutionException ignore )
+        {
+            // event loop started shutting down concurrently
+        }
+    }
+}
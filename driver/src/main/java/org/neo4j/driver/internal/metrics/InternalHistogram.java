@@ -19,20 +19,43 @@
 package org.neo4j.driver.internal.metrics;
 
 import org.HdrHistogram.AbstractHistogram;
-import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Recorder;
 
 import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.driver.internal.metrics.spi.Histogram;
 
 import static java.lang.String.format;
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
 
+/**
+ * Histogram that is cheap to record into and to read from concurrently. Values are recorded into a double-buffered
+ * {@link Recorder}, which only needs a single wait-free phaser increment per value. Readers flip the recorder to
+ * collect the values recorded since the previous read and add them to the cumulative histogram. Writers are never
+ * blocked or stopped by readers, snapshots or resets.
+ * <p>
+ * Reads are not free: every read takes a reader-only lock and flips the recorder, and {@link #snapshot()} copies the
+ * cumulative histogram. Recorder and cumulative histogram need three HdrHistograms. Values are precise to three
+ * significant digits by default, callers that create many histograms, like per-statement metrics, can use a lower
+ * precision to keep them small.
+ */
 public class InternalHistogram implements Histogram
 {
     private static final long DEFAULT_HIGHEST_TRACKABLE_NS = Duration.ofMinutes( 10 ).toNanos();
     private static final int DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
 
-    private final AbstractHistogram delegate;
+    private final long highestTrackableValue;
+    private final int numberOfSignificantValueDigits;
+    private final Recorder recorder;
+
+    // guards the fields below, only taken by readers
+    private final Lock lock = new ReentrantLock();
+    private final org.HdrHistogram.Histogram total;
+    private org.HdrHistogram.Histogram interval;
+    // only allocated when interval snapshots are used
+    private org.HdrHistogram.Histogram sinceIntervalSnapshot;
 
     public InternalHistogram()
     {
@@ -41,82 +64,108 @@ public class InternalHistogram implements Histogram
 
     public InternalHistogram( long highestTrackableValueNS )
     {
-        this.delegate = createHdrHistogram( highestTrackableValueNS );
+        this( highestTrackableValueNS, DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS );
     }
 
-    public InternalHistogram( AbstractHistogram histogram )
+    /**
+     * @param highestTrackableValueNS the highest value to track, bigger values are recorded as this value.
+     * @param numberOfSignificantValueDigits the precision of recorded values, every additional digit makes the
+     * histogram roughly eight times bigger.
+     */
+    public InternalHistogram( long highestTrackableValueNS, int numberOfSignificantValueDigits )
     {
-        this.delegate = histogram;
+        this.highestTrackableValue = highestTrackableValueNS;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+        this.recorder = new Recorder( highestTrackableValueNS, numberOfSignificantValueDigits );
+        this.total = new org.HdrHistogram.Histogram( highestTrackableValueNS, numberOfSignificantValueDigits );
     }
 
     public void recordValue( long value )
     {
-        long newValue = truncateValue( value, delegate );
-        this.delegate.recordValue( newValue );
+        recorder.recordValue( Math.min( value, highestTrackableValue ) );
     }
 
     @Override
     public long min()
     {
-        return delegate.getMinValue();
+        return executeWithLock( lock, () -> updatedTotal().getMinValue() );
     }
 
     @Override
     public long max()
     {
-        return delegate.getMaxValue();
+        return executeWithLock( lock, () -> updatedTotal().getMaxValue() );
     }
 
     @Override
     public double mean()
     {
-        return delegate.getMean();
+        return executeWithLock( lock, () -> updatedTotal().getMean() );
     }
 
     @Override
     public double stdDeviation()
     {
-        return delegate.getStdDeviation();
+        return executeWithLock( lock, () -> updatedTotal().getStdDeviation() );
     }
 
     @Override
     public long totalCount()
     {
-        return delegate.getTotalCount();
+        return executeWithLock( lock, () -> updatedTotal().getTotalCount() );
     }
 
     @Override
     public long valueAtPercentile( double percentile )
     {
-        return delegate.getValueAtPercentile( percentile );
+        return executeWithLock( lock, () -> updatedTotal().getValueAtPercentile( percentile ) );
     }
 
     @Override
     public void reset()
     {
-        delegate.reset();
+        executeWithLock( lock, () ->
+        {
+            recorder.reset();
+            total.reset();
+            if ( sinceIntervalSnapshot != null )
+            {
+                sinceIntervalSnapshot.reset();
+            }
+        } );
     }
 
-    public static ConcurrentHistogram createHdrHistogram( long highestTrackableValue )
+    /**
+     * Snapshot of all values recorded since creation or the last {@link #reset()}.
+     *
+     * @return the cumulative snapshot.
+     */
+    public Histogram snapshot()
     {
-        return new ConcurrentHistogram( highestTrackableValue, DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS );
+        return executeWithLock( lock, () -> new HistogramSnapshot( new HdrHistogramView( updatedTotal().copy(), this ), this ) );
     }
 
-    private static long truncateValue( long value, AbstractHistogram histogram )
+    /**
+     * Snapshot of values recorded since the previous call to this method, for periodic scraping. Values are still
+     * added to the cumulative histogram.
+     *
+     * @return the interval snapshot.
+     */
+    public Histogram intervalSnapshot()
     {
-        if ( value > histogram.getHighestTrackableValue() )
+        return executeWithLock( lock, () ->
         {
-            return histogram.getHighestTrackableValue();
-        }
-        else
-        {
-            return value;
-        }
-    }
-
-    public Histogram snapshot()
-    {
-        return new HistogramSnapshot( new InternalHistogram( this.delegate.copy() ), this );
+            if ( sinceIntervalSnapshot == null )
+            {
+                sinceIntervalSnapshot = new org.HdrHistogram.Histogram( highestTrackableValue, numberOfSignificantValueDigits );
+                // values recorded before the first interval snapshot belong to the first interval
+                sinceIntervalSnapshot.add( total );
+            }
+            sampleInterval();
+            AbstractHistogram copy = sinceIntervalSnapshot.copy();
+            sinceIntervalSnapshot.reset();
+            return new HistogramSnapshot( new HdrHistogramView( copy, this ), this );
+        } );
     }
 
     @Override
@@ -125,4 +174,84 @@ public class InternalHistogram implements Histogram
         return format("[min=%sns, max=%sns, mean=%sns, stdDeviation=%s, totalCount=%s]",
                 min(), max(), mean(), stdDeviation(), totalCount());
     }
+
+    private AbstractHistogram updatedTotal()
+    {
+        sampleInterval();
+        return total;
+    }
+
+    private void sampleInterval()
+    {
+        interval = recorder.getIntervalHistogram( interval );
+        total.add( interval );
+        if ( sinceIntervalSnapshot != null )
+        {
+            sinceIntervalSnapshot.add( interval );
+        }
+    }
+
+    /**
+     * Read-only copy of recorded values. Like a snapshot, it resets the histogram it was copied from.
+     */
+    private static class HdrHistogramView implements Histogram
+    {
+        final AbstractHistogram histogram;
+        final Histogram origin;
+
+        HdrHistogramView( AbstractHistogram histogram, Histogram origin )
+        {
+            this.histogram = histogram;
+            this.origin = origin;
+        }
+
+        @Override
+        public long min()
+        {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public long max()
+        {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double mean()
+        {
+            return histogram.getMean();
+        }
+
+        @Override
+        public double stdDeviation()
+        {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public long totalCount()
+        {
+            return histogram.getTotalCount();
+        }
+
+        @Override
+        public long valueAtPercentile( double percentile )
+        {
+            return histogram.getValueAtPercentile( percentile );
+        }
+
+        @Override
+        public void reset()
+        {
+            origin.reset();
+        }
+
+        @Override
+        public String toString()
+        {
+            return format( "[min=%sns, max=%sns, mean=%sns, stdDeviation=%s, totalCount=%s]",
+                    min(), max(), mean(), stdDeviation(), totalCount() );
+        }
+    }
 }
@@ -18,6 +18,10 @@
  */
 package org.neo4j.driver.internal.metrics;
 
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,25 +30,52 @@ import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.metrics.spi.ConnectionMetrics;
 import org.neo4j.driver.internal.metrics.spi.ConnectionPoolMetrics;
+import org.neo4j.driver.internal.metrics.spi.EventLoopMetrics;
+import org.neo4j.driver.internal.metrics.spi.RetryMetrics;
+import org.neo4j.driver.internal.metrics.spi.StatementMetrics;
+import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
 import org.neo4j.driver.internal.spi.ConnectionPool;
 import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableMap;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setEventLoopMetrics;
 
 public class InternalMetrics extends InternalAbstractMetrics
 {
+    static final String OTHER_STATEMENTS_FINGERPRINT = "<other>";
+    static final int MAX_STATEMENT_FINGERPRINTS = Integer.getInteger( "statementMetricsMaxFingerprints", 100 );
+    static final int MAX_CACHED_STATEMENT_TEXTS = 1000;
+
     private final Map<String,ConnectionPoolMetrics> connectionPoolMetrics;
     private final Map<String,ConnectionMetrics> connectionMetrics;
+    private final Map<String,StatementMetrics> statementMetrics;
+    private final Map<String,InternalStatementMetrics> statementMetricsByText;
+    private final Map<String,EventLoopMetrics> eventLoopMetrics;
+    private final Map<EventExecutor,InternalEventLoopMetrics> eventLoopMetricsByExecutor;
+    private volatile RetryMetrics retryMetrics;
+    private final int maxStatementFingerprints;
+    private final JmxMetricsPublisher jmxPublisher;
     private final Config config;
 
     public InternalMetrics( Config config )
+    {
+        this( config, MAX_STATEMENT_FINGERPRINTS );
+    }
+
+    InternalMetrics( Config config, int maxStatementFingerprints )
     {
         Objects.requireNonNull( config );
         this.config = config;
         this.connectionPoolMetrics = new ConcurrentHashMap<>();
         this.connectionMetrics = new ConcurrentHashMap<>();
+        this.statementMetrics = new ConcurrentHashMap<>();
+        this.statementMetricsByText = new ConcurrentHashMap<>();
+        this.eventLoopMetrics = new ConcurrentHashMap<>();
+        this.eventLoopMetricsByExecutor = new ConcurrentHashMap<>();
+        this.maxStatementFingerprints = maxStatementFingerprints;
+        this.jmxPublisher = config.isJmxMetricsEnabled() ? new JmxMetricsPublisher( config.logging() ) : null;
     }
 
     @Override
@@ -54,6 +85,25 @@ public class InternalMetrics extends InternalAbstractMetrics
         addConnectionMetrics( serverAddress );
     }
 
+    @Override
+    public void addEventLoopMetrics( EventExecutorGroup eventLoopGroup )
+    {
+        int index = 0;
+        for ( EventExecutor eventLoop : eventLoopGroup )
+        {
+            InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-" + index++, eventLoop );
+            eventLoopMetrics.put( metrics.uniqueName(), metrics );
+            eventLoopMetricsByExecutor.put( eventLoop, metrics );
+            metrics.startProbe();
+        }
+    }
+
+    @Override
+    public void addRetryMetrics( ExponentialBackoffRetryLogic retryLogic )
+    {
+        retryMetrics = new InternalRetryMetrics( retryLogic );
+    }
+
     @Override
     public void beforeCreating( BoltServerAddress serverAddress, ListenerEvent creatingEvent )
     {
@@ -110,12 +160,89 @@ public class InternalMetrics extends InternalAbstractMetrics
         connectionMetrics( serverAddress ).released( inUseEvent );
     }
 
+    @Override
+    public void beforeTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent )
+    {
+        connectionMetrics( serverAddress ).beforeTlsHandshake( handshakeEvent );
+    }
+
+    @Override
+    public void afterTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent )
+    {
+        connectionMetrics( serverAddress ).afterTlsHandshake( handshakeEvent );
+    }
+
     @Override
     public void afterTimedOutToAcquireOrCreate( BoltServerAddress serverAddress )
     {
         poolMetrics( serverAddress ).afterTimedOutToAcquireOrCreate();
     }
 
+    @Override
+    public StatementMetricsListener beforeRunningStatement( String statement )
+    {
+        // applications usually run the same statement texts over and over, avoid normalizing them on every RUN
+        InternalStatementMetrics metrics = statementMetricsByText.get( statement );
+        if ( metrics == null )
+        {
+            metrics = fingerprintMetrics( statement );
+            if ( statementMetricsByText.size() < MAX_CACHED_STATEMENT_TEXTS &&
+                 statement.length() <= StatementFingerprint.MAX_LENGTH )
+            {
+                statementMetricsByText.putIfAbsent( statement, metrics );
+            }
+        }
+        return metrics;
+    }
+
+    private InternalStatementMetrics fingerprintMetrics( String statement )
+    {
+        String fingerprint = StatementFingerprint.of( statement );
+        StatementMetrics metrics = statementMetrics.get( fingerprint );
+        if ( metrics == null )
+        {
+            // bound the amount of distinct fingerprints, statements with inlined identifiers or generated text should
+            // not make metrics grow without limits
+            if ( statementMetrics.size() >= maxStatementFingerprints )
+            {
+                fingerprint = OTHER_STATEMENTS_FINGERPRINT;
+            }
+            metrics = statementMetrics.computeIfAbsent( fingerprint, InternalStatementMetrics::new );
+        }
+        return (InternalStatementMetrics) metrics;
+    }
+
+    @Override
+    public void afterChannelConnected( Channel channel )
+    {
+        InternalEventLoopMetrics metrics = eventLoopMetricsByExecutor.get( channel.eventLoop() );
+        if ( metrics != null )
+        {
+            metrics.afterChannelRegistered();
+            channel.closeFuture().addListener( ignore -> metrics.afterChannelClosed() );
+            setEventLoopMetrics( channel, metrics );
+        }
+    }
+
+    @Override
+    public void afterPoolClosed()
+    {
+        if ( jmxPublisher != null )
+        {
+            jmxPublisher.close();
+        }
+    }
+
+    @Override
+    public void afterPoolClosed( BoltServerAddress serverAddress )
+    {
+        ConnectionPoolMetrics poolMetrics = connectionPoolMetrics.get( serverAddressToUniqueName( serverAddress ) );
+        if ( jmxPublisher != null && poolMetrics != null )
+        {
+            jmxPublisher.unregister( (InternalConnectionPoolMetrics) poolMetrics );
+        }
+    }
+
     @Override
     public ListenerEvent createListenerEvent()
     {
@@ -134,10 +261,29 @@ public class InternalMetrics extends InternalAbstractMetrics
         return unmodifiableMap( this.connectionMetrics );
     }
 
+    @Override
+    public Map<String,StatementMetrics> statementMetrics()
+    {
+        return unmodifiableMap( this.statementMetrics );
+    }
+
+    @Override
+    public Map<String,EventLoopMetrics> eventLoopMetrics()
+    {
+        return unmodifiableMap( this.eventLoopMetrics );
+    }
+
+    @Override
+    public RetryMetrics retryMetrics()
+    {
+        return retryMetrics;
+    }
+
     @Override
     public String toString()
     {
-        return format( "PoolMetrics=%s, ConnMetrics=%s", connectionPoolMetrics, connectionMetrics );
+        return format( "PoolMetrics=%s, ConnMetrics=%s, StatementMetrics=%s, EventLoopMetrics=%s, RetryMetrics=%s", connectionPoolMetrics,
+                connectionMetrics, statementMetrics, eventLoopMetrics, retryMetrics );
     }
 
     static String serverAddressToUniqueName( BoltServerAddress serverAddress )
@@ -168,8 +314,13 @@ public class InternalMetrics extends InternalAbstractMetrics
 
     private void addPoolMetrics( BoltServerAddress serverAddress, ConnectionPool pool )
     {
-        this.connectionPoolMetrics.put( serverAddressToUniqueName( serverAddress ),
-                new InternalConnectionPoolMetrics( serverAddress, pool, config.connectionAcquisitionTimeoutMillis() ) );
+        InternalConnectionPoolMetrics poolMetrics =
+                new InternalConnectionPoolMetrics( serverAddress, pool, config.connectionAcquisitionTimeoutMillis() );
+        this.connectionPoolMetrics.put( serverAddressToUniqueName( serverAddress ), poolMetrics );
+        if ( jmxPublisher != null )
+        {
+            jmxPublisher.register( poolMetrics );
+        }
     }
 
     private void addConnectionMetrics( BoltServerAddress serverAddress )
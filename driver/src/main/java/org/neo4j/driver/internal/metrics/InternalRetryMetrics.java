@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.neo4j.driver.internal.metrics.spi.RetryMetrics;
+import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
+
+import static java.lang.String.format;
+
+public class InternalRetryMetrics implements RetryMetrics
+{
+    private final ExponentialBackoffRetryLogic retryLogic;
+
+    InternalRetryMetrics( ExponentialBackoffRetryLogic retryLogic )
+    {
+        this.retryLogic = retryLogic;
+    }
+
+    @Override
+    public long retries()
+    {
+        return retryLogic.retries();
+    }
+
+    @Override
+    public long retryBudgetExhausted()
+    {
+        return retryLogic.retryBudget().exhaustedCount();
+    }
+
+    @Override
+    public double retryBudgetTokens()
+    {
+        return retryLogic.retryBudget().availableTokens();
+    }
+
+    @Override
+    public int concurrencyLimit()
+    {
+        return retryLogic.concurrencyLimiter().currentLimit();
+    }
+
+    @Override
+    public int inFlightTransactions()
+    {
+        return retryLogic.concurrencyLimiter().inFlight();
+    }
+
+    @Override
+    public long concurrencyLimitRejected()
+    {
+        return retryLogic.concurrencyLimiter().rejectedCount();
+    }
+
+    @Override
+    public long hedges()
+    {
+        return retryLogic.hedges();
+    }
+
+    @Override
+    public long hedgeWins()
+    {
+        return retryLogic.hedgeWins();
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "retries=%s, retryBudgetExhausted=%s, retryBudgetTokens=%s, concurrencyLimit=%s, " +
+                       "inFlightTransactions=%s, concurrencyLimitRejected=%s, hedges=%s, hedgeWins=%s",
+                retries(), retryBudgetExhausted(), retryBudgetTokens(), concurrencyLimit(),
+                inFlightTransactions(), concurrencyLimitRejected(), hedges(), hedgeWins() );
+    }
+}
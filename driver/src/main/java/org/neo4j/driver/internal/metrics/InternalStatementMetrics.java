@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.driver.internal.metrics.spi.Histogram;
+import org.neo4j.driver.internal.metrics.spi.StatementMetrics;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+
+public class InternalStatementMetrics implements StatementMetrics, StatementMetricsListener
+{
+    // there can be many fingerprints, so histograms are kept coarse: values are precise to a single digit, which
+    // makes every histogram around 5KB instead of around 35KB for the default precision
+    private static final long HIGHEST_TRACKABLE_NS = Duration.ofMinutes( 10 ).toNanos();
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 1;
+
+    private final String fingerprint;
+    private final InternalHistogram runHistogram;
+    private final InternalHistogram firstRecordHistogram;
+    private final InternalHistogram completionHistogram;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Map<String,LongAdder> failures = new ConcurrentHashMap<>();
+
+    public InternalStatementMetrics( String fingerprint )
+    {
+        this.fingerprint = fingerprint;
+        this.runHistogram = new InternalHistogram( HIGHEST_TRACKABLE_NS, NUMBER_OF_SIGNIFICANT_VALUE_DIGITS );
+        this.firstRecordHistogram = new InternalHistogram( HIGHEST_TRACKABLE_NS, NUMBER_OF_SIGNIFICANT_VALUE_DIGITS );
+        this.completionHistogram = new InternalHistogram( HIGHEST_TRACKABLE_NS, NUMBER_OF_SIGNIFICANT_VALUE_DIGITS );
+    }
+
+    @Override
+    public String uniqueName()
+    {
+        return fingerprint;
+    }
+
+    @Override
+    public Histogram runTimeHistogram()
+    {
+        return runHistogram.snapshot();
+    }
+
+    @Override
+    public Histogram firstRecordTimeHistogram()
+    {
+        return firstRecordHistogram.snapshot();
+    }
+
+    @Override
+    public Histogram completionTimeHistogram()
+    {
+        return completionHistogram.snapshot();
+    }
+
+    @Override
+    public long completed()
+    {
+        return completed.sum();
+    }
+
+    @Override
+    public long records()
+    {
+        return records.sum();
+    }
+
+    @Override
+    public long bytes()
+    {
+        return bytes.sum();
+    }
+
+    @Override
+    public Map<String,Long> failures()
+    {
+        Map<String,Long> result = new HashMap<>();
+        failures.forEach( ( code, count ) -> result.put( code, count.sum() ) );
+        return unmodifiableMap( result );
+    }
+
+    @Override
+    public void afterRun( long elapsedNanos )
+    {
+        runHistogram.recordValue( elapsedNanos );
+    }
+
+    @Override
+    public void afterFirstRecord( long elapsedNanos )
+    {
+        firstRecordHistogram.recordValue( elapsedNanos );
+    }
+
+    @Override
+    public void afterCompleted( long elapsedNanos, long records, long bytes )
+    {
+        completionHistogram.recordValue( elapsedNanos );
+        completed.increment();
+        this.records.add( records );
+        this.bytes.add( bytes );
+    }
+
+    @Override
+    public void afterFailed( String code, long records, long bytes )
+    {
+        failures.computeIfAbsent( code, ignore -> new LongAdder() ).increment();
+        this.records.add( records );
+        this.bytes.add( bytes );
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "[fingerprint=%s, completed=%s, records=%s, bytes=%s, failures=%s, runTimeHistogram=%s, " +
+                       "firstRecordTimeHistogram=%s, completionTimeHistogram=%s]",
+                uniqueName(), completed(), records(), bytes(), failures(), runTimeHistogram(),
+                firstRecordTimeHistogram(), completionTimeHistogram() );
+    }
+}
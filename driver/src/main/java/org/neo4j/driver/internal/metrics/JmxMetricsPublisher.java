@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.lang.String.format;
+
+/**
+ * Publishes connection pool metrics of a single driver instance as MBeans in the platform MBean server. Beans are
+ * named {@code org.neo4j.driver:type=ConnectionPool,driver=<id>,address=<host:port>}, where the id distinguishes
+ * multiple drivers in the same JVM.
+ */
+public class JmxMetricsPublisher
+{
+    static final String DOMAIN = "org.neo4j.driver";
+
+    private static final AtomicInteger DRIVER_IDS = new AtomicInteger();
+
+    private final MBeanServer server;
+    private final int driverId;
+    private final Logger log;
+    private final Map<String,ObjectName> registeredNames = new ConcurrentHashMap<>();
+
+    public JmxMetricsPublisher( Logging logging )
+    {
+        this( ManagementFactory.getPlatformMBeanServer(), logging );
+    }
+
+    JmxMetricsPublisher( MBeanServer server, Logging logging )
+    {
+        this.server = server;
+        this.driverId = DRIVER_IDS.incrementAndGet();
+        this.log = logging.getLog( getClass().getSimpleName() );
+    }
+
+    public void register( InternalConnectionPoolMetrics metrics )
+    {
+        try
+        {
+            ObjectName name = objectName( metrics );
+            if ( server.isRegistered( name ) )
+            {
+                // pool towards this address was removed from the routing table and created again
+                server.unregisterMBean( name );
+            }
+            server.registerMBean( new ConnectionPoolMetricsBean( metrics ), name );
+            registeredNames.put( metrics.uniqueName(), name );
+        }
+        catch ( JMException e )
+        {
+            log.warn( format( "Unable to register JMX bean for connection pool %s", metrics.uniqueName() ), e );
+        }
+    }
+
+    public void unregister( InternalConnectionPoolMetrics metrics )
+    {
+        ObjectName name = registeredNames.remove( metrics.uniqueName() );
+        if ( name != null )
+        {
+            unregister( name );
+        }
+    }
+
+    public void close()
+    {
+        for ( ObjectName name : registeredNames.values() )
+        {
+            unregister( name );
+        }
+        registeredNames.clear();
+    }
+
+    private void unregister( ObjectName name )
+    {
+        try
+        {
+            if ( server.isRegistered( name ) )
+            {
+                server.unregisterMBean( name );
+            }
+        }
+        catch ( JMException e )
+        {
+            log.warn( format( "Unable to unregister JMX bean %s", name ), e );
+        }
+    }
+
+    ObjectName objectName( InternalConnectionPoolMetrics metrics ) throws JMException
+    {
+        return new ObjectName( format( "%s:type=ConnectionPool,driver=%d,address=%s",
+                DOMAIN, driverId, ObjectName.quote( metrics.uniqueName() ) ) );
+    }
+
+    private static class ConnectionPoolMetricsBean implements ConnectionPoolMetricsMXBean
+    {
+        final InternalConnectionPoolMetrics metrics;
+
+        ConnectionPoolMetricsBean( InternalConnectionPoolMetrics metrics )
+        {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getAddress()
+        {
+            return metrics.uniqueName();
+        }
+
+        @Override
+        public String getPoolStatus()
+        {
+            return metrics.poolStatus().name();
+        }
+
+        @Override
+        public int getInUse()
+        {
+            return metrics.inUse();
+        }
+
+        @Override
+        public int getIdle()
+        {
+            return metrics.idle();
+        }
+
+        @Override
+        public int getCreating()
+        {
+            return metrics.creating();
+        }
+
+        @Override
+        public long getCreated()
+        {
+            return metrics.created();
+        }
+
+        @Override
+        public long getFailedToCreate()
+        {
+            return metrics.failedToCreate();
+        }
+
+        @Override
+        public long getClosed()
+        {
+            return metrics.closed();
+        }
+
+        @Override
+        public int getAcquiring()
+        {
+            return metrics.acquiring();
+        }
+
+        @Override
+        public long getAcquired()
+        {
+            return metrics.acquired();
+        }
+
+        @Override
+        public long getTimedOutToAcquire()
+        {
+            return metrics.timedOutToAcquire();
+        }
+
+        @Override
+        public double getAcquisitionTimeMeanNanos()
+        {
+            return metrics.acquisitionTimes().mean();
+        }
+
+        @Override
+        public long getAcquisitionTimeMaxNanos()
+        {
+            return metrics.acquisitionTimes().max();
+        }
+
+        @Override
+        public long getAcquisitionTime99thPercentileNanos()
+        {
+            return metrics.acquisitionTimes().valueAtPercentile( 99 );
+        }
+    }
+}
@@ -18,11 +18,15 @@
  */
 package org.neo4j.driver.internal.metrics;
 
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.EventExecutorGroup;
+
 import java.util.concurrent.TimeUnit;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.DirectConnection;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
+import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
 import org.neo4j.driver.v1.Config;
 
 public interface MetricsListener
@@ -93,7 +97,58 @@ public interface MetricsListener
      */
     void afterConnectionReleased( BoltServerAddress serverAddress, ListenerEvent inUseEvent );
 
+    /**
+     * Before starting a TLS handshake on a newly connected netty channel
+     * @param serverAddress the server the netty channel binds to
+     * @param handshakeEvent a connection listener event registered when the channel is connected
+     */
+    void beforeTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent );
+
+    /**
+     * After a TLS handshake completed successfully
+     * @param serverAddress the server the netty channel binds to
+     * @param handshakeEvent a connection listener event registered when the channel is connected
+     */
+    void afterTlsHandshake( BoltServerAddress serverAddress, ListenerEvent handshakeEvent );
+
+    /**
+     * Before a statement is sent to the server
+     * @param statement the text of the statement
+     * @return a listener to notify about the progress of the statement or {@code null} when statement metrics are not
+     * collected
+     */
+    StatementMetricsListener beforeRunningStatement( String statement );
+
+    /**
+     * After the connection pool of the driver is closed, release resources held by metrics, like registered JMX beans
+     */
+    void afterPoolClosed();
+
+    /**
+     * After the connection pool towards the given server is closed because the server is no longer in the routing table
+     * @param serverAddress the server the closed pool was connected to
+     */
+    void afterPoolClosed( BoltServerAddress serverAddress );
+
+    /**
+     * After a netty channel is connected to the server, before TLS and Bolt handshakes
+     * @param channel the connected channel
+     */
+    void afterChannelConnected( Channel channel );
+
     ListenerEvent createListenerEvent();
 
     void addMetrics( BoltServerAddress address, ConnectionPoolImpl connectionPool );
+
+    /**
+     * Start monitoring event loops of the given group, which executes all driver IO
+     * @param eventLoopGroup the group of event loops used by the driver
+     */
+    void addEventLoopMetrics( EventExecutorGroup eventLoopGroup );
+
+    /**
+     * Start monitoring retries of transaction functions
+     * @param retryLogic the retry logic used by the driver
+     */
+    void addRetryMetrics( ExponentialBackoffRetryLogic retryLogic );
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+/**
+ * Normalizes statement text so that statements which only differ in inlined literals or whitespace are aggregated
+ * under the same metrics.
+ */
+final class StatementFingerprint
+{
+    static final int MAX_LENGTH = 1000;
+
+    private StatementFingerprint()
+    {
+    }
+
+    static String of( String statement )
+    {
+        StringBuilder result = new StringBuilder( Math.min( statement.length(), MAX_LENGTH ) );
+        int length = statement.length();
+        int i = 0;
+        while ( i < length && result.length() < MAX_LENGTH )
+        {
+            char c = statement.charAt( i );
+            if ( c == '\'' || c == '"' )
+            {
+                i = skipString( statement, i, c );
+                result.append( '?' );
+            }
+            else if ( Character.isDigit( c ) && !isPartOfIdentifier( result ) )
+            {
+                while ( i < length && (Character.isDigit( statement.charAt( i ) ) || statement.charAt( i ) == '.') )
+                {
+                    i++;
+                }
+                result.append( '?' );
+            }
+            else if ( Character.isWhitespace( c ) )
+            {
+                while ( i < length && Character.isWhitespace( statement.charAt( i ) ) )
+                {
+                    i++;
+                }
+                if ( result.length() > 0 && i < length )
+                {
+                    result.append( ' ' );
+                }
+            }
+            else
+            {
+                result.append( c );
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    private static int skipString( String statement, int start, char quote )
+    {
+        int i = start + 1;
+        while ( i < statement.length() )
+        {
+            char c = statement.charAt( i );
+            if ( c == '\\' )
+            {
+                i += 2;
+            }
+            else if ( c == quote )
+            {
+                return i + 1;
+            }
+            else
+            {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isPartOfIdentifier( StringBuilder result )
+    {
+        if ( result.length() == 0 )
+        {
+            return false;
+        }
+        char previous = result.charAt( result.length() - 1 );
+        return Character.isLetterOrDigit( previous ) || previous == '_' || previous == '$' || previous == '`';
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import org.neo4j.driver.internal.spi.AutoReadManagingResponseHandler;
+import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.Neo4jException;
+
+/**
+ * Tracks a single statement execution by decorating handlers of its RUN and PULL_ALL messages. Handlers are always
+ * invoked by the event loop thread of the connection, so no synchronization is needed.
+ */
+public class StatementMetricsHandler
+{
+    private final StatementMetricsListener listener;
+    private final IntSupplier messageSize;
+    private final long startNanos;
+
+    private long records;
+    private long bytes;
+
+    public StatementMetricsHandler( StatementMetricsListener listener, IntSupplier messageSize )
+    {
+        this.listener = listener;
+        this.messageSize = messageSize;
+        this.startNanos = System.nanoTime();
+    }
+
+    public ResponseHandler runHandler( ResponseHandler delegate )
+    {
+        return new RunHandler( delegate );
+    }
+
+    public ResponseHandler pullAllHandler( ResponseHandler delegate )
+    {
+        if ( delegate instanceof AutoReadManagingResponseHandler )
+        {
+            return new AutoReadManagingPullAllHandler( (AutoReadManagingResponseHandler) delegate );
+        }
+        return new PullAllHandler( delegate );
+    }
+
+    private long elapsedNanos()
+    {
+        return System.nanoTime() - startNanos;
+    }
+
+    private static String errorCode( Throwable error )
+    {
+        if ( error instanceof Neo4jException )
+        {
+            String code = ((Neo4jException) error).code();
+            if ( code != null && !"N/A".equals( code ) )
+            {
+                return code;
+            }
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private class RunHandler implements ResponseHandler
+    {
+        final ResponseHandler delegate;
+
+        RunHandler( ResponseHandler delegate )
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSuccess( Map<String,Value> metadata )
+        {
+            listener.afterRun( elapsedNanos() );
+            delegate.onSuccess( metadata );
+        }
+
+        @Override
+        public void onFailure( Throwable error )
+        {
+            delegate.onFailure( error );
+        }
+
+        @Override
+        public void onRecord( Value[] fields )
+        {
+            delegate.onRecord( fields );
+        }
+
+        @Override
+        public String toString()
+        {
+            return delegate.toString();
+        }
+    }
+
+    private class PullAllHandler implements ResponseHandler
+    {
+        final ResponseHandler delegate;
+
+        PullAllHandler( ResponseHandler delegate )
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSuccess( Map<String,Value> metadata )
+        {
+            listener.afterCompleted( elapsedNanos(), records, bytes );
+            delegate.onSuccess( metadata );
+        }
+
+        @Override
+        public void onFailure( Throwable error )
+        {
+            listener.afterFailed( errorCode( error ), records, bytes );
+            delegate.onFailure( error );
+        }
+
+        @Override
+        public void onRecord( Value[] fields )
+        {
+            if ( records == 0 )
+            {
+                listener.afterFirstRecord( elapsedNanos() );
+            }
+            records++;
+            bytes += messageSize.getAsInt();
+            delegate.onRecord( fields );
+        }
+
+        @Override
+        public String toString()
+        {
+            return delegate.toString();
+        }
+    }
+
+    private class AutoReadManagingPullAllHandler extends PullAllHandler implements AutoReadManagingResponseHandler
+    {
+        AutoReadManagingPullAllHandler( AutoReadManagingResponseHandler delegate )
+        {
+            super( delegate );
+        }
+
+        @Override
+        public void disableAutoReadManagement()
+        {
+            ((AutoReadManagingResponseHandler) delegate).disableAutoReadManagement();
+        }
+
+        @Override
+        public void beforeRecord( int messageSize )
+        {
+            ((AutoReadManagingResponseHandler) delegate).beforeRecord( messageSize );
+        }
+    }
+}
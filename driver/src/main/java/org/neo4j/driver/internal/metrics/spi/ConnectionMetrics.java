@@ -37,4 +37,11 @@ public interface ConnectionMetrics
      * @return The in-use time histogram
      */
     Histogram inUseTimeHistogram();
+
+    /**
+     * The TLS handshake time histogram describes how long it takes to complete a TLS handshake on a newly established
+     * connection. Sessions resumed from the JDK client session cache show up as a separate, much faster mode.
+     * @return The TLS handshake time histogram
+     */
+    Histogram tlsHandshakeTimeHistogram();
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics.spi;
+
+public interface EventLoopMetrics
+{
+    /**
+     * The unique name of this event loop metrics among all event loop metrics
+     * @return An unique name of this event loop metrics
+     */
+    String uniqueName();
+
+    /**
+     * The amount of tasks waiting in the queue of the event loop. A queue that keeps growing means the event loop
+     * can't keep up, often because application code blocks in callbacks executed by the driver IO threads.
+     * @return The amount of pending tasks or {@code -1} if not known
+     */
+    int pendingTasks();
+
+    /**
+     * The amount of channels currently registered with the event loop
+     * @return The amount of channels
+     */
+    int channels();
+
+    /**
+     * The loop latency histogram records how late a periodic probe task runs compared to when it was scheduled
+     * @return The loop latency histogram
+     */
+    Histogram loopLatencyHistogram();
+
+    /**
+     * The message handling time histogram records how long the event loop spends handling every inbound message,
+     * including all callbacks of futures completed by the message. Application code chained to async API results
+     * runs in these callbacks unless an executor is specified
+     * @return The message handling time histogram
+     */
+    Histogram messageHandlingTimeHistogram();
+
+    /**
+     * The read size histogram records how many bytes every socket read of channels registered with the event loop
+     * returned. Reads that often fill the receive buffer suggest a larger maximum receive buffer size
+     * @return The read size histogram
+     */
+    Histogram readSizeHistogram();
+
+    /**
+     * The amount of times inbound chunks were copied into a contiguous buffer to accumulate a message
+     * @return The amount of merge cumulations
+     */
+    long mergeCumulations();
+
+    /**
+     * The amount of times inbound chunks were added to a composite buffer to accumulate a message
+     * @return The amount of composite cumulations
+     */
+    long compositeCumulations();
+
+    /**
+     * The amount of bytes copied while accumulating inbound chunks into messages
+     * @return The amount of copied bytes
+     */
+    long cumulationCopiedBytes();
+}
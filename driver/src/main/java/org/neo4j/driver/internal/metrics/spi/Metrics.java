@@ -43,4 +43,24 @@ public interface Metrics
      */
     Map<String,ConnectionMetrics> connectionMetrics();
 
+    /***
+     * A map of statement metrics.
+     * The {@link StatementMetrics#uniqueName()} are used as the keys of the map.
+     * @return The statement metrics.
+     */
+    Map<String,StatementMetrics> statementMetrics();
+
+    /***
+     * A map of event loop metrics, one for every driver IO thread.
+     * The {@link EventLoopMetrics#uniqueName()} are used as the keys of the map.
+     * @return The event loop metrics.
+     */
+    Map<String,EventLoopMetrics> eventLoopMetrics();
+
+    /***
+     * Metrics of transaction function retries, including the state of the retry budget and the concurrency limit.
+     * @return The retry metrics or {@code null} if retries are not monitored.
+     */
+    RetryMetrics retryMetrics();
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics.spi;
+
+public interface RetryMetrics
+{
+    /**
+     * The amount of retries of transaction functions scheduled by the driver
+     * @return The amount of retries
+     */
+    long retries();
+
+    /**
+     * The amount of times a failed transaction function was not retried because the retry budget was exhausted
+     * @return The amount of retries denied by the retry budget
+     */
+    long retryBudgetExhausted();
+
+    /**
+     * The amount of tokens currently available in the retry budget, every retry uses a single token
+     * @return The amount of available tokens or {@link Double#POSITIVE_INFINITY} if retry budget is disabled
+     */
+    double retryBudgetTokens();
+
+    /**
+     * The current limit of concurrently executing transaction functions
+     * @return The current limit or {@link Integer#MAX_VALUE} if concurrency is not limited
+     */
+    int concurrencyLimit();
+
+    /**
+     * The amount of transaction functions currently executing
+     * @return The amount of executing transaction functions
+     */
+    int inFlightTransactions();
+
+    /**
+     * The amount of transaction function executions rejected because the concurrency limit was reached
+     * @return The amount of rejected executions
+     */
+    long concurrencyLimitRejected();
+
+    /**
+     * The amount of hedged attempts started for read transaction functions that did not complete in time
+     * @return The amount of started hedged attempts
+     */
+    long hedges();
+
+    /**
+     * The amount of hedged attempts that completed before the attempts they were hedging
+     * @return The amount of winning hedged attempts
+     */
+    long hedgeWins();
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics.spi;
+
+import java.util.Map;
+
+public interface StatementMetrics
+{
+    /**
+     * The unique name of this statement metrics, which is the normalized fingerprint of the statement text.
+     * Literals are replaced with {@code ?} and whitespace is collapsed, so statements that only differ in inlined
+     * values share the same metrics.
+     * @return The normalized statement fingerprint
+     */
+    String uniqueName();
+
+    /**
+     * The run time histogram describes how long it takes from sending a statement until its RUN SUCCESS arrives,
+     * as observed by the driver
+     * @return The run time histogram
+     */
+    Histogram runTimeHistogram();
+
+    /**
+     * The first record time histogram describes how long it takes from sending a statement until its first record
+     * arrives
+     * @return The first record time histogram
+     */
+    Histogram firstRecordTimeHistogram();
+
+    /**
+     * The completion time histogram describes how long it takes from sending a statement until all its records are
+     * streamed and the summary arrives
+     * @return The completion time histogram
+     */
+    Histogram completionTimeHistogram();
+
+    /**
+     * The amount of statement executions that completed successfully
+     * @return The amount of completed statements
+     */
+    long completed();
+
+    /**
+     * The amount of records streamed for all executions of the statement
+     * @return The amount of records
+     */
+    long records();
+
+    /**
+     * The amount of bytes of records streamed for all executions of the statement
+     * @return The amount of bytes
+     */
+    long bytes();
+
+    /**
+     * The amount of failed statement executions by error code. Errors without a code are keyed by their class name.
+     * @return The amount of failures by code
+     */
+    Map<String,Long> failures();
+}
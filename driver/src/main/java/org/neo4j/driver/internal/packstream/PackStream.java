@@ -223,12 +223,16 @@ public class PackStream
             if ( value == null ) { packNull(); }
             else
             {
-                byte[] utf8 = value.getBytes( UTF_8 );
-                packStringHeader( utf8.length );
-                packRaw( utf8 );
+                packUtf8( value.getBytes( UTF_8 ) );
             }
         }
 
+        public void packUtf8( byte[] utf8 ) throws IOException
+        {
+            packStringHeader( utf8.length );
+            packRaw( utf8 );
+        }
+
         private void pack( List<?> values ) throws IOException
         {
             if ( values == null ) { packNull(); }
@@ -517,6 +521,23 @@ public class PackStream
             return new String(unpackUtf8(markerByte), UTF_8);
         }
 
+        /**
+         * Unpack a string without decoding it, returning the raw UTF-8 bytes. Useful for callers that cache
+         * values derived from frequently repeated strings and want to avoid the decoding cost.
+         * @return UTF-8 encoded bytes of the string
+         * @throws IOException if the next value is not a string
+         */
+        public byte[] unpackStringBytes() throws IOException
+        {
+            final byte markerByte = in.readByte();
+            if( markerByte == TINY_STRING ) // Note no mask, so we compare to 0x80.
+            {
+                return EMPTY_BYTE_ARRAY;
+            }
+
+            return unpackUtf8(markerByte);
+        }
+
         /**
          * This may seem confusing. This method exists to move forward the internal pointer when encountering
          * a null value. The idiomatic usage would be someone using {@link #peekNextType()} to detect a null type,
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Limits the number of concurrently executing transaction functions using additive increase, multiplicative
+ * decrease (AIMD).
+ * <p>
+ * The limit starts at the configured maximum. Every attempt that fails with a retryable error, which signals that
+ * the database is unavailable or overloaded, multiplies the limit by {@link #BACKOFF_RATIO}. Every successful
+ * attempt increases the limit by {@code 1 / limit}, i.e. by one after a full limit of successful attempts.
+ * Attempts that exceed the current limit are rejected without being executed.
+ */
+public class ConcurrencyLimiter
+{
+    static final double BACKOFF_RATIO = 0.9;
+    private static final int MIN_LIMIT = 1;
+
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final Lock lock = new ReentrantLock();
+
+    private double limit;
+    private int inFlight;
+    private long rejectedCount;
+
+    private ConcurrencyLimiter( int maxLimit, boolean adaptive )
+    {
+        this.maxLimit = maxLimit;
+        this.adaptive = adaptive;
+        this.limit = maxLimit;
+    }
+
+    public static ConcurrencyLimiter adaptive( int maxLimit )
+    {
+        return new ConcurrencyLimiter( maxLimit, true );
+    }
+
+    /**
+     * Create a limiter that only counts executing attempts and never rejects them. It does not lock.
+     *
+     * @return new limiter instance.
+     */
+    public static ConcurrencyLimiter unlimited()
+    {
+        return new Unlimited();
+    }
+
+    /**
+     * Reserve a slot for an attempt. Each successful call must be followed by exactly one call to
+     * {@link #onSuccess()}, {@link #onOverload()} or {@link #onFailure()}.
+     *
+     * @return {@code true} if the attempt can be executed, {@code false} if the limit is reached.
+     */
+    public boolean tryAcquire()
+    {
+        return executeWithLock( lock, () ->
+        {
+            if ( inFlight >= (int) limit )
+            {
+                rejectedCount++;
+                return false;
+            }
+            inFlight++;
+            return true;
+        } );
+    }
+
+    public void onSuccess()
+    {
+        executeWithLock( lock, () ->
+        {
+            inFlight--;
+            if ( adaptive )
+            {
+                limit = Math.min( maxLimit, limit + 1 / limit );
+            }
+        } );
+    }
+
+    public void onOverload()
+    {
+        executeWithLock( lock, () ->
+        {
+            inFlight--;
+            if ( adaptive )
+            {
+                limit = Math.max( MIN_LIMIT, limit * BACKOFF_RATIO );
+            }
+        } );
+    }
+
+    public void onFailure()
+    {
+        executeWithLock( lock, () ->
+        {
+            inFlight--;
+        } );
+    }
+
+    public int currentLimit()
+    {
+        return executeWithLock( lock, () -> (int) limit );
+    }
+
+    public int inFlight()
+    {
+        return executeWithLock( lock, () -> inFlight );
+    }
+
+    public long rejectedCount()
+    {
+        return executeWithLock( lock, () -> rejectedCount );
+    }
+
+    @Override
+    public String toString()
+    {
+        return executeWithLock( lock, () -> "ConcurrencyLimiter{limit=" + limit + ", maxLimit=" + maxLimit + ", inFlight=" + inFlight + "}" );
+    }
+
+    private static class Unlimited extends ConcurrencyLimiter
+    {
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Unlimited()
+        {
+            super( Integer.MAX_VALUE, false );
+        }
+
+        @Override
+        public boolean tryAcquire()
+        {
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void onSuccess()
+        {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onOverload()
+        {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onFailure()
+        {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public int currentLimit()
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int inFlight()
+        {
+            return inFlight.get();
+        }
+
+        @Override
+        public long rejectedCount()
+        {
+            return 0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ConcurrencyLimiter{unlimited, inFlight=" + inFlight + "}";
+        }
+    }
+}
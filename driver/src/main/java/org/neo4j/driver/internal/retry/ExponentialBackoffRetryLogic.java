@@ -25,14 +25,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.neo4j.driver.internal.async.EventLoopGroupFactory;
 import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.internal.util.Supplier;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 import org.neo4j.driver.v1.exceptions.TransientException;
@@ -56,17 +60,34 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
     private final double jitterFactor;
     private final EventExecutorGroup eventExecutorGroup;
     private final Clock clock;
+    private final RetryBudget retryBudget;
+    private final boolean retryBudgetEnabled;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Executor retryExecutor;
+    private final LatencyTracker latencyTracker;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
     private final Logger log;
 
     public ExponentialBackoffRetryLogic( RetrySettings settings, EventExecutorGroup eventExecutorGroup, Clock clock,
             Logging logging )
     {
         this( settings.maxRetryTimeMs(), INITIAL_RETRY_DELAY_MS, RETRY_DELAY_MULTIPLIER, RETRY_DELAY_JITTER_FACTOR,
-                eventExecutorGroup, clock, logging );
+                eventExecutorGroup, clock, settings.newRetryBudget(), settings.newConcurrencyLimiter(), settings.retryExecutor(),
+                settings.hedgingPercentile() > 0 ? new LatencyTracker( settings.hedgingPercentile() ) : null, logging );
     }
 
     ExponentialBackoffRetryLogic( long maxRetryTimeMs, long initialRetryDelayMs, double multiplier,
             double jitterFactor, EventExecutorGroup eventExecutorGroup, Clock clock, Logging logging )
+    {
+        this( maxRetryTimeMs, initialRetryDelayMs, multiplier, jitterFactor, eventExecutorGroup, clock,
+                RetryBudget.UNLIMITED, ConcurrencyLimiter.unlimited(), null, null, logging );
+    }
+
+    ExponentialBackoffRetryLogic( long maxRetryTimeMs, long initialRetryDelayMs, double multiplier,
+            double jitterFactor, EventExecutorGroup eventExecutorGroup, Clock clock, RetryBudget retryBudget,
+            ConcurrencyLimiter concurrencyLimiter, Executor retryExecutor, LatencyTracker latencyTracker, Logging logging )
     {
         this.maxRetryTimeMs = maxRetryTimeMs;
         this.initialRetryDelayMs = initialRetryDelayMs;
@@ -74,6 +95,12 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
         this.jitterFactor = jitterFactor;
         this.eventExecutorGroup = eventExecutorGroup;
         this.clock = clock;
+        this.retryBudget = retryBudget;
+        // disabled budget is not consulted at all, so that attempts do not contend on its lock
+        this.retryBudgetEnabled = retryBudget != RetryBudget.UNLIMITED;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryExecutor = retryExecutor;
+        this.latencyTracker = latencyTracker;
         this.log = logging.getLog( RETRY_LOGIC_LOG_NAME );
 
         verifyAfterConstruction();
@@ -82,6 +109,13 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
     @Override
     public <T> T retry( Supplier<T> work )
     {
+        if ( retryExecutor != null )
+        {
+            // execute every attempt in the given executor and schedule retries in the event loop
+            // caller thread does not sleep between attempts and only blocks waiting for the final outcome
+            return Futures.blockingGet( retryAsync( () -> CompletableFuture.supplyAsync( () -> executeOutsideEventLoop( work ), retryExecutor ) ) );
+        }
+
         List<Throwable> errors = null;
         long startTime = -1;
         long nextDelayMs = initialRetryDelayMs;
@@ -90,7 +124,7 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
         {
             try
             {
-                return work.get();
+                return executeWithinConcurrencyLimit( work );
             }
             catch ( Throwable error )
             {
@@ -103,7 +137,7 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
                     }
 
                     long elapsedTime = currentTime - startTime;
-                    if ( elapsedTime < maxRetryTimeMs )
+                    if ( elapsedTime < maxRetryTimeMs && acquireRetryBudget() )
                     {
                         long delayWithJitterMs = computeDelayWithJitter( nextDelayMs );
                         log.warn( "Transaction failed and will be retried in " + delayWithJitterMs + "ms", error );
@@ -128,11 +162,144 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
         return resultFuture;
     }
 
+    @Override
+    public <T> CompletionStage<T> retryHedgedAsync( HedgedWork<T> work )
+    {
+        if ( latencyTracker == null )
+        {
+            CompletionStage<T> result = retryAsync( work::execute );
+            result.whenComplete( ( ignore, error ) -> work.close( error == null ) );
+            return result;
+        }
+        return new HedgedExecution<T>( this, latencyTracker, eventExecutorGroup.next() ).execute( work );
+    }
+
+    @Override
+    public boolean isHedgingEnabled()
+    {
+        return latencyTracker != null;
+    }
+
     protected boolean canRetryOn( Throwable error )
     {
-        return error instanceof SessionExpiredException ||
-               error instanceof ServiceUnavailableException ||
-               isTransientError( error );
+        return isRetryableError( error );
+    }
+
+    /**
+     * @return total amount of scheduled retries.
+     */
+    public long retries()
+    {
+        return retries.get();
+    }
+
+    /**
+     * @return total amount of started hedging executions.
+     */
+    public long hedges()
+    {
+        return hedges.get();
+    }
+
+    /**
+     * @return amount of hedging executions that completed before the execution they were hedging.
+     */
+    public long hedgeWins()
+    {
+        return hedgeWins.get();
+    }
+
+    void hedgeStarted()
+    {
+        hedges.incrementAndGet();
+    }
+
+    void hedgeWon()
+    {
+        hedgeWins.incrementAndGet();
+    }
+
+    public RetryBudget retryBudget()
+    {
+        return retryBudget;
+    }
+
+    public ConcurrencyLimiter concurrencyLimiter()
+    {
+        return concurrencyLimiter;
+    }
+
+    private static <T> T executeOutsideEventLoop( Supplier<T> work )
+    {
+        // attempts are submitted from an event loop, a direct or caller-runs executor would block it with the work
+        if ( EventLoopGroupFactory.isEventLoopThread( Thread.currentThread() ) )
+        {
+            throw new IllegalStateException( "Transaction retry executor runs transaction functions in the calling " +
+                                             "thread, which is a network event loop thread. Executor must run tasks " +
+                                             "in its own threads, direct and caller-runs executors can't be used" );
+        }
+        return work.get();
+    }
+
+    private <T> T executeWithinConcurrencyLimit( Supplier<T> work )
+    {
+        if ( !concurrencyLimiter.tryAcquire() )
+        {
+            throw concurrencyLimitReachedError();
+        }
+
+        T result;
+        try
+        {
+            result = work.get();
+        }
+        catch ( Throwable error )
+        {
+            onAttemptFailure( error );
+            throw error;
+        }
+        onAttemptSuccess();
+        return result;
+    }
+
+    private void onAttemptSuccess()
+    {
+        concurrencyLimiter.onSuccess();
+        if ( retryBudgetEnabled )
+        {
+            retryBudget.onSuccess();
+        }
+    }
+
+    private void onAttemptFailure( Throwable error )
+    {
+        if ( isRetryableError( error ) )
+        {
+            // database is unavailable or overloaded, reduce the amount of concurrent attempts
+            concurrencyLimiter.onOverload();
+        }
+        else
+        {
+            concurrencyLimiter.onFailure();
+        }
+    }
+
+    private boolean acquireRetryBudget()
+    {
+        if ( !retryBudgetEnabled || retryBudget.tryAcquire() )
+        {
+            retries.incrementAndGet();
+            return true;
+        }
+        log.warn( "Transaction failed and will not be retried because retry budget is exhausted: %s", retryBudget );
+        return false;
+    }
+
+    private ClientException concurrencyLimitReachedError()
+    {
+        // not a retryable error, retrying rejected work would only add load when the database is already overloaded
+        return new ClientException( "Transaction was not executed because the limit of " +
+                                                concurrencyLimiter.currentLimit() + " concurrent transactions is reached" );
     }
 
     private <T> void executeWorkInEventLoop( CompletableFuture<T> resultFuture, Supplier<CompletionStage<T>> work )
@@ -162,6 +329,15 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
     private <T> void executeWork( CompletableFuture<T> resultFuture, Supplier<CompletionStage<T>> work,
             long startTime, long retryDelayMs, List<Throwable> errors )
     {
+        if ( !concurrencyLimiter.tryAcquire() )
+        {
+            // too many concurrent attempts, work is not executed and not retried
+            Throwable error = concurrencyLimitReachedError();
+            addSuppressed( error, errors );
+            resultFuture.completeExceptionally( error );
+            return;
+        }
+
         CompletionStage<T> workStage;
         try
         {
@@ -170,6 +346,7 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
         catch ( Throwable error )
         {
             // work failed in a sync way, attempt to schedule a retry
+            onAttemptFailure( error );
             retryOnError( resultFuture, work, startTime, retryDelayMs, error, errors );
             return;
         }
@@ -180,10 +357,12 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
             if ( error != null )
             {
                 // work failed in async way, attempt to schedule a retry
+                onAttemptFailure( error );
                 retryOnError( resultFuture, work, startTime, retryDelayMs, error, errors );
             }
             else
             {
+                onAttemptSuccess();
                 resultFuture.complete( result );
             }
         } );
@@ -201,7 +380,7 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
             }
 
             long elapsedTime = currentTime - startTime;
-            if ( elapsedTime < maxRetryTimeMs )
+            if ( elapsedTime < maxRetryTimeMs && acquireRetryBudget() )
             {
                 errors = recordError( error, errors );
                 retryWorkInEventLoop( resultFuture, work, error, startTime, retryDelayMs, errors );
@@ -263,6 +442,13 @@ public class ExponentialBackoffRetryLogic implements RetryLogic
         }
     }
 
+    private static boolean isRetryableError( Throwable error )
+    {
+        return error instanceof SessionExpiredException ||
+               error instanceof ServiceUnavailableException ||
+               isTransientError( error );
+    }
+
     private static boolean isTransientError( Throwable error )
     {
         if ( error instanceof TransientException )
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+
+/**
+ * Executes a {@link HedgedWork} with retries and starts a single hedging copy of it when the first execution does not
+ * complete within the configured percentile of recent latencies. Result of the first successful execution is used and
+ * the other execution is cancelled. Recorded latency is always measured from the start of the first execution.
+ */
+class HedgedExecution<T>
+{
+    private final ExponentialBackoffRetryLogic retryLogic;
+    private final LatencyTracker latencyTracker;
+    private final EventExecutor scheduler;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    // all fields below are guarded by this
+    private Attempt primary;
+    private Attempt hedge;
+    private ScheduledFuture<?> hedgeTimer;
+    private Throwable firstError;
+    private boolean completed;
+
+    HedgedExecution( ExponentialBackoffRetryLogic retryLogic, LatencyTracker latencyTracker, EventExecutor scheduler )
+    {
+        this.retryLogic = retryLogic;
+        this.latencyTracker = latencyTracker;
+        this.scheduler = scheduler;
+    }
+
+    CompletionStage<T> execute( HedgedWork<T> work )
+    {
+        Attempt primaryAttempt = new Attempt( work, true );
+        long hedgeDelayNanos = latencyTracker.percentileNanos();
+        synchronized ( this )
+        {
+            primary = primaryAttempt;
+            if ( hedgeDelayNanos >= 0 )
+            {
+                hedgeTimer = scheduler.schedule( this::startHedge, hedgeDelayNanos, NANOSECONDS );
+            }
+        }
+        primaryAttempt.start();
+        return result;
+    }
+
+    private void startHedge()
+    {
+        Attempt hedgeAttempt;
+        synchronized ( this )
+        {
+            if ( completed || hedge != null )
+            {
+                return;
+            }
+            HedgedWork<T> hedgeWork = primary.work.hedge();
+            if ( hedgeWork == null )
+            {
+                return;
+            }
+            hedgeAttempt = new Attempt( hedgeWork, false );
+            hedge = hedgeAttempt;
+        }
+        retryLogic.hedgeStarted();
+        hedgeAttempt.start();
+    }
+
+    private void attemptCompleted( Attempt attempt, T value, Throwable error )
+    {
+        Attempt other;
+        boolean succeeded = false;
+        long latencyNanos = -1;
+        Throwable failure = null;
+        synchronized ( this )
+        {
+            attempt.done = true;
+            other = attempt == primary ? hedge : primary;
+            if ( !completed )
+            {
+                if ( error == null )
+                {
+                    completed = true;
+                    succeeded = true;
+                    // measured from the start of the primary even when the hedge wins, otherwise slow executions
+                    // would be missing from the samples and the hedging delay would keep decreasing
+                    latencyNanos = primary.elapsedNanos();
+                }
+                else if ( other == null || other.done )
+                {
+                    // no other execution is running, report the first error
+                    completed = true;
+                    failure = firstError == null ? error : firstError;
+                    if ( failure != error )
+                    {
+                        failure.addSuppressed( error );
+                    }
+                }
+                else
+                {
+                    // other execution is still running and might succeed
+                    firstError = error;
+                }
+
+                if ( completed && hedgeTimer != null )
+                {
+                    hedgeTimer.cancel( false );
+                }
+            }
+        }
+
+        if ( succeeded )
+        {
+            latencyTracker.record( latencyNanos );
+            if ( other != null && !other.done )
+            {
+                other.cancel();
+            }
+            if ( !attempt.primary )
+            {
+                retryLogic.hedgeWon();
+            }
+            attempt.work.close( true );
+            result.complete( value );
+        }
+        else
+        {
+            attempt.work.close( false );
+            if ( failure != null )
+            {
+                result.completeExceptionally( failure );
+            }
+        }
+    }
+
+    private class Attempt
+    {
+        final HedgedWork<T> work;
+        final boolean primary;
+        final long startNanos = System.nanoTime();
+        volatile boolean cancelled;
+        boolean done; // guarded by the enclosing execution
+
+        Attempt( HedgedWork<T> work, boolean primary )
+        {
+            this.work = work;
+            this.primary = primary;
+        }
+
+        void start()
+        {
+            retryLogic.retryAsync( () -> cancelled ? failedFuture( cancelledError() ) : work.execute() )
+                    .whenComplete( ( value, error ) -> attemptCompleted( this, value, Futures.completionExceptionCause( error ) ) );
+        }
+
+        void cancel()
+        {
+            // latency of the whole execution is recorded when the winner completes
+            cancelled = true;
+            work.cancel();
+        }
+
+        long elapsedNanos()
+        {
+            return System.nanoTime() - startNanos;
+        }
+    }
+
+    private static ClientException cancelledError()
+    {
+        return new ClientException( "Execution was cancelled because a hedged execution completed first" );
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Idempotent unit of work that can be executed concurrently with its copies to reduce tail latency.
+ */
+public interface HedgedWork<T>
+{
+    /**
+     * Execute the work once. Might be called multiple times when the work is retried.
+     *
+     * @return stage completed with the result of the work.
+     */
+    CompletionStage<T> execute();
+
+    /**
+     * Create an independent copy of this work that can execute concurrently with it, preferably against a different
+     * server.
+     *
+     * @return new work or {@code null} when hedging is not possible.
+     */
+    HedgedWork<T> hedge();
+
+    /**
+     * Cancel the running execution, result of which is no longer needed.
+     *
+     * @return stage completed when cancellation request is sent.
+     */
+    CompletionStage<Void> cancel();
+
+    /**
+     * Release resources held by this work after it completed.
+     *
+     * @param succeeded {@code true} when the result of this work is used, {@code false} otherwise.
+     * @return stage completed when resources are released.
+     */
+    CompletionStage<Void> close( boolean succeeded );
+}
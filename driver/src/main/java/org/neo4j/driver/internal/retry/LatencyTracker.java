@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Keeps a window of recent execution latencies and computes their percentile.
+ * <p>
+ * The percentile is recomputed after every {@link #RECOMPUTE_INTERVAL} recorded values, so that reading it stays
+ * cheap for frequently executed work.
+ */
+public class LatencyTracker
+{
+    static final int DEFAULT_WINDOW_SIZE = 1000;
+    static final int MIN_SAMPLES = 20;
+    static final int RECOMPUTE_INTERVAL = 50;
+
+    private final double percentile;
+    private final long[] samples;
+    private final Lock lock = new ReentrantLock();
+
+    private int count;
+    private int next;
+    private int recordedSinceRecompute;
+    private long cachedPercentileNanos = -1;
+
+    public LatencyTracker( double percentile )
+    {
+        this( percentile, DEFAULT_WINDOW_SIZE );
+    }
+
+    LatencyTracker( double percentile, int windowSize )
+    {
+        this.percentile = percentile;
+        this.samples = new long[windowSize];
+    }
+
+    public void record( long latencyNanos )
+    {
+        executeWithLock( lock, () ->
+        {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            if ( count < samples.length )
+            {
+                count++;
+            }
+
+            recordedSinceRecompute++;
+            if ( count == MIN_SAMPLES || recordedSinceRecompute >= RECOMPUTE_INTERVAL )
+            {
+                recompute();
+            }
+        } );
+    }
+
+    /**
+     * @return the configured percentile of recent latencies in nanoseconds, or {@code -1} when not enough values have
+     * been recorded yet.
+     */
+    public long percentileNanos()
+    {
+        return executeWithLock( lock, () -> count < MIN_SAMPLES ? -1 : cachedPercentileNanos );
+    }
+
+    private void recompute()
+    {
+        long[] sorted = Arrays.copyOf( samples, count );
+        Arrays.sort( sorted );
+        int index = (int) Math.ceil( percentile * count ) - 1;
+        cachedPercentileNanos = sorted[Math.max( 0, Math.min( index, count - 1 ) )];
+        recordedSinceRecompute = 0;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.neo4j.driver.internal.util.LockUtil.executeWithLock;
+
+/**
+ * Driver-wide token bucket that limits retries of transaction functions to a fraction of successful executions.
+ * <p>
+ * Every retry withdraws a single token and every successful execution deposits a fraction of a token. The bucket
+ * starts full, so short failure bursts are retried as usual. When the database is degraded for a longer time and
+ * executions keep failing, the bucket drains and further failures are reported instead of retried. This prevents
+ * retries from multiplying the load exactly when the database has the least capacity.
+ */
+public class RetryBudget
+{
+    public static final RetryBudget UNLIMITED = new RetryBudget( 0, 0 )
+    {
+        @Override
+        public void onSuccess()
+        {
+        }
+
+        @Override
+        public boolean tryAcquire()
+        {
+            return true;
+        }
+
+        @Override
+        public double availableTokens()
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+    };
+
+    private final double retryRatio;
+    private final double maxTokens;
+    private final Lock lock = new ReentrantLock();
+
+    private double tokens;
+    private long exhaustedCount;
+
+    public RetryBudget( double retryRatio, int maxTokens )
+    {
+        this.retryRatio = retryRatio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * Deposit a fraction of a token after a successful execution.
+     */
+    public void onSuccess()
+    {
+        executeWithLock( lock, () ->
+        {
+            tokens = Math.min( maxTokens, tokens + retryRatio );
+        } );
+    }
+
+    /**
+     * Withdraw a token for a retry.
+     *
+     * @return {@code true} if the retry is allowed, {@code false} if the budget is exhausted.
+     */
+    public boolean tryAcquire()
+    {
+        return executeWithLock( lock, () ->
+        {
+            if ( tokens >= 1 )
+            {
+                tokens -= 1;
+                return true;
+            }
+            exhaustedCount++;
+            return false;
+        } );
+    }
+
+    public double availableTokens()
+    {
+        return executeWithLock( lock, () -> tokens );
+    }
+
+    public long exhaustedCount()
+    {
+        return executeWithLock( lock, () -> exhaustedCount );
+    }
+
+    @Override
+    public String toString()
+    {
+        return executeWithLock( lock, () -> "RetryBudget{retryRatio=" + retryRatio + ", maxTokens=" + maxTokens + ", tokens=" + tokens + "}" );
+    }
+}
@@ -27,4 +27,20 @@ public interface RetryLogic
     <T> T retry( Supplier<T> work );
 
     <T> CompletionStage<T> retryAsync( Supplier<CompletionStage<T>> work );
+
+    /**
+     * Execute the given idempotent work with retries. A copy of the work is executed concurrently when the first
+     * execution is slow and hedging is enabled.
+     *
+     * @param work the work to execute.
+     * @param <T> the type of the result.
+     * @return stage completed with the result of the first successful execution.
+     */
+    <T> CompletionStage<T> retryHedgedAsync( HedgedWork<T> work );
+
+    /**
+     * @return {@code true} if {@link #retryHedgedAsync(HedgedWork)} executes copies of slow work, {@code false}
+     * otherwise.
+     */
+    boolean isHedgingEnabled();
 }
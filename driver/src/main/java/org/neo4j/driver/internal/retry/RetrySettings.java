@@ -18,20 +18,125 @@
  */
 package org.neo4j.driver.internal.retry;
 
+import java.util.concurrent.Executor;
+
 public final class RetrySettings
 {
+    public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.1;
+    public static final int DEFAULT_RETRY_BUDGET_MAX_TOKENS = 100;
+
     public static final RetrySettings DEFAULT =
             new RetrySettings( ExponentialBackoffRetryLogic.DEFAULT_MAX_RETRY_TIME_MS );
 
     private final long maxRetryTimeMs;
+    private final boolean retryBudgetEnabled;
+    private final double retryBudgetRatio;
+    private final int retryBudgetMaxTokens;
+    private final int maxConcurrentTransactions;
+    private final Executor retryExecutor;
+    private final double hedgingPercentile;
 
     public RetrySettings( long maxRetryTimeMs )
+    {
+        this( maxRetryTimeMs, false, DEFAULT_RETRY_BUDGET_RATIO, DEFAULT_RETRY_BUDGET_MAX_TOKENS, 0, null, 0 );
+    }
+
+    private RetrySettings( long maxRetryTimeMs, boolean retryBudgetEnabled, double retryBudgetRatio, int retryBudgetMaxTokens,
+            int maxConcurrentTransactions, Executor retryExecutor, double hedgingPercentile )
     {
         this.maxRetryTimeMs = maxRetryTimeMs;
+        this.retryBudgetEnabled = retryBudgetEnabled;
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+        this.maxConcurrentTransactions = maxConcurrentTransactions;
+        this.retryExecutor = retryExecutor;
+        this.hedgingPercentile = hedgingPercentile;
     }
 
     public long maxRetryTimeMs()
     {
         return maxRetryTimeMs;
     }
+
+    public boolean retryBudgetEnabled()
+    {
+        return retryBudgetEnabled;
+    }
+
+    public double retryBudgetRatio()
+    {
+        return retryBudgetRatio;
+    }
+
+    public int retryBudgetMaxTokens()
+    {
+        return retryBudgetMaxTokens;
+    }
+
+    /**
+     * @return maximum limit of the adaptive concurrency limiter, or {@code 0} when concurrency is not limited.
+     */
+    public int maxConcurrentTransactions()
+    {
+        return maxConcurrentTransactions;
+    }
+
+    public RetrySettings withMaxRetryTimeMs( long maxRetryTimeMs )
+    {
+        return new RetrySettings( maxRetryTimeMs, retryBudgetEnabled, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor, hedgingPercentile );
+    }
+
+    public RetrySettings withRetryBudget( double retryBudgetRatio, int retryBudgetMaxTokens )
+    {
+        return new RetrySettings( maxRetryTimeMs, true, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor, hedgingPercentile );
+    }
+
+    public RetrySettings withoutRetryBudget()
+    {
+        return new RetrySettings( maxRetryTimeMs, false, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor, hedgingPercentile );
+    }
+
+    public RetrySettings withMaxConcurrentTransactions( int maxConcurrentTransactions )
+    {
+        return new RetrySettings( maxRetryTimeMs, retryBudgetEnabled, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor, hedgingPercentile );
+    }
+
+    public RetrySettings withRetryExecutor( Executor retryExecutor )
+    {
+        return new RetrySettings( maxRetryTimeMs, retryBudgetEnabled, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor, hedgingPercentile );
+    }
+
+    /**
+     * @return executor for attempts of blocking transaction functions, or {@code null} when they are executed and
+     * retried in the caller thread.
+     */
+    public Executor retryExecutor()
+    {
+        return retryExecutor;
+    }
+
+    public RetrySettings withHedgingPercentile( double hedgingPercentile )
+    {
+        return new RetrySettings( maxRetryTimeMs, retryBudgetEnabled, retryBudgetRatio, retryBudgetMaxTokens, maxConcurrentTransactions, retryExecutor,
+                hedgingPercentile );
+    }
+
+    /**
+     * @return percentile of recent read transaction latencies after which a hedging execution is started, or {@code 0}
+     * when read transactions are not hedged.
+     */
+    public double hedgingPercentile()
+    {
+        return hedgingPercentile;
+    }
+
+    RetryBudget newRetryBudget()
+    {
+        return retryBudgetEnabled ? new RetryBudget( retryBudgetRatio, retryBudgetMaxTokens ) : RetryBudget.UNLIMITED;
+    }
+
+    ConcurrencyLimiter newConcurrencyLimiter()
+    {
+        return maxConcurrentTransactions > 0 ? ConcurrencyLimiter.adaptive( maxConcurrentTransactions ) : ConcurrencyLimiter.unlimited();
+    }
 }
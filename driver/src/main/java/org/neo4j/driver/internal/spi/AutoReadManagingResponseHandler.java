@@ -35,4 +35,12 @@ public interface AutoReadManagingResponseHandler extends ResponseHandler
      * Tell this handler that it should stop changing auto-read setting for the connection.
      */
     void disableAutoReadManagement();
+
+    /**
+     * Tell this handler the size of the RECORD message that is about to be passed to {@link #onRecord(org.neo4j.driver.v1.Value[])}. Handlers can use it
+     * to limit the amount of buffered data.
+     *
+     * @param messageSize the size of the RECORD message in bytes.
+     */
+    void beforeRecord( int messageSize );
 }
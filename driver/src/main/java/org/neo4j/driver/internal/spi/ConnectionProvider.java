@@ -20,6 +20,7 @@ package org.neo4j.driver.internal.spi;
 
 import java.util.concurrent.CompletionStage;
 
+import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.v1.AccessMode;
 
 /**
@@ -30,6 +31,17 @@ public interface ConnectionProvider
 {
     CompletionStage<Connection> acquireConnection( AccessMode mode );
 
+    /**
+     * Acquire a connection, preferring servers other than the given one. Used to send a hedged request to a
+     * different server than the request it hedges. Providers that only know a single server ignore the excluded
+     * address, as do providers that would otherwise have no server left to choose from.
+     *
+     * @param mode the access mode of the connection.
+     * @param excludedAddress the address to avoid, can be {@code null}.
+     * @return a stage completed with the acquired connection.
+     */
+    CompletionStage<Connection> acquireConnection( AccessMode mode, BoltServerAddress excludedAddress );
+
     CompletionStage<Void> verifyConnectivity();
 
     CompletionStage<Void> close();
@@ -48,4 +48,14 @@ public class DateTimeValue extends ObjectValueAdapter<ZonedDateTime>
     {
         return InternalTypeSystem.TYPE_SYSTEM.DATE_TIME();
     }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( o instanceof LazyDateTimeValue )
+        {
+            return o.equals( this );
+        }
+        return super.equals( o );
+    }
 }
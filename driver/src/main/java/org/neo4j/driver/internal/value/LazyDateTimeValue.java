@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.v1.types.Type;
+
+import static java.time.ZoneOffset.UTC;
+
+/**
+ * Date-time value that keeps the raw local epoch second, nanosecond and zone it was received with and only creates a
+ * {@link ZonedDateTime} when it is first accessed. Values that are never looked at, or only passed through, do not
+ * pay for date-time arithmetic and the allocations it brings.
+ * <p>
+ * Equal to a {@link DateTimeValue} representing the same {@link ZonedDateTime}.
+ */
+public class LazyDateTimeValue extends ValueAdapter
+{
+    private final long epochSecondLocal;
+    private final int nano;
+    private final ZoneId zoneId;
+
+    private ZonedDateTime zonedDateTime;
+
+    public LazyDateTimeValue( long epochSecondLocal, int nano, ZoneId zoneId )
+    {
+        if ( zoneId == null )
+        {
+            throw new IllegalArgumentException( "Cannot construct " + getClass().getSimpleName() + " with null zone" );
+        }
+        this.epochSecondLocal = epochSecondLocal;
+        this.nano = nano;
+        this.zoneId = zoneId;
+    }
+
+    public long epochSecondLocal()
+    {
+        return epochSecondLocal;
+    }
+
+    public int nano()
+    {
+        return nano;
+    }
+
+    public ZoneId zoneId()
+    {
+        return zoneId;
+    }
+
+    @Override
+    public ZonedDateTime asObject()
+    {
+        return asZonedDateTime();
+    }
+
+    @Override
+    public ZonedDateTime asZonedDateTime()
+    {
+        // racy single-check is fine here, ZonedDateTime is immutable and creation is idempotent
+        ZonedDateTime result = zonedDateTime;
+        if ( result == null )
+        {
+            Instant instant = Instant.ofEpochSecond( epochSecondLocal, nano );
+            LocalDateTime localDateTime = LocalDateTime.ofInstant( instant, UTC );
+            result = ZonedDateTime.of( localDateTime, zoneId );
+            zonedDateTime = result;
+        }
+        return result;
+    }
+
+    @Override
+    public OffsetDateTime asOffsetDateTime()
+    {
+        return asZonedDateTime().toOffsetDateTime();
+    }
+
+    @Override
+    public Type type()
+    {
+        return InternalTypeSystem.TYPE_SYSTEM.DATE_TIME();
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o instanceof LazyDateTimeValue )
+        {
+            return asZonedDateTime().equals( ((LazyDateTimeValue) o).asZonedDateTime() );
+        }
+        if ( o instanceof DateTimeValue )
+        {
+            return asZonedDateTime().equals( ((DateTimeValue) o).asZonedDateTime() );
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return asZonedDateTime().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return asZonedDateTime().toString();
+    }
+}
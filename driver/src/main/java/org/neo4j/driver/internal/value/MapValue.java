@@ -18,6 +18,7 @@
  */
 package org.neo4j.driver.internal.value;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.neo4j.driver.internal.types.InternalTypeSystem;
@@ -68,6 +69,16 @@ public class MapValue extends ValueAdapter
         return Extract.map( val, mapFunction );
     }
 
+    /**
+     * Unmodifiable view of the underlying map. Unlike {@link #asMap(Function)}, entries are not copied.
+     *
+     * @return the map view.
+     */
+    public Map<String,Value> asMapView()
+    {
+        return Collections.unmodifiableMap( val );
+    }
+
     @Override
     public int size()
     {
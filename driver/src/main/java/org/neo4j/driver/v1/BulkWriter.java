@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.v1;
+
+import java.util.Map;
+
+import org.neo4j.driver.v1.util.Experimental;
+
+/**
+ * Writer that loads large amounts of rows into the database using a single parameterized {@code UNWIND} statement.
+ * <p>
+ * Added rows are buffered and cut into batches based on the configured {@link BulkWriterConfig#maxBatchRows() row
+ * count} and {@link BulkWriterConfig#maxBatchBytes() encoded size}. Every batch is executed as a separate
+ * {@link Session#writeTransactionAsync(TransactionWork) write transaction}, which is retried on transient failures.
+ * Multiple batches are executed concurrently on pooled connections. The number of concurrently executing batches is
+ * limited by {@link BulkWriterConfig#maxConcurrentTransactions()} and the connection pool size. Adding rows blocks
+ * when the limit is reached, for at most the configured
+ * {@link Config.ConfigBuilder#withConnectionAcquisitionTimeout(long, java.util.concurrent.TimeUnit) connection
+ * acquisition timeout}.
+ * <p>
+ * Statement template should refer to the batch of rows using the {@link BulkWriterConfig#parameterName() configured
+ * parameter name}, for example:
+ * <pre>
+ * {@code
+ * try ( BulkWriter writer = driver.bulkWriter( "UNWIND $rows AS row CREATE (:Person {name: row.name})" ) )
+ * {
+ *     for ( String name : names )
+ *     {
+ *         writer.add( Collections.singletonMap( "name", name ) );
+ *     }
+ * }
+ * }
+ * </pre>
+ * <p>
+ * Batches are committed independently of each other, so a failure of one batch does not roll back previously
+ * committed batches. First failure is reported by subsequent calls to {@link #add(Map)}, {@link #flush()} and
+ * {@link #close()}. No new batches are started after a failure.
+ * <p>
+ * Bulk writers are not thread-safe and are intended to be used by a single producer thread.
+ *
+ * @see ExperimentalDriver#bulkWriter(String, BulkWriterConfig)
+ * @since 1.7
+ */
+@Experimental
+public interface BulkWriter extends AutoCloseable
+{
+    /**
+     * Add a row to the current batch. Executes the batch when it becomes full. Blocks when the maximum number of
+     * concurrently executing batches is reached.
+     *
+     * @param row the row, it will become an element of the list parameter passed to the statement template.
+     * @throws org.neo4j.driver.v1.exceptions.ClientException if previously executed batch has failed or when
+     * concurrently executing batches did not complete within the connection acquisition timeout.
+     */
+    void add( Map<String,Object> row );
+
+    /**
+     * Add a row to the current batch. Executes the batch when it becomes full. Blocks when the maximum number of
+     * concurrently executing batches is reached.
+     *
+     * @param row the row, it must be a {@link Value} of type map.
+     * @throws org.neo4j.driver.v1.exceptions.ClientException if previously executed batch has failed or when
+     * concurrently executing batches did not complete within the connection acquisition timeout.
+     */
+    void add( Value row );
+
+    /**
+     * Execute the current, possibly not full, batch and wait for all executing batches to complete.
+     */
+    void flush();
+
+    /**
+     * Get the number of rows that were successfully committed so far.
+     *
+     * @return number of committed rows.
+     */
+    long committedRows();
+
+    /**
+     * {@link #flush() Flush} all remaining rows and close this writer. Rows can't be added after close.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.v1;
+
+import java.util.Objects;
+
+import org.neo4j.driver.v1.util.Experimental;
+
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.driver.internal.util.Preconditions.checkArgument;
+
+/**
+ * Configuration object containing settings for {@link BulkWriter bulk writers}.
+ * Instances are immutable and can be reused for multiple writers.
+ * <p>
+ * Creation of configuration objects can be done using the builder API:
+ * <pre>
+ * {@code
+ * BulkWriterConfig config = BulkWriterConfig.builder()
+ *                 .withMaxBatchRows(10_000)
+ *                 .withMaxBatchBytes(4 * 1024 * 1024)
+ *                 .withMaxConcurrentTransactions(8)
+ *                 .build();
+ * }
+ * </pre>
+ *
+ * @see ExperimentalDriver#bulkWriter(String, BulkWriterConfig)
+ * @since 1.7
+ */
+@Experimental
+public class BulkWriterConfig
+{
+    static final String DEFAULT_PARAMETER_NAME = "rows";
+    static final int DEFAULT_MAX_BATCH_ROWS = 1000;
+    static final long DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+    static final int DEFAULT_MAX_CONCURRENT_TRANSACTIONS = 4;
+
+    private static final BulkWriterConfig DEFAULT = builder().build();
+
+    private final String parameterName;
+    private final int maxBatchRows;
+    private final long maxBatchBytes;
+    private final int maxConcurrentTransactions;
+    private final TransactionConfig transactionConfig;
+
+    private BulkWriterConfig( Builder builder )
+    {
+        this.parameterName = builder.parameterName;
+        this.maxBatchRows = builder.maxBatchRows;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.maxConcurrentTransactions = builder.maxConcurrentTransactions;
+        this.transactionConfig = builder.transactionConfig;
+    }
+
+    /**
+     * Get a configuration object with default values.
+     *
+     * @return default configuration object.
+     */
+    public static BulkWriterConfig defaultConfig()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Create new {@link Builder} used to construct a configuration object.
+     *
+     * @return new builder.
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Get the name of the statement parameter that holds the list of rows.
+     *
+     * @return the parameter name.
+     */
+    public String parameterName()
+    {
+        return parameterName;
+    }
+
+    /**
+     * Get the maximum number of rows in a single batch.
+     *
+     * @return the maximum number of rows.
+     */
+    public int maxBatchRows()
+    {
+        return maxBatchRows;
+    }
+
+    /**
+     * Get the maximum encoded size of rows in a single batch, in bytes.
+     *
+     * @return the maximum batch size in bytes.
+     */
+    public long maxBatchBytes()
+    {
+        return maxBatchBytes;
+    }
+
+    /**
+     * Get the maximum number of batches executed concurrently.
+     *
+     * @return the maximum number of concurrent transactions.
+     */
+    public int maxConcurrentTransactions()
+    {
+        return maxConcurrentTransactions;
+    }
+
+    /**
+     * Get the configuration used for every batch transaction.
+     *
+     * @return the transaction configuration.
+     */
+    public TransactionConfig transactionConfig()
+    {
+        return transactionConfig;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+        BulkWriterConfig that = (BulkWriterConfig) o;
+        return maxBatchRows == that.maxBatchRows &&
+               maxBatchBytes == that.maxBatchBytes &&
+               maxConcurrentTransactions == that.maxConcurrentTransactions &&
+               Objects.equals( parameterName, that.parameterName ) &&
+               Objects.equals( transactionConfig, that.transactionConfig );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash( parameterName, maxBatchRows, maxBatchBytes, maxConcurrentTransactions, transactionConfig );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BulkWriterConfig{" +
+               "parameterName='" + parameterName + '\'' +
+               ", maxBatchRows=" + maxBatchRows +
+               ", maxBatchBytes=" + maxBatchBytes +
+               ", maxConcurrentTransactions=" + maxConcurrentTransactions +
+               ", transactionConfig=" + transactionConfig +
+               '}';
+    }
+
+    /**
+     * Builder used to construct {@link BulkWriterConfig bulk writer configuration} objects.
+     */
+    public static class Builder
+    {
+        private String parameterName = DEFAULT_PARAMETER_NAME;
+        private int maxBatchRows = DEFAULT_MAX_BATCH_ROWS;
+        private long maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+        private int maxConcurrentTransactions = DEFAULT_MAX_CONCURRENT_TRANSACTIONS;
+        private TransactionConfig transactionConfig = TransactionConfig.empty();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Set the name of the statement parameter that holds the list of rows. Default value is {@code rows}.
+         *
+         * @param parameterName the parameter name.
+         * @return this builder.
+         */
+        public Builder withParameterName( String parameterName )
+        {
+            requireNonNull( parameterName, "Parameter name should not be null" );
+            checkArgument( !parameterName.isEmpty(), "Parameter name should not be empty" );
+
+            this.parameterName = parameterName;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of rows in a single batch. Default value is {@code 1000}.
+         *
+         * @param maxBatchRows the maximum number of rows, must be positive.
+         * @return this builder.
+         */
+        public Builder withMaxBatchRows( int maxBatchRows )
+        {
+            checkArgument( maxBatchRows > 0, "Max batch rows should be > 0: " + maxBatchRows );
+
+            this.maxBatchRows = maxBatchRows;
+            return this;
+        }
+
+        /**
+         * Set the maximum encoded size of rows in a single batch, in bytes. Batch containing a single row bigger
+         * than the limit is still executed. Default value is 1MB.
+         *
+         * @param maxBatchBytes the maximum size in bytes, must be positive.
+         * @return this builder.
+         */
+        public Builder withMaxBatchBytes( long maxBatchBytes )
+        {
+            checkArgument( maxBatchBytes > 0, "Max batch bytes should be > 0: " + maxBatchBytes );
+
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of batches executed concurrently. Value is additionally limited by the
+         * {@link Config.ConfigBuilder#withMaxConnectionPoolSize(int) maximum connection pool size}. Default value
+         * is {@code 4}.
+         *
+         * @param maxConcurrentTransactions the maximum number of concurrent transactions, must be positive.
+         * @return this builder.
+         */
+        public Builder withMaxConcurrentTransactions( int maxConcurrentTransactions )
+        {
+            checkArgument( maxConcurrentTransactions > 0,
+                    "Max concurrent transactions should be > 0: " + maxConcurrentTransactions );
+
+            this.maxConcurrentTransactions = maxConcurrentTransactions;
+            return this;
+        }
+
+        /**
+         * Set the configuration used for every batch transaction, like timeout and metadata.
+         *
+         * @param transactionConfig the transaction configuration.
+         * @return this builder.
+         */
+        public Builder withTransactionConfig( TransactionConfig transactionConfig )
+        {
+            requireNonNull( transactionConfig, "Transaction config should not be null" );
+
+            this.transactionConfig = transactionConfig;
+            return this;
+        }
+
+        /**
+         * Build the bulk writer configuration object using the specified settings.
+         *
+         * @return new bulk writer configuration object.
+         */
+        public BulkWriterConfig build()
+        {
+            return new BulkWriterConfig( this );
+        }
+    }
+}
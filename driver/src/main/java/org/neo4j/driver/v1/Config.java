@@ -21,11 +21,13 @@ package org.neo4j.driver.v1;
 import java.io.File;
 import java.net.InetAddress;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.neo4j.driver.internal.async.pool.PoolSettings;
 import org.neo4j.driver.internal.cluster.RoutingSettings;
+import org.neo4j.driver.internal.handlers.RecordBufferFlowControl;
 import org.neo4j.driver.internal.retry.RetrySettings;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
@@ -72,6 +74,7 @@ public class Config
     /** User defined logging */
     private final Logging logging;
     private final boolean logLeakedSessions;
+    private final int leakedSessionsSamplingInterval;
 
     private final int maxConnectionPoolSize;
 
@@ -93,10 +96,24 @@ public class Config
     private final LoadBalancingStrategy loadBalancingStrategy;
     private final ServerAddressResolver resolver;
 
+    private final long readResultCacheMaxBytes;
+    private final long readResultCacheTtlMillis;
+
+    private final boolean metricsEnabled;
+    private final boolean jmxMetricsEnabled;
+
+    private final long maxRecordBufferSize;
+    private final boolean sharedBookmarks;
+    private final boolean lazyDateTimeValues;
+    private final File trafficCaptureDirectory;
+    private final int wireTraceCapacity;
+    private final int wireTraceRecordSampling;
+
     private Config( ConfigBuilder builder)
     {
         this.logging = builder.logging;
         this.logLeakedSessions = builder.logLeakedSessions;
+        this.leakedSessionsSamplingInterval = builder.leakedSessionsSamplingInterval;
 
         this.idleTimeBeforeConnectionTest = builder.idleTimeBeforeConnectionTest;
         this.maxConnectionLifetimeMillis = builder.maxConnectionLifetimeMillis;
@@ -111,6 +128,19 @@ public class Config
         this.retrySettings = builder.retrySettings;
         this.loadBalancingStrategy = builder.loadBalancingStrategy;
         this.resolver = builder.resolver;
+
+        this.readResultCacheMaxBytes = builder.readResultCacheMaxBytes;
+        this.readResultCacheTtlMillis = builder.readResultCacheTtlMillis;
+
+        this.metricsEnabled = builder.metricsEnabled;
+        this.jmxMetricsEnabled = builder.jmxMetricsEnabled;
+
+        this.maxRecordBufferSize = builder.maxRecordBufferSize;
+        this.sharedBookmarks = builder.sharedBookmarks;
+        this.lazyDateTimeValues = builder.lazyDateTimeValues;
+        this.trafficCaptureDirectory = builder.trafficCaptureDirectory;
+        this.wireTraceCapacity = builder.wireTraceCapacity;
+        this.wireTraceRecordSampling = builder.wireTraceRecordSampling;
     }
 
     /**
@@ -132,6 +162,17 @@ public class Config
         return logLeakedSessions;
     }
 
+    /**
+     * Sampling interval of leaked sessions logging. One in this many sessions is tracked.
+     *
+     * @return the sampling interval, {@code 1} when every session is tracked.
+     */
+    @Experimental
+    public int leakedSessionsSamplingInterval()
+    {
+        return leakedSessionsSamplingInterval;
+    }
+
     /**
      * Max number of connections per URL for this driver.
      *
@@ -241,6 +282,116 @@ public class Config
         return resolver;
     }
 
+    /**
+     * Maximum estimated size of results kept in the client-side read result cache.
+     *
+     * @return the maximum size in bytes, {@code 0} when the cache is disabled.
+     */
+    @Experimental
+    public long readResultCacheMaxBytes()
+    {
+        return readResultCacheMaxBytes;
+    }
+
+    /**
+     * Time after which entries of the client-side read result cache expire.
+     *
+     * @return the time to live in milliseconds.
+     */
+    @Experimental
+    public long readResultCacheTtlMillis()
+    {
+        return readResultCacheTtlMillis;
+    }
+
+    /**
+     * Check if driver metrics are enabled.
+     *
+     * @return {@code true} if driver metrics are collected, {@code false} otherwise.
+     */
+    @Experimental
+    public boolean isMetricsEnabled()
+    {
+        return metricsEnabled;
+    }
+
+    /**
+     * Check if driver metrics are published as JMX beans.
+     *
+     * @return {@code true} if driver metrics are published via JMX, {@code false} otherwise.
+     */
+    @Experimental
+    public boolean isJmxMetricsEnabled()
+    {
+        return jmxMetricsEnabled;
+    }
+
+    /**
+     * Maximum size of the buffer of records received from the database but not yet consumed, per result.
+     *
+     * @return the maximum size in bytes.
+     */
+    @Experimental
+    public long maxRecordBufferSize()
+    {
+        return maxRecordBufferSize;
+    }
+
+    /**
+     * Check if sessions share bookmarks with each other.
+     *
+     * @return {@code true} if bookmarks are shared, {@code false} otherwise.
+     */
+    @Experimental
+    public boolean sharedBookmarks()
+    {
+        return sharedBookmarks;
+    }
+
+    /**
+     * Check if received date-time values with a zone id are converted to {@link java.time.ZonedDateTime} lazily.
+     *
+     * @return {@code true} if conversion is lazy, {@code false} otherwise.
+     */
+    @Experimental
+    public boolean lazyDateTimeValues()
+    {
+        return lazyDateTimeValues;
+    }
+
+    /**
+     * Directory that raw Bolt traffic of all connections is recorded into.
+     *
+     * @return the capture directory, or {@code null} when traffic capture is disabled.
+     */
+    @Experimental
+    public File trafficCaptureDirectory()
+    {
+        return trafficCaptureDirectory;
+    }
+
+    /**
+     * Number of recent Bolt message events kept in memory for diagnostics.
+     *
+     * @return the number of events, or {@code 0} when wire tracing is disabled.
+     */
+    @Experimental
+    public int wireTraceCapacity()
+    {
+        return wireTraceCapacity;
+    }
+
+    /**
+     * Sampling of RECORD messages in the wire trace, one of this many RECORD messages is kept.
+     *
+     * @return the record sampling.
+     */
+    @Experimental
+    public int wireTraceRecordSampling()
+    {
+        return wireTraceRecordSampling;
+    }
+
     /**
      * Return a {@link ConfigBuilder} instance
      * @return a {@link ConfigBuilder} instance
@@ -275,6 +426,7 @@ public class Config
     {
         private Logging logging = javaUtilLogging( Level.INFO );
         private boolean logLeakedSessions;
+        private int leakedSessionsSamplingInterval = 1;
         private int maxConnectionPoolSize = PoolSettings.DEFAULT_MAX_CONNECTION_POOL_SIZE;
         private long idleTimeBeforeConnectionTest = PoolSettings.DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST;
         private long maxConnectionLifetimeMillis = PoolSettings.DEFAULT_MAX_CONNECTION_LIFETIME;
@@ -287,6 +439,16 @@ public class Config
         private int connectionTimeoutMillis = (int) TimeUnit.SECONDS.toMillis( 5 );
         private RetrySettings retrySettings = RetrySettings.DEFAULT;
         private ServerAddressResolver resolver;
+        private long readResultCacheMaxBytes;
+        private long readResultCacheTtlMillis;
+        private boolean metricsEnabled;
+        private boolean jmxMetricsEnabled;
+        private long maxRecordBufferSize = RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
+        private boolean sharedBookmarks;
+        private boolean lazyDateTimeValues;
+        private File trafficCaptureDirectory;
+        private int wireTraceCapacity;
+        private int wireTraceRecordSampling = 1;
 
         private ConfigBuilder() {}
 
@@ -330,17 +492,40 @@ public class Config
          * {@link Resource resource} that needs to be explicitly closed. Unclosed sessions will result in socket
          * leaks and could cause {@link OutOfMemoryError}s.
          * <p>
-         * Session is considered to be leaked when it is finalized via {@link Object#finalize()} while not being
-         * closed. This option turns on logging of such sessions and stacktraces of where they were created.
+         * Session is considered to be leaked when it is garbage collected while not being closed and still holding
+         * an open connection. This option turns on logging of such sessions and stacktraces of where they were created.
+         * Leaks are reported when new sessions are created.
          * <p>
-         * <b>Note:</b> this option should mostly be used in testing environments for session leak investigations.
-         * Enabling it will add object finalization overhead.
+         * <b>Note:</b> this option tracks every session and captures a stacktrace when it is created. It should mostly
+         * be used in testing environments for session leak investigations. Use {@link #withLeakedSessionsLogging(int)}
+         * to only track a sample of sessions.
          *
          * @return this builder
          */
         public ConfigBuilder withLeakedSessionsLogging()
         {
+            return withLeakedSessionsLogging( 1 );
+        }
+
+        /**
+         * Enable logging of a sample of leaked sessions. Only one in {@code samplingInterval} randomly selected
+         * sessions is tracked, other sessions have no leak detection overhead. Applications that leak sessions
+         * usually do so repeatedly, so sampling still reveals where leaked sessions are created.
+         * <p>
+         * See {@link #withLeakedSessionsLogging()} for details of leak detection.
+         *
+         * @param samplingInterval the sampling interval, should be positive. Value {@code 1} tracks every session.
+         * @return this builder
+         */
+        @Experimental
+        public ConfigBuilder withLeakedSessionsLogging( int samplingInterval )
+        {
+            if ( samplingInterval <= 0 )
+            {
+                throw new IllegalArgumentException( "The leaked sessions sampling interval must be positive, but was " + samplingInterval );
+            }
             this.logLeakedSessions = true;
+            this.leakedSessionsSamplingInterval = samplingInterval;
             return this;
         }
 
@@ -723,7 +908,139 @@ public class Config
                 throw new IllegalArgumentException( String.format(
                         "The max retry time may not be smaller than 0, but was %d %s.", value, unit ) );
             }
-            this.retrySettings = new RetrySettings( maxRetryTimeMs );
+            this.retrySettings = retrySettings.withMaxRetryTimeMs( maxRetryTimeMs );
+            return this;
+        }
+
+        /**
+         * Limit retries of transactions executed via {@link Session#readTransaction(TransactionWork)} and
+         * {@link Session#writeTransaction(TransactionWork)} to a fraction of successfully executed transactions.
+         * <p>
+         * The budget is a driver-wide token bucket that initially holds the given maximum amount of tokens. Every
+         * retry withdraws a token and every successful transaction deposits the given fraction of a token. When no
+         * tokens are left, failed transactions are not retried and the error is reported immediately. This prevents
+         * retries of many concurrent transactions from overloading a database that is already degraded.
+         * <p>
+         * Retry budget is disabled by default. Note that a long outage, like a leader election, can drain the budget
+         * before any transaction succeeds. Failed transactions are then reported without retries until the database
+         * recovers. Recommended starting values are a ratio of {@code 0.1} and {@code 100} tokens.
+         *
+         * @param retryRatio the fraction of a token deposited by every successful transaction
+         * @param maxRetryTokens the maximum amount of tokens, which is also the amount of retries allowed in a burst
+         * @return this builder
+         * @throws IllegalArgumentException when the ratio or the amount of tokens is negative
+         */
+        @Experimental
+        public ConfigBuilder withRetryBudget( double retryRatio, int maxRetryTokens )
+        {
+            if ( retryRatio < 0 )
+            {
+                throw new IllegalArgumentException( "Retry ratio must not be negative, but was: " + retryRatio );
+            }
+            if ( maxRetryTokens < 0 )
+            {
+                throw new IllegalArgumentException( "Max retry tokens must not be negative, but was: " + maxRetryTokens );
+            }
+            this.retrySettings = retrySettings.withRetryBudget( retryRatio, maxRetryTokens );
+            return this;
+        }
+
+        /**
+         * Disable the retry budget configured via {@link #withRetryBudget(double, int)}, so that transactions are
+         * retried until {@link #withMaxTransactionRetryTime(long, TimeUnit) max retry time} is reached regardless of
+         * how many other transactions fail.
+         *
+         * @return this builder
+         */
+        @Experimental
+        public ConfigBuilder withoutRetryBudget()
+        {
+            this.retrySettings = retrySettings.withoutRetryBudget();
+            return this;
+        }
+
+        /**
+         * Execute attempts of blocking transaction functions, i.e. {@link Session#readTransaction(TransactionWork)}
+         * and {@link Session#writeTransaction(TransactionWork)}, in the given executor.
+         * <p>
+         * By default, transaction functions are executed in the caller thread, which also sleeps between retries.
+         * With a configured executor, the caller thread blocks only once, waiting for the final outcome. Every attempt
+         * is dispatched to the given executor and retries are scheduled by the driver without occupying any thread
+         * during the backoff. A bounded executor limits the amount of concurrently executing transaction functions,
+         * attempts rejected by it fail with {@link java.util.concurrent.RejectedExecutionException}.
+         * <p>
+         * Attempts are submitted to the given executor from the network event loop threads of the driver. So the
+         * executor must run tasks in its own threads. Executors that run tasks in the submitting thread, like a direct
+         * executor or a {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy caller-runs} thread pool, would
+         * block the event loop and can deadlock the driver. Transaction functions fail with
+         * {@link IllegalStateException} without being executed when this happens. Executor is not shut down when
+         * driver is closed.
+         *
+         * @param executor the executor for attempts of transaction functions
+         * @return this builder
+         */
+        @Experimental
+        public ConfigBuilder withTransactionRetryExecutor( Executor executor )
+        {
+            this.retrySettings = retrySettings.withRetryExecutor( Objects.requireNonNull( executor, "executor" ) );
+            return this;
+        }
+
+        /**
+         * Limit the amount of transactions concurrently executed via {@link Session#readTransaction(TransactionWork)}
+         * and {@link Session#writeTransaction(TransactionWork)}.
+         * <p>
+         * The limit adapts to the state of the database using additive increase, multiplicative decrease. It starts
+         * at the given maximum, shrinks when transactions fail with retryable errors and grows back when they
+         * succeed. Transactions over the current limit are not executed and fail with
+         * {@link org.neo4j.driver.v1.exceptions.ClientException}. Such failures are not retried and do not shrink
+         * the limit, because retrying rejected transactions would only add load to the database.
+         * <p>
+         * Concurrency is not limited by default.
+         *
+         * @param maxConcurrentTransactions the maximum value of the limit
+         * @return this builder
+         * @throws IllegalArgumentException when the given value is not positive
+         */
+        @Experimental
+        public ConfigBuilder withAdaptiveConcurrencyLimit( int maxConcurrentTransactions )
+        {
+            if ( maxConcurrentTransactions <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "Max concurrent transactions must be a positive value, but was: " + maxConcurrentTransactions );
+            }
+            this.retrySettings = retrySettings.withMaxConcurrentTransactions( maxConcurrentTransactions );
+            return this;
+        }
+
+        /**
+         * Enable hedging of transactions executed via {@link Session#readTransactionAsync(TransactionWork)}.
+         * <p>
+         * When a read transaction function takes longer than the given percentile of recently observed latencies,
+         * a second attempt of the same function is started in a separate transaction, preferably on a different
+         * cluster member. The result of the attempt that completes first is used and the other attempt is cancelled
+         * by resetting its connection. No hedged attempts are made until enough latencies have been observed.
+         * <p>
+         * Hedging executes the same transaction function more than once, possibly at the same time. It must only be
+         * enabled when all asynchronous read transaction functions are idempotent and read-only: they must not write
+         * to the database and must not have side effects outside of it, e.g. sending messages or updating shared
+         * state, because such effects of the cancelled attempt are not undone. Closing the session closes hedged
+         * attempts that are still running. Hedging is disabled by default.
+         *
+         * @param percentile the latency percentile after which a hedged attempt is started, e.g. {@code 0.95}
+         * @return this builder
+         * @throws IllegalArgumentException when the given percentile is not between zero and one, exclusive
+         */
+        @Experimental
+        public ConfigBuilder withHedgedReadTransactions( double percentile )
+        {
+            if ( !(percentile > 0 && percentile < 1) )
+            {
+                throw new IllegalArgumentException(
+                        "Hedging percentile must be between 0 and 1, exclusive, but was: " + percentile );
+            }
+            this.retrySettings = retrySettings.withHedgingPercentile( percentile );
             return this;
         }
 
@@ -746,6 +1063,197 @@ public class Config
             return this;
         }
 
+        /**
+         * Enable client-side cache for results of auto-commit statements executed in {@link AccessMode#READ read}
+         * sessions using {@link Session#run(Statement)} and {@link Session#runAsync(Statement)} family of methods.
+         * <p>
+         * Cache entries are keyed by statement text and parameters. Cached results are only returned to sessions whose
+         * bookmark is not newer than the bookmark the result was produced under, so causal consistency is preserved.
+         * Only results of read-only statements executed without transaction configuration are cached. Results are
+         * streamed as usual and copied into the cache while they are consumed. Results that are not fully consumed or
+         * are bigger than the given limit are not cached. Least recently used entries are evicted when the estimated
+         * size of cached records exceeds the given limit.
+         * <p>
+         * Cache is disabled by default. It should only be used for data that can tolerate staleness of up to the
+         * given time to live, like reference data, because cached results are not invalidated by writes of other
+         * clients.
+         *
+         * @param maxBytes the maximum estimated size of all cached results, in bytes. Zero disables the cache.
+         * @param ttl the time to live of cached results.
+         * @param unit the unit in which the time to live is given.
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withReadResultCache( long maxBytes, long ttl, TimeUnit unit )
+        {
+            if ( maxBytes < 0 )
+            {
+                throw new IllegalArgumentException( "The max cache size may not be smaller than 0, but was " + maxBytes );
+            }
+            if ( ttl <= 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The cache time to live must be positive, but was %d %s.", ttl, unit ) );
+            }
+            this.readResultCacheMaxBytes = maxBytes;
+            this.readResultCacheTtlMillis = unit.toMillis( ttl );
+            return this;
+        }
+
+        /**
+         * Enable driver metrics. Metrics describe connection pools, connections and executed statements. They are
+         * disabled by default because collecting them adds a small overhead to every connection acquisition and
+         * statement.
+         *
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withDriverMetrics()
+        {
+            this.metricsEnabled = true;
+            return this;
+        }
+
+        /**
+         * Disable driver metrics. This is the default.
+         *
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withoutDriverMetrics()
+        {
+            this.metricsEnabled = false;
+            this.jmxMetricsEnabled = false;
+            return this;
+        }
+
+        /**
+         * Enable driver metrics and publish connection pool metrics as MXBeans in the platform MBean server under the
+         * {@code org.neo4j.driver} domain, one bean per server address. Bean attributes read the live pool counters
+         * on every access, so monitoring tools can scrape them without the application polling driver metrics.
+         * Beans are unregistered when the driver is closed.
+         *
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withJmxMetrics()
+        {
+            this.metricsEnabled = true;
+            this.jmxMetricsEnabled = true;
+            return this;
+        }
+
+        /**
+         * Specify the maximum size of the buffer of records that were received from the database but not yet consumed.
+         * The limit applies to every result separately. Driver stops reading from the network when the buffer of a
+         * result grows too large and continues when records are consumed. How much data is read ahead depends on how
+         * fast records are consumed, so slow consumers buffer much less than the maximum.
+         * <p>
+         * This is a soft threshold measured in bytes received from the network, see
+         * {@link TransactionConfig.Builder#withMaxRecordBufferSize(long)} for details.
+         * <p>
+         * Value can be overridden for a single transaction or auto-commit query using
+         * {@link TransactionConfig.Builder#withMaxRecordBufferSize(long)}. Default value is 8 MB.
+         *
+         * @param maxRecordBufferSize the maximum size in bytes, should be positive.
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withMaxRecordBufferSize( long maxRecordBufferSize )
+        {
+            if ( maxRecordBufferSize <= 0 )
+            {
+                throw new IllegalArgumentException( "The max record buffer size must be positive, but was " + maxRecordBufferSize );
+            }
+            this.maxRecordBufferSize = maxRecordBufferSize;
+            return this;
+        }
+
+        /**
+         * Make all sessions created via {@link Driver#session()} and its overloads share bookmarks with each other.
+         * <p>
+         * The driver keeps the latest bookmark received from committed transactions and auto-commit queries of all
+         * sessions and supplies it to transactions of every session, together with bookmarks given to the session
+         * explicitly. This gives read-your-writes consistency across sessions and threads without passing bookmarks
+         * around, at the cost of every transaction waiting for the latest write to be visible on the server it runs
+         * on. Use {@link ExperimentalDriver#scopedSession(AccessMode, String)} to share bookmarks only between related sessions.
+         * <p>
+         * Sessions do not share bookmarks by default.
+         *
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withSharedBookmarks()
+        {
+            this.sharedBookmarks = true;
+            return this;
+        }
+
+        /**
+         * Convert date-time values with a zone id, received from the database, to {@link java.time.ZonedDateTime}
+         * only when they are accessed. Resolving zone rules and building the date-time is then skipped for values
+         * that are never read, e.g. when records are only counted or passed on as they are.
+         * <p>
+         * Values are converted eagerly by default.
+         *
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withLazyDateTimeValues()
+        {
+            this.lazyDateTimeValues = true;
+            return this;
+        }
+
+        /**
+         * Record raw Bolt traffic of every connection into a separate file in the given directory. Recorded files
+         * can be replayed without a database to reproduce protocol issues. Credentials sent when connections are
+         * initialized are redacted, but all other statements, parameters and results are written as they are, so
+         * capture should only be enabled while investigating a problem.
+         * <p>
+         * Files are written by a background thread, write failures are logged and stop capture of the affected
+         * connection. Traffic is not captured by default.
+         *
+         * @param directory the existing directory to write capture files into.
+         * @return this builder.
+         */
+        @Experimental
+        public ConfigBuilder withTrafficCapture( File directory )
+        {
+            this.trafficCaptureDirectory = Objects.requireNonNull( directory, "directory" );
+            return this;
+        }
+
+        /**
+         * Keep the most recent Bolt message events of all connections in memory and log those of a connection
+         * when it fails with a fatal error. Only message types, sizes and timestamps are kept, never their content.
+         * Recording an event does not allocate, so tracing is cheap enough to stay enabled in production.
+         * <p>
+         * RECORD messages can be sampled to make the trace cover a longer period of time when results are large,
+         * all other messages are always kept. Wire tracing is disabled by default.
+         *
+         * @param capacity the number of events to keep, rounded up to the next power of two. Must be positive.
+         * @param recordSampling keep one of every {@code recordSampling} RECORD messages on average. Must be
+         * positive, value {@code 1} keeps all of them.
+         * @return this builder.
+         * @throws IllegalArgumentException when the capacity or record sampling is not positive.
+         */
+        @Experimental
+        public ConfigBuilder withWireTrace( int capacity, int recordSampling )
+        {
+            if ( capacity <= 0 )
+            {
+                throw new IllegalArgumentException( "The wire trace capacity must be positive, but was " + capacity );
+            }
+            if ( recordSampling <= 0 )
+            {
+                throw new IllegalArgumentException( "The wire trace record sampling must be positive, but was " + recordSampling );
+            }
+            this.wireTraceCapacity = capacity;
+            this.wireTraceRecordSampling = recordSampling;
+            return this;
+        }
+
         /**
          * Create a config instance from this builder.
          * @return a {@link Config} instance
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.v1;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.neo4j.driver.v1.util.Experimental;
+
+/**
+ * Experimental extensions of the {@link Driver} API. They are kept out of the {@link Driver} interface so that its
+ * existing implementations keep compiling. All drivers created by {@link GraphDatabase} implement this interface:
+ * <pre>
+ * {@code
+ * ExperimentalDriver driver = (ExperimentalDriver) GraphDatabase.driver( uri, authToken );
+ * }
+ * </pre>
+ *
+ * @since 1.7
+ */
+@Experimental
+public interface ExperimentalDriver extends Driver
+{
+    /**
+     * Create a new {@link Session} that shares bookmarks with all other sessions created for the same bookmark scope.
+     * <p>
+     * Transactions of the returned session causally follow the latest transaction committed by any session in the
+     * scope, so that they see writes made in other sessions and threads without manually passing bookmarks around.
+     * Different scopes are independent of each other, which allows separating workloads that do not need to observe
+     * each other's writes, e.g. data of different tenants.
+     * <p>
+     * Driver keeps bookmarks of up to 10000 scopes. Bookmarks of the least recently used scopes are forgotten when
+     * there are more, so sessions created later in such scope do not wait for earlier writes.
+     * <p>
+     * See {@link Config.ConfigBuilder#withSharedBookmarks()} to make all sessions share bookmarks in the default scope.
+     *
+     * @param mode the type of access required by units of work in this session.
+     * @param bookmarkScope the name of the bookmark scope.
+     * @return a new {@link Session} object.
+     */
+    @Experimental
+    Session scopedSession( AccessMode mode, String bookmarkScope );
+
+    /**
+     * Create a new {@link BulkWriter} with {@link BulkWriterConfig#defaultConfig() default configuration}.
+     * <p>
+     * Alias to {@code bulkWriter(statementTemplate, BulkWriterConfig.defaultConfig())}.
+     *
+     * @param statementTemplate the {@code UNWIND} statement executed for every batch of rows.
+     * @return a new {@link BulkWriter} object.
+     */
+    @Experimental
+    BulkWriter bulkWriter( String statementTemplate );
+
+    /**
+     * Create a new {@link BulkWriter} that executes given statement template for batches of added rows.
+     * Batches are executed in concurrent {@link AccessMode#WRITE write} transactions.
+     *
+     * @param statementTemplate the {@code UNWIND} statement executed for every batch of rows. It should refer to the
+     * list of rows using the {@link BulkWriterConfig#parameterName() configured parameter name}.
+     * @param config the bulk writer configuration.
+     * @return a new {@link BulkWriter} object.
+     */
+    @Experimental
+    BulkWriter bulkWriter( String statementTemplate, BulkWriterConfig config );
+
+    /**
+     * Execute given read statements concurrently and return their records as a single stream. Records are returned
+     * in the order they arrive.
+     * <p>
+     * Every statement is executed in its own {@link AccessMode#READ read} session. For routing drivers this means
+     * statements are spread across readers of the cluster using the configured load balancing strategy. Statements
+     * are typically partitions of a larger read, for example the same query restricted to different key ranges.
+     * <p>
+     * Records are fetched lazily with bounded read-ahead per statement. Returned stream should be closed when not
+     * fully consumed to release the underlying sessions.
+     *
+     * @param partitions the statements to execute.
+     * @return stream of records returned by all statements.
+     */
+    @Experimental
+    Stream<Record> parallelRead( List<Statement> partitions );
+
+    /**
+     * Execute given read statements concurrently and return their records as a single stream ordered by the given
+     * comparator. Every statement is expected to return records sorted in the same order, streams are merged
+     * preserving it.
+     * <p>
+     * See {@link #parallelRead(List)} for details about statement execution.
+     *
+     * @param partitions the statements to execute.
+     * @param order the order of records returned by every statement.
+     * @return ordered stream of records returned by all statements.
+     */
+    @Experimental
+    Stream<Record> parallelRead( List<Statement> partitions, Comparator<Record> order );
+}
@@ -20,8 +20,10 @@ package org.neo4j.driver.v1;
 
 import java.util.Map;
 
+import org.neo4j.driver.internal.PreparedStatements;
 import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.util.Experimental;
 import org.neo4j.driver.v1.util.Immutable;
 
 import static java.lang.String.format;
@@ -167,6 +169,22 @@ public class Statement
         }
     }
 
+    /**
+     * Create a prepared version of this statement that is cheaper to execute repeatedly.
+     * <p>
+     * Statement text and names of the current parameters are encoded once. Statements obtained from the returned one
+     * via {@link #withParameters(Value)}, {@link #withParameters(Map)} or {@link #withUpdatedParameters(Value)} reuse
+     * this encoding, so that only parameter values need to be encoded when they are executed. Prepared statements
+     * can be executed like any other statement.
+     *
+     * @return a new prepared statement with the same text and parameters.
+     */
+    @Experimental
+    public Statement prepare()
+    {
+        return PreparedStatements.prepare( text, parameters );
+    }
+
     @Override
     public boolean equals( Object o )
     {
@@ -174,7 +192,8 @@ public class Statement
         {
             return true;
         }
-        if ( o == null || getClass() != o.getClass() )
+        // prepared statements are equal to plain statements with the same text and parameters
+        if ( !(o instanceof Statement) )
         {
             return false;
         }
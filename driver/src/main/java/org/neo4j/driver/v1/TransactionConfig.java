@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.neo4j.driver.internal.util.Extract;
+import org.neo4j.driver.v1.util.Experimental;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
@@ -65,11 +66,13 @@ public class TransactionConfig
 
     private final Duration timeout;
     private final Map<String,Value> metadata;
+    private final long maxRecordBufferSize;
 
     private TransactionConfig( Builder builder )
     {
         this.timeout = builder.timeout;
         this.metadata = unmodifiableMap( builder.metadata );
+        this.maxRecordBufferSize = builder.maxRecordBufferSize;
     }
 
     /**
@@ -112,6 +115,17 @@ public class TransactionConfig
         return metadata;
     }
 
+    /**
+     * Get the configured maximum size of the buffer of records received from the database but not yet consumed.
+     *
+     * @return the maximum size in bytes or {@code 0} when it is not configured.
+     */
+    @Experimental
+    public long maxRecordBufferSize()
+    {
+        return maxRecordBufferSize;
+    }
+
     /**
      * Check if this configuration object contains any values.
      *
@@ -119,7 +133,7 @@ public class TransactionConfig
      */
     public boolean isEmpty()
     {
-        return timeout == null && (metadata == null || metadata.isEmpty());
+        return timeout == null && (metadata == null || metadata.isEmpty()) && maxRecordBufferSize == 0;
     }
 
     @Override
@@ -134,14 +148,15 @@ public class TransactionConfig
             return false;
         }
         TransactionConfig that = (TransactionConfig) o;
-        return Objects.equals( timeout, that.timeout ) &&
+        return maxRecordBufferSize == that.maxRecordBufferSize &&
+               Objects.equals( timeout, that.timeout ) &&
                Objects.equals( metadata, that.metadata );
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash( timeout, metadata );
+        return Objects.hash( timeout, metadata, maxRecordBufferSize );
     }
 
     @Override
@@ -150,6 +165,7 @@ public class TransactionConfig
         return "TransactionConfig{" +
                "timeout=" + timeout +
                ", metadata=" + metadata +
+               ", maxRecordBufferSize=" + maxRecordBufferSize +
                '}';
     }
 
@@ -160,6 +176,7 @@ public class TransactionConfig
     {
         private Duration timeout;
         private Map<String,Value> metadata = emptyMap();
+        private long maxRecordBufferSize;
 
         private Builder()
         {
@@ -205,6 +222,30 @@ public class TransactionConfig
             return this;
         }
 
+        /**
+         * Set the size of the buffer of records received from the database but not yet consumed, at which the driver stops reading from the
+         * network. Reading continues when records are consumed. How much data is read ahead depends on how fast records are consumed.
+         * <p>
+         * This is a soft threshold and not a hard memory limit. Size is measured in bytes received from the network, not in the size of decoded
+         * records on the heap. Records already received when reading stops are still buffered, so the buffer can grow somewhat above the threshold.
+         * Remaining records of a result are buffered without a limit once its summary or failure is requested before all records are read, for
+         * example when the summary is accessed, all records are listed, or a transaction is committed or a session is closed early.
+         * <p>
+         * Specified value overrides the value configured for the driver using {@link Config.ConfigBuilder#withMaxRecordBufferSize(long)}. It is a
+         * client-side setting and it is not sent to the database.
+         *
+         * @param maxRecordBufferSize the maximum size in bytes, should be positive.
+         * @return this builder.
+         */
+        @Experimental
+        public Builder withMaxRecordBufferSize( long maxRecordBufferSize )
+        {
+            checkArgument( maxRecordBufferSize > 0, "Max record buffer size should be positive: " + maxRecordBufferSize );
+
+            this.maxRecordBufferSize = maxRecordBufferSize;
+            return this;
+        }
+
         /**
          * Build the transaction configuration object using the specified settings.
          *
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class BookmarkManagerTest
+{
+    @Test
+    void shouldStartWithEmptyBookmarks()
+    {
+        BookmarkManager manager = new BookmarkManager( DEV_NULL_LOGGING );
+
+        assertTrue( manager.acquireScope( BookmarkManager.DEFAULT_SCOPE ).bookmarks().isEmpty() );
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedScopes()
+    {
+        BookmarkManager manager = new BookmarkManager( 20, DEV_NULL_LOGGING );
+        BookmarkManager.Scope defaultScope = manager.acquireScope( BookmarkManager.DEFAULT_SCOPE );
+        defaultScope.release();
+        BookmarkManager.Scope activeScope = manager.acquireScope( "active" );
+        activeScope.update( Bookmarks.from( "neo4j:bookmark:v1:tx42" ) );
+        activeScope.release();
+        BookmarkManager.Scope idleScope = manager.acquireScope( "idle" );
+        idleScope.release();
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            manager.acquireScope( "tenant-" + i ).release();
+            // scope is used by short sessions
+            BookmarkManager.Scope scope = manager.acquireScope( "active" );
+            scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx" + i ) );
+            scope.release();
+            assertThat( manager.scopeCount(), lessThanOrEqualTo( 20 ) );
+        }
+
+        assertSame( defaultScope, manager.acquireScope( BookmarkManager.DEFAULT_SCOPE ) );
+        assertSame( activeScope, manager.acquireScope( "active" ) );
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx99" ), manager.acquireScope( "active" ).bookmarks() );
+        assertNotSame( idleScope, manager.acquireScope( "idle" ) );
+    }
+
+    @Test
+    void shouldNotEvictScopesHeldByOpenSessions()
+    {
+        Logging logging = mock( Logging.class );
+        Logger logger = mock( Logger.class );
+        when( logging.getLog( anyString() ) ).thenReturn( logger );
+        BookmarkManager manager = new BookmarkManager( 20, logging );
+        // least recently used scope, held by a long running session
+        BookmarkManager.Scope heldScope = manager.acquireScope( "held" );
+        heldScope.update( Bookmarks.from( "neo4j:bookmark:v1:tx42" ) );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            manager.acquireScope( "tenant-" + i ).release();
+        }
+
+        assertSame( heldScope, manager.acquireScope( "held" ) );
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx42" ), heldScope.bookmarks() );
+        verify( logger, atLeastOnce() ).warn( startsWith( "Evicted" ), ArgumentMatchers.<Object>any() );
+    }
+
+    @Test
+    void shouldNotEvictScopesWhenAllAreHeld()
+    {
+        BookmarkManager manager = new BookmarkManager( 20, DEV_NULL_LOGGING );
+        List<BookmarkManager.Scope> heldScopes = new ArrayList<>();
+
+        for ( int i = 0; i < 30; i++ )
+        {
+            heldScopes.add( manager.acquireScope( "tenant-" + i ) );
+        }
+
+        assertEquals( 30, manager.scopeCount() );
+        for ( int i = 0; i < 30; i++ )
+        {
+            assertSame( heldScopes.get( i ), manager.acquireScope( "tenant-" + i ) );
+            assertEquals( 2, heldScopes.get( i ).userCount() );
+        }
+    }
+
+    @Test
+    void shouldKeepLatestBookmark()
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "scope" );
+
+        scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx10" ) );
+        scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx42" ) );
+        scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx7" ) );
+        scope.update( Bookmarks.empty() );
+        scope.update( null );
+
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx42" ), scope.bookmarks() );
+    }
+
+    @Test
+    void shouldCompactMultipleBookmarks()
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "scope" );
+
+        scope.update( Bookmarks.from( asList( "neo4j:bookmark:v1:tx3", "neo4j:bookmark:v1:tx5", "neo4j:bookmark:v1:tx4" ) ) );
+
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx5" ), scope.bookmarks() );
+    }
+
+    @Test
+    void shouldKeepAllBookmarksOfUnknownFormat()
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "scope" );
+
+        scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx3" ) );
+        scope.update( Bookmarks.from( "unknown" ) );
+
+        assertThat( scope.bookmarks().values(), containsInAnyOrder( "neo4j:bookmark:v1:tx3", "unknown" ) );
+    }
+
+    @Test
+    void shouldLimitAmountOfBookmarksOfUnknownFormat()
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "scope" );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            scope.update( Bookmarks.from( "unknown-" + i ) );
+        }
+
+        assertEquals( BookmarkManager.MAX_UNKNOWN_FORMAT_BOOKMARKS, scope.bookmarks().size() );
+        assertThat( scope.bookmarks().values(), hasItem( "unknown-99" ) );
+        assertThat( scope.bookmarks().values(), not( hasItem( "unknown-0" ) ) );
+    }
+
+    @Test
+    void shouldSeparateScopes()
+    {
+        BookmarkManager manager = new BookmarkManager( DEV_NULL_LOGGING );
+
+        manager.acquireScope( "tenant1" ).update( Bookmarks.from( "neo4j:bookmark:v1:tx1" ) );
+        manager.acquireScope( "tenant2" ).update( Bookmarks.from( "neo4j:bookmark:v1:tx2" ) );
+
+        assertSame( manager.acquireScope( "tenant1" ), manager.acquireScope( "tenant1" ) );
+        assertNotSame( manager.acquireScope( "tenant1" ), manager.acquireScope( "tenant2" ) );
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx1" ), manager.acquireScope( "tenant1" ).bookmarks() );
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx2" ), manager.acquireScope( "tenant2" ).bookmarks() );
+    }
+
+    @Test
+    void shouldKeepLatestBookmarkWithConcurrentUpdates() throws Exception
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "scope" );
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int i = 0; i < 4; i++ )
+            {
+                int offset = i;
+                futures.add( executor.submit( () ->
+                {
+                    for ( int tx = offset; tx < 10_000; tx += 4 )
+                    {
+                        scope.update( Bookmarks.from( "neo4j:bookmark:v1:tx" + tx ) );
+                    }
+                } ) );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx9999" ), scope.bookmarks() );
+    }
+}
@@ -19,14 +19,17 @@
 package org.neo4j.driver.internal;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.v1.Value;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -35,7 +38,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.driver.v1.Values.NULL;
 import static org.neo4j.driver.v1.Values.value;
 
 class BookmarksTest
@@ -163,6 +170,44 @@ class BookmarksTest
         assertIterableEquals( bookmarks, Bookmarks.from( bookmarks ).values() );
     }
 
+    @Test
+    void shouldDeduplicateBookmarks()
+    {
+        Bookmarks bookmarks = Bookmarks.from( asList( "neo4j:bookmark:v1:tx1", "neo4j:bookmark:v1:tx2", "neo4j:bookmark:v1:tx1" ) );
+
+        assertEquals( 2, bookmarks.size() );
+        assertIterableEquals( asList( "neo4j:bookmark:v1:tx1", "neo4j:bookmark:v1:tx2" ), bookmarks.values() );
+        assertEquals( Bookmarks.from( asList( "neo4j:bookmark:v1:tx1", "neo4j:bookmark:v1:tx2" ) ), bookmarks );
+    }
+
+    @Test
+    void shouldCacheBeginTransactionParameters()
+    {
+        Bookmarks bookmarks = Bookmarks.from( asList( "neo4j:bookmark:v1:tx1", "neo4j:bookmark:v1:tx2" ) );
+
+        assertSame( bookmarks.asBeginTransactionParameters(), bookmarks.asBeginTransactionParameters() );
+        assertSame( bookmarks.asValue(), bookmarks.asValue() );
+        assertEquals( value( asList( "neo4j:bookmark:v1:tx1", "neo4j:bookmark:v1:tx2" ) ), bookmarks.asValue() );
+    }
+
+    @Test
+    void shouldPackEncodedBookmarks() throws Exception
+    {
+        Bookmarks bookmarks = Bookmarks.from( asList( "neo4j:bookmark:v1:tx1", null ) );
+        ValuePacker packer = mock( ValuePacker.class );
+
+        bookmarks.pack( packer );
+        bookmarks.pack( packer );
+
+        InOrder order = inOrder( packer );
+        for ( int i = 0; i < 2; i++ )
+        {
+            order.verify( packer ).packListHeader( 2 );
+            order.verify( packer ).packUtf8( "neo4j:bookmark:v1:tx1".getBytes( UTF_8 ) );
+            order.verify( packer ).pack( NULL );
+        }
+    }
+
     private static void verifyParameters( Bookmarks bookmarks, String expectedMaxValue, String... expectedValues )
     {
         verifyParameters( bookmarks, expectedMaxValue, asList( expectedValues ) );
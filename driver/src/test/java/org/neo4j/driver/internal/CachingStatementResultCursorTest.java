@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.util.FakeClock;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.summary.StatementType;
+import org.neo4j.driver.v1.util.Function;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.driver.internal.ResultCacheTest.summary;
+import static org.neo4j.driver.internal.util.Futures.blockingGet;
+import static org.neo4j.driver.internal.util.Futures.completedWithNull;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.v1.Values.value;
+
+class CachingStatementResultCursorTest
+{
+    private static final Statement STATEMENT = new Statement( "MATCH (n) RETURN n.x AS x" );
+
+    private final ResultCache cache = new ResultCache( 10_000, 60_000, new FakeClock() );
+
+    @Test
+    void shouldCacheResultConsumedRecordByRecord()
+    {
+        StatementResultCursorStub delegate = new StatementResultCursorStub( StatementType.READ_ONLY, 1, 2, 3 );
+        CachingStatementResultCursor cursor = newCursor( delegate );
+
+        List<Integer> values = new ArrayList<>();
+        Record record;
+        while ( (record = blockingGet( cursor.nextAsync() )) != null )
+        {
+            values.add( record.get( "x" ).asInt() );
+        }
+
+        assertEquals( asList( 1, 2, 3 ), values );
+        assertEquals( 3, cachedResult().records().size() );
+    }
+
+    @Test
+    void shouldCacheResultConsumedAsList()
+    {
+        CachingStatementResultCursor cursor = newCursor( new StatementResultCursorStub( StatementType.READ_ONLY, 1, 2 ) );
+
+        List<Integer> values = blockingGet( cursor.listAsync( record -> record.get( "x" ).asInt() ) );
+
+        assertEquals( asList( 1, 2 ), values );
+        assertEquals( singletonList( "x" ), cachedResult().keys() );
+        assertEquals( 2, cachedResult().records().size() );
+    }
+
+    @Test
+    void shouldStreamButNotCacheResultBiggerThanCache()
+    {
+        ResultCache smallCache = new ResultCache( 300, 60_000, new FakeClock() );
+        CachingStatementResultCursor cursor = new CachingStatementResultCursor(
+                new StatementResultCursorStub( StatementType.READ_ONLY, 1, 2, 3, 4, 5 ),
+                smallCache.newCollector( STATEMENT ), Bookmarks.empty() );
+
+        List<Record> records = blockingGet( cursor.listAsync() );
+
+        assertEquals( 5, records.size() );
+        assertEquals( 0, smallCache.size() );
+    }
+
+    @Test
+    void shouldNotCacheResultWithDiscardedRecords()
+    {
+        CachingStatementResultCursor cursor = newCursor( new StatementResultCursorStub( StatementType.READ_ONLY, 1, 2 ) );
+
+        assertEquals( 1, blockingGet( cursor.nextAsync() ).get( "x" ).asInt() );
+        blockingGet( cursor.consumeAsync() );
+
+        assertNull( cache.get( STATEMENT, Bookmarks.empty() ) );
+    }
+
+    @Test
+    void shouldNotCacheFailedResult()
+    {
+        StatementResultCursorStub delegate = new StatementResultCursorStub( StatementType.READ_ONLY, 1 );
+        delegate.failure = new ServiceUnavailableException( "Connection lost" );
+        CachingStatementResultCursor cursor = newCursor( delegate );
+
+        assertThrows( ServiceUnavailableException.class, () -> blockingGet( cursor.listAsync() ) );
+
+        assertNull( cache.get( STATEMENT, Bookmarks.empty() ) );
+    }
+
+    @Test
+    void shouldNotCacheResultOfWriteStatement()
+    {
+        CachingStatementResultCursor cursor = newCursor( new StatementResultCursorStub( StatementType.READ_WRITE, 1 ) );
+
+        assertEquals( 1, blockingGet( cursor.singleAsync() ).get( "x" ).asInt() );
+
+        assertNull( cache.get( STATEMENT, Bookmarks.empty() ) );
+    }
+
+    private CachingStatementResultCursor newCursor( AsyncStatementResultCursor delegate )
+    {
+        return new CachingStatementResultCursor( delegate, cache.newCollector( STATEMENT ), Bookmarks.empty() );
+    }
+
+    private ResultCache.CachedResult cachedResult()
+    {
+        ResultCache.CachedResult result = cache.get( STATEMENT, Bookmarks.empty() );
+        assertNotNull( result );
+        return result;
+    }
+
+    private static class StatementResultCursorStub extends InternalStatementResultCursor
+    {
+        final Iterator<Integer> values;
+        final ResultSummary summary;
+        Throwable failure;
+
+        StatementResultCursorStub( StatementType type, Integer... values )
+        {
+            super( null, null );
+            this.values = asList( values ).iterator();
+            this.summary = summary( type );
+        }
+
+        @Override
+        public List<String> keys()
+        {
+            return singletonList( "x" );
+        }
+
+        @Override
+        public CompletionStage<ResultSummary> summaryAsync()
+        {
+            return failure == null ? completedFuture( summary ) : failedFuture( failure );
+        }
+
+        @Override
+        public CompletionStage<Record> nextAsync()
+        {
+            if ( values.hasNext() )
+            {
+                return completedFuture( new InternalRecord( keys(), new Value[]{value( values.next() )} ) );
+            }
+            return failure == null ? completedWithNull() : failedFuture( failure );
+        }
+
+        @Override
+        public CompletionStage<ResultSummary> consumeAsync()
+        {
+            values.forEachRemaining( value -> {} );
+            return summaryAsync();
+        }
+
+        @Override
+        public <T> CompletionStage<List<T>> listAsync( Function<Record,T> mapFunction )
+        {
+            List<T> result = new ArrayList<>();
+            while ( values.hasNext() )
+            {
+                result.add( mapFunction.apply( blockingGet( nextAsync() ) ) );
+            }
+            return failure == null ? completedFuture( result ) : failedFuture( failure );
+        }
+    }
+}
@@ -176,6 +176,17 @@ class DriverFactoryTest
         assertThat( handler instanceof InternalMetrics, is( true ) );
     }
 
+    @Test
+    void shouldCreateDriverMetricsIfEnabledInConfig()
+    {
+        // Given
+        Config config = Config.build().withDriverMetrics().toConfig();
+        // When
+        MetricsListener handler = DriverFactory.createDriverMetrics( config );
+        // Then
+        assertThat( handler instanceof InternalMetrics, is( true ) );
+    }
+
     private Driver createDriver( String uri, DriverFactory driverFactory )
     {
         return createDriver( uri, driverFactory, defaultConfig() );
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.BulkWriterConfig;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.TransactionConfig;
+import org.neo4j.driver.v1.TransactionWork;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.exceptions.TransientException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.util.Futures.completedWithNull;
+import static org.neo4j.driver.v1.Values.value;
+
+class InternalBulkWriterTest
+{
+    private static final String TEMPLATE = "UNWIND $rows AS row CREATE (:Node {id: row.id})";
+
+    private final List<CompletableFuture<ResultSummary>> transactions = new ArrayList<>();
+    private final List<Value> parameters = new ArrayList<>();
+    private SessionFactory sessionFactory;
+    private boolean completeTransactions = true;
+
+    @BeforeEach
+    @SuppressWarnings( "unchecked" )
+    void setUp()
+    {
+        sessionFactory = mock( SessionFactory.class );
+        when( sessionFactory.newInstance( any(), any() ) ).thenAnswer( invocation ->
+        {
+            Session session = mock( Session.class );
+            when( session.closeAsync() ).thenReturn( completedWithNull() );
+            when( session.writeTransactionAsync( any( TransactionWork.class ), any( TransactionConfig.class ) ) )
+                    .thenAnswer( txInvocation -> executeWork( txInvocation.getArgument( 0 ) ) );
+            return session;
+        } );
+    }
+
+    @Test
+    void shouldCutBatchesByRowCount()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.builder().withMaxBatchRows( 2 ).build(), 10 );
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            writer.add( singletonMap( "id", i ) );
+        }
+        assertEquals( 2, transactions.size() );
+
+        writer.close();
+
+        assertEquals( 3, transactions.size() );
+        assertEquals( 2, rowsInBatch( 0 ) );
+        assertEquals( 2, rowsInBatch( 1 ) );
+        assertEquals( 1, rowsInBatch( 2 ) );
+        assertEquals( 5, writer.committedRows() );
+        verify( sessionFactory, times( 3 ) ).newInstance( eq( AccessMode.WRITE ), any() );
+    }
+
+    @Test
+    void shouldCutBatchesByEncodedSize()
+    {
+        // every row is a map with a single 100 character string, encoded in a bit more than 100 bytes
+        BulkWriterConfig config = BulkWriterConfig.builder().withMaxBatchBytes( 250 ).build();
+        InternalBulkWriter writer = newWriter( config, 10 );
+
+        for ( int i = 0; i < 6; i++ )
+        {
+            writer.add( singletonMap( "name", stringOfLength( 100 ) ) );
+        }
+        writer.close();
+
+        assertEquals( 3, transactions.size() );
+        for ( int i = 0; i < transactions.size(); i++ )
+        {
+            assertEquals( 2, rowsInBatch( i ) );
+        }
+    }
+
+    @Test
+    void shouldUseConfiguredParameterName()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.builder().withParameterName( "batch" ).build(), 10 );
+
+        writer.add( value( singletonMap( "id", 42 ) ) );
+        writer.flush();
+
+        assertEquals( 1, parameters.size() );
+        assertEquals( 42, parameters.get( 0 ).get( "batch" ).get( 0 ).get( "id" ).asInt() );
+    }
+
+    @Test
+    void shouldLimitConcurrentTransactionsByPoolSize()
+    {
+        BulkWriterConfig config = BulkWriterConfig.builder()
+                .withMaxBatchRows( 1 )
+                .withMaxConcurrentTransactions( 10 )
+                .build();
+        InternalBulkWriter writer = newWriter( config, 2, 0 );
+        completeTransactions = false;
+
+        writer.add( singletonMap( "id", 1 ) );
+        writer.add( singletonMap( "id", 2 ) );
+
+        ClientException e = assertThrows( ClientException.class, () -> writer.add( singletonMap( "id", 3 ) ) );
+        assertThat( e.getMessage(), containsString( "connection acquisition timeout" ) );
+        assertEquals( 2, transactions.size() );
+
+        completeAll();
+        writer.add( singletonMap( "id", 4 ) );
+        assertEquals( 3, transactions.size() );
+
+        // row that could not be executed is not lost
+        assertEquals( 2, rowsInBatch( 2 ) );
+        assertEquals( 3, parameters.get( 2 ).get( "rows" ).get( 0 ).get( "id" ).asInt() );
+    }
+
+    @Test
+    void shouldReportBufferedRowsAfterBatchFailure()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.builder().withMaxBatchRows( 2 ).build(), 10 );
+        completeTransactions = false;
+
+        writer.add( singletonMap( "id", 1 ) );
+        writer.add( singletonMap( "id", 2 ) );
+        writer.add( singletonMap( "id", 3 ) );
+        transactions.get( 0 ).completeExceptionally( new TransientException( "Neo.TransientError.General.Error", "" ) );
+
+        ClientException e = assertThrows( ClientException.class, () -> writer.add( singletonMap( "id", 4 ) ) );
+        assertThat( e.getMessage(), containsString( "1 buffered rows were not written" ) );
+    }
+
+    @Test
+    void shouldFailAfterBatchFailure()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.builder().withMaxBatchRows( 1 ).build(), 10 );
+        completeTransactions = false;
+
+        writer.add( singletonMap( "id", 1 ) );
+        transactions.get( 0 ).completeExceptionally( new TransientException( "Neo.TransientError.General.Error", "" ) );
+
+        ClientException e = assertThrows( ClientException.class, () -> writer.add( singletonMap( "id", 2 ) ) );
+        assertThat( e.getCause(), instanceOf( TransientException.class ) );
+        assertThrows( ClientException.class, writer::close );
+
+        assertEquals( 1, transactions.size() );
+        assertEquals( 0, writer.committedRows() );
+    }
+
+    @Test
+    void shouldNotAllowAddAfterClose()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.defaultConfig(), 10 );
+        writer.close();
+
+        assertThrows( ClientException.class, () -> writer.add( singletonMap( "id", 1 ) ) );
+        verify( sessionFactory, never() ).newInstance( any(), any() );
+    }
+
+    @Test
+    void shouldRejectRowsThatAreNotMaps()
+    {
+        InternalBulkWriter writer = newWriter( BulkWriterConfig.defaultConfig(), 10 );
+
+        assertThrows( IllegalArgumentException.class, () -> writer.add( value( 42 ) ) );
+    }
+
+    private InternalBulkWriter newWriter( BulkWriterConfig config, int maxPoolSize )
+    {
+        return newWriter( config, maxPoolSize, -1 );
+    }
+
+    private InternalBulkWriter newWriter( BulkWriterConfig config, int maxPoolSize, long acquisitionTimeoutMs )
+    {
+        return new InternalBulkWriter( TEMPLATE, config, sessionFactory, maxPoolSize, acquisitionTimeoutMs );
+    }
+
+    private CompletionStage<ResultSummary> executeWork( TransactionWork<CompletionStage<ResultSummary>> work )
+    {
+        Transaction tx = mock( Transaction.class );
+        StatementResultCursor cursor = mock( StatementResultCursor.class );
+        CompletableFuture<ResultSummary> summaryFuture = new CompletableFuture<>();
+        when( cursor.consumeAsync() ).thenReturn( summaryFuture );
+        when( tx.runAsync( eq( TEMPLATE ), any( Value.class ) ) ).thenAnswer( invocation ->
+        {
+            parameters.add( invocation.getArgument( 1 ) );
+            return CompletableFuture.completedFuture( cursor );
+        } );
+        transactions.add( summaryFuture );
+        if ( completeTransactions )
+        {
+            summaryFuture.complete( mock( ResultSummary.class ) );
+        }
+        return work.execute( tx );
+    }
+
+    private void completeAll()
+    {
+        for ( CompletableFuture<ResultSummary> transaction : transactions )
+        {
+            transaction.complete( mock( ResultSummary.class ) );
+        }
+    }
+
+    private int rowsInBatch( int index )
+    {
+        return parameters.get( index ).get( "rows" ).size();
+    }
+
+    private static String stringOfLength( int length )
+    {
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < length; i++ )
+        {
+            builder.append( 'a' );
+        }
+        return builder.toString();
+    }
+}
@@ -23,9 +23,11 @@ import org.junit.jupiter.api.Test;
 import java.util.concurrent.CompletableFuture;
 
 import org.neo4j.driver.internal.security.SecurityPlan;
+import org.neo4j.driver.v1.Config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -71,9 +73,21 @@ class InternalDriverTest
         assertEquals( connectivityStage, driver.verifyConnectivity() );
     }
 
+    @Test
+    void shouldNotCreateBulkWriterWhenClosed()
+    {
+        SessionFactory sessionFactory = sessionFactoryMock();
+        InternalDriver driver = newDriver( sessionFactory );
+
+        assertNull( await( driver.closeAsync() ) );
+
+        assertThrows( IllegalStateException.class, () -> driver.bulkWriter( "UNWIND $rows AS row CREATE (n)" ) );
+    }
+
     private static InternalDriver newDriver( SessionFactory sessionFactory )
     {
-        return new InternalDriver( SecurityPlan.insecure(), sessionFactory, DEV_NULL_METRICS, DEV_NULL_LOGGING );
+        Config config = Config.build().withLogging( DEV_NULL_LOGGING ).toConfig();
+        return new InternalDriver( SecurityPlan.insecure(), sessionFactory, DEV_NULL_METRICS, config );
     }
 
     private static SessionFactory sessionFactoryMock()
@@ -22,15 +22,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.mockito.ArgumentCaptor;
 
-import java.lang.reflect.Method;
-
 import org.neo4j.driver.internal.retry.FixedRetryLogic;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
 import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
-import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.util.TestUtil;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -43,34 +40,58 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
 import static org.neo4j.driver.v1.AccessMode.READ;
 
 class LeakLoggingNetworkSessionTest
 {
-    @Test
-    void logsNothingDuringFinalizationIfClosed() throws Exception
+    private final Logging logging = mock( Logging.class );
+    private final Logger log = mock( Logger.class );
+
+    LeakLoggingNetworkSessionTest()
     {
-        Logging logging = mock( Logging.class );
-        Logger log = mock( Logger.class );
         when( logging.getLog( anyString() ) ).thenReturn( log );
-        LeakLoggingNetworkSession session = newSession( logging, false );
+    }
+
+    @Test
+    void logsNothingWhenCollectedWithoutOpenConnection()
+    {
+        SessionLeakDetector detector = new SessionLeakDetector( 1, logging );
+        LeakLoggingNetworkSession session = newSession( detector, false );
+        // begin transaction to make session obtain a connection
+        session.beginTransaction();
 
-        finalize( session );
+        collect( session );
+        detector.reportLeaks();
 
-        verify( log, never() ).error( anyString(), any( Throwable.class ) );
+        verify( log, never() ).error( anyString(), any() );
     }
 
     @Test
-    void logsMessageWithStacktraceDuringFinalizationIfLeaked( TestInfo testInfo ) throws Exception
+    void logsNothingWhenClosed()
     {
-        Logging logging = mock( Logging.class );
-        Logger log = mock( Logger.class );
-        when( logging.getLog( anyString() ) ).thenReturn( log );
-        LeakLoggingNetworkSession session = newSession( logging, true );
+        SessionLeakDetector detector = new SessionLeakDetector( 1, logging );
+        LeakLoggingNetworkSession session = newSession( detector, true );
+        session.closeAsync();
+
+        collect( session );
+        detector.reportLeaks();
+
+        verify( log, never() ).error( anyString(), any() );
+        assertEquals( 0, detector.trackedSessions() );
+    }
+
+    @Test
+    void logsMessageWithStacktraceWhenLeaked( TestInfo testInfo )
+    {
+        SessionLeakDetector detector = new SessionLeakDetector( 1, logging );
+        LeakLoggingNetworkSession session = newSession( detector, true );
         // begin transaction to make session obtain a connection
         session.beginTransaction();
+        assertEquals( 1, detector.trackedSessions() );
 
-        finalize( session );
+        collect( session );
+        detector.reportLeaks();
 
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass( String.class );
         verify( log ).error( messageCaptor.capture(), any() );
@@ -83,18 +104,31 @@ class LeakLoggingNetworkSessionTest
         assertThat( loggedMessage, containsString(
                 getClass().getSimpleName() + "." + testInfo.getTestMethod().get().getName() )
         );
+        assertEquals( 0, detector.trackedSessions() );
+    }
+
+    @Test
+    void reportsLeaksWhenNewSessionsAreTracked()
+    {
+        SessionLeakDetector detector = new SessionLeakDetector( 1, logging );
+        LeakLoggingNetworkSession session = newSession( detector, true );
+        session.beginTransaction();
+
+        collect( session );
+        newSession( detector, true );
+
+        verify( log ).error( anyString(), any() );
     }
 
-    private static void finalize( Session session ) throws Exception
+    private static void collect( LeakLoggingNetworkSession session )
     {
-        Method finalizeMethod = session.getClass().getDeclaredMethod( "finalize" );
-        finalizeMethod.setAccessible( true );
-        finalizeMethod.invoke( session );
+        // enqueue the phantom reference like garbage collector does after the session becomes unreachable
+        session.leakTracker().enqueue();
     }
 
-    private static LeakLoggingNetworkSession newSession( Logging logging, boolean openConnection )
+    private static LeakLoggingNetworkSession newSession( SessionLeakDetector detector, boolean openConnection )
     {
-        return new LeakLoggingNetworkSession( connectionProviderMock( openConnection ), READ, new FixedRetryLogic( 0 ), logging );
+        return new LeakLoggingNetworkSession( connectionProviderMock( openConnection ), READ, new FixedRetryLogic( 0 ), detector, DEV_NULL_LOGGING );
     }
 
     private static ConnectionProvider connectionProviderMock( boolean openConnection )
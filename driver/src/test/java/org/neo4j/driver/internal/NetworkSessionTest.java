@@ -25,28 +25,43 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.mockito.verification.VerificationMode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.messaging.BoltProtocol;
 import org.neo4j.driver.internal.messaging.request.PullAllMessage;
 import org.neo4j.driver.internal.messaging.request.RunMessage;
 import org.neo4j.driver.internal.retry.FixedRetryLogic;
+import org.neo4j.driver.internal.retry.HedgedWork;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
 import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.internal.util.ServerVersion;
 import org.neo4j.driver.internal.util.Supplier;
 import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.TransactionWork;
 import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
 import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
+import org.neo4j.driver.v1.summary.ResultSummary;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -110,6 +125,98 @@ class NetworkSessionTest
         verify( connection ).writeAndFlush( eq( new RunMessage( "RETURN 1" ) ), any(), any(), any() );
     }
 
+    @Test
+    void shouldServeCachedResultInReadSession()
+    {
+        ResultCache cache = new ResultCache( 10_000, 60_000, Clock.SYSTEM );
+        Statement statement = new Statement( "RETURN 1 AS x" );
+        Record record = new InternalRecord( singletonList( "x" ), new Value[]{Values.value( 1 )} );
+        cache.put( statement, cache.newResult( statement, singletonList( "x" ), singletonList( record ),
+                mock( ResultSummary.class ), Bookmarks.empty() ) );
+        NetworkSession session = new NetworkSession( connectionProvider, READ, new FixedRetryLogic( 0 ), cache, DEV_NULL_LOGGING );
+
+        StatementResult result = session.run( statement );
+
+        assertEquals( singletonList( "x" ), result.keys() );
+        assertEquals( 1, result.single().get( "x" ).asInt() );
+        verify( connectionProvider, never() ).acquireConnection( any( AccessMode.class ) );
+    }
+
+    @Test
+    void shouldStreamResultMissingInResultCache()
+    {
+        ResultCache cache = new ResultCache( 10_000, 60_000, Clock.SYSTEM );
+        NetworkSession session = new NetworkSession( connectionProvider, READ, new FixedRetryLogic( 0 ), cache, DEV_NULL_LOGGING );
+
+        // result is returned without waiting for its records
+        session.run( "RETURN 1 AS x" );
+
+        verify( connection ).writeAndFlush( eq( new RunMessage( "RETURN 1 AS x" ) ), any(), any(), any() );
+        assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    void shouldReleaseBookmarkScopeWhenClosed()
+    {
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "tenant" );
+        NetworkSession session = newSession( connectionProvider, READ );
+        session.setBookmarkScope( scope );
+
+        await( session.closeAsync() );
+        await( session.closeAsync() );
+
+        assertEquals( 0, scope.userCount() );
+    }
+
+    @Test
+    void shouldTagCachedResultWithBookmarksObservedWhenStatementWasRun()
+    {
+        Bookmarks oldBookmarks = Bookmarks.from( "neo4j:bookmark:v1:tx10" );
+        Bookmarks newBookmarks = Bookmarks.from( "neo4j:bookmark:v1:tx20" );
+        ResultCache cache = new ResultCache( 10_000, 60_000, Clock.SYSTEM );
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "tenant" );
+        scope.update( oldBookmarks );
+        NetworkSession session = new NetworkSession( connectionProvider, READ, new FixedRetryLogic( 0 ), cache, DEV_NULL_LOGGING );
+        session.setBookmarkScope( scope );
+
+        ResponseHandler[] pullAllHandler = new ResponseHandler[1];
+        doAnswer( invocation ->
+        {
+            ResponseHandler runHandler = invocation.getArgument( 1 );
+            runHandler.onSuccess( singletonMap( "fields", Values.value( singletonList( "x" ) ) ) );
+            pullAllHandler[0] = invocation.getArgument( 3 );
+            return null;
+        } ).when( connection ).writeAndFlush( eq( new RunMessage( "RETURN 1 AS x" ) ), any(), eq( PullAllMessage.PULL_ALL ), any() );
+
+        StatementResultCursor cursor = await( session.runAsync( "RETURN 1 AS x" ) );
+
+        // other session in the same scope commits while records of the read are in flight
+        scope.update( newBookmarks );
+
+        pullAllHandler[0].onRecord( new Value[]{Values.value( 1 )} );
+        pullAllHandler[0].onSuccess( singletonMap( "type", Values.value( "r" ) ) );
+        assertEquals( 1, await( cursor.listAsync() ).size() );
+
+        Statement statement = new Statement( "RETURN 1 AS x" );
+        assertNotNull( cache.get( statement, oldBookmarks ) );
+        assertNull( cache.get( statement, newBookmarks ) );
+        assertNull( cache.get( statement, session.getBookmarks() ) );
+    }
+
+    @Test
+    void shouldNotUseResultCacheInWriteSession()
+    {
+        ResultCache cache = new ResultCache( 10_000, 60_000, Clock.SYSTEM );
+        Statement statement = new Statement( "RETURN 1 AS x" );
+        cache.put( statement, cache.newResult( statement, singletonList( "x" ), emptyList(),
+                mock( ResultSummary.class ), Bookmarks.empty() ) );
+        NetworkSession session = new NetworkSession( connectionProvider, WRITE, new FixedRetryLogic( 0 ), cache, DEV_NULL_LOGGING );
+
+        session.run( statement );
+
+        verify( connection ).writeAndFlush( eq( new RunMessage( "RETURN 1 AS x" ) ), any(), any(), any() );
+    }
+
     @Test
     void shouldNotAllowNewTxWhileOneIsRunning()
     {
@@ -120,6 +227,42 @@ class NetworkSessionTest
         assertThrows( ClientException.class, session::beginTransaction );
     }
 
+    @Test
+    void shouldNotAllowHedgedReadTransactionWhileOneIsRunning()
+    {
+        RetryLogic retryLogic = mock( RetryLogic.class );
+        when( retryLogic.isHedgingEnabled() ).thenReturn( true );
+        NetworkSession session = newSession( connectionProvider, READ, retryLogic, Bookmarks.empty() );
+        session.beginTransaction();
+
+        TransactionWork<CompletionStage<Integer>> work = tx -> completedFuture( 42 );
+        assertThrows( ClientException.class, () -> await( session.readTransactionAsync( work ) ) );
+        verify( retryLogic, never() ).retryHedgedAsync( any() );
+    }
+
+    @Test
+    void shouldCloseHedgedTransactionsWhenSessionIsClosed()
+    {
+        RetryLogic retryLogic = mock( RetryLogic.class );
+        when( retryLogic.isHedgingEnabled() ).thenReturn( true );
+        List<HedgedWork<Integer>> hedgedWorks = new ArrayList<>();
+        when( retryLogic.retryHedgedAsync( any() ) ).then( invocation ->
+        {
+            HedgedWork<Integer> hedgedWork = invocation.getArgument( 0 );
+            hedgedWorks.add( hedgedWork );
+            return hedgedWork.execute();
+        } );
+        NetworkSession session = newSession( connectionProvider, READ, retryLogic, Bookmarks.empty() );
+
+        // transaction function that never completes
+        session.readTransactionAsync( tx -> new CompletableFuture<Integer>() );
+        await( session.closeAsync() );
+
+        // transaction of the hedged work is rolled back and its connection is released
+        verify( connection, atLeastOnce() ).release();
+        assertNull( hedgedWorks.get( 0 ).hedge() );
+    }
+
     @Test
     void shouldBeAbleToOpenTxAfterPreviousIsClosed()
     {
@@ -336,6 +479,31 @@ class NetworkSessionTest
         assertEquals( bookmarks2, Bookmarks.from( session.lastBookmark() ) );
     }
 
+    @Test
+    void bookmarkIsSharedBetweenSessionsInSameScope()
+    {
+        Bookmarks bookmarks = Bookmarks.from( "neo4j:bookmark:v1:tx42" );
+        BookmarkManager.Scope scope = new BookmarkManager( DEV_NULL_LOGGING ).acquireScope( "tenant" );
+
+        NetworkSession session1 = newSession( connectionProvider, WRITE );
+        session1.setBookmarkScope( scope );
+        NetworkSession session2 = newSession( connectionProvider, READ );
+        session2.setBookmarkScope( scope );
+
+        BoltProtocol protocol = spy( DEFAULT_TEST_PROTOCOL );
+        doReturn( completedFuture( bookmarks ) ).when( protocol ).commitTransaction( any( Connection.class ) );
+        when( connection.protocol() ).thenReturn( protocol );
+
+        try ( Transaction tx = session1.beginTransaction() )
+        {
+            tx.success();
+        }
+        assertEquals( bookmarks, scope.bookmarks() );
+
+        session2.beginTransaction();
+        verifyBeginTx( connection, bookmarks );
+    }
+
     @Test
     void accessModeUsedToAcquireConnections()
     {
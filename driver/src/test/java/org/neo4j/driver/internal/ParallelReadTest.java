@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.util.Futures.completedWithNull;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.v1.Values.value;
+
+class ParallelReadTest
+{
+    private final Map<String,List<Integer>> results = new HashMap<>();
+    private final List<Session> sessions = new ArrayList<>();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp()
+    {
+        sessionFactory = mock( SessionFactory.class );
+        when( sessionFactory.newInstance( any(), any() ) ).thenAnswer( invocation -> newSessionMock() );
+    }
+
+    @Test
+    void shouldReturnRecordsOfAllPartitions()
+    {
+        results.put( "p1", Arrays.asList( 1, 2, 3 ) );
+        results.put( "p2", Arrays.asList( 4, 5 ) );
+        results.put( "p3", Arrays.asList() );
+
+        List<Integer> values;
+        try ( Stream<Record> stream = ParallelRead.arbitraryOrder( sessionFactory, statements( "p1", "p2", "p3" ) ) )
+        {
+            values = stream.map( record -> record.get( "x" ).asInt() ).sorted().collect( Collectors.toList() );
+        }
+
+        assertEquals( Arrays.asList( 1, 2, 3, 4, 5 ), values );
+        verify( sessionFactory, times( 3 ) ).newInstance( eq( AccessMode.READ ), any() );
+        assertAllSessionsClosed();
+    }
+
+    @Test
+    void shouldMergePartitionsInOrder()
+    {
+        results.put( "p1", Arrays.asList( 1, 4, 7, 8 ) );
+        results.put( "p2", Arrays.asList( 2, 3, 9 ) );
+        results.put( "p3", Arrays.asList( 5, 6 ) );
+
+        Comparator<Record> order = Comparator.comparingInt( record -> record.get( "x" ).asInt() );
+        List<Integer> values = ParallelRead.orderedMerge( sessionFactory, statements( "p1", "p2", "p3" ), order )
+                .map( record -> record.get( "x" ).asInt() )
+                .collect( Collectors.toList() );
+
+        assertEquals( Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9 ), values );
+        assertAllSessionsClosed();
+    }
+
+    @Test
+    void shouldPropagatePartitionFailureAndCloseSessions()
+    {
+        results.put( "p1", Arrays.asList( 1, 2, 3 ) );
+
+        Stream<Record> stream = ParallelRead.arbitraryOrder( sessionFactory, statements( "p1", "broken" ) );
+
+        assertThrows( ServiceUnavailableException.class, () -> stream.collect( Collectors.toList() ) );
+        assertAllSessionsClosed();
+    }
+
+    @Test
+    void shouldCloseSessionsWhenStreamClosed()
+    {
+        results.put( "p1", Arrays.asList( 1, 2, 3 ) );
+
+        Stream<Record> stream = ParallelRead.arbitraryOrder( sessionFactory, singletonList( new Statement( "p1" ) ) );
+        assertEquals( 1, stream.iterator().next().get( "x" ).asInt() );
+        stream.close();
+
+        assertAllSessionsClosed();
+    }
+
+    @Test
+    void shouldCloseOpenedSessionsWhenSessionCreationFails()
+    {
+        results.put( "p1", Arrays.asList( 1, 2, 3 ) );
+        results.put( "p2", Arrays.asList( 4, 5 ) );
+        doAnswer( invocation -> newSessionMock() )
+                .doAnswer( invocation -> newSessionMock() )
+                .doThrow( new ServiceUnavailableException( "No readers" ) )
+                .when( sessionFactory ).newInstance( any(), any() );
+
+        assertThrows( ServiceUnavailableException.class,
+                () -> ParallelRead.arbitraryOrder( sessionFactory, statements( "p1", "p2", "p3" ) ) );
+
+        assertEquals( 2, sessions.size() );
+        assertAllSessionsClosed();
+    }
+
+    private void assertAllSessionsClosed()
+    {
+        for ( Session session : sessions )
+        {
+            verify( session ).closeAsync();
+        }
+    }
+
+    private Session newSessionMock()
+    {
+        Session session = mock( Session.class );
+        when( session.closeAsync() ).thenReturn( completedWithNull() );
+        when( session.runAsync( any( Statement.class ) ) ).thenAnswer( runInvocation ->
+        {
+            Statement statement = runInvocation.getArgument( 0 );
+            List<Integer> values = results.get( statement.text() );
+            if ( values == null )
+            {
+                return failedFuture( new ServiceUnavailableException( "Reader is down" ) );
+            }
+            return completedFuture( cursorMock( values ) );
+        } );
+        sessions.add( session );
+        return session;
+    }
+
+    private static List<Statement> statements( String... texts )
+    {
+        List<Statement> statements = new ArrayList<>();
+        for ( String text : texts )
+        {
+            statements.add( new Statement( text ) );
+        }
+        return statements;
+    }
+
+    private static StatementResultCursor cursorMock( List<Integer> values )
+    {
+        Iterator<Integer> iterator = values.iterator();
+        StatementResultCursor cursor = mock( StatementResultCursor.class );
+        when( cursor.nextAsync() ).thenAnswer( invocation ->
+        {
+            if ( iterator.hasNext() )
+            {
+                Record record = new InternalRecord( singletonList( "x" ), new Value[]{value( iterator.next() )} );
+                return completedFuture( record );
+            }
+            return completedFuture( null );
+        } );
+        return cursor;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import org.neo4j.driver.internal.ResultCache.CachedResult;
+import org.neo4j.driver.internal.ResultCache.ResultCollector;
+import org.neo4j.driver.internal.util.FakeClock;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.summary.StatementType;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.v1.Values.value;
+
+class ResultCacheTest
+{
+    private static final String BOOKMARK_PREFIX = "neo4j:bookmark:v1:tx";
+
+    private final FakeClock clock = new FakeClock();
+
+    @Test
+    void shouldReturnCachedResult()
+    {
+        ResultCache cache = new ResultCache( 10_000, 1_000, clock );
+        Statement statement = new Statement( "MATCH (n) WHERE n.id = $id RETURN n.name", singletonMap( "id", 1 ) );
+        CachedResult result = newResult( cache, statement, Bookmarks.empty(), "Alice" );
+
+        cache.put( statement, result );
+
+        assertSame( result, cache.get( statement, Bookmarks.empty() ) );
+        assertSame( result, cache.get( new Statement( statement.text(), singletonMap( "id", 1 ) ), Bookmarks.empty() ) );
+        assertNull( cache.get( new Statement( statement.text(), singletonMap( "id", 2 ) ), Bookmarks.empty() ) );
+        assertNull( cache.get( new Statement( "RETURN 1" ), Bookmarks.empty() ) );
+    }
+
+    @Test
+    void shouldExpireEntries()
+    {
+        ResultCache cache = new ResultCache( 10_000, 1_000, clock );
+        Statement statement = new Statement( "RETURN 1" );
+        cache.put( statement, newResult( cache, statement, Bookmarks.empty(), "one" ) );
+
+        clock.progress( 999 );
+        assertEquals( 1, cache.size() );
+        assertTrue( cache.get( statement, Bookmarks.empty() ) != null );
+
+        clock.progress( 1 );
+        assertNull( cache.get( statement, Bookmarks.empty() ) );
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.sizeBytes() );
+    }
+
+    @Test
+    void shouldNotServeResultsOlderThanSessionBookmark()
+    {
+        ResultCache cache = new ResultCache( 10_000, 1_000, clock );
+        Statement statement = new Statement( "RETURN 1" );
+        cache.put( statement, newResult( cache, statement, bookmark( 10 ), "one" ) );
+
+        assertTrue( cache.get( statement, Bookmarks.empty() ) != null );
+        assertTrue( cache.get( statement, bookmark( 9 ) ) != null );
+        assertTrue( cache.get( statement, bookmark( 10 ) ) != null );
+        assertNull( cache.get( statement, bookmark( 11 ) ) );
+        assertNull( cache.get( statement, Bookmarks.from( "unknown-bookmark-format" ) ) );
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesWhenFull()
+    {
+        ResultCache cache = new ResultCache( 700, 1_000, clock );
+        Statement statement1 = new Statement( "RETURN 1" );
+        Statement statement2 = new Statement( "RETURN 2" );
+        Statement statement3 = new Statement( "RETURN 3" );
+        CachedResult result = newResult( cache, statement1, Bookmarks.empty(), "one" );
+        assertTrue( result.sizeBytes() > 300 && result.sizeBytes() < 500, "Unexpected size " + result.sizeBytes() );
+
+        cache.put( statement1, result );
+        cache.put( statement2, newResult( cache, statement2, Bookmarks.empty(), "two" ) );
+        cache.get( statement1, Bookmarks.empty() );
+        cache.put( statement3, newResult( cache, statement3, Bookmarks.empty(), "three" ) );
+
+        assertEquals( 2, cache.size() );
+        assertTrue( cache.sizeBytes() <= 700 );
+        assertSame( result, cache.get( statement1, Bookmarks.empty() ) );
+        assertNull( cache.get( statement2, Bookmarks.empty() ) );
+    }
+
+    @Test
+    void shouldNotCacheResultsBiggerThanMaxSize()
+    {
+        ResultCache cache = new ResultCache( 100, 1_000, clock );
+        Statement statement = new Statement( "RETURN 1" );
+
+        cache.put( statement, newResult( cache, statement, Bookmarks.empty(), "one" ) );
+
+        assertEquals( 0, cache.size() );
+        assertNull( cache.get( statement, Bookmarks.empty() ) );
+    }
+
+    @Test
+    void shouldCacheCollectedReadOnlyResult()
+    {
+        ResultCache cache = new ResultCache( 10_000, 1_000, clock );
+        Statement statement = new Statement( "RETURN 1" );
+        Record record = new InternalRecord( singletonList( "x" ), new Value[]{value( 1 )} );
+
+        ResultCollector collector = cache.newCollector( statement );
+        collector.add( record );
+        collector.complete( singletonList( "x" ), summary( StatementType.READ_ONLY ), bookmark( 5 ) );
+
+        CachedResult result = cache.get( statement, bookmark( 5 ) );
+        assertEquals( singletonList( "x" ), result.keys() );
+        assertEquals( singletonList( record ), result.records() );
+        assertNull( cache.get( statement, bookmark( 6 ) ) );
+    }
+
+    @Test
+    void shouldDropCollectedRecordsWhenResultBiggerThanMaxSize()
+    {
+        ResultCache cache = new ResultCache( 300, 1_000, clock );
+        Statement statement = new Statement( "RETURN 1" );
+
+        ResultCollector collector = cache.newCollector( statement );
+        collector.add( new InternalRecord( singletonList( "x" ), new Value[]{value( "one" )} ) );
+        assertFalse( collector.isAbandoned() );
+        collector.add( new InternalRecord( singletonList( "x" ), new Value[]{value( "two" )} ) );
+        assertTrue( collector.isAbandoned() );
+        collector.complete( singletonList( "x" ), summary( StatementType.READ_ONLY ), Bookmarks.empty() );
+
+        assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    void shouldNotCacheCollectedResultOfWriteStatement()
+    {
+        ResultCache cache = new ResultCache( 10_000, 1_000, clock );
+        Statement statement = new Statement( "CREATE (n) RETURN 1" );
+
+        ResultCollector collector = cache.newCollector( statement );
+        collector.add( new InternalRecord( singletonList( "x" ), new Value[]{value( 1 )} ) );
+        collector.complete( singletonList( "x" ), summary( StatementType.READ_WRITE ), Bookmarks.empty() );
+
+        assertEquals( 0, cache.size() );
+    }
+
+    static ResultSummary summary( StatementType type )
+    {
+        ResultSummary summary = mock( ResultSummary.class );
+        when( summary.statementType() ).thenReturn( type );
+        return summary;
+    }
+
+    private static CachedResult newResult( ResultCache cache, Statement statement, Bookmarks bookmarks, String... names )
+    {
+        List<String> keys = singletonList( "name" );
+        Record[] records = new Record[names.length];
+        for ( int i = 0; i < names.length; i++ )
+        {
+            records[i] = new InternalRecord( keys, new Value[]{value( names[i] )} );
+        }
+        return cache.newResult( statement, keys, asList( records ), mock( ResultSummary.class ), bookmarks );
+    }
+
+    private static Bookmarks bookmark( long txId )
+    {
+        return Bookmarks.from( BOOKMARK_PREFIX + txId );
+    }
+}
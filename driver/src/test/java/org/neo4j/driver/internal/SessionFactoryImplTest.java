@@ -27,7 +27,10 @@ import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.Session;
 
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
 
@@ -59,6 +62,55 @@ class SessionFactoryImplTest
         assertThat( writeSession, instanceOf( LeakLoggingNetworkSession.class ) );
     }
 
+    @Test
+    void createsLeakLoggingNetworkSessionsForSampleOfSessions()
+    {
+        Config config = Config.build().withLogging( DEV_NULL_LOGGING ).withLeakedSessionsLogging( 1_000_000 ).toConfig();
+        SessionFactory factory = newSessionFactory( config );
+
+        int leakLoggingSessions = 0;
+        for ( int i = 0; i < 100; i++ )
+        {
+            Session session = factory.newInstance( AccessMode.READ, null );
+            if ( session instanceof LeakLoggingNetworkSession )
+            {
+                leakLoggingSessions++;
+            }
+        }
+
+        assertThat( leakLoggingSessions, lessThan( 100 ) );
+    }
+
+    @Test
+    void createsSessionsSharingBookmarksWhenConfigured()
+    {
+        Config config = Config.build().withLogging( DEV_NULL_LOGGING ).withSharedBookmarks().toConfig();
+        SessionFactory factory = newSessionFactory( config );
+
+        NetworkSession session1 = (NetworkSession) factory.newInstance( AccessMode.WRITE, null );
+        NetworkSession session2 = (NetworkSession) factory.newInstance( AccessMode.READ, null );
+        session1.setBookmarks( Bookmarks.from( "neo4j:bookmark:v1:tx42" ) );
+
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx42" ), session2.getBookmarks() );
+    }
+
+    @Test
+    void createsScopedSessions()
+    {
+        Config config = Config.build().withLogging( DEV_NULL_LOGGING ).toConfig();
+        SessionFactory factory = newSessionFactory( config );
+
+        NetworkSession tenant1 = (NetworkSession) factory.newScopedInstance( AccessMode.WRITE, "tenant1" );
+        NetworkSession otherTenant1 = (NetworkSession) factory.newScopedInstance( AccessMode.READ, "tenant1" );
+        NetworkSession tenant2 = (NetworkSession) factory.newScopedInstance( AccessMode.READ, "tenant2" );
+        NetworkSession unscoped = (NetworkSession) factory.newInstance( AccessMode.READ, null );
+        tenant1.setBookmarks( Bookmarks.from( "neo4j:bookmark:v1:tx42" ) );
+
+        assertEquals( Bookmarks.from( "neo4j:bookmark:v1:tx42" ), otherTenant1.getBookmarks() );
+        assertTrue( tenant2.getBookmarks().isEmpty() );
+        assertTrue( unscoped.getBookmarks().isEmpty() );
+    }
+
     private static SessionFactory newSessionFactory( Config config )
     {
         return new SessionFactoryImpl( mock( ConnectionProvider.class ), new FixedRetryLogic( 0 ), config );
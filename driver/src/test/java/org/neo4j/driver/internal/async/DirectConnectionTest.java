@@ -23,6 +23,7 @@ import io.netty.channel.DefaultEventLoop;
 import io.netty.channel.EventLoop;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.internal.ConcurrentSet;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -37,12 +38,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.Bookmarks;
 import org.neo4j.driver.internal.async.inbound.InboundMessageDispatcher;
 import org.neo4j.driver.internal.handlers.NoOpResponseHandler;
+import org.neo4j.driver.internal.messaging.Message;
+import org.neo4j.driver.internal.messaging.request.BeginMessage;
 import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.spi.ResponseHandler;
 import org.neo4j.driver.internal.util.FakeClock;
 import org.neo4j.driver.internal.util.ServerVersion;
+import org.neo4j.driver.v1.TransactionConfig;
 
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.Matchers.startsWith;
@@ -59,6 +65,7 @@ import static org.mockito.Mockito.when;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
 import static org.neo4j.driver.internal.async.ChannelAttributes.terminationReason;
 import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.internal.messaging.request.CommitMessage.COMMIT;
 import static org.neo4j.driver.internal.messaging.request.PullAllMessage.PULL_ALL;
 import static org.neo4j.driver.internal.messaging.request.ResetMessage.RESET;
 import static org.neo4j.driver.internal.metrics.InternalAbstractMetrics.DEV_NULL_METRICS;
@@ -95,11 +102,104 @@ class DirectConnectionTest
     }
 
     @Test
-    void shouldSendResetOnRelease()
+    void shouldReleaseCleanConnectionWithoutReset()
+    {
+        EmbeddedChannel channel = newChannel();
+        ChannelPool pool = newChannelPool();
+        DirectConnection connection = newConnection( channel, pool );
+
+        CompletableFuture<Void> releaseFuture = connection.release().toCompletableFuture();
+        channel.runPendingTasks();
+
+        assertEquals( 0, channel.outboundMessages().size() );
+        assertTrue( releaseFuture.isDone() );
+        verify( pool ).release( channel );
+    }
+
+    @Test
+    void shouldReleaseConnectionWithoutResetWhenAllResponsesArrived()
+    {
+        EmbeddedChannel channel = newChannel();
+        ChannelPool pool = newChannelPool();
+        DirectConnection connection = newConnection( channel, pool );
+
+        connection.writeAndFlush( new RunMessage( "RETURN 1" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+        channel.runPendingTasks();
+        messageDispatcher( channel ).handleSuccessMessage( emptyMap() );
+        messageDispatcher( channel ).handleSuccessMessage( emptyMap() );
+        channel.outboundMessages().clear();
+
+        connection.release();
+        channel.runPendingTasks();
+
+        assertEquals( 0, channel.outboundMessages().size() );
+        verify( pool ).release( channel );
+    }
+
+    @Test
+    void shouldSendResetOnReleaseWhenResponsesArePending()
+    {
+        EmbeddedChannel channel = newChannel();
+        ChannelPool pool = newChannelPool();
+        DirectConnection connection = newConnection( channel, pool );
+
+        connection.writeAndFlush( new RunMessage( "RETURN 1" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+        channel.runPendingTasks();
+        channel.outboundMessages().clear();
+
+        connection.release();
+        channel.runPendingTasks();
+
+        assertEquals( 1, channel.outboundMessages().size() );
+        assertEquals( RESET, channel.readOutbound() );
+        verify( pool, never() ).release( any() );
+    }
+
+    @Test
+    void shouldSendResetOnReleaseWhenTransactionIsOpen()
+    {
+        testResetOnReleaseWithOpenTransaction( new BeginMessage( Bookmarks.empty(), TransactionConfig.empty() ) );
+    }
+
+    @Test
+    void shouldSendResetOnReleaseWhenTransactionStartedWithRunMessageIsOpen()
+    {
+        testResetOnReleaseWithOpenTransaction( new RunMessage( "BEGIN" ) );
+    }
+
+    @Test
+    void shouldReleaseConnectionWithoutResetWhenTransactionCommitted()
+    {
+        EmbeddedChannel channel = newChannel();
+        ChannelPool pool = newChannelPool();
+        DirectConnection connection = newConnection( channel, pool );
+
+        connection.writeAndFlush( new BeginMessage( Bookmarks.empty(), TransactionConfig.empty() ), NO_OP_HANDLER );
+        connection.writeAndFlush( COMMIT, NO_OP_HANDLER );
+        channel.runPendingTasks();
+        messageDispatcher( channel ).handleSuccessMessage( emptyMap() );
+        messageDispatcher( channel ).handleSuccessMessage( emptyMap() );
+        channel.outboundMessages().clear();
+
+        connection.release();
+        channel.runPendingTasks();
+
+        assertEquals( 0, channel.outboundMessages().size() );
+        verify( pool ).release( channel );
+    }
+
+    @Test
+    void shouldSendResetOnReleaseWhenFailureIsNotAcknowledged()
     {
         EmbeddedChannel channel = newChannel();
         DirectConnection connection = newConnection( channel );
 
+        connection.writeAndFlush( new RunMessage( "RETURN 1" ), NO_OP_HANDLER );
+        channel.runPendingTasks();
+        // failure makes the dispatcher write a RESET and wait for its response
+        messageDispatcher( channel ).handleFailureMessage( "Neo.ClientError.Statement.SyntaxError", "Invalid syntax" );
+        channel.outboundMessages().clear();
+
         connection.release();
         channel.runPendingTasks();
 
@@ -130,7 +230,12 @@ class DirectConnectionTest
     @Test
     void shouldWriteForceReleaseInEventLoopThread() throws Exception
     {
-        testWriteInEventLoop( "ReleaseTestEventLoop", DirectConnection::release );
+        testWriteInEventLoop( "ReleaseTestEventLoop", connection ->
+        {
+            // pending response makes release send a RESET
+            connection.write( new RunMessage( "RETURN 1" ), NO_OP_HANDLER );
+            connection.release();
+        } );
     }
 
     @Test
@@ -364,6 +469,7 @@ class DirectConnectionTest
         EmbeddedChannel channel = newChannel();
         DirectConnection connection = newConnection( channel );
 
+        connection.write( new RunMessage( "RETURN 1" ), NO_OP_HANDLER );
         CompletionStage<Void> releaseStage1 = connection.release();
         CompletionStage<Void> releaseStage2 = connection.release();
         CompletionStage<Void> releaseStage3 = connection.release();
@@ -371,7 +477,8 @@ class DirectConnectionTest
         channel.runPendingTasks();
 
         // RESET should be send only once
-        assertEquals( 1, channel.outboundMessages().size() );
+        assertEquals( 2, channel.outboundMessages().size() );
+        assertEquals( new RunMessage( "RETURN 1" ), channel.outboundMessages().poll() );
         assertEquals( RESET, channel.outboundMessages().poll() );
 
         // all returned stages should be the same
@@ -475,6 +582,24 @@ class DirectConnectionTest
         verify( pool ).release( channel );
     }
 
+    @Test
+    void shouldNotRecordStatementMetricsForTransactionControlStatements()
+    {
+        EmbeddedChannel channel = newChannel();
+        MetricsListener metricsListener = mock( MetricsListener.class );
+        DirectConnection connection = new DirectConnection( channel, newChannelPool(), new FakeClock(), metricsListener );
+
+        connection.writeAndFlush( new RunMessage( "BEGIN" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+        connection.writeAndFlush( new RunMessage( "RETURN 1" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+        connection.writeAndFlush( new RunMessage( "COMMIT" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+        connection.writeAndFlush( new RunMessage( "ROLLBACK" ), NO_OP_HANDLER, PULL_ALL, NO_OP_HANDLER );
+
+        verify( metricsListener ).beforeRunningStatement( "RETURN 1" );
+        verify( metricsListener, never() ).beforeRunningStatement( "BEGIN" );
+        verify( metricsListener, never() ).beforeRunningStatement( "COMMIT" );
+        verify( metricsListener, never() ).beforeRunningStatement( "ROLLBACK" );
+    }
+
     @Test
     void shouldSendResetMessageWhenReset()
     {
@@ -530,8 +655,8 @@ class DirectConnectionTest
         CompletableFuture<Void> resetFuture = connection.reset().toCompletableFuture();
         channel.runPendingTasks();
 
-        assertEquals( 1, channel.outboundMessages().size() );
-        assertEquals( RESET, channel.readOutbound() );
+        // clean connection is released without a RESET and reset of a released connection does nothing
+        assertEquals( 0, channel.outboundMessages().size() );
         assertTrue( resetFuture.isDone() );
         assertFalse( resetFuture.isCompletedExceptionally() );
     }
@@ -549,6 +674,25 @@ class DirectConnectionTest
         assertTrue( channel.config().isAutoRead() );
     }
 
+    private static void testResetOnReleaseWithOpenTransaction( Message beginMessage )
+    {
+        EmbeddedChannel channel = newChannel();
+        ChannelPool pool = newChannelPool();
+        DirectConnection connection = newConnection( channel, pool );
+
+        connection.writeAndFlush( beginMessage, NO_OP_HANDLER );
+        channel.runPendingTasks();
+        messageDispatcher( channel ).handleSuccessMessage( emptyMap() );
+        channel.outboundMessages().clear();
+
+        connection.release();
+        channel.runPendingTasks();
+
+        assertEquals( 1, channel.outboundMessages().size() );
+        assertEquals( RESET, channel.readOutbound() );
+        verify( pool, never() ).release( any() );
+    }
+
     private void testWriteInEventLoop( String threadName, Consumer<DirectConnection> action ) throws Exception
     {
         EmbeddedChannel channel = spy( new EmbeddedChannel() );
@@ -595,7 +739,14 @@ class DirectConnectionTest
 
     private static DirectConnection newConnection( Channel channel )
     {
-        return newConnection( channel, mock( ChannelPool.class ) );
+        return newConnection( channel, newChannelPool() );
+    }
+
+    private static ChannelPool newChannelPool()
+    {
+        ChannelPool pool = mock( ChannelPool.class );
+        when( pool.release( any() ) ).thenReturn( ImmediateEventExecutor.INSTANCE.newSucceededFuture( null ) );
+        return pool;
     }
 
     private static DirectConnection newConnection( Channel channel, ChannelPool pool )
@@ -29,6 +29,8 @@ import org.neo4j.driver.internal.InternalStatementResultCursor;
 import org.neo4j.driver.internal.util.Futures;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -136,6 +138,69 @@ class ResultCursorsHolderTest
         assertEquals( error1, await( failureFuture ) );
     }
 
+    @Test
+    void shouldNotGrowWhenCursorsAreDone()
+    {
+        ResultCursorsHolder holder = new ResultCursorsHolder();
+        CompletionStage<InternalStatementResultCursor> doneCursor = doneCursor();
+
+        // long transaction running a lot of statements and consuming their results
+        for ( int i = 0; i < 100_000; i++ )
+        {
+            holder.add( doneCursor );
+        }
+
+        assertThat( holder.size(), lessThanOrEqualTo( 16 ) );
+        assertNull( await( holder.retrieveNotConsumedError() ) );
+    }
+
+    @Test
+    void shouldDropFailedCursorStages()
+    {
+        ResultCursorsHolder holder = new ResultCursorsHolder();
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            holder.add( Futures.failedFuture( new RuntimeException( "Failed to acquire a connection" ) ) );
+        }
+
+        assertThat( holder.size(), lessThanOrEqualTo( 16 ) );
+    }
+
+    @Test
+    void shouldKeepCursorsWithNotConsumedErrorsWhenDoneCursorsAreDropped()
+    {
+        IOException error = new IOException( "IO failed" );
+        ResultCursorsHolder holder = new ResultCursorsHolder();
+        CompletableFuture<Throwable> pendingFailure = new CompletableFuture<>();
+        CompletableFuture<InternalStatementResultCursor> pendingCursor = new CompletableFuture<>();
+        CompletionStage<InternalStatementResultCursor> doneCursor = doneCursor();
+
+        holder.add( cursorWithError( error ) );
+        holder.add( cursorWithFailureFuture( pendingFailure ) );
+        holder.add( pendingCursor );
+        for ( int i = 0; i < 10_000; i++ )
+        {
+            holder.add( doneCursor );
+        }
+
+        assertThat( holder.size(), lessThanOrEqualTo( 16 ) );
+        CompletableFuture<Throwable> failureFuture = holder.retrieveNotConsumedError().toCompletableFuture();
+        assertFalse( failureFuture.isDone() );
+        pendingFailure.complete( null );
+        assertFalse( failureFuture.isDone() );
+        pendingCursor.complete( doneCursor.toCompletableFuture().join() );
+        assertEquals( error, await( failureFuture ) );
+    }
+
+    private static CompletionStage<InternalStatementResultCursor> doneCursor()
+    {
+        InternalStatementResultCursor cursor = mock( InternalStatementResultCursor.class );
+        when( cursor.isDone() ).thenReturn( true );
+        when( cursor.failureAsync() ).thenReturn( completedFuture( null ) );
+        return completedFuture( cursor );
+    }
+
     private static CompletionStage<InternalStatementResultCursor> cursorWithoutError()
     {
         return cursorWithError( null );
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureHandler.REDACTED_MESSAGE;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction.INBOUND;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction.OUTBOUND;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class TrafficCaptureHandlerTest
+{
+    @Test
+    void shouldCaptureInboundAndOutboundBytes() throws Exception
+    {
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        EmbeddedChannel channel = newChannel( capture, 3 );
+
+        channel.writeOutbound( copiedBuffer( new byte[]{1, 2, 3} ) );
+        channel.writeInbound( copiedBuffer( new byte[]{4, 5} ) );
+        channel.writeOutbound( copiedBuffer( new byte[]{6} ) );
+
+        // bytes are passed through unchanged
+        assertBytes( new byte[]{1, 2, 3}, channel.readOutbound() );
+        assertBytes( new byte[]{4, 5}, channel.readInbound() );
+        assertBytes( new byte[]{6}, channel.readOutbound() );
+        channel.finishAndReleaseAll();
+
+        try ( TrafficCaptureReader reader = new TrafficCaptureReader( new ByteArrayInputStream( capture.toByteArray() ) ) )
+        {
+            assertEquals( 3, reader.protocolVersion() );
+            List<TrafficCaptureRecord> records = reader.readAll();
+            assertEquals( 3, records.size() );
+
+            assertRecord( OUTBOUND, REDACTED_MESSAGE, records.get( 0 ) );
+            assertRecord( INBOUND, new byte[]{4, 5}, records.get( 1 ) );
+            assertRecord( OUTBOUND, new byte[]{6}, records.get( 2 ) );
+            assertThat( records.get( 2 ).timestampNanos(), greaterThanOrEqualTo( records.get( 0 ).timestampNanos() ) );
+        }
+    }
+
+    @Test
+    void shouldRedactOnlyFirstOutboundMessage() throws Exception
+    {
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        EmbeddedChannel channel = newChannel( capture, 1 );
+
+        // INIT message with credentials
+        byte[] init = {0, 4, 0x42, 0x01, 0x02, 0x03, 0, 0};
+        byte[] run = {0, 2, 0x10, 0x11, 0, 0};
+        channel.writeOutbound( copiedBuffer( init ) );
+        channel.writeInbound( copiedBuffer( new byte[]{0, 1, 0x70, 0, 0} ) );
+        channel.writeOutbound( copiedBuffer( run ) );
+
+        // server still receives credentials
+        assertBytes( init, channel.readOutbound() );
+        channel.finishAndReleaseAll();
+
+        try ( TrafficCaptureReader reader = new TrafficCaptureReader( new ByteArrayInputStream( capture.toByteArray() ) ) )
+        {
+            List<TrafficCaptureRecord> records = reader.readAll();
+            assertEquals( 3, records.size() );
+            assertRecord( OUTBOUND, new byte[]{0, 0}, records.get( 0 ) );
+            assertRecord( OUTBOUND, run, records.get( 2 ) );
+        }
+    }
+
+    @Test
+    void shouldWriteCaptureUsingGivenExecutor() throws Exception
+    {
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        List<Runnable> tasks = new ArrayList<>();
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new TrafficCaptureHandler( () -> new TrafficCaptureWriter( capture, 1 ), tasks::add, DEV_NULL_LOGGING ) );
+
+        channel.writeOutbound( copiedBuffer( new byte[]{1} ) );
+        channel.writeInbound( copiedBuffer( new byte[]{2, 3} ) );
+        channel.finishAndReleaseAll();
+
+        // nothing is written by the event loop
+        assertEquals( 0, capture.size() );
+
+        tasks.forEach( Runnable::run );
+        try ( TrafficCaptureReader reader = new TrafficCaptureReader( new ByteArrayInputStream( capture.toByteArray() ) ) )
+        {
+            List<TrafficCaptureRecord> records = reader.readAll();
+            assertEquals( 2, records.size() );
+            assertRecord( INBOUND, new byte[]{2, 3}, records.get( 1 ) );
+        }
+    }
+
+    @Test
+    void shouldKeepChannelWorkingWhenCaptureFails() throws Exception
+    {
+        OutputStream failingStream = new OutputStream()
+        {
+            @Override
+            public void write( int b ) throws IOException
+            {
+                throw new IOException( "Disk is full" );
+            }
+        };
+        // header is buffered, stream fails when the buffer is flushed
+        EmbeddedChannel channel = newChannel( failingStream, 1 );
+
+        channel.writeInbound( copiedBuffer( new byte[8192] ) );
+        channel.writeInbound( copiedBuffer( new byte[]{42} ) );
+
+        ByteBuf first = channel.readInbound();
+        assertEquals( 8192, first.readableBytes() );
+        first.release();
+        assertBytes( new byte[]{42}, channel.readInbound() );
+        assertTrue( channel.isActive() );
+    }
+
+    @Test
+    void shouldRejectUnknownCaptureFormat()
+    {
+        assertThrows( IOException.class, () -> new TrafficCaptureReader( new ByteArrayInputStream( new byte[]{0, 0, 0, 0, 1, 0, 0, 0, 1} ) ) );
+    }
+
+    @Test
+    void shouldKeepChannelWorkingWhenCaptureFileCanNotBeCreated()
+    {
+        EmbeddedChannel channel = new EmbeddedChannel( new TrafficCaptureHandler( () ->
+        {
+            throw new IOException( "Permission denied" );
+        }, Runnable::run, DEV_NULL_LOGGING ) );
+
+        channel.writeOutbound( copiedBuffer( new byte[]{1} ) );
+        channel.writeInbound( copiedBuffer( new byte[]{2} ) );
+
+        assertBytes( new byte[]{1}, channel.readOutbound() );
+        assertBytes( new byte[]{2}, channel.readInbound() );
+        assertTrue( channel.isActive() );
+        channel.finishAndReleaseAll();
+    }
+
+    private static EmbeddedChannel newChannel( OutputStream capture, int protocolVersion )
+    {
+        return new EmbeddedChannel( new TrafficCaptureHandler( () -> new TrafficCaptureWriter( capture, protocolVersion ),
+                Runnable::run, DEV_NULL_LOGGING ) );
+    }
+
+    private static void assertRecord( TrafficCaptureRecord.Direction direction, byte[] bytes, TrafficCaptureRecord record )
+    {
+        assertEquals( direction, record.direction() );
+        assertArrayEquals( bytes, record.bytes() );
+    }
+
+    private static void assertBytes( byte[] expected, ByteBuf buf )
+    {
+        byte[] actual = new byte[buf.readableBytes()];
+        buf.readBytes( actual );
+        buf.release();
+        assertArrayEquals( expected, actual );
+    }
+}
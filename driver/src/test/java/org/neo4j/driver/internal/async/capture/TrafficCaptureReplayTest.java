@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.capture;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.neo4j.driver.internal.ConnectionSettings;
+import org.neo4j.driver.internal.DriverFactory;
+import org.neo4j.driver.internal.async.ChannelConnector;
+import org.neo4j.driver.internal.async.ChannelConnectorImpl;
+import org.neo4j.driver.internal.async.ChannelPipelineBuilderImpl;
+import org.neo4j.driver.internal.cluster.RoutingSettings;
+import org.neo4j.driver.internal.messaging.KnowledgeableMessageFormat;
+import org.neo4j.driver.internal.messaging.Message;
+import org.neo4j.driver.internal.messaging.response.RecordMessage;
+import org.neo4j.driver.internal.messaging.response.SuccessMessage;
+import org.neo4j.driver.internal.metrics.MetricsListener;
+import org.neo4j.driver.internal.retry.RetrySettings;
+import org.neo4j.driver.internal.security.SecurityPlan;
+import org.neo4j.driver.internal.util.BoltReplayServer;
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.internal.util.MessageToByteBufWriter;
+import org.neo4j.driver.v1.AuthTokens;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.util.FileTools;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction.INBOUND;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction.OUTBOUND;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.Values.value;
+
+class TrafficCaptureReplayTest
+{
+    private static final Config CONFIG = Config.build().withoutEncryption().withLogging( DEV_NULL_LOGGING ).toConfig();
+
+    private final MessageToByteBufWriter messageWriter = new MessageToByteBufWriter( new KnowledgeableMessageFormat() );
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( "bolt-capture" );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        FileTools.deleteRecursively( directory.toFile() );
+    }
+
+    @Test
+    void shouldCaptureAndReplayTraffic() throws Exception
+    {
+        Path scripted = directory.resolve( "scripted" + CapturingChannelPipelineBuilder.CAPTURE_FILE_SUFFIX );
+        writeScriptedCapture( scripted );
+        Path captureDirectory = Files.createDirectory( directory.resolve( "captured" ) );
+
+        // run against scripted responses and record real driver traffic
+        try ( BoltReplayServer server = BoltReplayServer.start( singletonList( scripted ), 100 );
+              Driver driver = new CapturingDriverFactory( captureDirectory ).newInstance( URI.create( server.boltUri() ),
+                      AuthTokens.none(), RoutingSettings.DEFAULT, RetrySettings.DEFAULT, CONFIG ) )
+        {
+            assertEquals( 42, runReturn42( driver ) );
+        }
+
+        List<Path> captures = BoltReplayServer.capturesIn( captureDirectory );
+        assertEquals( 1, captures.size() );
+
+        // replay recorded traffic as fast as possible
+        try ( BoltReplayServer server = BoltReplayServer.start( captures, Double.POSITIVE_INFINITY );
+              Driver driver = new DriverFactory().newInstance( URI.create( server.boltUri() ),
+                      AuthTokens.none(), RoutingSettings.DEFAULT, RetrySettings.DEFAULT, CONFIG ) )
+        {
+            assertEquals( 42, runReturn42( driver ) );
+        }
+    }
+
+    private static int runReturn42( Driver driver )
+    {
+        try ( Session session = driver.session() )
+        {
+            return session.run( "RETURN 42" ).single().get( 0 ).asInt();
+        }
+    }
+
+    private void writeScriptedCapture( Path file ) throws IOException
+    {
+        try ( TrafficCaptureWriter writer = TrafficCaptureWriter.create( file, 1 ) )
+        {
+            // INIT
+            writer.write( OUTBOUND, 0, dummyMessages( 1 ) );
+            writer.write( INBOUND, MILLISECONDS.toNanos( 1 ), chunked( new SuccessMessage( singletonMap( "server", value( "Neo4j/3.4.0" ) ) ) ) );
+            // RUN and PULL_ALL, connection verifying connectivity is released without a RESET
+            writer.write( OUTBOUND, MILLISECONDS.toNanos( 4 ), dummyMessages( 2 ) );
+            writer.write( INBOUND, MILLISECONDS.toNanos( 50 ), chunked( new SuccessMessage( singletonMap( "fields", value( singletonList( "x" ) ) ) ) ) );
+            writer.write( INBOUND, MILLISECONDS.toNanos( 60 ), chunked( new RecordMessage( new Value[]{value( 42 )} ) ) );
+            writer.write( INBOUND, MILLISECONDS.toNanos( 70 ), chunked( new SuccessMessage( emptyMap() ) ) );
+        }
+    }
+
+    private ByteBuf chunked( Message message )
+    {
+        ByteBuf body = messageWriter.asByteBuf( message );
+        ByteBuf buf = body.alloc().buffer();
+        buf.writeShort( body.readableBytes() ).writeBytes( body ).writeShort( 0 );
+        body.release();
+        return buf;
+    }
+
+    private static byte[] dummyMessages( int count )
+    {
+        // single byte chunk followed by the end of message marker
+        byte[] bytes = new byte[count * 5];
+        for ( int i = 0; i < count; i++ )
+        {
+            bytes[i * 5 + 1] = 1;
+        }
+        return bytes;
+    }
+
+    private static class CapturingDriverFactory extends DriverFactory
+    {
+        final Path captureDirectory;
+
+        CapturingDriverFactory( Path captureDirectory )
+        {
+            this.captureDirectory = captureDirectory;
+        }
+
+        @Override
+        protected ChannelConnector createConnector( ConnectionSettings settings, SecurityPlan securityPlan, Config config, Clock clock,
+                MetricsListener metrics )
+        {
+            return new ChannelConnectorImpl( settings, securityPlan,
+                    // write captures synchronously, so that they are complete when the driver is closed
+                    new CapturingChannelPipelineBuilder( new ChannelPipelineBuilderImpl(), captureDirectory, Runnable::run ),
+                    config.logging(), clock, metrics );
+        }
+    }
+}
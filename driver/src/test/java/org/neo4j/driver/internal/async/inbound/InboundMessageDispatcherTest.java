@@ -280,6 +280,22 @@ class InboundMessageDispatcherTest
         inOrder.verify( handler3, never() ).disableAutoReadManagement();
     }
 
+    @Test
+    void shouldTellAutoReadManagingHandlerSizeOfRecords()
+    {
+        InboundMessageDispatcher dispatcher = newDispatcher();
+        AutoReadManagingResponseHandler handler = mock( AutoReadManagingResponseHandler.class );
+        dispatcher.enqueue( handler );
+
+        Value[] fields = {value( 1 ), value( 2 )};
+        dispatcher.currentMessageSize( 42 );
+        dispatcher.handleRecordMessage( fields );
+
+        InOrder inOrder = inOrder( handler );
+        inOrder.verify( handler ).beforeRecord( 42 );
+        inOrder.verify( handler ).onRecord( fields );
+    }
+
     @Test
     void shouldKeepTrackOfAutoReadManagingHandler()
     {
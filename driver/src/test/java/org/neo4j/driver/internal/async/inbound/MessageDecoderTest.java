@@ -18,14 +18,19 @@
  */
 package org.neo4j.driver.internal.async.inbound;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.neo4j.driver.internal.metrics.InternalEventLoopMetrics;
+
+import static io.netty.buffer.Unpooled.buffer;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setEventLoopMetrics;
 import static org.neo4j.driver.v1.util.TestUtil.assertByteBufEquals;
 
 class MessageDecoderTest
@@ -81,4 +86,102 @@ class MessageDecoderTest
         assertByteBufEquals( wrappedBuffer( new byte[]{4, 5, 6} ), channel.readInbound() );
         assertByteBufEquals( wrappedBuffer( new byte[]{7, 8, 9, 10} ), channel.readInbound() );
     }
+
+    @Test
+    void shouldUseCompositeCumulationByDefault()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", null );
+        EmbeddedChannel channel = newChannel( InboundBuffering.COMPOSITE, metrics );
+
+        writeMessage( channel, 10, 20, 30 );
+
+        assertEquals( 2, metrics.compositeCumulations() );
+        assertEquals( 0, metrics.mergeCumulations() );
+        assertEquals( 0, metrics.cumulationCopiedBytes() );
+        assertByteBufEquals( message( 10, 20, 30 ), channel.readInbound() );
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void shouldUseMergeCumulation()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", null );
+        EmbeddedChannel channel = newChannel( InboundBuffering.MERGE, metrics );
+
+        writeMessage( channel, 10, 20, 30 );
+
+        assertEquals( 0, metrics.compositeCumulations() );
+        assertEquals( 2, metrics.mergeCumulations() );
+        assertTrue( metrics.cumulationCopiedBytes() >= 20 + 30 );
+        assertByteBufEquals( message( 10, 20, 30 ), channel.readInbound() );
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void shouldMergeSmallMessagesAndComposeLargeMessagesInAdaptiveMode()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", null );
+        EmbeddedChannel channel = newChannel( InboundBuffering.ADAPTIVE, metrics );
+        int largeChunk = InboundBuffering.MERGE_THRESHOLD;
+
+        writeMessage( channel, 10, 20 );
+        assertEquals( 1, metrics.mergeCumulations() );
+        assertEquals( 0, metrics.compositeCumulations() );
+        assertByteBufEquals( message( 10, 20 ), channel.readInbound() );
+
+        writeMessage( channel, 10, largeChunk, largeChunk, largeChunk );
+        assertEquals( 1, metrics.mergeCumulations() );
+        assertEquals( 3, metrics.compositeCumulations() );
+        assertByteBufEquals( message( 10, largeChunk, largeChunk, largeChunk ), channel.readInbound() );
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void shouldDecodeWithoutEventLoopMetrics()
+    {
+        EmbeddedChannel channel = new EmbeddedChannel( new MessageDecoder( InboundBuffering.ADAPTIVE ) );
+
+        writeMessage( channel, 10, InboundBuffering.MERGE_THRESHOLD );
+
+        assertByteBufEquals( message( 10, InboundBuffering.MERGE_THRESHOLD ), channel.readInbound() );
+        channel.finishAndReleaseAll();
+    }
+
+    private static EmbeddedChannel newChannel( InboundBuffering buffering, InternalEventLoopMetrics metrics )
+    {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        setEventLoopMetrics( channel, metrics );
+        channel.pipeline().addLast( new MessageDecoder( buffering ) );
+        return channel;
+    }
+
+    private static void writeMessage( EmbeddedChannel channel, int... chunkSizes )
+    {
+        byte value = 0;
+        for ( int size : chunkSizes )
+        {
+            byte[] chunk = new byte[size];
+            for ( int i = 0; i < size; i++ )
+            {
+                chunk[i] = value++;
+            }
+            // copy into a buffer with spare capacity like buffers allocated for socket reads
+            channel.writeInbound( buffer( size * 2 ).writeBytes( chunk ) );
+        }
+        channel.writeInbound( wrappedBuffer( new byte[0] ) );
+    }
+
+    private static ByteBuf message( int... chunkSizes )
+    {
+        ByteBuf result = buffer();
+        byte value = 0;
+        for ( int size : chunkSizes )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                result.writeByte( value++ );
+            }
+        }
+        return result;
+    }
 }
@@ -32,6 +32,7 @@ import java.util.Map;
 import org.neo4j.driver.internal.async.ChannelAttributes;
 import org.neo4j.driver.internal.async.inbound.ChannelErrorHandler;
 import org.neo4j.driver.internal.async.inbound.InboundMessageDispatcher;
+import org.neo4j.driver.internal.logging.RingBufferWireTracer;
 import org.neo4j.driver.internal.messaging.Message;
 import org.neo4j.driver.internal.messaging.MessageFormat;
 import org.neo4j.driver.internal.messaging.request.RunMessage;
@@ -40,6 +41,7 @@ import org.neo4j.driver.internal.packstream.PackOutput;
 import org.neo4j.driver.internal.packstream.PackStream;
 import org.neo4j.driver.v1.Value;
 
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -120,6 +122,19 @@ class OutboundMessageHandlerTest
         assertThat( error.getCause(), instanceOf( PackStream.UnPackable.class ) );
     }
 
+    @Test
+    void shouldTraceWrittenMessages()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 4, 1 );
+        OutboundMessageHandler handler = new OutboundMessageHandler( mockMessageFormatWithWriter( 1, 2, 3 ), DEV_NULL_LOGGING, tracer );
+        channel.pipeline().addLast( handler );
+
+        assertTrue( channel.writeOutbound( PULL_ALL ) );
+
+        // chunk header, message body and message boundary
+        assertThat( tracer.dump( channel.id() ).trim(), endsWith( "C: PULL_ALL (7 bytes)" ) );
+    }
+
     private static MessageFormat mockMessageFormatWithWriter( final int... bytesToWrite )
     {
         MessageFormat messageFormat = mock( MessageFormat.class );
@@ -206,6 +206,41 @@ class LoadBalancerTest
         assertTrue( seenAddresses.containsAll( asList( A, B, C ) ) );
     }
 
+    @Test
+    void shouldAvoidExcludedAddress()
+    {
+        ConnectionPool connectionPool = newConnectionPoolMock();
+
+        RoutingTable routingTable = mock( RoutingTable.class );
+        AddressSet readerAddresses = mock( AddressSet.class );
+        when( readerAddresses.toArray() ).thenReturn( new BoltServerAddress[]{A, B} );
+        when( routingTable.readers() ).thenReturn( readerAddresses );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, mock( Rediscovery.class ),
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGING );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertEquals( B, await( loadBalancer.acquireConnection( READ, A ) ).serverAddress() );
+        }
+    }
+
+    @Test
+    void shouldUseExcludedAddressWhenItIsTheOnlyOne()
+    {
+        ConnectionPool connectionPool = newConnectionPoolMock();
+
+        RoutingTable routingTable = mock( RoutingTable.class );
+        AddressSet readerAddresses = mock( AddressSet.class );
+        when( readerAddresses.toArray() ).thenReturn( new BoltServerAddress[]{A} );
+        when( routingTable.readers() ).thenReturn( readerAddresses );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, mock( Rediscovery.class ),
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGING );
+
+        assertEquals( A, await( loadBalancer.acquireConnection( READ, A ) ).serverAddress() );
+    }
+
     @Test
     void shouldTryMultipleServersAfterRediscovery()
     {
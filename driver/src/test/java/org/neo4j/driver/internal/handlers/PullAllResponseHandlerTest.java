@@ -22,12 +22,17 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.BookmarksHolder;
 import org.neo4j.driver.internal.InternalRecord;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.util.ServerVersion;
@@ -45,12 +50,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -62,6 +69,9 @@ import static org.neo4j.driver.v1.util.TestUtil.await;
 
 class PullAllResponseHandlerTest
 {
+    private static final int RECORD_SIZE = 1024;
+    private static final int RECORDS_ABOVE_HIGH_WATERMARK = (int) (RecordBufferFlowControl.INITIAL_HIGH_WATERMARK / RECORD_SIZE) + 1;
+
     @Test
     void shouldReturnNoFailureWhenAlreadySucceeded()
     {
@@ -114,6 +124,29 @@ class PullAllResponseHandlerTest
         assertEquals( failure, await( failureFuture ) );
     }
 
+    @Test
+    void shouldBeDoneWhenSucceeded()
+    {
+        PullAllResponseHandler handler = newHandler();
+        assertFalse( handler.isDone() );
+
+        handler.onSuccess( emptyMap() );
+
+        assertTrue( handler.isDone() );
+    }
+
+    @Test
+    void shouldBeDoneWhenFailureConsumed()
+    {
+        PullAllResponseHandler handler = newHandler();
+
+        handler.onFailure( new RuntimeException( "Ops" ) );
+        assertFalse( handler.isDone() );
+
+        await( handler.failureAsync() );
+        assertTrue( handler.isDone() );
+    }
+
     @Test
     void shouldReturnFailureWhenRequestedMultipleTimes()
     {
@@ -591,9 +624,9 @@ class PullAllResponseHandlerTest
         Connection connection = connectionMock();
         PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
 
-        for ( int i = 0; i < PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 1; i++ )
+        for ( int i = 0; i < RECORDS_ABOVE_HIGH_WATERMARK; i++ )
         {
-            handler.onRecord( values( 100, 200 ) );
+            onRecord( handler, values( 100, 200 ) );
         }
 
         verify( connection ).disableAutoRead();
@@ -607,15 +640,15 @@ class PullAllResponseHandlerTest
         PullAllResponseHandler handler = newHandler( keys, connection );
 
         int i;
-        for ( i = 0; i < PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 1; i++ )
+        for ( i = 0; i < RECORDS_ABOVE_HIGH_WATERMARK; i++ )
         {
-            handler.onRecord( values( 100, 200 ) );
+            onRecord( handler, values( 100, 200 ) );
         }
 
         verify( connection, never() ).enableAutoRead();
         verify( connection ).disableAutoRead();
 
-        while ( i-- > PullAllResponseHandler.RECORD_BUFFER_LOW_WATERMARK - 1 )
+        while ( (long) i-- * RECORD_SIZE >= RecordBufferFlowControl.INITIAL_HIGH_WATERMARK / 3 )
         {
             Record record = await( handler.nextAsync() );
             assertNotNull( record );
@@ -623,7 +656,41 @@ class PullAllResponseHandlerTest
             assertEquals( 100, record.get( "key1" ).asInt() );
             assertEquals( 200, record.get( "key2" ).asInt() );
         }
-        verify( connection ).enableAutoRead();
+        verify( connection, atLeastOnce() ).enableAutoRead();
+    }
+
+    @Test
+    void shouldNotDisableAutoReadWhenManySmallRecordsArrive()
+    {
+        Connection connection = connectionMock();
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
+
+        for ( int i = 0; i < RECORDS_ABOVE_HIGH_WATERMARK * 10; i++ )
+        {
+            handler.beforeRecord( 10 );
+            handler.onRecord( values( 1, 2 ) );
+        }
+
+        verify( connection, never() ).disableAutoRead();
+    }
+
+    @Test
+    void shouldDisableAutoReadWhenConfiguredMaxRecordBufferSizeExceeded()
+    {
+        Connection connection = connectionMock();
+        RunResponseHandler runResponseHandler = new RunResponseHandler( new CompletableFuture<>(), METADATA_EXTRACTOR );
+        runResponseHandler.onSuccess( singletonMap( "fields", value( asList( "key1", "key2" ) ) ) );
+        PullAllResponseHandler handler = new SessionPullAllResponseHandler( new Statement( "RETURN 1" ), runResponseHandler, connection,
+                BookmarksHolder.NO_OP, METADATA_EXTRACTOR, 10 * RECORD_SIZE );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            onRecord( handler, values( 1, 2 ) );
+        }
+        verify( connection, never() ).disableAutoRead();
+
+        onRecord( handler, values( 3, 4 ) );
+        verify( connection ).disableAutoRead();
     }
 
     @Test
@@ -636,10 +703,10 @@ class PullAllResponseHandlerTest
         CompletableFuture<ResultSummary> summaryFuture = handler.summaryAsync().toCompletableFuture();
         assertFalse( summaryFuture.isDone() );
 
-        int recordCount = PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 10;
+        int recordCount = RECORDS_ABOVE_HIGH_WATERMARK + 10;
         for ( int i = 0; i < recordCount; i++ )
         {
-            handler.onRecord( values( "a", "b" ) );
+            onRecord( handler, values( "a", "b" ) );
         }
 
         verify( connection, never() ).disableAutoRead();
@@ -672,10 +739,10 @@ class PullAllResponseHandlerTest
         CompletableFuture<Throwable> failureFuture = handler.failureAsync().toCompletableFuture();
         assertFalse( failureFuture.isDone() );
 
-        int recordCount = PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 5;
+        int recordCount = RECORDS_ABOVE_HIGH_WATERMARK + 5;
         for ( int i = 0; i < recordCount; i++ )
         {
-            handler.onRecord( values( 123, 456 ) );
+            onRecord( handler, values( 123, 456 ) );
         }
 
         verify( connection, never() ).disableAutoRead();
@@ -760,14 +827,58 @@ class PullAllResponseHandlerTest
         PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
         handler.disableAutoReadManagement();
 
-        for ( int i = 0; i < PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 1; i++ )
+        for ( int i = 0; i < RECORDS_ABOVE_HIGH_WATERMARK; i++ )
         {
-            handler.onRecord( values( 100, 200 ) );
+            onRecord( handler, values( 100, 200 ) );
         }
 
         verify( connection, never() ).disableAutoRead();
     }
 
+    @Test
+    void shouldDeliverAllRecordsWhenProducerAndConsumerRunConcurrently() throws Exception
+    {
+        int handlerCount = 200;
+        int recordCount = 100;
+        ExecutorService producers = Executors.newFixedThreadPool( 4 );
+        ExecutorService consumers = Executors.newFixedThreadPool( 16 );
+        try
+        {
+            List<Future<Integer>> consumed = new ArrayList<>();
+            for ( int i = 0; i < handlerCount; i++ )
+            {
+                PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ) );
+                consumed.add( consumers.submit( () ->
+                {
+                    int count = 0;
+                    while ( await( handler.nextAsync() ) != null )
+                    {
+                        count++;
+                    }
+                    return count;
+                } ) );
+                producers.submit( () ->
+                {
+                    for ( int j = 0; j < recordCount; j++ )
+                    {
+                        handler.onRecord( values( j, j ) );
+                    }
+                    handler.onSuccess( emptyMap() );
+                } );
+            }
+
+            for ( Future<Integer> future : consumed )
+            {
+                assertEquals( recordCount, future.get( 30, SECONDS ).intValue() );
+            }
+        }
+        finally
+        {
+            producers.shutdownNow();
+            consumers.shutdownNow();
+        }
+    }
+
     @Test
     void shouldPropagateFailureFromListAsync()
     {
@@ -1089,6 +1200,12 @@ class PullAllResponseHandlerTest
         return new TestPullAllResponseHandler( statement, runResponseHandler, connection );
     }
 
+    private static void onRecord( PullAllResponseHandler handler, Value[] fields )
+    {
+        handler.beforeRecord( RECORD_SIZE );
+        handler.onRecord( fields );
+    }
+
     private static Connection connectionMock()
     {
         Connection connection = mock( Connection.class );
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.util.FakeClock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.INITIAL_HIGH_WATERMARK;
+
+class RecordBufferFlowControlTest
+{
+    private final FakeClock clock = new FakeClock();
+
+    @Test
+    void shouldFailToCreateWithNonPositiveMaxSize()
+    {
+        assertThrows( IllegalArgumentException.class, () -> new RecordBufferFlowControl( 0, clock ) );
+        assertThrows( IllegalArgumentException.class, () -> new RecordBufferFlowControl( -1, clock ) );
+    }
+
+    @Test
+    void shouldHaveInitialWatermarks()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+
+        assertEquals( INITIAL_HIGH_WATERMARK, flowControl.highWatermark() );
+        assertEquals( INITIAL_HIGH_WATERMARK / 3, flowControl.lowWatermark() );
+    }
+
+    @Test
+    void shouldLimitInitialHighWatermarkByMaxSize()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( 1000, clock );
+
+        assertEquals( 1000, flowControl.highWatermark() );
+    }
+
+    @Test
+    void shouldTrackSizesOfBufferedRecordsInOrder()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+
+        long expectedBytes = 0;
+        for ( int i = 1; i <= 100; i++ )
+        {
+            flowControl.recordAdded( i );
+            expectedBytes += i;
+        }
+        assertEquals( expectedBytes, flowControl.bufferedBytes() );
+
+        for ( int i = 1; i <= 100; i++ )
+        {
+            flowControl.recordRemoved();
+            expectedBytes -= i;
+            assertEquals( expectedBytes, flowControl.bufferedBytes() );
+        }
+    }
+
+    @Test
+    void shouldReportWatermarks()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+
+        flowControl.recordAdded( (int) INITIAL_HIGH_WATERMARK );
+        assertFalse( flowControl.isAboveHighWatermark() );
+        assertFalse( flowControl.isBelowLowWatermark() );
+
+        flowControl.recordAdded( 1 );
+        assertTrue( flowControl.isAboveHighWatermark() );
+
+        flowControl.recordRemoved();
+        assertFalse( flowControl.isAboveHighWatermark() );
+        assertTrue( flowControl.isBelowLowWatermark() );
+    }
+
+    @Test
+    void shouldFailToRemoveFromEmptyBuffer()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+
+        assertThrows( IllegalStateException.class, flowControl::recordRemoved );
+    }
+
+    @Test
+    void shouldClear()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+        flowControl.recordAdded( 42 );
+        flowControl.recordAdded( 42 );
+
+        flowControl.cleared();
+
+        assertEquals( 0, flowControl.bufferedBytes() );
+        assertThrows( IllegalStateException.class, flowControl::recordRemoved );
+    }
+
+    @Test
+    void shouldIncreaseHighWatermarkForFastConsumer()
+    {
+        long maxSize = 100 * 1024 * 1024;
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( maxSize, clock );
+
+        // consumer drains 100 records of 1KB every millisecond, which is 100KB/ms
+        drain( flowControl, 2000, 1024, 100 );
+
+        long expectedHighWatermark = 100 * 1024 * RecordBufferFlowControl.READ_AHEAD_MILLIS;
+        assertEquals( expectedHighWatermark, flowControl.highWatermark() );
+        assertEquals( expectedHighWatermark / 3, flowControl.lowWatermark() );
+    }
+
+    @Test
+    void shouldNotIncreaseHighWatermarkAboveMaxSize()
+    {
+        long maxSize = 256 * 1024;
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( maxSize, clock );
+
+        drain( flowControl, 2000, 1024, 100 );
+
+        assertEquals( maxSize, flowControl.highWatermark() );
+    }
+
+    @Test
+    void shouldDecreaseHighWatermarkForSlowConsumer()
+    {
+        RecordBufferFlowControl flowControl = new RecordBufferFlowControl( DEFAULT_MAX_RECORD_BUFFER_SIZE, clock );
+
+        drain( flowControl, 2000, 1024, 100 );
+        assertEquals( DEFAULT_MAX_RECORD_BUFFER_SIZE, flowControl.highWatermark() );
+
+        // consumer now drains a single record of 1KB every 100 milliseconds
+        for ( int i = 0; i < 20; i++ )
+        {
+            flowControl.recordAdded( 1024 );
+            clock.progress( 100 );
+            flowControl.recordRemoved();
+        }
+
+        assertEquals( INITIAL_HIGH_WATERMARK, flowControl.highWatermark() );
+    }
+
+    private void drain( RecordBufferFlowControl flowControl, int recordCount, int recordSize, int recordsPerMilli )
+    {
+        for ( int i = 0; i < recordCount; i++ )
+        {
+            flowControl.recordAdded( recordSize );
+        }
+        for ( int i = 0; i < recordCount; i++ )
+        {
+            if ( i % recordsPerMilli == 0 )
+            {
+                clock.progress( 1 );
+            }
+            flowControl.recordRemoved();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.logging;
+
+import io.netty.channel.ChannelId;
+import io.netty.channel.DefaultChannelId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.internal.messaging.request.PullAllMessage;
+import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.response.FailureMessage;
+import org.neo4j.driver.internal.messaging.response.RecordMessage;
+import org.neo4j.driver.internal.messaging.response.SuccessMessage;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.logging.DevNullWireTracer.DEV_NULL_WIRE_TRACER;
+
+class RingBufferWireTracerTest
+{
+    private final ChannelId channelId1 = DefaultChannelId.newInstance();
+    private final ChannelId channelId2 = DefaultChannelId.newInstance();
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo()
+    {
+        assertEquals( 1, new RingBufferWireTracer( 1, 1 ).capacity() );
+        assertEquals( 8, new RingBufferWireTracer( 8, 1 ).capacity() );
+        assertEquals( 16, new RingBufferWireTracer( 9, 1 ).capacity() );
+    }
+
+    @Test
+    void shouldFailToCreateWithIllegalArguments()
+    {
+        assertThrows( IllegalArgumentException.class, () -> new RingBufferWireTracer( 0, 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> new RingBufferWireTracer( 8, 0 ) );
+    }
+
+    @Test
+    void shouldDumpEventsInOrder()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 16, 1 );
+
+        tracer.messageSent( channelId1, RunMessage.SIGNATURE, 42 );
+        tracer.messageSent( channelId1, PullAllMessage.SIGNATURE, 4 );
+        tracer.messageReceived( channelId1, SuccessMessage.SIGNATURE, 10 );
+        tracer.messageReceived( channelId1, FailureMessage.SIGNATURE, 99 );
+
+        String[] lines = lines( tracer.dump() );
+        assertEquals( 4, lines.length );
+        assertThat( lines[0], endsWith( "C: RUN (42 bytes)" ) );
+        assertThat( lines[1], endsWith( "C: PULL_ALL (4 bytes)" ) );
+        assertThat( lines[2], endsWith( "S: SUCCESS (10 bytes)" ) );
+        assertThat( lines[3], endsWith( "S: FAILURE (99 bytes)" ) );
+        assertThat( lines[0], containsString( channelId1.toString() ) );
+    }
+
+    @Test
+    void shouldRenderUnknownSignatures()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 4, 1 );
+
+        tracer.messageReceived( channelId1, (byte) 0x55, 3 );
+
+        assertThat( tracer.dump(), containsString( "S: UNKNOWN(0x55) (3 bytes)" ) );
+    }
+
+    @Test
+    void shouldKeepOnlyMostRecentEvents()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 4, 1 );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            tracer.messageSent( channelId1, RunMessage.SIGNATURE, i );
+        }
+
+        String[] lines = lines( tracer.dump() );
+        assertEquals( 4, lines.length );
+        for ( int i = 0; i < 4; i++ )
+        {
+            assertThat( lines[i], endsWith( "(" + (i + 6) + " bytes)" ) );
+        }
+    }
+
+    @Test
+    void shouldDumpEventsOfSingleChannel()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 16, 1 );
+
+        tracer.messageSent( channelId1, RunMessage.SIGNATURE, 1 );
+        tracer.messageSent( channelId2, RunMessage.SIGNATURE, 2 );
+        tracer.messageReceived( channelId1, SuccessMessage.SIGNATURE, 3 );
+        tracer.messageReceived( channelId2, SuccessMessage.SIGNATURE, 4 );
+
+        String dump = tracer.dump( channelId2 );
+        assertEquals( 2, lines( dump ).length );
+        assertThat( dump, containsString( "(2 bytes)" ) );
+        assertThat( dump, containsString( "(4 bytes)" ) );
+        assertThat( dump, not( containsString( channelId1.toString() ) ) );
+    }
+
+    @Test
+    void shouldSampleRecordMessages()
+    {
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 1024, 10 );
+
+        for ( int i = 0; i < 1000; i++ )
+        {
+            tracer.messageReceived( channelId1, RecordMessage.SIGNATURE, 5 );
+        }
+        tracer.messageReceived( channelId1, SuccessMessage.SIGNATURE, 5 );
+
+        String[] lines = lines( tracer.dump() );
+        assertThat( lines.length, lessThan( 500 ) );
+        assertThat( lines[lines.length - 1], endsWith( "S: SUCCESS (5 bytes)" ) );
+    }
+
+    @Test
+    void shouldRecordFromConcurrentThreads() throws Exception
+    {
+        int threads = 4;
+        int eventsPerThread = 10_000;
+        RingBufferWireTracer tracer = new RingBufferWireTracer( 256, 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( threads + 1 );
+        try
+        {
+            CountDownLatch startLatch = new CountDownLatch( 1 );
+            List<Future<?>> writers = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                writers.add( executor.submit( () ->
+                {
+                    ChannelId channelId = DefaultChannelId.newInstance();
+                    startLatch.await();
+                    for ( int j = 0; j < eventsPerThread; j++ )
+                    {
+                        tracer.messageSent( channelId, RunMessage.SIGNATURE, j );
+                    }
+                    return null;
+                } ) );
+            }
+            Future<?> reader = executor.submit( () ->
+            {
+                startLatch.await();
+                for ( int i = 0; i < 100; i++ )
+                {
+                    for ( String line : lines( tracer.dump() ) )
+                    {
+                        assertThat( line, containsString( "C: RUN" ) );
+                    }
+                }
+                return null;
+            } );
+
+            startLatch.countDown();
+            for ( Future<?> writer : writers )
+            {
+                writer.get( 1, TimeUnit.MINUTES );
+            }
+            reader.get( 1, TimeUnit.MINUTES );
+
+            assertEquals( 256, lines( tracer.dump() ).length );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void devNullTracerShouldBeDisabled()
+    {
+        assertFalse( DEV_NULL_WIRE_TRACER.isEnabled() );
+        DEV_NULL_WIRE_TRACER.messageSent( channelId1, RunMessage.SIGNATURE, 1 );
+        assertEquals( "", DEV_NULL_WIRE_TRACER.dump() );
+        assertTrue( new RingBufferWireTracer( 1, 1 ).isEnabled() );
+    }
+
+    private static String[] lines( String dump )
+    {
+        return dump.isEmpty() ? new String[0] : dump.split( System.lineSeparator() );
+    }
+}
@@ -30,9 +30,12 @@ import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.messaging.request.BeginMessage;
 import org.neo4j.driver.v1.Value;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.neo4j.driver.internal.messaging.request.ResetMessage.RESET;
 import static org.neo4j.driver.v1.Values.value;
 
@@ -56,13 +59,28 @@ class BeginMessageEncoderTest
 
         InOrder order = inOrder( packer );
         order.verify( packer ).packStructHeader( 1, BeginMessage.SIGNATURE );
+        order.verify( packer ).packMapHeader( 3 );
 
-        Map<String,Value> expectedMetadata = new HashMap<>();
-        expectedMetadata.put( "bookmarks", value( bookmarks.values() ) );
-        expectedMetadata.put( "tx_timeout", value( 1000 ) );
-        expectedMetadata.put( "tx_metadata", value( txMetadata ) );
+        // bookmarks are packed from their pre-encoded form
+        verify( packer ).pack( "bookmarks" );
+        verify( packer ).packListHeader( 1 );
+        verify( packer ).packUtf8( "neo4j:bookmark:v1:tx42".getBytes( UTF_8 ) );
+        verify( packer ).pack( "tx_timeout" );
+        verify( packer ).pack( value( 1000 ) );
+        verify( packer ).pack( "tx_metadata" );
+        verify( packer ).pack( value( txMetadata ) );
+    }
+
+    @Test
+    void shouldEncodeBeginMessageWithoutBookmarks() throws Exception
+    {
+        Duration txTimeout = Duration.ofSeconds( 1 );
+
+        encoder.encode( new BeginMessage( Bookmarks.empty(), txTimeout, null ), packer );
 
-        order.verify( packer ).pack( expectedMetadata );
+        InOrder order = inOrder( packer );
+        order.verify( packer ).packStructHeader( 1, BeginMessage.SIGNATURE );
+        order.verify( packer ).pack( singletonMap( "tx_timeout", value( 1000 ) ) );
     }
 
     @Test
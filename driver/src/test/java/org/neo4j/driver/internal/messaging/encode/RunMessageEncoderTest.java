@@ -26,12 +26,16 @@ import java.util.Map;
 import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.messaging.request.DiscardAllMessage;
 import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.request.StatementTemplate;
 import org.neo4j.driver.v1.Value;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.neo4j.driver.v1.Values.value;
 
 class RunMessageEncoderTest
@@ -52,6 +56,23 @@ class RunMessageEncoderTest
         order.verify( packer ).pack( params );
     }
 
+    @Test
+    void shouldEncodePreparedRunMessage() throws Exception
+    {
+        Map<String,Value> params = singletonMap( "answer", value( 42 ) );
+        StatementTemplate template = new StatementTemplate( "RETURN $answer", params.keySet() );
+
+        encoder.encode( new RunMessage( template, params ), packer );
+
+        InOrder order = inOrder( packer );
+        order.verify( packer ).packStructHeader( 2, RunMessage.SIGNATURE );
+        order.verify( packer ).packUtf8( "RETURN $answer".getBytes( UTF_8 ) );
+        order.verify( packer ).packMapHeader( 1 );
+        order.verify( packer ).packUtf8( "answer".getBytes( UTF_8 ) );
+        order.verify( packer ).pack( value( 42 ) );
+        verify( packer, never() ).pack( params );
+    }
+
     @Test
     void shouldFailToEncodeWrongMessage()
     {
@@ -28,12 +28,17 @@ import java.util.Map;
 import org.neo4j.driver.internal.Bookmarks;
 import org.neo4j.driver.internal.messaging.ValuePacker;
 import org.neo4j.driver.internal.messaging.request.RunWithMetadataMessage;
+import org.neo4j.driver.internal.messaging.request.StatementTemplate;
+import org.neo4j.driver.v1.TransactionConfig;
 import org.neo4j.driver.v1.Value;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.neo4j.driver.internal.messaging.request.DiscardAllMessage.DISCARD_ALL;
 import static org.neo4j.driver.v1.Values.value;
 
@@ -62,13 +67,33 @@ class RunWithMetadataMessageEncoderTest
         order.verify( packer ).packStructHeader( 3, RunWithMetadataMessage.SIGNATURE );
         order.verify( packer ).pack( "RETURN $answer" );
         order.verify( packer ).pack( params );
+        order.verify( packer ).packMapHeader( 3 );
 
-        Map<String,Value> expectedMetadata = new HashMap<>();
-        expectedMetadata.put( "bookmarks", value( bookmarks.values() ) );
-        expectedMetadata.put( "tx_timeout", value( 42 ) );
-        expectedMetadata.put( "tx_metadata", value( txMetadata ) );
+        // bookmarks are packed from their pre-encoded form
+        verify( packer ).pack( "bookmarks" );
+        verify( packer ).packListHeader( 1 );
+        verify( packer ).packUtf8( "neo4j:bookmark:v1:tx999".getBytes( UTF_8 ) );
+        verify( packer ).pack( "tx_timeout" );
+        verify( packer ).pack( value( 42 ) );
+        verify( packer ).pack( "tx_metadata" );
+        verify( packer ).pack( value( txMetadata ) );
+    }
+
+    @Test
+    void shouldEncodePreparedRunWithMetadataMessage() throws Exception
+    {
+        Map<String,Value> params = singletonMap( "answer", value( 42 ) );
+        StatementTemplate template = new StatementTemplate( "RETURN $answer", params.keySet() );
+
+        encoder.encode( new RunWithMetadataMessage( template, params, Bookmarks.empty(), TransactionConfig.empty() ), packer );
 
-        order.verify( packer ).pack( expectedMetadata );
+        InOrder order = inOrder( packer );
+        order.verify( packer ).packStructHeader( 3, RunWithMetadataMessage.SIGNATURE );
+        order.verify( packer ).packUtf8( "RETURN $answer".getBytes( UTF_8 ) );
+        order.verify( packer ).packMapHeader( 1 );
+        order.verify( packer ).packUtf8( "answer".getBytes( UTF_8 ) );
+        order.verify( packer ).pack( value( 42 ) );
+        order.verify( packer ).pack( emptyMap() );
     }
 
     @Test
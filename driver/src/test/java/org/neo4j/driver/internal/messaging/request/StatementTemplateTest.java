@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.messaging.request;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.neo4j.driver.internal.async.inbound.ByteBufInput;
+import org.neo4j.driver.internal.messaging.v1.MessageFormatV1;
+import org.neo4j.driver.internal.messaging.v1.ValueUnpackerV1;
+import org.neo4j.driver.internal.packstream.PackStream;
+import org.neo4j.driver.internal.util.MessageToByteBufWriter;
+import org.neo4j.driver.v1.Value;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.v1.Values.value;
+
+class StatementTemplateTest
+{
+    private final MessageToByteBufWriter writer = new MessageToByteBufWriter( new MessageFormatV1() );
+
+    @Test
+    void shouldMatchParametersWithSameKeys()
+    {
+        StatementTemplate template = new StatementTemplate( "RETURN $a, $b", asList( "a", "b" ) );
+
+        assertTrue( template.matches( parameters( "b", 1, "a", 2 ) ) );
+        assertFalse( template.matches( parameters( "a", 1 ) ) );
+        assertFalse( template.matches( parameters( "a", 1, "c", 2 ) ) );
+        assertFalse( template.matches( parameters( "a", 1, "b", 2, "c", 3 ) ) );
+    }
+
+    @Test
+    void shouldEncodeParametersInTemplateOrder()
+    {
+        Map<String,Value> params = parameters( "name", "Молоко", "age", 42 );
+        StatementTemplate template = new StatementTemplate( "CREATE (:Person {name: $name, age: $age}) // ü", params.keySet() );
+
+        Map<String,Value> reorderedParams = new LinkedHashMap<>();
+        reorderedParams.put( "age", value( 42 ) );
+        reorderedParams.put( "name", value( "Молоко" ) );
+
+        ByteBuf expected = writer.asByteBuf( new RunMessage( template.text(), params ) );
+
+        assertEquals( expected, writer.asByteBuf( new RunMessage( template, params ) ) );
+        assertEquals( expected, writer.asByteBuf( new RunMessage( template, reorderedParams ) ) );
+    }
+
+    @Test
+    void shouldEncodeSameStatementAndParametersAsRegularRunMessage() throws IOException
+    {
+        Map<String,Value> params = new LinkedHashMap<>();
+        params.put( "name", value( "Молоко" ) );
+        params.put( "age", value( 42 ) );
+        params.put( "tags", value( asList( "a", "b" ) ) );
+        StatementTemplate template = new StatementTemplate( "CREATE (:Person {name: $name, age: $age, tags: $tags})", params.keySet() );
+
+        Map<String,Value> reorderedParams = new LinkedHashMap<>();
+        reorderedParams.put( "tags", value( asList( "a", "b" ) ) );
+        reorderedParams.put( "age", value( 42 ) );
+        reorderedParams.put( "name", value( "Молоко" ) );
+
+        // template keeps the order of its parameter names, regular encoding follows the iteration order of the map
+        ByteBuf templateBytes = writer.asByteBuf( new RunMessage( template, reorderedParams ) );
+        ByteBuf regularBytes = writer.asByteBuf( new RunMessage( template.text(), reorderedParams ) );
+
+        assertNotEquals( regularBytes, templateBytes );
+
+        RunMessage decoded = decodeRunMessage( templateBytes );
+        assertEquals( decodeRunMessage( regularBytes ), decoded );
+        assertEquals( params, decoded.parameters() );
+    }
+
+    @Test
+    void shouldFallBackToRegularEncodingWhenParametersDoNotMatch()
+    {
+        StatementTemplate template = new StatementTemplate( "RETURN $x", singletonMap( "x", value( 1 ) ).keySet() );
+        Map<String,Value> params = parameters( "y", 1, "z", 2 );
+
+        ByteBuf expected = writer.asByteBuf( new RunMessage( "RETURN $x", params ) );
+        ByteBuf actual = writer.asByteBuf( new RunMessage( template, params ) );
+
+        assertEquals( expected, actual );
+    }
+
+    private static RunMessage decodeRunMessage( ByteBuf buf ) throws IOException
+    {
+        ByteBufInput input = new ByteBufInput();
+        input.start( buf );
+        PackStream.Unpacker unpacker = new PackStream.Unpacker( input );
+        assertEquals( 2, unpacker.unpackStructHeader() );
+        assertEquals( RunMessage.SIGNATURE, unpacker.unpackStructSignature() );
+        String statement = unpacker.unpackString();
+        Map<String,Value> parameters = new ValueUnpackerV1( input ).unpackMap();
+        input.stop();
+        return new RunMessage( statement, parameters );
+    }
+
+    private static Map<String,Value> parameters( Object... keysAndValues )
+    {
+        Map<String,Value> result = new HashMap<>();
+        for ( int i = 0; i < keysAndValues.length; i += 2 )
+        {
+            result.put( (String) keysAndValues[i], value( keysAndValues[i + 1] ) );
+        }
+        return result;
+    }
+}
@@ -76,6 +76,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.Futures.blockingGet;
 import static org.neo4j.driver.v1.Values.value;
 import static org.neo4j.driver.v1.util.TestUtil.DEFAULT_TEST_PROTOCOL;
@@ -271,7 +272,7 @@ public class BoltProtocolV1Test
                 .build();
 
         CompletionStage<InternalStatementResultCursor> cursorFuture = protocol.runInAutoCommitTransaction( connectionMock(), new Statement( "RETURN 1" ),
-                BookmarksHolder.NO_OP, config, true );
+                BookmarksHolder.NO_OP, config, DEFAULT_MAX_RECORD_BUFFER_SIZE, true );
 
         ClientException e = assertThrows( ClientException.class, () -> await( cursorFuture ) );
         assertThat( e.getMessage(), startsWith( "Driver is connected to the database that does not support transaction configuration" ) );
@@ -295,11 +296,11 @@ public class BoltProtocolV1Test
         if ( autoCommitTx )
         {
 
-            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, BookmarksHolder.NO_OP, TransactionConfig.empty(), false );
+            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, BookmarksHolder.NO_OP, TransactionConfig.empty(), DEFAULT_MAX_RECORD_BUFFER_SIZE, false );
         }
         else
         {
-            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, mock( ExplicitTransaction.class ), false );
+            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, explicitTransactionMock(), false );
         }
         CompletableFuture<InternalStatementResultCursor> cursorFuture = cursorStage.toCompletableFuture();
 
@@ -315,11 +316,11 @@ public class BoltProtocolV1Test
         CompletionStage<InternalStatementResultCursor> cursorStage;
         if ( session )
         {
-            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, BookmarksHolder.NO_OP, TransactionConfig.empty(), true );
+            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, BookmarksHolder.NO_OP, TransactionConfig.empty(), DEFAULT_MAX_RECORD_BUFFER_SIZE, true );
         }
         else
         {
-            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, mock( ExplicitTransaction.class ), true );
+            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, explicitTransactionMock(), true );
         }
         CompletableFuture<InternalStatementResultCursor> cursorFuture = cursorStage.toCompletableFuture();
 
@@ -368,4 +369,11 @@ public class BoltProtocolV1Test
         authToken.put( "password", value( "world" ) );
         return authToken;
     }
+
+    private static ExplicitTransaction explicitTransactionMock()
+    {
+        ExplicitTransaction tx = mock( ExplicitTransaction.class );
+        when( tx.maxRecordBufferSize() ).thenReturn( DEFAULT_MAX_RECORD_BUFFER_SIZE );
+        return tx;
+    }
 }
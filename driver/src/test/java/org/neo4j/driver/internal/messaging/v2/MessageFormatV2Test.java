@@ -44,6 +44,7 @@ import org.neo4j.driver.internal.messaging.response.RecordMessage;
 import org.neo4j.driver.internal.packstream.PackOutput;
 import org.neo4j.driver.internal.util.ByteBufOutput;
 import org.neo4j.driver.internal.util.ThrowingConsumer;
+import org.neo4j.driver.internal.value.LazyDateTimeValue;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.Values;
 import org.neo4j.driver.v1.types.IsoDuration;
@@ -55,6 +56,8 @@ import static java.time.Month.DECEMBER;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -344,6 +347,24 @@ class MessageFormatV2Test
         assertEquals( dateTime, unpacked );
     }
 
+    @Test
+    void shouldReadZonedDateTimeWithZoneIdLazily() throws Exception
+    {
+        String zoneName = "Asia/Tokyo";
+        ZonedDateTime dateTime = ZonedDateTime.of( 2018, 6, 1, 12, 30, 0, 42, ZoneId.of( zoneName ) );
+
+        Value unpacked = packAndUnpack( packer ->
+        {
+            packer.packStructHeader( 3, (byte) 'f' );
+            packer.pack( localEpochSecondOf( dateTime ) );
+            packer.pack( dateTime.toInstant().getNano() );
+            packer.pack( zoneName );
+        }, true );
+
+        assertThat( unpacked, instanceOf( LazyDateTimeValue.class ) );
+        assertEquals( dateTime, unpacked.asZonedDateTime() );
+    }
+
     @Test
     void shouldWriteDuration() throws Exception
     {
@@ -381,6 +402,11 @@ class MessageFormatV2Test
     }
 
     private Object packAndUnpackValue( ThrowingConsumer<Packer> packAction ) throws Exception
+    {
+        return packAndUnpack( packAction, false ).asObject();
+    }
+
+    private Value packAndUnpack( ThrowingConsumer<Packer> packAction, boolean lazyDateTimeValues ) throws Exception
     {
         ByteBuf buf = Unpooled.buffer();
         try
@@ -392,7 +418,7 @@ class MessageFormatV2Test
 
             ByteBufInput input = new ByteBufInput();
             input.start( buf );
-            MessageFormat.Reader reader = messageFormat.newReader( input );
+            MessageFormat.Reader reader = messageFormat.newReader( input, lazyDateTimeValues );
 
             List<Value> values = new ArrayList<>();
             ResponseMessageHandler responseHandler = recordMemorizingHandler( values );
@@ -400,7 +426,7 @@ class MessageFormatV2Test
             input.stop();
 
             assertEquals( 1, values.size() );
-            return values.get( 0 ).asObject();
+            return values.get( 0 );
         }
         finally
         {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.messaging.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneIdCacheTest
+{
+    @Test
+    void shouldResolveZoneIds()
+    {
+        ZoneIdCache cache = new ZoneIdCache();
+
+        assertEquals( ZoneId.of( "Europe/Stockholm" ), cache.get( bytes( "Europe/Stockholm" ) ) );
+        assertEquals( ZoneId.of( "+01:00" ), cache.get( bytes( "+01:00" ) ) );
+        assertEquals( 2, cache.size() );
+    }
+
+    @Test
+    void shouldReturnCachedZoneIdForEqualBytes()
+    {
+        ZoneIdCache cache = new ZoneIdCache();
+
+        ZoneId zoneId1 = cache.get( bytes( "America/New_York" ) );
+        ZoneId zoneId2 = cache.get( bytes( "America/New_York" ) );
+
+        assertSame( zoneId1, zoneId2 );
+        assertEquals( 1, cache.size() );
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed()
+    {
+        ZoneIdCache cache = new ZoneIdCache( 2 );
+
+        ZoneId london = cache.get( bytes( "Europe/London" ) );
+        cache.get( bytes( "Europe/Paris" ) );
+        cache.get( bytes( "Europe/London" ) );
+        cache.get( bytes( "Europe/Berlin" ) );
+
+        assertEquals( 2, cache.size() );
+        assertSame( london, cache.get( bytes( "Europe/London" ) ) );
+    }
+
+    @Test
+    void shouldFailForUnknownZoneId()
+    {
+        ZoneIdCache cache = new ZoneIdCache();
+
+        assertThrows( DateTimeException.class, () -> cache.get( bytes( "Mars/Olympus_Mons" ) ) );
+        assertEquals( 0, cache.size() );
+    }
+
+    private static byte[] bytes( String zoneId )
+    {
+        return zoneId.getBytes( UTF_8 );
+    }
+}
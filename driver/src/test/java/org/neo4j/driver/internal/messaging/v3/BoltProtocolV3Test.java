@@ -76,6 +76,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.handlers.RecordBufferFlowControl.DEFAULT_MAX_RECORD_BUFFER_SIZE;
 import static org.neo4j.driver.internal.util.ServerVersion.v3_5_0;
 import static org.neo4j.driver.v1.Values.value;
 import static org.neo4j.driver.v1.util.TestUtil.DEFAULT_TEST_PROTOCOL;
@@ -290,7 +291,7 @@ class BoltProtocolV3Test
         Connection connection = connectionMock();
 
         CompletableFuture<InternalStatementResultCursor> cursorFuture = protocol.runInExplicitTransaction( connection, STATEMENT,
-                mock( ExplicitTransaction.class ), true ).toCompletableFuture();
+                explicitTransactionMock(), true ).toCompletableFuture();
         assertFalse( cursorFuture.isDone() );
 
         ResponseHandler runResponseHandler = verifyRunInvoked( connection, false, Bookmarks.empty(), TransactionConfig.empty() ).runHandler;
@@ -307,7 +308,7 @@ class BoltProtocolV3Test
         Connection connection = connectionMock();
 
         CompletableFuture<InternalStatementResultCursor> cursorFuture = protocol.runInExplicitTransaction( connection, STATEMENT,
-                mock( ExplicitTransaction.class ), true ).toCompletableFuture();
+                explicitTransactionMock(), true ).toCompletableFuture();
         assertFalse( cursorFuture.isDone() );
 
         ResponseHandler runResponseHandler = verifyRunInvoked( connection, false, Bookmarks.empty(), TransactionConfig.empty() ).runHandler;
@@ -326,11 +327,11 @@ class BoltProtocolV3Test
         if ( autoCommitTx )
         {
             BookmarksHolder bookmarksHolder = new SimpleBookmarksHolder( initialBookmarks );
-            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, bookmarksHolder, config, false );
+            cursorStage = protocol.runInAutoCommitTransaction( connection, STATEMENT, bookmarksHolder, config, DEFAULT_MAX_RECORD_BUFFER_SIZE, false );
         }
         else
         {
-            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, mock( ExplicitTransaction.class ), false );
+            cursorStage = protocol.runInExplicitTransaction( connection, STATEMENT, explicitTransactionMock(), false );
         }
         CompletableFuture<InternalStatementResultCursor> cursorFuture = cursorStage.toCompletableFuture();
 
@@ -353,7 +354,7 @@ class BoltProtocolV3Test
         BookmarksHolder bookmarksHolder = new SimpleBookmarksHolder( bookmarks );
 
         CompletableFuture<InternalStatementResultCursor> cursorFuture = protocol.runInAutoCommitTransaction( connection, STATEMENT, bookmarksHolder,
-                config, true ).toCompletableFuture();
+                config, DEFAULT_MAX_RECORD_BUFFER_SIZE, true ).toCompletableFuture();
         assertFalse( cursorFuture.isDone() );
 
         ResponseHandlers handlers = verifyRunInvoked( connection, true, bookmarks, config );
@@ -373,7 +374,7 @@ class BoltProtocolV3Test
         BookmarksHolder bookmarksHolder = new SimpleBookmarksHolder( bookmarks );
 
         CompletableFuture<InternalStatementResultCursor> cursorFuture = protocol.runInAutoCommitTransaction( connection, STATEMENT, bookmarksHolder,
-                config, true ).toCompletableFuture();
+                config, DEFAULT_MAX_RECORD_BUFFER_SIZE, true ).toCompletableFuture();
         assertFalse( cursorFuture.isDone() );
 
         ResponseHandler runResponseHandler = verifyRunInvoked( connection, true, bookmarks, config ).runHandler;
@@ -416,6 +417,13 @@ class BoltProtocolV3Test
         return authToken;
     }
 
+    private static ExplicitTransaction explicitTransactionMock()
+    {
+        ExplicitTransaction tx = mock( ExplicitTransaction.class );
+        when( tx.maxRecordBufferSize() ).thenReturn( DEFAULT_MAX_RECORD_BUFFER_SIZE );
+        return tx;
+    }
+
     private static class ResponseHandlers
     {
         final ResponseHandler runHandler;
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.metrics.spi.Histogram;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InternalConnectionMetricsTest
+{
+    @Test
+    void shouldRecordTlsHandshakeTime()
+    {
+        // Given
+        InternalConnectionMetrics metrics = new InternalConnectionMetrics( BoltServerAddress.LOCAL_DEFAULT, 10_000 );
+        ListenerEvent event = mock( ListenerEvent.class );
+        when( event.elapsed() ).thenReturn( 100L );
+
+        // When
+        metrics.beforeTlsHandshake( event );
+        metrics.afterTlsHandshake( event );
+
+        // Then
+        verify( event ).start();
+        Histogram histogram = metrics.tlsHandshakeTimeHistogram();
+        assertThat( histogram.totalCount(), equalTo( 1L ) );
+        assertThat( histogram.max(), equalTo( 100L ) );
+        assertThat( metrics.connectionTimeHistogram().totalCount(), equalTo( 0L ) );
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternalEventLoopMetricsTest
+{
+    private final EventLoop eventLoop = new DefaultEventLoop();
+
+    @AfterEach
+    void tearDown()
+    {
+        eventLoop.shutdownGracefully( 0, 0, TimeUnit.MILLISECONDS ).syncUninterruptibly();
+    }
+
+    @Test
+    void shouldRecordLoopLatency() throws Exception
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", eventLoop, TimeUnit.MILLISECONDS.toNanos( 5 ) );
+
+        metrics.startProbe();
+        // block the event loop so that the next probe runs late
+        CountDownLatch blocked = new CountDownLatch( 1 );
+        eventLoop.execute( () ->
+        {
+            sleepUninterruptibly( 50 );
+            blocked.countDown();
+        } );
+        assertTrue( blocked.await( 10, TimeUnit.SECONDS ) );
+        sleepUninterruptibly( 50 );
+
+        assertThat( metrics.loopLatencyHistogram().totalCount(), greaterThan( 0L ) );
+        assertThat( metrics.loopLatencyHistogram().max(), greaterThanOrEqualTo( TimeUnit.MILLISECONDS.toNanos( 20 ) ) );
+    }
+
+    @Test
+    void shouldStopProbeWhenEventLoopShutsDown()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", eventLoop, TimeUnit.MILLISECONDS.toNanos( 1 ) );
+        metrics.startProbe();
+
+        eventLoop.shutdownGracefully( 0, 0, TimeUnit.MILLISECONDS ).syncUninterruptibly();
+        long count = metrics.loopLatencyHistogram().totalCount();
+        sleepUninterruptibly( 20 );
+
+        assertThat( metrics.loopLatencyHistogram().totalCount(), equalTo( count ) );
+    }
+
+    @Test
+    void shouldTrackChannelsAndMessageHandlingTime()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", eventLoop );
+
+        metrics.afterChannelRegistered();
+        metrics.afterChannelRegistered();
+        metrics.afterChannelClosed();
+        metrics.afterMessageHandled( 100 );
+        metrics.afterMessageHandled( 200 );
+
+        assertThat( metrics.channels(), equalTo( 1 ) );
+        assertThat( metrics.pendingTasks(), equalTo( 0 ) );
+        assertThat( metrics.messageHandlingTimeHistogram().totalCount(), equalTo( 2L ) );
+        assertThat( metrics.messageHandlingTimeHistogram().max(), equalTo( 200L ) );
+    }
+
+    @Test
+    void shouldTrackReadSizesAndCumulations()
+    {
+        InternalEventLoopMetrics metrics = new InternalEventLoopMetrics( "eventLoop-0", eventLoop );
+
+        metrics.afterBytesRead( 512 );
+        metrics.afterBytesRead( 2048 );
+        metrics.afterCumulation( false, 100 );
+        metrics.afterCumulation( false, 300 );
+        metrics.afterCumulation( true, 0 );
+
+        assertThat( metrics.readSizeHistogram().totalCount(), equalTo( 2L ) );
+        assertThat( metrics.readSizeHistogram().max(), greaterThanOrEqualTo( 2048L ) );
+        assertThat( metrics.mergeCumulations(), equalTo( 2L ) );
+        assertThat( metrics.compositeCumulations(), equalTo( 1L ) );
+        assertThat( metrics.cumulationCopiedBytes(), equalTo( 400L ) );
+    }
+
+    private static void sleepUninterruptibly( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( e );
+        }
+    }
+}
@@ -85,4 +85,108 @@ class InternalHistogramTest
         assertThat( histogram.totalCount(), equalTo( 0L ) );
     }
 
+    @Test
+    void shouldResetOriginalHistogramWhenIntervalSnapshotIsReset()
+    {
+        // Given
+        InternalHistogram histogram = new InternalHistogram();
+        histogram.recordValue( 1 );
+        histogram.recordValue( 2 );
+
+        // When
+        Histogram interval = histogram.intervalSnapshot();
+        interval.reset();
+
+        // Then
+        assertThat( interval.totalCount(), equalTo( 2L ) );
+        assertThat( histogram.totalCount(), equalTo( 0L ) );
+    }
+
+    @Test
+    void shouldIncludeValuesRecordedBeforeFirstIntervalSnapshot()
+    {
+        // Given
+        InternalHistogram histogram = new InternalHistogram();
+        histogram.recordValue( 1 );
+        assertThat( histogram.totalCount(), equalTo( 1L ) );
+        histogram.recordValue( 2 );
+
+        // When
+        Histogram interval = histogram.intervalSnapshot();
+
+        // Then
+        assertThat( interval.totalCount(), equalTo( 2L ) );
+        assertThat( histogram.intervalSnapshot().totalCount(), equalTo( 0L ) );
+        assertThat( histogram.totalCount(), equalTo( 2L ) );
+    }
+
+    @Test
+    void shouldReturnValuesRecordedSinceLastIntervalSnapshot()
+    {
+        // Given
+        InternalHistogram histogram = new InternalHistogram();
+        histogram.recordValue( 1 );
+        histogram.recordValue( 2 );
+        assertThat( histogram.intervalSnapshot().totalCount(), equalTo( 2L ) );
+
+        // When
+        histogram.recordValue( 3 );
+        assertThat( histogram.max(), equalTo( 3L ) );
+        Histogram interval = histogram.intervalSnapshot();
+
+        // Then
+        assertThat( interval.totalCount(), equalTo( 1L ) );
+        assertThat( interval.min(), equalTo( 3L ) );
+        assertThat( histogram.intervalSnapshot().totalCount(), equalTo( 0L ) );
+        assertThat( histogram.totalCount(), equalTo( 3L ) );
+    }
+
+    @Test
+    void shouldNotLoseValuesRecordedConcurrentlyWithSnapshots() throws Exception
+    {
+        // Given
+        InternalHistogram histogram = new InternalHistogram();
+        int threads = 4;
+        int valuesPerThread = 100_000;
+        Thread[] writers = new Thread[threads];
+        for ( int i = 0; i < threads; i++ )
+        {
+            writers[i] = new Thread( () ->
+            {
+                for ( int j = 0; j < valuesPerThread; j++ )
+                {
+                    histogram.recordValue( j );
+                }
+            } );
+            writers[i].start();
+        }
+
+        // When
+        long intervalCount = 0;
+        while ( isAlive( writers ) )
+        {
+            intervalCount += histogram.intervalSnapshot().totalCount();
+        }
+        for ( Thread writer : writers )
+        {
+            writer.join();
+        }
+        intervalCount += histogram.intervalSnapshot().totalCount();
+
+        // Then
+        assertThat( intervalCount, equalTo( (long) threads * valuesPerThread ) );
+        assertThat( histogram.totalCount(), equalTo( (long) threads * valuesPerThread ) );
+    }
+
+    private static boolean isAlive( Thread[] threads )
+    {
+        for ( Thread thread : threads )
+        {
+            if ( thread.isAlive() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
 }
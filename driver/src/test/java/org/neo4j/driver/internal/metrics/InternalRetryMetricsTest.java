@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.metrics.spi.RetryMetrics;
+import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
+import org.neo4j.driver.internal.retry.RetrySettings;
+import org.neo4j.driver.internal.util.ImmediateSchedulingEventExecutor;
+import org.neo4j.driver.internal.util.SleeplessClock;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class InternalRetryMetricsTest
+{
+    @Test
+    void shouldExposeRetryBudgetAndConcurrencyLimit()
+    {
+        // Given
+        RetrySettings settings = new RetrySettings( Long.MAX_VALUE ).withRetryBudget( 0.1, 2 ).withMaxConcurrentTransactions( 10 );
+        ExponentialBackoffRetryLogic retryLogic = new ExponentialBackoffRetryLogic( settings, new ImmediateSchedulingEventExecutor(),
+                new SleeplessClock(), DEV_NULL_LOGGING );
+        InternalMetrics metrics = new InternalMetrics( Config.defaultConfig() );
+        metrics.addRetryMetrics( retryLogic );
+
+        // When
+        assertThrows( ServiceUnavailableException.class, () -> retryLogic.retry( () ->
+        {
+            throw new ServiceUnavailableException( "Unavailable" );
+        } ) );
+
+        // Then
+        RetryMetrics retryMetrics = metrics.retryMetrics();
+        assertThat( retryMetrics.retries(), equalTo( 2L ) );
+        assertThat( retryMetrics.retryBudgetExhausted(), equalTo( 1L ) );
+        assertThat( retryMetrics.retryBudgetTokens(), equalTo( 0.0 ) );
+        assertThat( retryMetrics.concurrencyLimit(), equalTo( 7 ) );
+        assertThat( retryMetrics.inFlightTransactions(), equalTo( 0 ) );
+        assertThat( retryMetrics.concurrencyLimitRejected(), equalTo( 0L ) );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class JmxMetricsPublisherTest
+{
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    void shouldPublishLivePoolMetrics() throws Exception
+    {
+        BoltServerAddress address = new BoltServerAddress( "localhost", 7687 );
+        ConnectionPool pool = mock( ConnectionPool.class );
+        when( pool.isOpen( address ) ).thenReturn( true );
+        when( pool.inUseConnections( address ) ).thenReturn( 3 );
+        InternalConnectionPoolMetrics metrics = new InternalConnectionPoolMetrics( address, pool, 1000 );
+        JmxMetricsPublisher publisher = new JmxMetricsPublisher( server, DEV_NULL_LOGGING );
+
+        publisher.register( metrics );
+        ObjectName name = publisher.objectName( metrics );
+
+        try
+        {
+            assertTrue( server.isRegistered( name ) );
+            assertEquals( 3, server.getAttribute( name, "InUse" ) );
+            assertEquals( "OPEN", server.getAttribute( name, "PoolStatus" ) );
+
+            metrics.beforeCreating();
+            when( pool.inUseConnections( address ) ).thenReturn( 4 );
+
+            assertEquals( 1, server.getAttribute( name, "Creating" ) );
+            assertEquals( 4, server.getAttribute( name, "InUse" ) );
+        }
+        finally
+        {
+            publisher.close();
+        }
+
+        assertFalse( server.isRegistered( name ) );
+    }
+
+    @Test
+    void shouldUnregisterBeanOfClosedPool() throws Exception
+    {
+        BoltServerAddress address1 = new BoltServerAddress( "localhost", 7689 );
+        BoltServerAddress address2 = new BoltServerAddress( "localhost", 7690 );
+        ConnectionPool pool = mock( ConnectionPool.class );
+        JmxMetricsPublisher publisher = new JmxMetricsPublisher( server, DEV_NULL_LOGGING );
+        InternalConnectionPoolMetrics metrics1 = new InternalConnectionPoolMetrics( address1, pool, 1000 );
+        InternalConnectionPoolMetrics metrics2 = new InternalConnectionPoolMetrics( address2, pool, 1000 );
+
+        try
+        {
+            publisher.register( metrics1 );
+            publisher.register( metrics2 );
+
+            publisher.unregister( metrics1 );
+
+            assertFalse( server.isRegistered( publisher.objectName( metrics1 ) ) );
+            assertTrue( server.isRegistered( publisher.objectName( metrics2 ) ) );
+        }
+        finally
+        {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void shouldReplaceBeanWhenPoolIsRecreated() throws Exception
+    {
+        BoltServerAddress address = new BoltServerAddress( "localhost", 7688 );
+        ConnectionPool pool = mock( ConnectionPool.class );
+        JmxMetricsPublisher publisher = new JmxMetricsPublisher( server, DEV_NULL_LOGGING );
+        InternalConnectionPoolMetrics metrics1 = new InternalConnectionPoolMetrics( address, pool, 1000 );
+        InternalConnectionPoolMetrics metrics2 = new InternalConnectionPoolMetrics( address, pool, 1000 );
+
+        try
+        {
+            publisher.register( metrics1 );
+            metrics1.afterClosed();
+            publisher.register( metrics2 );
+
+            assertEquals( 0L, server.getAttribute( publisher.objectName( metrics2 ), "Closed" ) );
+        }
+        finally
+        {
+            publisher.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementFingerprintTest
+{
+    @Test
+    void shouldReplaceLiterals()
+    {
+        assertEquals( "MATCH (n {name: ?, age: ?}) RETURN n LIMIT ?",
+                StatementFingerprint.of( "MATCH (n {name: 'Alice', age: 42}) RETURN n LIMIT 10" ) );
+        assertEquals( "RETURN ?, ?, ?", StatementFingerprint.of( "RETURN \"a \\\" b\", 'it\\'s', 3.14" ) );
+    }
+
+    @Test
+    void shouldKeepParametersAndIdentifiers()
+    {
+        assertEquals( "MATCH (n1:Label2) WHERE n1.x2 = $p1 RETURN n1",
+                StatementFingerprint.of( "MATCH (n1:Label2) WHERE n1.x2 = $p1 RETURN n1" ) );
+    }
+
+    @Test
+    void shouldCollapseWhitespace()
+    {
+        assertEquals( "MATCH (n) RETURN n", StatementFingerprint.of( "  MATCH (n)\n\t  RETURN n \n" ) );
+    }
+
+    @Test
+    void shouldLimitLength()
+    {
+        StringBuilder statement = new StringBuilder( "RETURN " );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            statement.append( "$p" ).append( i ).append( ", " );
+        }
+        assertTrue( StatementFingerprint.of( statement.toString() ).length() <= StatementFingerprint.MAX_LENGTH );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
+import org.neo4j.driver.internal.metrics.spi.StatementMetrics;
+import org.neo4j.driver.internal.spi.AutoReadManagingResponseHandler;
+import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StatementMetricsHandlerTest
+{
+    private final InternalMetrics metrics = new InternalMetrics( Config.defaultConfig(), 2 );
+
+    @Test
+    void shouldRecordSuccessfulStatement()
+    {
+        StatementMetricsHandler handler = newHandler( "RETURN 1" );
+        ResponseHandler runHandler = mock( ResponseHandler.class );
+        PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
+
+        ResponseHandler wrappedRunHandler = handler.runHandler( runHandler );
+        ResponseHandler wrappedPullAllHandler = handler.pullAllHandler( pullAllHandler );
+        wrappedRunHandler.onSuccess( emptyMap() );
+        wrappedPullAllHandler.onRecord( new Value[0] );
+        wrappedPullAllHandler.onRecord( new Value[0] );
+        wrappedPullAllHandler.onSuccess( emptyMap() );
+
+        verify( runHandler ).onSuccess( emptyMap() );
+        verify( pullAllHandler ).onSuccess( emptyMap() );
+        assertTrue( wrappedPullAllHandler instanceof AutoReadManagingResponseHandler );
+
+        StatementMetrics statementMetrics = metrics.statementMetrics().get( "RETURN ?" );
+        assertEquals( 1, statementMetrics.runTimeHistogram().totalCount() );
+        assertEquals( 1, statementMetrics.firstRecordTimeHistogram().totalCount() );
+        assertEquals( 1, statementMetrics.completionTimeHistogram().totalCount() );
+        assertEquals( 1, statementMetrics.completed() );
+        assertEquals( 2, statementMetrics.records() );
+        assertEquals( 20, statementMetrics.bytes() );
+    }
+
+    @Test
+    void shouldRecordFailuresByCode()
+    {
+        newHandler( "RETURN 1" ).pullAllHandler( mock( ResponseHandler.class ) )
+                .onFailure( new ClientException( "Neo.ClientError.Statement.SyntaxError", "Wrong" ) );
+        newHandler( "RETURN 2" ).pullAllHandler( mock( ResponseHandler.class ) )
+                .onFailure( new ServiceUnavailableException( "Down" ) );
+
+        StatementMetrics statementMetrics = metrics.statementMetrics().get( "RETURN ?" );
+        assertEquals( 0, statementMetrics.completed() );
+        assertEquals( 1L, statementMetrics.failures().get( "Neo.ClientError.Statement.SyntaxError" ).longValue() );
+        assertEquals( 1L, statementMetrics.failures().get( "ServiceUnavailableException" ).longValue() );
+    }
+
+    @Test
+    void shouldLimitAmountOfFingerprints()
+    {
+        StatementMetricsListener first = metrics.beforeRunningStatement( "MATCH (a) RETURN a" );
+        StatementMetricsListener second = metrics.beforeRunningStatement( "MATCH (b) RETURN b" );
+        StatementMetricsListener third = metrics.beforeRunningStatement( "MATCH (c) RETURN c" );
+
+        assertSame( first, metrics.beforeRunningStatement( "MATCH (a)  RETURN a" ) );
+        assertSame( third, metrics.beforeRunningStatement( "MATCH (d) RETURN d" ) );
+        assertEquals( InternalMetrics.OTHER_STATEMENTS_FINGERPRINT, ((StatementMetrics) third).uniqueName() );
+        assertEquals( "MATCH (b) RETURN b", ((StatementMetrics) second).uniqueName() );
+        assertEquals( 3, metrics.statementMetrics().size() );
+    }
+
+    @Test
+    void shouldReuseMetricsOfSameStatementText()
+    {
+        StatementMetricsListener listener = metrics.beforeRunningStatement( "MATCH (n) WHERE n.id = 1 RETURN n" );
+
+        assertSame( listener, metrics.beforeRunningStatement( "MATCH (n) WHERE n.id = 1 RETURN n" ) );
+        assertSame( listener, metrics.beforeRunningStatement( "MATCH (n) WHERE n.id = 2 RETURN n" ) );
+        assertEquals( 1, metrics.statementMetrics().size() );
+    }
+
+    private StatementMetricsHandler newHandler( String statement )
+    {
+        return new StatementMetricsHandler( metrics.beforeRunningStatement( statement ), () -> 10 );
+    }
+}
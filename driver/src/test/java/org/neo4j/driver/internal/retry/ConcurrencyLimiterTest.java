@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest
+{
+    @Test
+    void shouldRejectOverLimit()
+    {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive( 2 );
+
+        assertTrue( limiter.tryAcquire() );
+        assertTrue( limiter.tryAcquire() );
+        assertFalse( limiter.tryAcquire() );
+        assertEquals( 2, limiter.inFlight() );
+        assertEquals( 1, limiter.rejectedCount() );
+
+        limiter.onFailure();
+        assertTrue( limiter.tryAcquire() );
+    }
+
+    @Test
+    void shouldDecreaseLimitMultiplicativelyOnOverload()
+    {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive( 100 );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertTrue( limiter.tryAcquire() );
+            limiter.onOverload();
+        }
+
+        assertEquals( (int) (100 * Math.pow( ConcurrencyLimiter.BACKOFF_RATIO, 10 )), limiter.currentLimit() );
+        assertEquals( 0, limiter.inFlight() );
+    }
+
+    @Test
+    void shouldNotDecreaseLimitBelowOne()
+    {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive( 2 );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertTrue( limiter.tryAcquire() );
+            limiter.onOverload();
+        }
+
+        assertEquals( 1, limiter.currentLimit() );
+    }
+
+    @Test
+    void shouldIncreaseLimitAdditivelyUpToMaximumOnSuccess()
+    {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive( 5 );
+        for ( int i = 0; i < 20; i++ )
+        {
+            limiter.tryAcquire();
+            limiter.onOverload();
+        }
+        assertEquals( 1, limiter.currentLimit() );
+
+        // a single success increases limit of one by one
+        limiter.tryAcquire();
+        limiter.onSuccess();
+        assertEquals( 2, limiter.currentLimit() );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            limiter.tryAcquire();
+            limiter.onSuccess();
+        }
+        assertEquals( 5, limiter.currentLimit() );
+    }
+
+    @Test
+    void unlimitedLimiterShouldOnlyCountInFlightAttempts()
+    {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.unlimited();
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertTrue( limiter.tryAcquire() );
+            limiter.onOverload();
+        }
+        assertTrue( limiter.tryAcquire() );
+
+        assertEquals( Integer.MAX_VALUE, limiter.currentLimit() );
+        assertEquals( 1, limiter.inFlight() );
+        assertEquals( 0, limiter.rejectedCount() );
+    }
+}
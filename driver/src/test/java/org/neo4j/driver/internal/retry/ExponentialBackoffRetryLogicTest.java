@@ -18,27 +18,38 @@
  */
 package org.neo4j.driver.internal.retry;
 
+import io.netty.channel.EventLoopGroup;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.neo4j.driver.internal.async.EventLoopGroupFactory;
 import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.internal.util.ImmediateSchedulingEventExecutor;
 import org.neo4j.driver.internal.util.Supplier;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 import org.neo4j.driver.v1.exceptions.TransientException;
 
 import static java.lang.Long.MAX_VALUE;
+import static java.util.Arrays.asList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -741,6 +752,194 @@ class ExponentialBackoffRetryLogicTest
         );
     }
 
+    @Test
+    void doesNotRetryWhenRetryBudgetIsExhausted()
+    {
+        RetryBudget retryBudget = new RetryBudget( 0.5, 2 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), retryBudget,
+                ConcurrencyLimiter.unlimited() );
+
+        Supplier<Void> workMock = newWorkMock();
+        when( workMock.get() ).thenThrow( serviceUnavailable() );
+
+        assertThrows( ServiceUnavailableException.class, () -> logic.retry( workMock ) );
+
+        verify( workMock, times( 3 ) ).get();
+        assertEquals( 2, logic.retries() );
+        assertEquals( 1, retryBudget.exhaustedCount() );
+        assertEquals( 0, retryBudget.availableTokens(), 0.0001 );
+    }
+
+    @Test
+    void doesNotRetryWhenRetryBudgetIsExhaustedAsync()
+    {
+        RetryBudget retryBudget = new RetryBudget( 0.5, 2 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), retryBudget,
+                ConcurrencyLimiter.unlimited() );
+
+        Supplier<CompletionStage<Object>> workMock = newWorkMock();
+        when( workMock.get() ).thenReturn( failedFuture( sessionExpired() ) );
+
+        assertThrows( SessionExpiredException.class, () -> await( logic.retryAsync( workMock ) ) );
+
+        verify( workMock, times( 3 ) ).get();
+        assertEquals( 2, logic.retries() );
+        assertEquals( 1, retryBudget.exhaustedCount() );
+    }
+
+    @Test
+    void successfulWorkRefillsRetryBudget()
+    {
+        RetryBudget retryBudget = new RetryBudget( 0.5, 2 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), retryBudget,
+                ConcurrencyLimiter.unlimited() );
+
+        retry( logic, 2 );
+        assertEquals( 0.5, retryBudget.availableTokens(), 0.0001 );
+
+        assertEquals( "Result", await( retryAsync( logic, 0, "Result" ) ) );
+        assertEquals( 1.0, retryBudget.availableTokens(), 0.0001 );
+        assertEquals( 0, retryBudget.exhaustedCount() );
+    }
+
+    @Test
+    void rejectsWorkWhenConcurrencyLimitIsReached()
+    {
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive( 1 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), RetryBudget.UNLIMITED,
+                concurrencyLimiter );
+        // occupy the only available slot
+        concurrencyLimiter.tryAcquire();
+
+        Supplier<Void> workMock = newWorkMock();
+        ClientException error = assertThrows( ClientException.class, () -> logic.retry( workMock ) );
+        assertThat( error.getMessage(), containsString( "limit of 1 concurrent transactions" ) );
+
+        Supplier<CompletionStage<Object>> asyncWorkMock = newWorkMock();
+        assertThrows( ClientException.class, () -> await( logic.retryAsync( asyncWorkMock ) ) );
+
+        // rejected work is neither retried nor treated as overload
+        verifyZeroInteractions( workMock, asyncWorkMock );
+        assertEquals( 0, logic.retries() );
+        assertEquals( 2, concurrencyLimiter.rejectedCount() );
+        assertEquals( 1, concurrencyLimiter.currentLimit() );
+        assertEquals( 1, concurrencyLimiter.inFlight() );
+    }
+
+    @Test
+    void failsWithPreviousErrorsWhenRetryIsRejectedByConcurrencyLimit()
+    {
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive( 2 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), RetryBudget.UNLIMITED,
+                concurrencyLimiter );
+        SessionExpiredException firstError = sessionExpired();
+
+        Supplier<CompletionStage<Object>> workMock = newWorkMock();
+        when( workMock.get() ).then( invocation ->
+        {
+            // another transaction takes the slot left after the limit shrinks because of the failure
+            concurrencyLimiter.tryAcquire();
+            return failedFuture( firstError );
+        } );
+
+        ClientException error = assertThrows( ClientException.class, () -> await( logic.retryAsync( workMock ) ) );
+
+        verify( workMock ).get();
+        assertEquals( 1, logic.retries() );
+        assertThat( asList( error.getSuppressed() ), hasItem( firstError ) );
+    }
+
+    @Test
+    void adaptsConcurrencyLimitToFailures()
+    {
+        ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive( 10 );
+        ExponentialBackoffRetryLogic logic = newRetryLogic( MAX_VALUE, 1, 1, 0, mock( Clock.class ), RetryBudget.UNLIMITED,
+                concurrencyLimiter );
+
+        retry( logic, 3 );
+        assertEquals( 7, concurrencyLimiter.currentLimit() );
+        assertEquals( 0, concurrencyLimiter.inFlight() );
+
+        assertThrows( RuntimeException.class, () -> await( logic.retryAsync( () -> failedFuture( new RuntimeException() ) ) ) );
+        assertEquals( 7, concurrencyLimiter.currentLimit() );
+        assertEquals( 0, concurrencyLimiter.inFlight() );
+    }
+
+    @Test
+    void executesBlockingWorkInRetryExecutor() throws Exception
+    {
+        ExecutorService retryExecutor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Clock clock = mock( Clock.class );
+            RetrySettings settings = RetrySettings.DEFAULT.withRetryExecutor( retryExecutor );
+            ExponentialBackoffRetryLogic logic = new ExponentialBackoffRetryLogic( settings, eventExecutor, clock, DEV_NULL_LOGGING );
+            List<Thread> threads = new CopyOnWriteArrayList<>();
+
+            String result = logic.retry( () ->
+            {
+                threads.add( Thread.currentThread() );
+                if ( threads.size() < 3 )
+                {
+                    throw serviceUnavailable();
+                }
+                return "Done";
+            } );
+
+            assertEquals( "Done", result );
+            assertEquals( 3, threads.size() );
+            assertThat( threads, not( hasItem( Thread.currentThread() ) ) );
+            // caller thread does not sleep, retries are scheduled instead
+            verify( clock, never() ).sleep( anyLong() );
+            assertEquals( 2, eventExecutor.scheduleDelays().size() );
+            assertEquals( 2, logic.retries() );
+        }
+        finally
+        {
+            retryExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failsWhenRetryExecutorRejectsWork()
+    {
+        Executor rejectingExecutor = command ->
+        {
+            throw new RejectedExecutionException( "Too busy" );
+        };
+        RetrySettings settings = RetrySettings.DEFAULT.withRetryExecutor( rejectingExecutor );
+        ExponentialBackoffRetryLogic logic = new ExponentialBackoffRetryLogic( settings, eventExecutor, mock( Clock.class ), DEV_NULL_LOGGING );
+        Supplier<Void> workMock = newWorkMock();
+
+        RejectedExecutionException error = assertThrows( RejectedExecutionException.class, () -> logic.retry( workMock ) );
+
+        assertEquals( "Too busy", error.getMessage() );
+        verifyZeroInteractions( workMock );
+        assertEquals( 0, logic.concurrencyLimiter().inFlight() );
+    }
+
+    @Test
+    void failsWhenRetryExecutorRunsWorkInEventLoop()
+    {
+        EventLoopGroup eventLoopGroup = EventLoopGroupFactory.newEventLoopGroup( 1 );
+        try
+        {
+            RetrySettings settings = RetrySettings.DEFAULT.withRetryExecutor( Runnable::run );
+            ExponentialBackoffRetryLogic logic = new ExponentialBackoffRetryLogic( settings, eventLoopGroup, mock( Clock.class ), DEV_NULL_LOGGING );
+            Supplier<Void> workMock = newWorkMock();
+
+            IllegalStateException error = assertThrows( IllegalStateException.class, () -> logic.retry( workMock ) );
+
+            assertThat( error.getMessage(), containsString( "event loop" ) );
+            verifyZeroInteractions( workMock );
+            assertEquals( 0, logic.retries() );
+        }
+        finally
+        {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
     private static void retry( ExponentialBackoffRetryLogic retryLogic, final int times )
     {
         retryLogic.retry( new Supplier<Void>()
@@ -806,6 +1005,13 @@ class ExponentialBackoffRetryLogicTest
                 eventExecutor, clock, DEV_NULL_LOGGING );
     }
 
+    private ExponentialBackoffRetryLogic newRetryLogic( long maxRetryTimeMs, long initialRetryDelayMs,
+            double multiplier, double jitterFactor, Clock clock, RetryBudget retryBudget, ConcurrencyLimiter concurrencyLimiter )
+    {
+        return new ExponentialBackoffRetryLogic( maxRetryTimeMs, initialRetryDelayMs, multiplier, jitterFactor,
+                eventExecutor, clock, retryBudget, concurrencyLimiter, null, null, DEV_NULL_LOGGING );
+    }
+
     private static ServiceUnavailableException serviceUnavailable()
     {
         return new ServiceUnavailableException( "" );
@@ -37,7 +37,7 @@ public class FixedRetryLogic extends ExponentialBackoffRetryLogic
 
     public FixedRetryLogic( int retryCount, EventExecutorGroup eventExecutorGroup )
     {
-        super( new RetrySettings( Long.MAX_VALUE ), eventExecutorGroup, new SleeplessClock(), DEV_NULL_LOGGING );
+        super( new RetrySettings( Long.MAX_VALUE ).withoutRetryBudget(), eventExecutorGroup, new SleeplessClock(), DEV_NULL_LOGGING );
         this.retryCount = retryCount;
     }
 
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.internal.util.ImmediateSchedulingEventExecutor;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.internal.util.Futures.completedWithNull;
+import static org.neo4j.driver.v1.util.TestUtil.await;
+
+class HedgedExecutionTest
+{
+    private final ImmediateSchedulingEventExecutor eventExecutor = new ImmediateSchedulingEventExecutor( ImmediateEventExecutor.INSTANCE );
+
+    @Test
+    void shouldNotHedgeWithoutEnoughLatencySamples()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( new LatencyTracker( 0.5 ) );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        primary.executions.get( 0 ).complete( "primary" );
+
+        assertEquals( "primary", await( result ) );
+        assertTrue( eventExecutor.scheduleDelays().isEmpty() );
+        assertNull( primary.hedge );
+        assertEquals( singletonList( true ), primary.closes );
+        assertEquals( 0, retryLogic.hedges() );
+    }
+
+    @Test
+    void shouldScheduleHedgeAfterPercentileLatency()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( warmLatencyTracker( 5 ) );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+
+        assertEquals( singletonList( 5L ), eventExecutor.scheduleDelays() );
+        assertEquals( 1, primary.hedge.executions.size() );
+        assertEquals( 1, retryLogic.hedges() );
+        assertFalse( result.toCompletableFuture().isDone() );
+    }
+
+    @Test
+    void shouldUseResultOfHedgeWhenItCompletesFirst()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( warmLatencyTracker( 5 ) );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        primary.hedge.executions.get( 0 ).complete( "hedge" );
+
+        assertEquals( "hedge", await( result ) );
+        assertTrue( primary.cancelled );
+        assertEquals( singletonList( true ), primary.hedge.closes );
+        assertEquals( 1, retryLogic.hedgeWins() );
+
+        primary.executions.get( 0 ).completeExceptionally( new ClientException( "Cancelled" ) );
+        assertEquals( singletonList( false ), primary.closes );
+    }
+
+    @Test
+    void shouldRecordLatencyFromPrimaryStartWhenHedgeWins() throws Exception
+    {
+        LatencyTracker latencyTracker = spy( warmLatencyTracker( 5 ) );
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( latencyTracker );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        Thread.sleep( 10 );
+        primary.hedge.executions.get( 0 ).complete( "hedge" );
+        primary.executions.get( 0 ).completeExceptionally( new ClientException( "Cancelled" ) );
+
+        assertEquals( "hedge", await( result ) );
+        verify( latencyTracker ).record( longThat( latency -> latency >= MILLISECONDS.toNanos( 10 ) ) );
+    }
+
+    @Test
+    void shouldKeepHedgingDelayStableWhenHedgesWin() throws Exception
+    {
+        LatencyTracker latencyTracker = new LatencyTracker( 0.9, LatencyTracker.MIN_SAMPLES );
+        for ( int i = 0; i < LatencyTracker.MIN_SAMPLES; i++ )
+        {
+            latencyTracker.record( MILLISECONDS.toNanos( 5 ) );
+        }
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( latencyTracker );
+
+        for ( int i = 0; i < LatencyTracker.RECOMPUTE_INTERVAL; i++ )
+        {
+            FakeWork primary = new FakeWork();
+            CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+            if ( i % 5 == 0 )
+            {
+                // slow primary, hedge wins after the hedging delay
+                Thread.sleep( 5 );
+                primary.hedge.executions.get( 0 ).complete( "hedge" );
+            }
+            else
+            {
+                primary.executions.get( 0 ).complete( "primary" );
+            }
+            await( result );
+        }
+
+        // slow executions stay in the samples, so the delay does not drift down to latencies of fast executions
+        assertEquals( LatencyTracker.RECOMPUTE_INTERVAL / 5, retryLogic.hedgeWins() );
+        assertTrue( latencyTracker.percentileNanos() >= MILLISECONDS.toNanos( 5 ) );
+    }
+
+    @Test
+    void shouldCancelHedgeWhenPrimaryCompletesFirst()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( warmLatencyTracker( 5 ) );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        primary.executions.get( 0 ).complete( "primary" );
+
+        assertEquals( "primary", await( result ) );
+        assertTrue( primary.hedge.cancelled );
+        assertFalse( primary.cancelled );
+        assertEquals( singletonList( true ), primary.closes );
+        assertEquals( 1, retryLogic.hedges() );
+        assertEquals( 0, retryLogic.hedgeWins() );
+    }
+
+    @Test
+    void shouldWaitForOtherAttemptWhenOneFails()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( warmLatencyTracker( 5 ) );
+        FakeWork primary = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        primary.executions.get( 0 ).completeExceptionally( new ClientException( "Primary failed" ) );
+
+        assertFalse( result.toCompletableFuture().isDone() );
+        assertEquals( singletonList( false ), primary.closes );
+
+        primary.hedge.executions.get( 0 ).complete( "hedge" );
+        assertEquals( "hedge", await( result ) );
+        assertEquals( singletonList( true ), primary.hedge.closes );
+    }
+
+    @Test
+    void shouldFailWithFirstErrorWhenAllAttemptsFail()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( warmLatencyTracker( 5 ) );
+        FakeWork primary = new FakeWork();
+        ClientException primaryError = new ClientException( "Primary failed" );
+        ClientException hedgeError = new ClientException( "Hedge failed" );
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( primary );
+        primary.executions.get( 0 ).completeExceptionally( primaryError );
+        primary.hedge.executions.get( 0 ).completeExceptionally( hedgeError );
+
+        ClientException error = assertThrows( ClientException.class, () -> await( result ) );
+        assertSame( primaryError, error );
+        assertThat( error.getSuppressed(), arrayContaining( hedgeError ) );
+    }
+
+    @Test
+    void shouldExecuteWorkWithoutHedgingWhenDisabled()
+    {
+        ExponentialBackoffRetryLogic retryLogic = newRetryLogic( null );
+        FakeWork work = new FakeWork();
+
+        CompletionStage<String> result = retryLogic.retryHedgedAsync( work );
+        work.executions.get( 0 ).complete( "result" );
+
+        assertFalse( retryLogic.isHedgingEnabled() );
+        assertEquals( "result", await( result ) );
+        assertNull( work.hedge );
+        assertEquals( singletonList( true ), work.closes );
+    }
+
+    private ExponentialBackoffRetryLogic newRetryLogic( LatencyTracker latencyTracker )
+    {
+        return new ExponentialBackoffRetryLogic( 1000, 1, 2, 0, eventExecutor, Clock.SYSTEM, RetryBudget.UNLIMITED,
+                ConcurrencyLimiter.unlimited(), null, latencyTracker, DEV_NULL_LOGGING );
+    }
+
+    private static LatencyTracker warmLatencyTracker( long latencyMs )
+    {
+        LatencyTracker tracker = new LatencyTracker( 0.5 );
+        for ( int i = 0; i < LatencyTracker.MIN_SAMPLES; i++ )
+        {
+            tracker.record( MILLISECONDS.toNanos( latencyMs ) );
+        }
+        return tracker;
+    }
+
+    private static class FakeWork implements HedgedWork<String>
+    {
+        final List<CompletableFuture<String>> executions = new ArrayList<>();
+        final List<Boolean> closes = new ArrayList<>();
+        FakeWork hedge;
+        boolean cancelled;
+
+        @Override
+        public CompletionStage<String> execute()
+        {
+            CompletableFuture<String> execution = new CompletableFuture<>();
+            executions.add( execution );
+            return execution;
+        }
+
+        @Override
+        public HedgedWork<String> hedge()
+        {
+            hedge = new FakeWork();
+            return hedge;
+        }
+
+        @Override
+        public CompletionStage<Void> cancel()
+        {
+            cancelled = true;
+            return completedWithNull();
+        }
+
+        @Override
+        public CompletionStage<Void> close( boolean succeeded )
+        {
+            closes.add( succeeded );
+            return completedWithNull();
+        }
+    }
+}
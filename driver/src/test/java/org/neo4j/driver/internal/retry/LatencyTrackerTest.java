@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.driver.internal.retry.LatencyTracker.MIN_SAMPLES;
+import static org.neo4j.driver.internal.retry.LatencyTracker.RECOMPUTE_INTERVAL;
+
+class LatencyTrackerTest
+{
+    @Test
+    void shouldNotReportPercentileWithoutEnoughSamples()
+    {
+        LatencyTracker tracker = new LatencyTracker( 0.9 );
+
+        for ( int i = 1; i < MIN_SAMPLES; i++ )
+        {
+            tracker.record( i );
+            assertEquals( -1, tracker.percentileNanos() );
+        }
+    }
+
+    @Test
+    void shouldComputePercentile()
+    {
+        LatencyTracker median = new LatencyTracker( 0.5 );
+        LatencyTracker p95 = new LatencyTracker( 0.95 );
+
+        for ( int i = MIN_SAMPLES; i > 0; i-- )
+        {
+            median.record( i );
+            p95.record( i );
+        }
+
+        assertEquals( 10, median.percentileNanos() );
+        assertEquals( 19, p95.percentileNanos() );
+    }
+
+    @Test
+    void shouldOnlyConsiderRecentSamples()
+    {
+        LatencyTracker tracker = new LatencyTracker( 0.99, MIN_SAMPLES );
+
+        for ( int i = 0; i < MIN_SAMPLES; i++ )
+        {
+            tracker.record( 1000 );
+        }
+        assertEquals( 1000, tracker.percentileNanos() );
+
+        for ( int i = 0; i < RECOMPUTE_INTERVAL; i++ )
+        {
+            tracker.record( 1 );
+        }
+        assertEquals( 1, tracker.percentileNanos() );
+    }
+}
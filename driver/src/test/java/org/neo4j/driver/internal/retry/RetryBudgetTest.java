@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBudgetTest
+{
+    @Test
+    void shouldStartFull()
+    {
+        RetryBudget budget = new RetryBudget( 0.1, 3 );
+
+        assertEquals( 3, budget.availableTokens(), 0.0001 );
+        assertTrue( budget.tryAcquire() );
+        assertTrue( budget.tryAcquire() );
+        assertTrue( budget.tryAcquire() );
+        assertFalse( budget.tryAcquire() );
+        assertEquals( 1, budget.exhaustedCount() );
+    }
+
+    @Test
+    void shouldDepositFractionOfTokenOnSuccess()
+    {
+        RetryBudget budget = new RetryBudget( 0.25, 1 );
+        assertTrue( budget.tryAcquire() );
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            budget.onSuccess();
+            assertFalse( budget.tryAcquire() );
+        }
+        budget.onSuccess();
+
+        assertTrue( budget.tryAcquire() );
+        assertEquals( 3, budget.exhaustedCount() );
+    }
+
+    @Test
+    void shouldNotExceedMaxTokens()
+    {
+        RetryBudget budget = new RetryBudget( 0.5, 2 );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            budget.onSuccess();
+        }
+
+        assertEquals( 2, budget.availableTokens(), 0.0001 );
+    }
+
+    @Test
+    void unlimitedBudgetShouldAlwaysAllowRetries()
+    {
+        for ( int i = 0; i < 1000; i++ )
+        {
+            assertTrue( RetryBudget.UNLIMITED.tryAcquire() );
+        }
+        assertEquals( 0, RetryBudget.UNLIMITED.exhaustedCount() );
+    }
+}
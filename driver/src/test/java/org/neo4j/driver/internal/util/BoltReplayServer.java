@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.neo4j.driver.internal.async.capture.TrafficCaptureReader;
+import org.neo4j.driver.internal.async.capture.TrafficCaptureRecord;
+
+import static org.neo4j.driver.internal.async.capture.CapturingChannelPipelineBuilder.CAPTURE_FILE_SUFFIX;
+import static org.neo4j.driver.internal.async.capture.TrafficCaptureRecord.Direction.OUTBOUND;
+
+/**
+ * Local Bolt server that replays traffic captured by the driver, see
+ * {@link org.neo4j.driver.internal.async.capture.CapturingChannelPipelineBuilder}. Makes it possible to run real
+ * workloads against the driver without a database.
+ * <p>
+ * Every accepted connection is served from the next capture file. Server performs the Bolt handshake using the captured
+ * protocol version. After that it waits until the client sent as many messages as the captured client did and then
+ * responds with the captured server bytes. Gaps between captured server responses are preserved and divided by the
+ * speed factor; use {@code 1} for original pacing and {@link Double#POSITIVE_INFINITY} to send everything as fast as
+ * possible. Content of client messages is not verified, only their count matters.
+ */
+public class BoltReplayServer implements AutoCloseable
+{
+    private static final int HANDSHAKE_SIZE = 20;
+
+    private final List<Path> captures;
+    private final double speedFactor;
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup( 1 );
+    private final AtomicInteger connectionCounter = new AtomicInteger();
+    private final Channel serverChannel;
+
+    private BoltReplayServer( List<Path> captures, double speedFactor )
+    {
+        this.captures = captures;
+        this.speedFactor = speedFactor;
+        this.serverChannel = new ServerBootstrap()
+                .group( eventLoopGroup )
+                .channel( NioServerSocketChannel.class )
+                .childHandler( new ChannelInitializer<SocketChannel>()
+                {
+                    @Override
+                    protected void initChannel( SocketChannel channel )
+                    {
+                        channel.pipeline().addLast( new ReplayHandler( nextCapture() ) );
+                    }
+                } )
+                .bind( "localhost", 0 )
+                .syncUninterruptibly()
+                .channel();
+    }
+
+    public static BoltReplayServer start( List<Path> captures, double speedFactor )
+    {
+        return new BoltReplayServer( new ArrayList<>( captures ), speedFactor );
+    }
+
+    /**
+     * @param directory directory with capture files.
+     * @return capture files from the given directory in the order they were recorded.
+     */
+    public static List<Path> capturesIn( Path directory )
+    {
+        try ( Stream<Path> files = Files.list( directory ) )
+        {
+            return files.filter( file -> file.getFileName().toString().endsWith( CAPTURE_FILE_SUFFIX ) )
+                    .sorted()
+                    .collect( Collectors.toList() );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    public int port()
+    {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    public String boltUri()
+    {
+        return "bolt://localhost:" + port();
+    }
+
+    @Override
+    public void close()
+    {
+        serverChannel.close().syncUninterruptibly();
+        eventLoopGroup.shutdownGracefully( 0, 0, TimeUnit.MILLISECONDS ).syncUninterruptibly();
+    }
+
+    private Path nextCapture()
+    {
+        int index = connectionCounter.getAndIncrement();
+        return index < captures.size() ? captures.get( index ) : null;
+    }
+
+    private class ReplayHandler extends ChannelInboundHandlerAdapter
+    {
+        final Path capture;
+        final MessageCounter clientMessages = new MessageCounter();
+
+        int protocolVersion;
+        List<TrafficCaptureRecord> records;
+        int handshakeBytesRemaining = HANDSHAKE_SIZE;
+        MessageCounter capturedClientMessages = new MessageCounter();
+        int nextRecord;
+        long previousTimestampNanos;
+        boolean responseScheduled;
+
+        ReplayHandler( Path capture )
+        {
+            this.capture = capture;
+        }
+
+        @Override
+        public void channelActive( ChannelHandlerContext ctx )
+        {
+            if ( capture == null )
+            {
+                // more connections than captures
+                ctx.close();
+                return;
+            }
+
+            try ( TrafficCaptureReader reader = TrafficCaptureReader.open( capture ) )
+            {
+                protocolVersion = reader.protocolVersion();
+                records = reader.readAll();
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        @Override
+        public void channelRead( ChannelHandlerContext ctx, Object msg )
+        {
+            ByteBuf buf = (ByteBuf) msg;
+            try
+            {
+                if ( handshakeBytesRemaining > 0 )
+                {
+                    int handshakeBytes = Math.min( handshakeBytesRemaining, buf.readableBytes() );
+                    buf.skipBytes( handshakeBytes );
+                    handshakeBytesRemaining -= handshakeBytes;
+                    if ( handshakeBytesRemaining == 0 )
+                    {
+                        ctx.writeAndFlush( Unpooled.buffer( 4 ).writeInt( protocolVersion ) );
+                    }
+                }
+                clientMessages.update( buf );
+            }
+            finally
+            {
+                ReferenceCountUtil.release( buf );
+            }
+            replay( ctx );
+        }
+
+        void replay( ChannelHandlerContext ctx )
+        {
+            while ( !responseScheduled && nextRecord < records.size() )
+            {
+                TrafficCaptureRecord record = records.get( nextRecord );
+                if ( record.direction() == OUTBOUND )
+                {
+                    capturedClientMessages.update( Unpooled.wrappedBuffer( record.bytes() ) );
+                }
+                else if ( clientMessages.count() < capturedClientMessages.count() )
+                {
+                    // wait for the client to send all requests this response depends on
+                    return;
+                }
+                else
+                {
+                    long delayNanos = delayNanos( record.timestampNanos() - previousTimestampNanos );
+                    if ( delayNanos > 0 )
+                    {
+                        responseScheduled = true;
+                        ctx.executor().schedule( () ->
+                        {
+                            responseScheduled = false;
+                            ctx.writeAndFlush( Unpooled.wrappedBuffer( record.bytes() ) );
+                            replay( ctx );
+                        }, delayNanos, TimeUnit.NANOSECONDS );
+                    }
+                    else
+                    {
+                        ctx.writeAndFlush( Unpooled.wrappedBuffer( record.bytes() ) );
+                    }
+                }
+                previousTimestampNanos = record.timestampNanos();
+                nextRecord++;
+            }
+        }
+
+        long delayNanos( long capturedDelayNanos )
+        {
+            return Double.isInfinite( speedFactor ) ? 0 : (long) (capturedDelayNanos / speedFactor);
+        }
+    }
+
+    /**
+     * Counts complete Bolt messages in a chunked byte stream. Message ends with a zero-sized chunk.
+     */
+    private static class MessageCounter
+    {
+        int count;
+        int headerBytesRead;
+        int chunkSize;
+        int chunkBytesRemaining;
+
+        void update( ByteBuf buf )
+        {
+            while ( buf.isReadable() )
+            {
+                if ( chunkBytesRemaining > 0 )
+                {
+                    int skip = Math.min( chunkBytesRemaining, buf.readableBytes() );
+                    buf.skipBytes( skip );
+                    chunkBytesRemaining -= skip;
+                }
+                else
+                {
+                    chunkSize = (chunkSize << 8) | buf.readUnsignedByte();
+                    if ( ++headerBytesRead == 2 )
+                    {
+                        if ( chunkSize == 0 )
+                        {
+                            count++;
+                        }
+                        chunkBytesRemaining = chunkSize;
+                        chunkSize = 0;
+                        headerBytesRead = 0;
+                    }
+                }
+            }
+        }
+
+        int count()
+        {
+            return count;
+        }
+    }
+}
@@ -65,9 +65,9 @@ public class ChannelTrackingDriverFactory extends DriverFactoryWithClock
 
     @Override
     protected final ChannelConnector createConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            Config config, Clock clock, MetricsListener metrics )
     {
-        return createChannelTrackingConnector( createRealConnector( settings, securityPlan, config, clock ) );
+        return createChannelTrackingConnector( createRealConnector( settings, securityPlan, config, clock, metrics ) );
     }
 
     @Override
@@ -79,9 +79,9 @@ public class ChannelTrackingDriverFactory extends DriverFactoryWithClock
     }
 
     protected ChannelConnector createRealConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            Config config, Clock clock, MetricsListener metrics )
     {
-        return super.createConnector( settings, securityPlan, config, clock );
+        return super.createConnector( settings, securityPlan, config, clock, metrics );
     }
 
     private ChannelTrackingConnector createChannelTrackingConnector( ChannelConnector connector )
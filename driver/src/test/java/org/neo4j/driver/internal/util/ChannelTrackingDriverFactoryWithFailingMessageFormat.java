@@ -21,6 +21,7 @@ package org.neo4j.driver.internal.util;
 import org.neo4j.driver.internal.ConnectionSettings;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.async.ChannelConnectorImpl;
+import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.security.SecurityPlan;
 import org.neo4j.driver.v1.Config;
 
@@ -34,9 +35,10 @@ public class ChannelTrackingDriverFactoryWithFailingMessageFormat extends Channe
     }
 
     @Override
-    protected ChannelConnector createRealConnector( ConnectionSettings settings, SecurityPlan securityPlan, Config config, Clock clock )
+    protected ChannelConnector createRealConnector( ConnectionSettings settings, SecurityPlan securityPlan, Config config, Clock clock,
+            MetricsListener metrics )
     {
-        return new ChannelConnectorImpl( settings, securityPlan, pipelineBuilder, config.logging(), clock );
+        return new ChannelConnectorImpl( settings, securityPlan, pipelineBuilder, config.logging(), clock, metrics );
     }
 
     public FailingMessageFormat getFailingMessageFormat()
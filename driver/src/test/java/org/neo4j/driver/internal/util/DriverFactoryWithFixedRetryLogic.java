@@ -21,6 +21,7 @@ package org.neo4j.driver.internal.util;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 import org.neo4j.driver.internal.DriverFactory;
+import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.retry.FixedRetryLogic;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.retry.RetrySettings;
@@ -37,7 +38,7 @@ public class DriverFactoryWithFixedRetryLogic extends DriverFactory
 
     @Override
     protected RetryLogic createRetryLogic( RetrySettings settings, EventExecutorGroup eventExecutorGroup,
-            Logging logging )
+            MetricsListener metrics, Logging logging )
     {
         return new FixedRetryLogic( retryCount );
     }
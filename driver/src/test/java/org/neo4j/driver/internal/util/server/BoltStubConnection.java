@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import org.neo4j.driver.internal.async.inbound.ByteBufInput;
+import org.neo4j.driver.internal.messaging.request.BeginMessage;
+import org.neo4j.driver.internal.messaging.request.CommitMessage;
+import org.neo4j.driver.internal.messaging.request.DiscardAllMessage;
+import org.neo4j.driver.internal.messaging.request.GoodbyeMessage;
+import org.neo4j.driver.internal.messaging.request.InitMessage;
+import org.neo4j.driver.internal.messaging.request.PullAllMessage;
+import org.neo4j.driver.internal.messaging.request.ResetMessage;
+import org.neo4j.driver.internal.messaging.request.RollbackMessage;
+import org.neo4j.driver.internal.messaging.request.RunMessage;
+import org.neo4j.driver.internal.messaging.response.FailureMessage;
+import org.neo4j.driver.internal.messaging.response.RecordMessage;
+import org.neo4j.driver.internal.messaging.response.SuccessMessage;
+import org.neo4j.driver.internal.messaging.v2.ValueUnpackerV2;
+import org.neo4j.driver.internal.packstream.PackInput;
+import org.neo4j.driver.v1.Value;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.neo4j.driver.internal.messaging.response.IgnoredMessage.IGNORED;
+import static org.neo4j.driver.v1.Values.value;
+
+/**
+ * Server side of a single Bolt connection. Receives complete request messages, produced by the chunk and message
+ * decoders, and responds to them in order. Think time of a result delays all following responses on the connection,
+ * just like a busy database would.
+ */
+class BoltStubConnection extends SimpleChannelInboundHandler<ByteBuf>
+{
+    private static final int FLUSH_EVERY_RECORDS = 1000;
+
+    private final InProcessBoltServer server;
+    private final ByteBufInput input = new ByteBufInput();
+    private final RequestUnpacker unpacker = new RequestUnpacker( input );
+    private final Queue<Request> requests = new ArrayDeque<>();
+
+    private int protocolVersion;
+    private boolean failed;
+    private boolean thinking;
+    private StubResult currentResult;
+    private boolean commitStatementRunning;
+
+    BoltStubConnection( InProcessBoltServer server )
+    {
+        this.server = server;
+    }
+
+    void protocolVersion( int protocolVersion )
+    {
+        this.protocolVersion = protocolVersion;
+    }
+
+    @Override
+    protected void channelRead0( ChannelHandlerContext ctx, ByteBuf msg ) throws IOException
+    {
+        input.start( msg );
+        try
+        {
+            requests.add( readRequest() );
+        }
+        finally
+        {
+            input.stop();
+        }
+        processRequests( ctx );
+    }
+
+    @Override
+    public void exceptionCaught( ChannelHandlerContext ctx, Throwable cause )
+    {
+        ctx.close();
+    }
+
+    private Request readRequest() throws IOException
+    {
+        unpacker.unpackStructHeader();
+        int signature = unpacker.unpackStructSignature();
+        if ( signature == RunMessage.SIGNATURE )
+        {
+            // RUN metadata of Bolt V3 is ignored
+            return new Request( signature, unpacker.unpackString(), unpacker.unpackMap() );
+        }
+        return new Request( signature, null, emptyMap() );
+    }
+
+    private void processRequests( ChannelHandlerContext ctx )
+    {
+        Request request;
+        while ( !thinking && ctx.channel().isActive() && (request = requests.poll()) != null )
+        {
+            server.requestReceived();
+            if ( failed && request.signature != ResetMessage.SIGNATURE )
+            {
+                ctx.write( IGNORED );
+                continue;
+            }
+
+            switch ( request.signature )
+            {
+            case InitMessage.SIGNATURE: // same as HELLO
+                ctx.write( new SuccessMessage( serverMetadata() ) );
+                break;
+            case RunMessage.SIGNATURE:
+                processRun( ctx, request );
+                break;
+            case PullAllMessage.SIGNATURE:
+                streamResult( ctx, true );
+                break;
+            case DiscardAllMessage.SIGNATURE:
+                streamResult( ctx, false );
+                break;
+            case BeginMessage.SIGNATURE:
+            case RollbackMessage.SIGNATURE:
+                ctx.write( new SuccessMessage( emptyMap() ) );
+                break;
+            case CommitMessage.SIGNATURE:
+                ctx.write( new SuccessMessage( bookmarkMetadata() ) );
+                break;
+            case ResetMessage.SIGNATURE:
+                failed = false;
+                currentResult = null;
+                commitStatementRunning = false;
+                ctx.write( new SuccessMessage( emptyMap() ) );
+                break;
+            case GoodbyeMessage.SIGNATURE:
+                ctx.close();
+                break;
+            default:
+                fail( ctx, "Neo.ClientError.Request.Invalid", "Unsupported message signature " + request.signature );
+            }
+        }
+        ctx.flush();
+    }
+
+    private void processRun( ChannelHandlerContext ctx, Request request )
+    {
+        StubResult result = resultFor( request );
+        long thinkTimeNanos = result.thinkTimeNanos();
+        if ( thinkTimeNanos > 0 )
+        {
+            thinking = true;
+            ctx.executor().schedule( () ->
+            {
+                thinking = false;
+                respondToRun( ctx, result );
+                processRequests( ctx );
+            }, thinkTimeNanos, NANOSECONDS );
+        }
+        else
+        {
+            respondToRun( ctx, result );
+        }
+    }
+
+    private StubResult resultFor( Request request )
+    {
+        switch ( request.statement )
+        {
+        // explicit transactions in Bolt V1 and V2
+        case "BEGIN":
+        case "ROLLBACK":
+            return StubResult.empty();
+        case "COMMIT":
+            commitStatementRunning = true;
+            return StubResult.empty();
+        default:
+            return server.resultFor( request.statement, request.parameters );
+        }
+    }
+
+    private void respondToRun( ChannelHandlerContext ctx, StubResult result )
+    {
+        if ( result.terminatesConnection() )
+        {
+            requests.clear();
+            ctx.close();
+        }
+        else if ( result.failsOnRun() )
+        {
+            fail( ctx, result.failureCode(), result.failureMessage() );
+        }
+        else
+        {
+            currentResult = result;
+            Map<String,Value> metadata = new HashMap<>();
+            metadata.put( "fields", value( result.keys() ) );
+            if ( protocolVersion >= 3 )
+            {
+                metadata.put( "t_first", value( 0 ) );
+            }
+            ctx.write( new SuccessMessage( metadata ) );
+        }
+    }
+
+    private void streamResult( ChannelHandlerContext ctx, boolean sendRecords )
+    {
+        StubResult result = currentResult == null ? StubResult.empty() : currentResult;
+        currentResult = null;
+
+        if ( sendRecords )
+        {
+            for ( int i = 0; i < result.rowCount(); i++ )
+            {
+                ctx.write( new RecordMessage( result.row( i ) ) );
+                if ( i % FLUSH_EVERY_RECORDS == FLUSH_EVERY_RECORDS - 1 )
+                {
+                    ctx.flush();
+                }
+            }
+        }
+
+        if ( result.failsWhileStreaming() )
+        {
+            fail( ctx, result.failureCode(), result.failureMessage() );
+            return;
+        }
+
+        Map<String,Value> metadata = new HashMap<>();
+        metadata.put( "type", value( "r" ) );
+        if ( protocolVersion >= 3 )
+        {
+            metadata.put( "t_last", value( 0 ) );
+        }
+        if ( commitStatementRunning )
+        {
+            commitStatementRunning = false;
+            metadata.putAll( bookmarkMetadata() );
+        }
+        ctx.write( new SuccessMessage( metadata ) );
+    }
+
+    private void fail( ChannelHandlerContext ctx, String code, String message )
+    {
+        failed = true;
+        currentResult = null;
+        ctx.write( new FailureMessage( code, message ) );
+    }
+
+    private Map<String,Value> serverMetadata()
+    {
+        Map<String,Value> metadata = new HashMap<>();
+        metadata.put( "server", value( server.serverAgent() ) );
+        if ( protocolVersion >= 3 )
+        {
+            metadata.put( "connection_id", value( "bolt-" + server.nextConnectionId() ) );
+        }
+        return metadata;
+    }
+
+    private Map<String,Value> bookmarkMetadata()
+    {
+        Map<String,Value> metadata = new HashMap<>();
+        metadata.put( "bookmark", value( "neo4j:bookmark:v1:tx" + server.nextTransactionId() ) );
+        return metadata;
+    }
+
+    private static class Request
+    {
+        final int signature;
+        final String statement;
+        final Map<String,Value> parameters;
+
+        Request( int signature, String statement, Map<String,Value> parameters )
+        {
+            this.signature = signature;
+            this.statement = statement;
+            this.parameters = parameters;
+        }
+    }
+
+    private static class RequestUnpacker extends ValueUnpackerV2
+    {
+        RequestUnpacker( PackInput input )
+        {
+            super( input );
+        }
+
+        String unpackString() throws IOException
+        {
+            return unpacker.unpackString();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util.server;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.async.inbound.ChunkDecoder;
+import org.neo4j.driver.internal.async.inbound.MessageDecoder;
+import org.neo4j.driver.internal.async.outbound.OutboundMessageHandler;
+import org.neo4j.driver.internal.messaging.KnowledgeableMessageFormat;
+import org.neo4j.driver.v1.Value;
+
+import static java.util.Collections.singletonList;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.Values.value;
+
+/**
+ * Embeddable Bolt server for tests and benchmarks that need a database-like peer but no database.
+ * <p>
+ * Speaks Bolt V1 to V3: INIT and HELLO, RUN, PULL_ALL, DISCARD_ALL, explicit transactions, RESET and GOODBYE.
+ * Results of statements are produced by programmable {@link StubResult}s. Routing procedures are answered with
+ * a routing table that lists this server as the only router, reader and writer, so drivers with both
+ * {@code bolt} and {@code bolt+routing} URIs can be used against it.
+ * <pre>
+ * try ( InProcessBoltServer server = InProcessBoltServer.builder()
+ *         .onStatement( "RETURN 1", StubResult.single( "1", value( 1 ) ) )
+ *         .start() )
+ * {
+ *     Driver driver = GraphDatabase.driver( server.boltUri(), config );
+ * }
+ * </pre>
+ */
+public class InProcessBoltServer implements AutoCloseable
+{
+    private static final String ROUTING_PROCEDURE_PREFIX = "CALL dbms.cluster.routing.";
+
+    private final int maxProtocolVersion;
+    private final String serverAgent;
+    private final long routingTtlSeconds;
+    private final List<StatementHandler> handlers;
+    private final StubResult defaultResult;
+    private final EventLoopGroup eventLoopGroup;
+    private final Channel serverChannel;
+    private final BoltServerAddress address;
+
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final AtomicLong transactionIds = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private InProcessBoltServer( Builder builder )
+    {
+        this.maxProtocolVersion = builder.maxProtocolVersion;
+        this.serverAgent = builder.serverAgent;
+        this.routingTtlSeconds = builder.routingTtlSeconds;
+        this.handlers = new ArrayList<>( builder.handlers );
+        this.defaultResult = builder.defaultResult;
+        this.eventLoopGroup = new NioEventLoopGroup( builder.eventLoopThreads );
+        this.serverChannel = new ServerBootstrap()
+                .group( eventLoopGroup )
+                .channel( NioServerSocketChannel.class )
+                .childHandler( new ChannelInitializer<SocketChannel>()
+                {
+                    @Override
+                    protected void initChannel( SocketChannel channel )
+                    {
+                        initConnection( channel.pipeline() );
+                    }
+                } )
+                .bind( "localhost", 0 )
+                .syncUninterruptibly()
+                .channel();
+        this.address = new BoltServerAddress( "localhost", ((InetSocketAddress) serverChannel.localAddress()).getPort() );
+    }
+
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    public BoltServerAddress address()
+    {
+        return address;
+    }
+
+    public String boltUri()
+    {
+        return "bolt://" + address;
+    }
+
+    public String routingUri()
+    {
+        return "bolt+routing://" + address;
+    }
+
+    /**
+     * @return number of request messages received by this server, including ignored ones.
+     */
+    public long requestCount()
+    {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close()
+    {
+        serverChannel.close().syncUninterruptibly();
+        eventLoopGroup.shutdownGracefully( 0, 0, TimeUnit.MILLISECONDS ).syncUninterruptibly();
+    }
+
+    String serverAgent()
+    {
+        return serverAgent;
+    }
+
+    int nextConnectionId()
+    {
+        return connectionIds.incrementAndGet();
+    }
+
+    long nextTransactionId()
+    {
+        return transactionIds.incrementAndGet();
+    }
+
+    void requestReceived()
+    {
+        requestCount.incrementAndGet();
+    }
+
+    StubResult resultFor( String statement, Map<String,Value> parameters )
+    {
+        if ( statement.startsWith( ROUTING_PROCEDURE_PREFIX ) )
+        {
+            return routingTable();
+        }
+        for ( StatementHandler handler : handlers )
+        {
+            if ( handler.matcher.test( statement ) )
+            {
+                return handler.resultGenerator.apply( parameters );
+            }
+        }
+        return defaultResult;
+    }
+
+    private void initConnection( ChannelPipeline pipeline )
+    {
+        BoltStubConnection connection = new BoltStubConnection( this );
+        pipeline.addLast( new StubHandshakeHandler( maxProtocolVersion, connection ) );
+        pipeline.addLast( new ChunkDecoder( DEV_NULL_LOGGING ) );
+        pipeline.addLast( new MessageDecoder() );
+        // encoder has to precede the connection handler, it writes responses through its own context
+        pipeline.addLast( new OutboundMessageHandler( new KnowledgeableMessageFormat(), DEV_NULL_LOGGING ) );
+        pipeline.addLast( connection );
+    }
+
+    private StubResult routingTable()
+    {
+        List<Map<String,Object>> servers = new ArrayList<>();
+        for ( String role : Arrays.asList( "WRITE", "READ", "ROUTE" ) )
+        {
+            Map<String,Object> server = new HashMap<>();
+            server.put( "addresses", singletonList( address.toString() ) );
+            server.put( "role", role );
+            servers.add( server );
+        }
+        Value[] row = {value( routingTtlSeconds ), value( servers )};
+        return StubResult.rows( Arrays.asList( "ttl", "servers" ), 1, index -> row );
+    }
+
+    public static class Builder
+    {
+        private int maxProtocolVersion = 3;
+        private String serverAgent = "Neo4j/3.5.0";
+        private long routingTtlSeconds = 300;
+        private int eventLoopThreads = 2;
+        private final List<StatementHandler> handlers = new ArrayList<>();
+        private StubResult defaultResult = StubResult.empty();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * @param version highest Bolt protocol version the server agrees to speak.
+         * @return this builder.
+         */
+        public Builder withMaxProtocolVersion( int version )
+        {
+            this.maxProtocolVersion = version;
+            return this;
+        }
+
+        public Builder withServerAgent( String serverAgent )
+        {
+            this.serverAgent = serverAgent;
+            return this;
+        }
+
+        public Builder withRoutingTtl( long ttl, TimeUnit unit )
+        {
+            this.routingTtlSeconds = unit.toSeconds( ttl );
+            return this;
+        }
+
+        public Builder withEventLoopThreads( int threads )
+        {
+            this.eventLoopThreads = threads;
+            return this;
+        }
+
+        /**
+         * @param statement statement text to match exactly.
+         * @param result result to return for the statement.
+         * @return this builder.
+         */
+        public Builder onStatement( String statement, StubResult result )
+        {
+            return onStatement( statement::equals, parameters -> result );
+        }
+
+        /**
+         * Register a result generator. Generators are consulted in registration order, the first matching one is used.
+         *
+         * @param matcher predicate on the statement text.
+         * @param resultGenerator produces results from statement parameters.
+         * @return this builder.
+         */
+        public Builder onStatement( Predicate<String> matcher, Function<Map<String,Value>,StubResult> resultGenerator )
+        {
+            handlers.add( new StatementHandler( matcher, resultGenerator ) );
+            return this;
+        }
+
+        /**
+         * @param result result for statements not matched by any registered generator.
+         * @return this builder.
+         */
+        public Builder withDefaultResult( StubResult result )
+        {
+            this.defaultResult = result;
+            return this;
+        }
+
+        public InProcessBoltServer start()
+        {
+            return new InProcessBoltServer( this );
+        }
+    }
+
+    private static class StatementHandler
+    {
+        final Predicate<String> matcher;
+        final Function<Map<String,Value>,StubResult> resultGenerator;
+
+        StatementHandler( Predicate<String> matcher, Function<Map<String,Value>,StubResult> resultGenerator )
+        {
+            this.matcher = matcher;
+            this.resultGenerator = resultGenerator;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+import static org.neo4j.driver.internal.async.BoltProtocolUtil.BOLT_MAGIC_PREAMBLE;
+import static org.neo4j.driver.internal.async.BoltProtocolUtil.NO_PROTOCOL_VERSION;
+
+/**
+ * Server side of the Bolt handshake. Selects the highest protocol version proposed by the client that is not greater
+ * than the maximum version supported by the server. Removes itself from the pipeline when done.
+ */
+class StubHandshakeHandler extends ByteToMessageDecoder
+{
+    private static final int PROPOSED_VERSIONS = 4;
+
+    private final int maxProtocolVersion;
+    private final BoltStubConnection connection;
+
+    StubHandshakeHandler( int maxProtocolVersion, BoltStubConnection connection )
+    {
+        this.maxProtocolVersion = maxProtocolVersion;
+        this.connection = connection;
+    }
+
+    @Override
+    protected void decode( ChannelHandlerContext ctx, ByteBuf in, List<Object> out )
+    {
+        if ( in.readableBytes() < 4 + 4 * PROPOSED_VERSIONS )
+        {
+            return;
+        }
+
+        int magic = in.readInt();
+        int selectedVersion = NO_PROTOCOL_VERSION;
+        for ( int i = 0; i < PROPOSED_VERSIONS; i++ )
+        {
+            int version = in.readInt();
+            if ( magic == BOLT_MAGIC_PREAMBLE && version <= maxProtocolVersion && version > selectedVersion )
+            {
+                selectedVersion = version;
+            }
+        }
+
+        ctx.writeAndFlush( ctx.alloc().buffer( 4 ).writeInt( selectedVersion ) );
+        if ( selectedVersion == NO_PROTOCOL_VERSION )
+        {
+            ctx.close();
+            return;
+        }
+
+        connection.protocolVersion( selectedVersion );
+        ctx.pipeline().remove( this );
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util.server;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.neo4j.driver.v1.Value;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Programmable result of a statement executed by {@link InProcessBoltServer}. Rows are generated lazily when
+ * the result is streamed, so large results do not occupy memory up front.
+ */
+public final class StubResult
+{
+    private static final IntFunction<Value[]> NO_ROWS = index -> new Value[0];
+
+    private final List<String> keys;
+    private final int rowCount;
+    private final IntFunction<Value[]> rowGenerator;
+    private final long thinkTimeNanos;
+    private final String failureCode;
+    private final String failureMessage;
+    private final boolean failOnRun;
+    private final boolean terminateConnection;
+
+    private StubResult( List<String> keys, int rowCount, IntFunction<Value[]> rowGenerator, long thinkTimeNanos,
+            String failureCode, String failureMessage, boolean failOnRun, boolean terminateConnection )
+    {
+        this.keys = keys;
+        this.rowCount = rowCount;
+        this.rowGenerator = rowGenerator;
+        this.thinkTimeNanos = thinkTimeNanos;
+        this.failureCode = failureCode;
+        this.failureMessage = failureMessage;
+        this.failOnRun = failOnRun;
+        this.terminateConnection = terminateConnection;
+    }
+
+    /**
+     * @return result without keys and rows.
+     */
+    public static StubResult empty()
+    {
+        return rows( emptyList(), 0, NO_ROWS );
+    }
+
+    /**
+     * @param key the only key.
+     * @param value the only value.
+     * @return result with a single row that contains a single value.
+     */
+    public static StubResult single( String key, Value value )
+    {
+        return rows( singletonList( key ), 1, index -> new Value[]{value} );
+    }
+
+    /**
+     * @param keys keys of the result.
+     * @param rowCount number of rows to stream.
+     * @param rowGenerator produces values of the row with the given index, {@code 0} to {@code rowCount - 1}.
+     * @return result with generated rows.
+     */
+    public static StubResult rows( List<String> keys, int rowCount, IntFunction<Value[]> rowGenerator )
+    {
+        return new StubResult( keys, rowCount, requireNonNull( rowGenerator ), 0, null, null, false, false );
+    }
+
+    /**
+     * @param code Neo4j status code, like {@code Neo.ClientError.Statement.SyntaxError}.
+     * @param message error message.
+     * @return result that fails in response to RUN.
+     */
+    public static StubResult failure( String code, String message )
+    {
+        return new StubResult( emptyList(), 0, NO_ROWS, 0, requireNonNull( code ), message, true, false );
+    }
+
+    /**
+     * @return result that makes server close the connection instead of responding to RUN.
+     */
+    public static StubResult connectionTermination()
+    {
+        return new StubResult( emptyList(), 0, NO_ROWS, 0, null, null, false, true );
+    }
+
+    /**
+     * @param time how long server should "execute" the statement before responding to RUN.
+     * @param unit unit of the time.
+     * @return copy of this result with the given think time.
+     */
+    public StubResult withThinkTime( long time, TimeUnit unit )
+    {
+        return new StubResult( keys, rowCount, rowGenerator, unit.toNanos( time ), failureCode, failureMessage, failOnRun, terminateConnection );
+    }
+
+    /**
+     * @param code Neo4j status code.
+     * @param message error message.
+     * @return copy of this result that streams all rows and then fails in response to PULL_ALL.
+     */
+    public StubResult withStreamingFailure( String code, String message )
+    {
+        return new StubResult( keys, rowCount, rowGenerator, thinkTimeNanos, requireNonNull( code ), message, false, terminateConnection );
+    }
+
+    List<String> keys()
+    {
+        return keys;
+    }
+
+    int rowCount()
+    {
+        return rowCount;
+    }
+
+    Value[] row( int index )
+    {
+        return rowGenerator.apply( index );
+    }
+
+    long thinkTimeNanos()
+    {
+        return thinkTimeNanos;
+    }
+
+    boolean failsOnRun()
+    {
+        return failOnRun;
+    }
+
+    boolean failsWhileStreaming()
+    {
+        return failureCode != null && !failOnRun;
+    }
+
+    String failureCode()
+    {
+        return failureCode;
+    }
+
+    String failureMessage()
+    {
+        return failureMessage;
+    }
+
+    boolean terminatesConnection()
+    {
+        return terminateConnection;
+    }
+}
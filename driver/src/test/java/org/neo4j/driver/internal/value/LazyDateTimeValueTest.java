@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.v1.exceptions.value.Uncoercible;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyDateTimeValueTest
+{
+    @Test
+    void shouldHaveCorrectType()
+    {
+        LazyDateTimeValue value = newValue( ZonedDateTime.of( 1991, 2, 24, 12, 0, 0, 999_000, ZoneOffset.ofHours( -5 ) ) );
+        assertEquals( InternalTypeSystem.TYPE_SYSTEM.DATE_TIME(), value.type() );
+    }
+
+    @Test
+    void shouldSupportAsZonedDateTimeWithZoneOffset()
+    {
+        ZonedDateTime dateTime = ZonedDateTime.of( 1822, 9, 24, 9, 23, 57, 123, ZoneOffset.ofHoursMinutes( 12, 15 ) );
+        LazyDateTimeValue value = newValue( dateTime );
+        assertEquals( dateTime, value.asZonedDateTime() );
+        assertEquals( dateTime, value.asObject() );
+    }
+
+    @Test
+    void shouldSupportAsZonedDateTimeWithZoneId()
+    {
+        ZonedDateTime dateTime = ZonedDateTime.of( 2015, 8, 2, 23, 59, 59, 999_999, ZoneId.of( "Europe/Stockholm" ) );
+        LazyDateTimeValue value = newValue( dateTime );
+        assertEquals( dateTime, value.asZonedDateTime() );
+        assertEquals( dateTime.toOffsetDateTime(), value.asOffsetDateTime() );
+    }
+
+    @Test
+    void shouldCreateZonedDateTimeOnce()
+    {
+        LazyDateTimeValue value = newValue( ZonedDateTime.now() );
+        assertSame( value.asZonedDateTime(), value.asZonedDateTime() );
+    }
+
+    @Test
+    void shouldBeEqualToDateTimeValue()
+    {
+        ZonedDateTime dateTime = ZonedDateTime.of( 2000, 11, 8, 5, 57, 59, 1, ZoneId.of( "Europe/London" ) );
+        LazyDateTimeValue lazyValue = newValue( dateTime );
+        DateTimeValue eagerValue = new DateTimeValue( dateTime );
+
+        assertEquals( eagerValue, lazyValue );
+        assertEquals( lazyValue, eagerValue );
+        assertEquals( eagerValue.hashCode(), lazyValue.hashCode() );
+        assertEquals( eagerValue.toString(), lazyValue.toString() );
+        assertEquals( newValue( dateTime ), lazyValue );
+        assertNotEquals( newValue( dateTime.plusNanos( 1 ) ), lazyValue );
+    }
+
+    @Test
+    void shouldNotSupportAsLong()
+    {
+        LazyDateTimeValue value = newValue( ZonedDateTime.now() );
+        assertThrows( Uncoercible.class, value::asLong );
+    }
+
+    private static LazyDateTimeValue newValue( ZonedDateTime dateTime )
+    {
+        long epochSecondLocal = dateTime.toLocalDateTime().toEpochSecond( UTC );
+        return new LazyDateTimeValue( epochSecondLocal, dateTime.getNano(), dateTime.getZone() );
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.driver.internal.value;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import org.neo4j.driver.internal.types.InternalTypeSystem;
 import org.neo4j.driver.v1.Value;
@@ -28,6 +29,8 @@ import org.neo4j.driver.v1.Value;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.driver.v1.Values.value;
 
 class MapValueTest
@@ -63,6 +66,21 @@ class MapValueTest
        assertFalse(map.isNull());
     }
 
+    @Test
+    void shouldExposeUnmodifiableViewWithoutCopying()
+    {
+        Map<String,Value> map = new HashMap<>();
+        Value value = value( "v1" );
+        map.put( "k1", value );
+        MapValue mapValue = new MapValue( map );
+
+        Map<String,Value> view = mapValue.asMapView();
+
+        assertThat( view, equalTo( map ) );
+        assertSame( value, view.get( "k1" ) );
+        assertThrows( UnsupportedOperationException.class, () -> view.put( "k2", value( 42 ) ) );
+    }
+
     private MapValue mapValue()
     {
         HashMap<String,Value> map =  new HashMap<>();
@@ -21,12 +21,14 @@ package org.neo4j.driver.v1;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.neo4j.driver.v1.net.ServerAddressResolver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -142,6 +144,18 @@ class ConfigTest
         assertTrue( Config.build().withLeakedSessionsLogging().toConfig().logLeakedSessions() );
     }
 
+    @Test
+    void shouldSampleLeakedSessions()
+    {
+        assertEquals( 1, Config.build().withLeakedSessionsLogging().toConfig().leakedSessionsSamplingInterval() );
+
+        Config config = Config.build().withLeakedSessionsLogging( 128 ).toConfig();
+        assertTrue( config.logLeakedSessions() );
+        assertEquals( 128, config.leakedSessionsSamplingInterval() );
+
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withLeakedSessionsLogging( 0 ) );
+    }
+
     @Test
     void shouldHaveDefaultConnectionTimeout()
     {
@@ -203,6 +217,87 @@ class ConfigTest
         assertEquals( TimeUnit.SECONDS.toMillis( 42 ), config.retrySettings().maxRetryTimeMs() );
     }
 
+    @Test
+    void shouldConfigureRetryBudgetAndConcurrencyLimit()
+    {
+        Config defaultConfig = Config.defaultConfig();
+        assertFalse( defaultConfig.retrySettings().retryBudgetEnabled() );
+        assertEquals( 0, defaultConfig.retrySettings().maxConcurrentTransactions() );
+
+        Config config = Config.build()
+                .withRetryBudget( 0.5, 7 )
+                .withAdaptiveConcurrencyLimit( 42 )
+                .withMaxTransactionRetryTime( 3, TimeUnit.SECONDS )
+                .toConfig();
+
+        assertTrue( config.retrySettings().retryBudgetEnabled() );
+        assertEquals( 0.5, config.retrySettings().retryBudgetRatio(), 0.0001 );
+        assertEquals( 7, config.retrySettings().retryBudgetMaxTokens() );
+        assertEquals( 42, config.retrySettings().maxConcurrentTransactions() );
+        assertEquals( 3000, config.retrySettings().maxRetryTimeMs() );
+
+        assertFalse( Config.build().withoutRetryBudget().toConfig().retrySettings().retryBudgetEnabled() );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withRetryBudget( -1, 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withAdaptiveConcurrencyLimit( 0 ) );
+    }
+
+    @Test
+    void shouldConfigureTransactionRetryExecutor()
+    {
+        Executor executor = Runnable::run;
+
+        assertNull( Config.defaultConfig().retrySettings().retryExecutor() );
+        assertSame( executor, Config.build().withTransactionRetryExecutor( executor ).toConfig().retrySettings().retryExecutor() );
+        assertThrows( NullPointerException.class, () -> Config.build().withTransactionRetryExecutor( null ) );
+    }
+
+    @Test
+    void shouldConfigureSharedBookmarks()
+    {
+        assertFalse( Config.defaultConfig().sharedBookmarks() );
+        assertTrue( Config.build().withSharedBookmarks().toConfig().sharedBookmarks() );
+    }
+
+    @Test
+    void shouldConfigureLazyDateTimeValues()
+    {
+        assertFalse( Config.defaultConfig().lazyDateTimeValues() );
+        assertTrue( Config.build().withLazyDateTimeValues().toConfig().lazyDateTimeValues() );
+    }
+
+    @Test
+    void shouldConfigureTrafficCapture()
+    {
+        File directory = new File( "capture" );
+
+        assertNull( Config.defaultConfig().trafficCaptureDirectory() );
+        assertEquals( directory, Config.build().withTrafficCapture( directory ).toConfig().trafficCaptureDirectory() );
+        assertThrows( NullPointerException.class, () -> Config.build().withTrafficCapture( null ) );
+    }
+
+    @Test
+    void shouldConfigureWireTrace()
+    {
+        Config defaultConfig = Config.defaultConfig();
+        Config config = Config.build().withWireTrace( 1024, 10 ).toConfig();
+
+        assertEquals( 0, defaultConfig.wireTraceCapacity() );
+        assertEquals( 1, defaultConfig.wireTraceRecordSampling() );
+        assertEquals( 1024, config.wireTraceCapacity() );
+        assertEquals( 10, config.wireTraceRecordSampling() );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withWireTrace( 0, 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withWireTrace( 1024, 0 ) );
+    }
+
+    @Test
+    void shouldConfigureHedgedReadTransactions()
+    {
+        assertEquals( 0, Config.defaultConfig().retrySettings().hedgingPercentile(), 0.0001 );
+        assertEquals( 0.95, Config.build().withHedgedReadTransactions( 0.95 ).toConfig().retrySettings().hedgingPercentile(), 0.0001 );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withHedgedReadTransactions( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withHedgedReadTransactions( 1 ) );
+    }
+
     @Test
     void shouldHaveCorrectDefaultMaxConnectionPoolSize()
     {
@@ -289,4 +384,31 @@ class ConfigTest
     {
         assertThrows( NullPointerException.class, () -> Config.build().withResolver( null ) );
     }
+
+    @Test
+    void shouldDisableMetricsByDefault()
+    {
+        Config config = Config.defaultConfig();
+
+        assertFalse( config.isMetricsEnabled() );
+        assertFalse( config.isJmxMetricsEnabled() );
+    }
+
+    @Test
+    void shouldEnableMetricsWhenJmxMetricsEnabled()
+    {
+        Config config = Config.build().withJmxMetrics().toConfig();
+
+        assertTrue( config.isMetricsEnabled() );
+        assertTrue( config.isJmxMetricsEnabled() );
+        assertFalse( Config.build().withJmxMetrics().withoutDriverMetrics().toConfig().isJmxMetricsEnabled() );
+    }
+
+    @Test
+    void shouldSupportMaxRecordBufferSize()
+    {
+        assertEquals( 8 * 1024 * 1024, Config.defaultConfig().maxRecordBufferSize() );
+        assertEquals( 4096, Config.build().withMaxRecordBufferSize( 4096 ).toConfig().maxRecordBufferSize() );
+        assertThrows( IllegalArgumentException.class, () -> Config.build().withMaxRecordBufferSize( 0 ) );
+    }
 }
@@ -23,8 +23,13 @@ import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.neo4j.driver.internal.InternalPreparedStatement;
+
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.driver.v1.Values.parameters;
 
@@ -114,6 +119,36 @@ class StatementTest
         assertThat( statement.parameters(), equalTo( parameters( "a", 0, "c", 3 ) ) );
     }
 
+    @Test
+    void shouldPrepareStatement()
+    {
+        Statement statement = new Statement( "RETURN $x", parameters( "x", 1 ) );
+
+        Statement prepared = statement.prepare();
+        Statement bound = prepared.withParameters( parameters( "x", 2 ) );
+
+        assertThat( prepared, instanceOf( InternalPreparedStatement.class ) );
+        assertThat( prepared.text(), equalTo( statement.text() ) );
+        assertThat( prepared.parameters(), equalTo( statement.parameters() ) );
+        assertThat( bound, instanceOf( InternalPreparedStatement.class ) );
+        assertThat( bound.parameters(), equalTo( parameters( "x", 2 ) ) );
+        assertSame( ((InternalPreparedStatement) prepared).template(), ((InternalPreparedStatement) bound).template() );
+        assertSame( prepared, prepared.prepare() );
+    }
+
+    @Test
+    void shouldEqualPreparedStatementWithSameTextAndParameters()
+    {
+        Statement statement = new Statement( "RETURN $x", parameters( "x", 1 ) );
+        Statement prepared = statement.prepare();
+
+        assertThat( prepared, equalTo( statement ) );
+        assertThat( statement, equalTo( prepared ) );
+        assertThat( prepared.hashCode(), equalTo( statement.hashCode() ) );
+        assertThat( prepared.withParameters( parameters( "x", 2 ) ), not( equalTo( statement ) ) );
+        assertThat( prepared.withParameters( parameters( "x", 2 ) ), equalTo( statement.withParameters( parameters( "x", 2 ) ) ) );
+    }
+
     @Test
     void shouldProhibitNullQuery()
     {
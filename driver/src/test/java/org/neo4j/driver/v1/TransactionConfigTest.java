@@ -32,6 +32,7 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.driver.v1.Values.value;
@@ -116,4 +117,23 @@ class TransactionConfigTest
         assertEquals( value( true ), metadata.get( "key2" ) );
         assertEquals( value( 42 ), metadata.get( "key3" ) );
     }
+
+    @Test
+    void shouldHaveMaxRecordBufferSize()
+    {
+        TransactionConfig config = TransactionConfig.builder()
+                .withMaxRecordBufferSize( 1024 )
+                .build();
+
+        assertEquals( 1024, config.maxRecordBufferSize() );
+        assertFalse( config.isEmpty() );
+        assertEquals( 0, TransactionConfig.empty().maxRecordBufferSize() );
+    }
+
+    @Test
+    void shouldDisallowNonPositiveMaxRecordBufferSize()
+    {
+        assertThrows( IllegalArgumentException.class, () -> TransactionConfig.builder().withMaxRecordBufferSize( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> TransactionConfig.builder().withMaxRecordBufferSize( -1 ) );
+    }
 }
@@ -284,7 +284,8 @@ class ConnectionHandlingIT
             {
                 try ( Session session = driver.session() )
                 {
-                    assertEquals( 42, session.run( "RETURN 42 AS answer" ).single().get( 0 ).asInt() );
+                    // failure leaves the connection dirty, so it is released with a RESET
+                    assertThrows( ClientException.class, () -> session.run( "RETURN 42 AS answer" ).single() );
                 }
 
                 List<Channel> channels = driverFactory.pollChannels();
@@ -324,7 +325,7 @@ class ConnectionHandlingIT
                     config.connectionAcquisitionTimeoutMillis(), config.maxConnectionLifetimeMillis(),
                     config.idleTimeBeforeConnectionTest() );
             Clock clock = createClock();
-            ChannelConnector connector = super.createConnector( connectionSettings, securityPlan, config, clock );
+            ChannelConnector connector = super.createConnector( connectionSettings, securityPlan, config, clock, metrics );
             connectionPool =
                     new MemorizingConnectionPool( connector, bootstrap, poolSettings, config.logging(), clock );
             return connectionPool;
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.v1.stress;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.neo4j.driver.internal.util.server.InProcessBoltServer;
+import org.neo4j.driver.internal.util.server.StubResult;
+import org.neo4j.driver.v1.AuthTokens;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.GraphDatabase;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.Values.parameters;
+import static org.neo4j.driver.v1.Values.value;
+
+/**
+ * Load and latency benchmarks of the driver against {@link InProcessBoltServer}. Exercise connection pool, routing
+ * and codecs without an external database and report throughput together with latency percentiles.
+ */
+class StubServerLoadIT
+{
+    private static final String READ_QUERY = "UNWIND range(1, $n) AS x RETURN x";
+    private static final String FAILING_QUERY = "UNWIND range(1, 100000) AS x RETURN 1 / (x - 100000)";
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 500;
+    private static final int ROWS = 100;
+
+    private static final Config CONFIG = Config.build()
+            .withoutEncryption()
+            .withLogging( DEV_NULL_LOGGING )
+            .withMaxConnectionPoolSize( THREADS )
+            .toConfig();
+
+    private static Stream<Arguments> servers()
+    {
+        return Stream.of(
+                Arguments.of( "direct", 1 ),
+                Arguments.of( "direct", 3 ),
+                Arguments.of( "routing", 1 ),
+                Arguments.of( "routing", 3 ) );
+    }
+
+    @ParameterizedTest( name = "{0} driver, Bolt V{1}" )
+    @MethodSource( "servers" )
+    void shouldReadUnderLoad( String mode, int protocolVersion ) throws Exception
+    {
+        try ( InProcessBoltServer server = InProcessBoltServer.builder()
+                .withMaxProtocolVersion( protocolVersion )
+                .onStatement( READ_QUERY::equals, params -> rangeResult( params.get( "n" ).asInt() ) )
+                .start();
+              Driver driver = newDriver( server, mode ) )
+        {
+            Histogram latencies = runLoad( driver, session -> session.readTransaction(
+                    tx -> tx.run( READ_QUERY, parameters( "n", ROWS ) ).list() ) );
+
+            report( mode + " driver, Bolt V" + protocolVersion, latencies );
+            assertEquals( THREADS * OPERATIONS_PER_THREAD, latencies.getTotalCount() );
+        }
+    }
+
+    @Test
+    void shouldReportServerThinkTimeInLatency() throws Exception
+    {
+        try ( InProcessBoltServer server = InProcessBoltServer.builder()
+                .withDefaultResult( StubResult.single( "x", value( 1 ) ).withThinkTime( 5, MILLISECONDS ) )
+                .start();
+              Driver driver = newDriver( server, "direct" ) )
+        {
+            Histogram latencies = runLoad( driver, session -> session.run( "RETURN 1" ).single() );
+
+            report( "5ms think time", latencies );
+            assertThat( latencies.getValueAtPercentile( 50 ), greaterThanOrEqualTo( MILLISECONDS.toNanos( 5 ) ) );
+        }
+    }
+
+    @Test
+    void shouldRetryInjectedTransientFailures() throws Exception
+    {
+        AtomicInteger attempts = new AtomicInteger();
+        try ( InProcessBoltServer server = InProcessBoltServer.builder()
+                .onStatement( "CREATE ()"::equals, params -> attempts.incrementAndGet() % 3 == 0
+                                                             ? StubResult.empty()
+                                                             : StubResult.failure( "Neo.TransientError.General.DatabaseUnavailable", "Try again" ) )
+                .start();
+              Driver driver = newDriver( server, "routing" ) )
+        {
+            try ( Session session = driver.session() )
+            {
+                for ( int i = 0; i < 3; i++ )
+                {
+                    session.writeTransaction( tx -> tx.run( "CREATE ()" ).consume() );
+                }
+                assertThat( session.lastBookmark(), startsWith( "neo4j:bookmark:v1:tx" ) );
+            }
+            assertEquals( 9, attempts.get() );
+        }
+    }
+
+    @Test
+    void shouldStreamLargeResultWithFailureAtTheEnd()
+    {
+        try ( InProcessBoltServer server = InProcessBoltServer.builder()
+                .onStatement( FAILING_QUERY, rangeResult( 100_000 ).withStreamingFailure( "Neo.ClientError.Statement.ArithmeticError", "/ by zero" ) )
+                .start();
+              Driver driver = newDriver( server, "direct" );
+              Session session = driver.session() )
+        {
+            AtomicInteger received = new AtomicInteger();
+            StatementResult result = session.run( FAILING_QUERY );
+
+            ClientException e = assertThrows( ClientException.class, () -> result.forEachRemaining( record -> received.incrementAndGet() ) );
+            assertEquals( "/ by zero", e.getMessage() );
+            assertEquals( 100_000, received.get() );
+            // connection is usable after the failure
+            assertEquals( 0, session.run( "RETURN 1" ).list().size() );
+        }
+    }
+
+    private static Driver newDriver( InProcessBoltServer server, String mode )
+    {
+        String uri = "routing".equals( mode ) ? server.routingUri() : server.boltUri();
+        return GraphDatabase.driver( uri, AuthTokens.none(), CONFIG );
+    }
+
+    private static StubResult rangeResult( int size )
+    {
+        return StubResult.rows( singletonList( "x" ), size, index -> new Value[]{value( index + 1 )} );
+    }
+
+    private static Histogram runLoad( Driver driver, Function<Session,?> operation ) throws Exception
+    {
+        Histogram latencies = new ConcurrentHistogram( SECONDS.toNanos( 60 ), 3 );
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for ( int i = 0; i < THREADS; i++ )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    for ( int j = 0; j < OPERATIONS_PER_THREAD; j++ )
+                    {
+                        long operationStart = System.nanoTime();
+                        try ( Session session = driver.session() )
+                        {
+                            operation.apply( session );
+                        }
+                        latencies.recordValue( System.nanoTime() - operationStart );
+                    }
+                    return null;
+                } ) );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get( 5, MINUTES );
+            }
+            latencies.setStartTimeStamp( NANOSECONDS.toMillis( start ) );
+            latencies.setEndTimeStamp( NANOSECONDS.toMillis( System.nanoTime() ) );
+        }
+        finally
+        {
+            executor.shutdownNow();
+            assertTrue( executor.awaitTermination( 10, SECONDS ) );
+        }
+        return latencies;
+    }
+
+    private static void report( String name, Histogram latencies )
+    {
+        long elapsedMillis = Math.max( 1, latencies.getEndTimeStamp() - latencies.getStartTimeStamp() );
+        System.out.println( String.format( "%s: %d operations in %dms, %.0f ops/s, latency p50=%dus p90=%dus p99=%dus p99.9=%dus max=%dus",
+                name, latencies.getTotalCount(), elapsedMillis, latencies.getTotalCount() * 1000.0 / elapsedMillis,
+                micros( latencies.getValueAtPercentile( 50 ) ), micros( latencies.getValueAtPercentile( 90 ) ),
+                micros( latencies.getValueAtPercentile( 99 ) ), micros( latencies.getValueAtPercentile( 99.9 ) ),
+                micros( latencies.getMaxValue() ) ) );
+    }
+
+    private static long micros( long nanos )
+    {
+        return NANOSECONDS.toMicros( nanos );
+    }
+}